@@ -0,0 +1,118 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.Pedido;
+import com.integracao.kafka.frameworkDrivers.kafka.serializer.EventoDeserializer;
+import com.integracao.kafka.frameworkDrivers.kafka.serializer.EventoSerializer;
+import com.integracao.kafka.frameworkDrivers.kafka.serializer.FormatoSerializacao;
+
+/**
+ * Custo por registro de obter o Pedido de um Evento consumido.
+ *
+ * jsonMaisConvertValue: caminho antigo (payload como LinkedHashMap + convertValue).
+ * jsonTipado: EventoDeserializer decodificando Evento&lt;Pedido&gt; em uma passada.
+ * binario: codec binário.
+ *
+ * Rode com -prof gc e compare gc.alloc.rate.norm (bytes alocados por operação).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DesserializacaoEventoBenchmark {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    private JsonDeserializer<Object> jsonDeserializer;
+    private EventoDeserializer eventoDeserializer;
+
+    private RecordHeaders headersJson;
+    private byte[] json;
+    private RecordHeaders headersBinario;
+    private byte[] binario;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Evento<Pedido> evento = Evento.<Pedido>builder()
+            .tipo("PEDIDO_CRIADO")
+            .origem("API")
+            .destino(TOPICO)
+            .status(Evento.StatusEvento.RECEBIDO)
+            .payload(Pedido.builder()
+                .numeroPedido("PED-000123")
+                .cliente("Cliente Benchmark")
+                .produto("Notebook")
+                .quantidade(3)
+                .valorTotal(new BigDecimal("15999.70"))
+                .build())
+            .build();
+
+        // Os mesmos headers são reaproveitados a cada operação: o JsonDeserializer não pode removê-los
+        Map<String, Object> configConsumer = Map.of(
+            JsonDeserializer.TRUSTED_PACKAGES, "com.integracao.kafka.*",
+            JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false);
+        jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure(configConsumer, false);
+        eventoDeserializer = new EventoDeserializer();
+        eventoDeserializer.configure(configConsumer, false);
+
+        try (EventoSerializer serializer = new EventoSerializer()) {
+            serializer.configure(Map.of(), false);
+            headersJson = new RecordHeaders();
+            json = serializer.serialize(TOPICO, headersJson, evento);
+
+            serializer.configure(Map.of(FormatoSerializacao.CONFIG_FORMATO, "binario"), false);
+            headersBinario = new RecordHeaders();
+            binario = serializer.serialize(TOPICO, headersBinario, evento);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        jsonDeserializer.close();
+        eventoDeserializer.close();
+    }
+
+    @Benchmark
+    public Pedido jsonMaisConvertValue() {
+        Evento<?> evento = (Evento<?>) jsonDeserializer.deserialize(TOPICO, headersJson, json);
+        return objectMapper.convertValue(evento.getPayload(), Pedido.class);
+    }
+
+    @Benchmark
+    public Pedido jsonTipado() {
+        Evento<?> evento = (Evento<?>) eventoDeserializer.deserialize(TOPICO, headersJson, json);
+        return (Pedido) evento.getPayload();
+    }
+
+    @Benchmark
+    public Pedido binario() {
+        Evento<?> evento = (Evento<?>) eventoDeserializer.deserialize(TOPICO, headersBinario, binario);
+        return (Pedido) evento.getPayload();
+    }
+}
@@ -0,0 +1,162 @@
+package com.integracao.kafka.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.integracao.kafka.application.repository.FalhaRepository;
+import com.integracao.kafka.application.repository.FalhaRepositoryEmMemoria;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+/**
+ * Armazenamento de falhas em memória sob escrita concorrente: 3 threads registrando falhas
+ * novas (com despejo, o histórico já começa cheio) e 1 thread listando, como o GET /falhas.
+ *
+ * anel: {@link FalhaRepositoryEmMemoria} atual (anel + índices por tipo/status).
+ * deque: armazenamento anterior (ConcurrentLinkedDeque.size() a cada registro, listagem
+ * varrendo o histórico inteiro).
+ *
+ * A listagem filtra PEDIDO + ESGOTADO, status de 1 em cada 100 falhas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FalhaRepositoryEmMemoriaBenchmark {
+
+    private static final int LIMITE_LISTAGEM = 50;
+
+    @Param({"anel", "deque"})
+    private String implementacao;
+
+    @Param({"2000", "100000"})
+    private int limiteHistorico;
+
+    private FalhaRepository repositorio;
+    private final AtomicLong contador = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repositorio = "anel".equals(implementacao)
+            ? new FalhaRepositoryEmMemoria(limiteHistorico)
+            : new FalhaRepositoryDeque(limiteHistorico);
+        for (int i = 0; i < limiteHistorico; i++) {
+            repositorio.salvar(novaFalha());
+        }
+    }
+
+    @Benchmark
+    @Group("registroConcorrente")
+    @GroupThreads(3)
+    public FalhaProcessamento registrar() {
+        FalhaProcessamento falha = novaFalha();
+        repositorio.salvar(falha);
+        return falha;
+    }
+
+    @Benchmark
+    @Group("registroConcorrente")
+    @GroupThreads(1)
+    public List<FalhaProcessamento> listar() {
+        return repositorio.listar(TipoFalha.PEDIDO, StatusFalha.ESGOTADO, LIMITE_LISTAGEM);
+    }
+
+    private FalhaProcessamento novaFalha() {
+        long numero = contador.incrementAndGet();
+        return FalhaProcessamento.builder()
+            .tipo(numero % 2 == 0 ? TipoFalha.PEDIDO : TipoFalha.NOTA)
+            .status(numero % 100 < 2 ? StatusFalha.ESGOTADO : StatusFalha.PENDENTE_REPROCESSAMENTO)
+            .eventoOriginal(Evento.builder().id("evt-" + numero).build())
+            .motivo("payload inválido")
+            .build();
+    }
+
+    /**
+     * Armazenamento anterior, mantido aqui só para comparação.
+     */
+    static class FalhaRepositoryDeque implements FalhaRepository {
+
+        private final int limite;
+        private final Map<String, FalhaProcessamento> falhas = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedDeque<String> ordemFalhas = new ConcurrentLinkedDeque<>();
+        private final Map<String, String> indiceFalhaPorChaveEvento = new ConcurrentHashMap<>();
+
+        FalhaRepositoryDeque(int limite) {
+            this.limite = limite;
+        }
+
+        @Override
+        public void salvar(FalhaProcessamento falha) {
+            if (falhas.put(falha.getId(), falha) == null) {
+                ordemFalhas.addLast(falha.getId());
+            }
+            String chave = FalhaRepository.chaveEvento(falha.getTipo(), falha.getEventoOriginal());
+            if (chave != null) {
+                indiceFalhaPorChaveEvento.put(chave, falha.getId());
+            }
+            while (ordemFalhas.size() > limite) {
+                String removido = ordemFalhas.pollFirst();
+                if (removido == null) {
+                    continue;
+                }
+                FalhaProcessamento falhaRemovida = falhas.remove(removido);
+                if (falhaRemovida != null) {
+                    String chaveRemovida = FalhaRepository.chaveEvento(falhaRemovida.getTipo(), falhaRemovida.getEventoOriginal());
+                    if (chaveRemovida != null) {
+                        indiceFalhaPorChaveEvento.remove(chaveRemovida, removido);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public FalhaProcessamento buscarPorId(String id) {
+            return falhas.get(id);
+        }
+
+        @Override
+        public FalhaProcessamento buscarPorChaveEvento(String chaveEvento) {
+            String id = chaveEvento == null ? null : indiceFalhaPorChaveEvento.get(chaveEvento);
+            return id == null ? null : falhas.get(id);
+        }
+
+        @Override
+        public List<FalhaProcessamento> listar(TipoFalha tipo, StatusFalha status, int limite) {
+            List<FalhaProcessamento> filtradas = new ArrayList<>();
+            for (String id : ordemFalhas) {
+                FalhaProcessamento falha = falhas.get(id);
+                if (falha != null
+                    && (tipo == null || falha.getTipo() == tipo)
+                    && (status == null || falha.getStatus() == status)) {
+                    filtradas.add(falha);
+                }
+            }
+            int limiteAjustado = limite <= 0 ? filtradas.size() : Math.min(limite, filtradas.size());
+            return List.copyOf(filtradas.subList(filtradas.size() - limiteAjustado, filtradas.size()));
+        }
+    }
+}
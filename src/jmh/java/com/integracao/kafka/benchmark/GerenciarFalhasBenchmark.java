@@ -0,0 +1,81 @@
+package com.integracao.kafka.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+/**
+ * {@link GerenciarFalhasUseCase} com armazenamento em memória sob contenção: 3 threads de
+ * listener registrando falhas e 1 thread listando, como o GET /falhas.
+ *
+ * Os eventos se repetem dentro de {@code eventosDistintos}: depois da primeira volta cada
+ * registro é uma reincidência (busca pela chave do evento + atualização), que mantém a fila de
+ * reprocessamento limitada como em produção. {@link FalhaRepositoryEmMemoriaBenchmark} mede só
+ * o armazenamento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GerenciarFalhasBenchmark {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+    private static final int LIMITE_LISTAGEM = 50;
+
+    @Param({"1000", "10000"})
+    private int eventosDistintos;
+
+    private GerenciarFalhasUseCase useCase;
+    private Evento<?>[] eventos;
+    private final AtomicLong contador = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Publicação nunca chamada no registro; o limite do histórico comporta todos os eventos
+        useCase = new GerenciarFalhasUseCase((topico, evento) -> { }, TOPICO, "integrador.nota.recebido",
+            eventosDistintos, 5, 60);
+        eventos = new Evento<?>[eventosDistintos];
+        for (int i = 0; i < eventosDistintos; i++) {
+            eventos[i] = Evento.builder().id("evt-" + i).tipo("PEDIDO_CRIADO").build();
+        }
+    }
+
+    @Benchmark
+    @Group("registroConcorrente")
+    @GroupThreads(3)
+    public FalhaProcessamento registrarFalha() {
+        long numero = contador.getAndIncrement();
+        Evento<?> evento = eventos[(int) (numero % eventosDistintos)];
+        return useCase.registrarFalha(TipoFalha.PEDIDO, evento, "payload inválido", TOPICO, 0, numero);
+    }
+
+    @Benchmark
+    @Group("registroConcorrente")
+    @GroupThreads(1)
+    public List<FalhaProcessamento> listarFalhas() {
+        return useCase.listarFalhas(TipoFalha.PEDIDO, StatusFalha.PENDENTE_REPROCESSAMENTO, LIMITE_LISTAGEM);
+    }
+}
@@ -0,0 +1,73 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.domain.entity.PedidoEntity;
+import com.integracao.kafka.domain.model.Pedido;
+
+/**
+ * Mapeamentos por registro dos consumers de pedido, já com o Evento desserializado.
+ *
+ * convertValueDeMapa: payload chegou como LinkedHashMap (produtor sem header de tipo) e passa
+ * pelo objectMapper.convertValue do PedidoConsumer.
+ * convertValueMesmoTipo: convertValue sobre um Pedido já tipado, o custo que o atalho
+ * instanceof do consumer evita.
+ * paraEntidade: {@link PedidoEntity#de(Pedido)}, usado pelo PedidoService antes de persistir.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoPedidoBenchmark {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    private Pedido pedido;
+    private Map<String, Object> payloadMapa;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        pedido = Pedido.builder()
+            .numeroPedido("PED-000123")
+            .cliente("Cliente Benchmark")
+            .produto("Notebook")
+            .quantidade(3)
+            .valorTotal(new BigDecimal("15999.70"))
+            .build();
+        payloadMapa = objectMapper.convertValue(pedido, new TypeReference<Map<String, Object>>() { });
+    }
+
+    @Benchmark
+    public Pedido convertValueDeMapa() {
+        return objectMapper.convertValue(payloadMapa, Pedido.class);
+    }
+
+    @Benchmark
+    public Pedido convertValueMesmoTipo() {
+        return objectMapper.convertValue((Object) pedido, Pedido.class);
+    }
+
+    @Benchmark
+    public PedidoEntity paraEntidade() {
+        return PedidoEntity.de(pedido);
+    }
+}
@@ -0,0 +1,116 @@
+package com.integracao.kafka.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapaConsumo;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapasConsumo;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.MedidorOperacao;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Custo por chamada da instrumentação do caminho quente, no registry Prometheus real
+ * (histogramas ligados, como em produção).
+ *
+ * buscaPorChamada: Timer.builder(...).register(...) a cada medição (lookup por nome+tags).
+ * runnableLegado: API antiga, Timer.record(Runnable) com lambda capturando estado.
+ * amostra: MedidorOperacao.iniciar/parar, usado quando a medição termina em callback.
+ * medir: MedidorOperacao.medir com supplier (tempo + contador de sucesso).
+ * etapaConsumo / idadeEvento: instrumentação dos consumers por registro.
+ *
+ * Rode com -prof gc: as variantes pré-registradas não devem alocar além do Timer.Sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricasBenchmark {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+
+    private PrometheusMeterRegistry registry;
+    private IntegradorMetrics metrics;
+    private MedidorOperacao medidor;
+    private EtapasConsumo etapas;
+    private Timer timerLegado;
+    private LocalDateTime criadoEm;
+    private long valor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metrics = new IntegradorMetrics(registry);
+        medidor = metrics.operacao("publicar-pedido", TOPICO);
+        etapas = metrics.etapasConsumo("pedido", TOPICO);
+        timerLegado = Timer.builder("integrador_processamento_legado")
+            .publishPercentileHistogram()
+            .register(registry);
+        criadoEm = LocalDateTime.now().minusSeconds(1);
+    }
+
+    @Benchmark
+    public long buscaPorChamada() {
+        long inicio = System.nanoTime();
+        long resultado = ++valor;
+        Timer.builder("integrador_processamento_segundos")
+            .tag("operacao", "publicar-pedido")
+            .tag("topico", TOPICO)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry)
+            .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return resultado;
+    }
+
+    @Benchmark
+    public long runnableLegado() {
+        long[] resultado = new long[1];
+        timerLegado.record(() -> resultado[0] = ++valor);
+        return resultado[0];
+    }
+
+    @Benchmark
+    public long amostra() {
+        Timer.Sample amostra = medidor.iniciar();
+        long resultado = ++valor;
+        medidor.sucesso();
+        medidor.parar(amostra);
+        return resultado;
+    }
+
+    @Benchmark
+    public long medir() {
+        return medidor.medir(() -> ++valor);
+    }
+
+    @Benchmark
+    public long etapaConsumo() {
+        long inicio = System.nanoTime();
+        return etapas.registrar(EtapaConsumo.PERSISTENCIA, inicio);
+    }
+
+    @Benchmark
+    public void idadeEvento() {
+        metrics.registrarIdadeEvento("PEDIDO_CRIADO", TOPICO, criadoEm, System.currentTimeMillis() - 500);
+    }
+}
@@ -0,0 +1,181 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.integracao.kafka.domain.entity.PedidoEntity;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Linhas por segundo gravadas no H2, com as mesmas propriedades Hibernate do application.yaml.
+ *
+ * identitySavePorPedido: caminho antigo do consumer (IDENTITY, uma transação por save).
+ * identitySaveAll: saveAll em uma transação, mas com IDENTITY o batch JDBC fica desligado.
+ * sequenciaSaveAll: {@link PedidoEntity} atual (sequence pooled) + hibernate.jdbc.batch_size.
+ *
+ * O score (ops/s) já é linhas/s: cada invocação grava {@value #LOTE} pedidos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PersistenciaLoteBenchmark {
+
+    private static final int LOTE = 500;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+
+    /** numeroPedido é único em pedido: cada invocação da iteração grava números novos. */
+    private long proximoNumero;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+
+        Properties hibernate = new Properties();
+        hibernate.put("hibernate.hbm2ddl.auto", "create-drop");
+        hibernate.put("hibernate.jdbc.batch_size", "50");
+        hibernate.put("hibernate.order_inserts", "true");
+
+        var fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setManagedTypes(PersistenceManagedTypes.of(
+            PedidoEntity.class.getName(), PedidoIdentityEntity.class.getName()));
+        fabrica.setJpaProperties(hibernate);
+        fabrica.afterPropertiesSet();
+        entityManagerFactory = fabrica.getObject();
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        emTransacao(em -> em.createNativeQuery("TRUNCATE TABLE pedido").executeUpdate()
+            + em.createNativeQuery("TRUNCATE TABLE pedido_identity").executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void identitySavePorPedido() {
+        for (int i = 0; i < LOTE; i++) {
+            PedidoIdentityEntity pedido = preencher(new PedidoIdentityEntity(), i);
+            emTransacao(em -> {
+                em.persist(pedido);
+                return pedido;
+            });
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public List<PedidoIdentityEntity> identitySaveAll() {
+        List<PedidoIdentityEntity> pedidos = new ArrayList<>(LOTE);
+        for (int i = 0; i < LOTE; i++) {
+            pedidos.add(preencher(new PedidoIdentityEntity(), i));
+        }
+        return persistirTodos(pedidos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public List<PedidoEntity> sequenciaSaveAll() {
+        List<PedidoEntity> pedidos = new ArrayList<>(LOTE);
+        for (int i = 0; i < LOTE; i++) {
+            PedidoEntity pedido = new PedidoEntity();
+            pedido.setNumeroPedido("PED-" + proximoNumero++);
+            pedido.setCliente("Cliente " + i);
+            pedido.setProduto("Notebook");
+            pedido.setQuantidade(2);
+            pedido.setValorTotal(new BigDecimal("7999.80"));
+            pedidos.add(pedido);
+        }
+        return persistirTodos(pedidos);
+    }
+
+    private <T> List<T> persistirTodos(List<T> entidades) {
+        return emTransacao(em -> {
+            entidades.forEach(em::persist);
+            return entidades;
+        });
+    }
+
+    private <T> T emTransacao(Function<EntityManager, T> operacao) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T resultado = operacao.apply(em);
+            em.getTransaction().commit();
+            return resultado;
+        } finally {
+            em.close();
+        }
+    }
+
+    private PedidoIdentityEntity preencher(PedidoIdentityEntity pedido, int indice) {
+        pedido.setNumeroPedido("PED-" + indice);
+        pedido.setCliente("Cliente " + indice);
+        pedido.setProduto("Notebook");
+        pedido.setQuantidade(2);
+        pedido.setValorTotal(new BigDecimal("7999.80"));
+        return pedido;
+    }
+
+    /**
+     * Mapeamento anterior do pedido (IDENTITY), em tabela própria para comparar lado a lado.
+     */
+    @Entity
+    @Data
+    @Table(name = "pedido_identity")
+    public static class PedidoIdentityEntity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String numeroPedido;
+        private String cliente;
+        private String produto;
+        private Integer quantidade;
+        private BigDecimal valorTotal;
+    }
+}
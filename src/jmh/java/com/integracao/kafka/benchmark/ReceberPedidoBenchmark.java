@@ -0,0 +1,71 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.integracao.kafka.application.useCase.subscribe.ReceberPedidoUseCase;
+import com.integracao.kafka.domain.model.Pedido;
+
+/**
+ * Histórico de pedidos consumidos: 4 threads de listener chamando
+ * {@link ReceberPedidoUseCase#registrar(Pedido)} e 1 thread lendo os últimos 50, como o
+ * GET /api/pedidos/consumidos. O limite é o padrão de integrador.historico.pedidos.limite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceberPedidoBenchmark {
+
+    private static final int LIMITE_HISTORICO = 500;
+    private static final int LIMITE_LEITURA = 50;
+
+    private ReceberPedidoUseCase useCase;
+    private Pedido pedido;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        useCase = new ReceberPedidoUseCase(LIMITE_HISTORICO);
+        pedido = Pedido.builder()
+            .numeroPedido("PED-000123")
+            .cliente("Cliente Benchmark")
+            .produto("Notebook")
+            .quantidade(3)
+            .valorTotal(new BigDecimal("15999.70"))
+            .build();
+        for (int i = 0; i < LIMITE_HISTORICO; i++) {
+            useCase.registrar(pedido);
+        }
+    }
+
+    @Benchmark
+    @Group("historicoConcorrente")
+    @GroupThreads(4)
+    public void registrar() {
+        useCase.registrar(pedido);
+    }
+
+    @Benchmark
+    @Group("historicoConcorrente")
+    @GroupThreads(1)
+    public List<Pedido> listarUltimos() {
+        return useCase.listarUltimos(LIMITE_LEITURA);
+    }
+}
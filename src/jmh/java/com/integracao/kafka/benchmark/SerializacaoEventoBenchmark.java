@@ -0,0 +1,84 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.Pedido;
+import com.integracao.kafka.frameworkDrivers.kafka.serializer.EventoSerializer;
+import com.integracao.kafka.frameworkDrivers.kafka.serializer.FormatoSerializacao;
+
+/**
+ * Custo por registro de serializar um Evento&lt;Pedido&gt; no produtor (API e saída dos consumers).
+ *
+ * json / binario: EventoSerializer nos dois formatos de integrador.kafka.formato.
+ * O caminho inverso está em {@link DesserializacaoEventoBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoEventoBenchmark {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+
+    private EventoSerializer serializerJson;
+    private EventoSerializer serializerBinario;
+    private Evento<Pedido> evento;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        evento = Evento.<Pedido>builder()
+            .tipo("PEDIDO_CRIADO")
+            .origem("API")
+            .destino(TOPICO)
+            .status(Evento.StatusEvento.RECEBIDO)
+            .payload(Pedido.builder()
+                .numeroPedido("PED-000123")
+                .cliente("Cliente Benchmark")
+                .produto("Notebook")
+                .quantidade(3)
+                .valorTotal(new BigDecimal("15999.70"))
+                .build())
+            .build();
+
+        serializerJson = new EventoSerializer();
+        serializerJson.configure(Map.of(), false);
+        serializerBinario = new EventoSerializer();
+        serializerBinario.configure(Map.of(FormatoSerializacao.CONFIG_FORMATO, "binario"), false);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        serializerJson.close();
+        serializerBinario.close();
+    }
+
+    @Benchmark
+    public byte[] json() {
+        // Headers novos a cada registro, como no KafkaTemplate
+        return serializerJson.serialize(TOPICO, new RecordHeaders(), evento);
+    }
+
+    @Benchmark
+    public byte[] binario() {
+        return serializerBinario.serialize(TOPICO, new RecordHeaders(), evento);
+    }
+}
@@ -0,0 +1,180 @@
+package com.integracao.kafka.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.PedidoRepository;
+import com.integracao.kafka.application.service.PedidoService;
+import com.integracao.kafka.application.useCase.publish.PublicarPedidoUseCase;
+import com.integracao.kafka.domain.entity.PedidoEntity;
+import com.integracao.kafka.domain.model.Pedido;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Vazão do caminho real de um pedido — {@link PublicarPedidoUseCase#executar(Pedido)} com
+ * send().get() no broker e {@link PedidoService#criarPedido(Pedido)} com busca + insert no
+ * banco — no modelo atual (pool de 50 threads de plataforma, como server.tomcat.max-threads)
+ * contra uma virtual thread por requisição (spring.threads.virtual.enabled=true).
+ *
+ * Broker e banco são stubs que bloqueiam por {@code latenciaMs} a cada round trip (3 por
+ * requisição); o resto — validação, montagem do evento, mapeamento para entidade, métricas —
+ * é o código de produção, então um synchronized no caminho aparece como perda de vazão das
+ * virtual threads. O score é o tempo médio por requisição dentro de uma rajada de {@value #RAJADA}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ThreadsVirtuaisBenchmark {
+
+    private static final int RAJADA = 2000;
+    private static final int THREADS_TOMCAT = 50;
+
+    @Param({"plataforma", "virtual"})
+    private String modelo;
+
+    @Param({"2", "10"})
+    private int latenciaMs;
+
+    private ExecutorService executor;
+    private PublicarPedidoUseCase publicarPedidoUseCase;
+    private PedidoService pedidoService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Os logs INFO por requisição iriam para o console padrão do logback e dominariam a medida
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.integracao.kafka"))
+            .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        publicarPedidoUseCase = new PublicarPedidoUseCase(
+            (topico, evento) -> bloquear(), new IntegradorMetrics(new SimpleMeterRegistry()), null);
+        ReflectionTestUtils.invokeMethod(publicarPedidoUseCase, "registrarMedidor");
+        pedidoService = new PedidoService(new PedidoRepositoryComLatencia());
+
+        executor = "virtual".equals(modelo)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(THREADS_TOMCAT);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAJADA)
+    public void rajadaDePedidos(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(RAJADA);
+        for (int i = 0; i < RAJADA; i++) {
+            executor.execute(() -> {
+                try {
+                    Pedido pedido = pedido();
+                    blackhole.consume(publicarPedidoUseCase.executar(pedido));
+                    blackhole.consume(pedidoService.criarPedido(pedido));
+                } finally {
+                    concluidas.countDown();
+                }
+            });
+        }
+        concluidas.await();
+    }
+
+    private static Pedido pedido() {
+        // Sem numeroPedido: o use case gera um novo, como na API
+        return Pedido.builder()
+            .cliente("Cliente Benchmark")
+            .produto("Notebook")
+            .quantidade(2)
+            .valorTotal(new BigDecimal("7999.80"))
+            .build();
+    }
+
+    private void bloquear() {
+        try {
+            Thread.sleep(latenciaMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Banco com latência fixa por round trip; nenhum pedido existe antes, então cada
+     * {@code criarPedido} faz a busca por número e o insert.
+     */
+    private class PedidoRepositoryComLatencia implements PedidoRepository {
+
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public PedidoEntity save(PedidoEntity pedidoEntity) {
+            bloquear();
+            pedidoEntity.setId(ids.incrementAndGet());
+            return pedidoEntity;
+        }
+
+        @Override
+        public List<PedidoEntity> saveAll(List<PedidoEntity> pedidoEntities) {
+            bloquear();
+            pedidoEntities.forEach(pedido -> pedido.setId(ids.incrementAndGet()));
+            return pedidoEntities;
+        }
+
+        @Override
+        public PedidoEntity findById(Long id) {
+            bloquear();
+            return null;
+        }
+
+        @Override
+        public List<PedidoEntity> buscarPorNumeros(Collection<String> numerosPedido) {
+            bloquear();
+            return List.of();
+        }
+
+        @Override
+        public List<PedidoEntity> findAll() {
+            bloquear();
+            return List.of();
+        }
+
+        @Override
+        public List<PedidoEntity> buscarPagina(Long aposId, int tamanho) {
+            bloquear();
+            return List.of();
+        }
+
+        @Override
+        public void percorrerTodos(Consumer<PedidoEntity> consumidor) {
+            bloquear();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.integracao.kafka.adapter.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.integracao.kafka.application.useCase.subscribe.ReplayDlqUseCase;
+import com.integracao.kafka.application.useCase.subscribe.ReplayDlqUseCase.PedidoReplay;
+import com.integracao.kafka.domain.model.ReplayDlq;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dlq")
+@RequiredArgsConstructor
+@Tag(name = "DLQ", description = "Replay dos tópicos DLQ para os tópicos de entrada, com filtro e checkpoint")
+public class DlqController {
+
+    private final ReplayDlqUseCase replayDlqUseCase;
+
+    @PostMapping("/replay")
+    @Operation(summary = "Iniciar replay",
+        description = "Lê a DLQ entre offsets (ateOffset inclusivo) ou timestamps, filtra por tipo/motivo/chave e republica no tópico de entrada; acompanhe em /replay/{id}")
+    public ResponseEntity<?> iniciar(
+        @RequestParam String topico,
+        @RequestParam(required = false) Long deOffset,
+        @RequestParam(required = false) Long ateOffset,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant deTimestamp,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant ateTimestamp,
+        @RequestParam(required = false) String tipo,
+        @RequestParam(required = false) String motivo,
+        @RequestParam(required = false) String chave,
+        @RequestParam(required = false) Integer maxPorSegundo
+    ) {
+        try {
+            ReplayDlq replay = replayDlqUseCase.iniciar(new PedidoReplay(topico, deOffset, ateOffset, deTimestamp, ateTimestamp,
+                tipo, motivo, chave, maxPorSegundo));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(replay);
+        } catch (IllegalArgumentException e) {
+            log.warn("[API] Replay de DLQ inválido | erro={}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "status", "erro",
+                "mensagem", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/replay")
+    @Operation(summary = "Listar replays", description = "Replays de DLQ, do mais recente ao mais antigo")
+    public ResponseEntity<List<ReplayDlq>> listar() {
+        return ResponseEntity.ok(replayDlqUseCase.listar());
+    }
+
+    @GetMapping("/replay/{id}")
+    @Operation(summary = "Progresso do replay", description = "Posição (checkpoint) por partição, fim do intervalo e contadores")
+    public ResponseEntity<ReplayDlq> consultar(@PathVariable String id) {
+        ReplayDlq replay = replayDlqUseCase.consultar(id);
+        return replay == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(replay);
+    }
+
+    @PostMapping("/replay/{id}/cancelar")
+    @Operation(summary = "Cancelar replay", description = "Interrompe o replay após o lote em andamento")
+    public ResponseEntity<ReplayDlq> cancelar(@PathVariable String id) {
+        ReplayDlq replay = replayDlqUseCase.cancelar(id);
+        return replay == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(replay);
+    }
+
+    @PostMapping("/replay/{id}/retomar")
+    @Operation(summary = "Retomar replay", description = "Continua um replay cancelado ou que falhou a partir do último checkpoint")
+    public ResponseEntity<ReplayDlq> retomar(@PathVariable String id) {
+        ReplayDlq replay = replayDlqUseCase.retomar(id);
+        return replay == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(replay);
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.adapter.dto.request.NotaDtoRequest;
 import com.integracao.kafka.application.service.NotaFiscalService;
 import com.integracao.kafka.domain.entity.NotaFiscalEntity;
@@ -35,6 +37,7 @@ public class NotaFiscalController {
     private final PublicarNotaFiscalUseCase criarNotaFiscalUseCase;
     private final ReceberNotaUseCase receberNotaUseCase;
     private final NotaFiscalService notaFiscalService;
+    private final ObjectMapper objectMapper;
 
 
     @PostMapping
@@ -102,8 +105,22 @@ public class NotaFiscalController {
     }
     
     @GetMapping("/h2/find-all")
-    @Operation(summary = "Buscar todas as notas fiscais", description = "Retorna todas as notas fiscais cadastradas no sistema (dados persistidos no H2)")
+    @Operation(summary = "Buscar todas as notas fiscais", description = "Retorna todas as notas fiscais cadastradas no sistema (dados persistidos no H2). Para tabelas grandes use /h2/pagina ou /h2/exportar")
     public ResponseEntity<List<NotaFiscalEntity>> findAllNotaFiscal() {
         return ResponseEntity.ok(notaFiscalService.listarNotasFiscais());   
     }
+
+    @GetMapping("/h2/pagina")
+    @Operation(summary = "Buscar notas fiscais paginadas", description = "Paginação por keyset: retorna até 'tamanho' notas com id maior que 'aposId'. Use 'proximoAposId' da resposta na próxima chamada; a página vazia indica o fim")
+    public ResponseEntity<Map<String, Object>> buscarPaginaNotasFiscais(
+            @RequestParam(defaultValue = "0") long aposId,
+            @RequestParam(defaultValue = "100") int tamanho) {
+        return RespostaPaginada.de(notaFiscalService.listarPagina(aposId, tamanho), NotaFiscalEntity::getId);
+    }
+
+    @GetMapping(value = "/h2/exportar", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar notas fiscais (NDJSON)", description = "Transmite todas as notas fiscais, um JSON por linha, lidas do banco por cursor com memória constante")
+    public ResponseEntity<StreamingResponseBody> exportarNotasFiscais() {
+        return RespostaNdjson.de(objectMapper, notaFiscalService::exportarNotasFiscais);
+    }
 }
@@ -2,9 +2,13 @@ package com.integracao.kafka.adapter.controller;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.http.HttpStatus;
@@ -15,8 +19,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.adapter.dto.request.PedidoDtoRequest;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.service.PedidoService;
 import com.integracao.kafka.application.useCase.publish.PublicarPedidoUseCase;
 import com.integracao.kafka.application.useCase.subscribe.ReceberPedidoUseCase;
 
@@ -37,7 +45,8 @@ public class PedidoController {
 
     private final PublicarPedidoUseCase criarPedidoUseCase;
     private final ReceberPedidoUseCase receberPedidoUseCase;
-    private final com.integracao.kafka.application.service.PedidoService pedidoService;
+    private final PedidoService pedidoService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Criar novo pedido", description = "Cria um pedido e publica no tópico Kafka 'integrador.pedido.recebido' para processamento")
@@ -80,19 +89,90 @@ public class PedidoController {
         }
     }
  
+    @PostMapping("/lote")
+    @Operation(summary = "Criar pedidos em lote", description = "Publica uma lista de pedidos em 'integrador.pedido.recebido' aguardando as confirmações do broker uma única vez e retorna o resultado de cada pedido")
+    public ResponseEntity<Map<String, Object>> criarPedidosEmLote(@RequestBody List<PedidoDtoRequest> pedidos) {
+        if (pedidos == null || pedidos.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "status", "erro",
+                    "mensagem", "Lista de pedidos é obrigatória"
+            ));
+        }
+        log.info("[API] Recebendo lote de pedidos | quantidade={}", pedidos.size());
+
+        List<Pedido> modelos = new ArrayList<>(pedidos.size());
+        List<String> errosConversao = new ArrayList<>(pedidos.size());
+        for (PedidoDtoRequest pedido : pedidos) {
+            Pedido modelo = null;
+            String erro = null;
+            try {
+                validarRequisicao(pedido);
+                modelo = Pedido.builder()
+                        .numeroPedido(pedido.numeroPedido())
+                        .cliente(pedido.cliente())
+                        .produto(pedido.produto())
+                        .quantidade(pedido.quantidade())
+                        .valorTotal(parseValorTotal(pedido.valorTotal()))
+                        .build();
+            } catch (IllegalArgumentException e) {
+                erro = e.getMessage();
+            }
+            modelos.add(modelo);
+            errosConversao.add(erro);
+        }
+
+        List<Pedido> validos = modelos.stream().filter(Objects::nonNull).toList();
+        ResultadoLotePublicacao resultado = criarPedidoUseCase.executarLote(validos);
+
+        List<Map<String, Object>> itens = new ArrayList<>(pedidos.size());
+        int proximoValido = 0;
+        for (int i = 0; i < modelos.size(); i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            if (modelos.get(i) == null) {
+                item.put("status", "erro");
+                item.put("mensagem", errosConversao.get(i));
+            } else {
+                ResultadoLotePublicacao.Item publicado = resultado.itens().get(proximoValido++);
+                item.put("numeroPedido", modelos.get(i).getNumeroPedido());
+                item.put("eventoId", publicado.eventoId());
+                item.put("status", publicado.sucesso() ? "sucesso" : "erro");
+                if (!publicado.sucesso()) {
+                    item.put("mensagem", publicado.erro());
+                }
+            }
+            itens.add(item);
+        }
+
+        long sucesso = itens.stream().filter(item -> "sucesso".equals(item.get("status"))).count();
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("total",   pedidos.size());
+        resposta.put("sucesso", sucesso);
+        resposta.put("falha",   pedidos.size() - sucesso);
+        resposta.put("itens",   itens);
+
+        HttpStatus status = sucesso == pedidos.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(resposta);
+    }
+
     @PostMapping("/teste-carga")
     @Operation(
         summary = "Teste de carga",
-        description = "Dispara N pedidos fictícios em sequência e retorna métricas de desempenho (tempo total, média por pedido, throughput, sucesso/falha)"
+        description = "Dispara N pedidos fictícios com até 'janela' publicações em voo simultâneas e retorna métricas de desempenho (tempo total, média por pedido, throughput, sucesso/falha)"
     )
     public ResponseEntity<Map<String, Object>> testeCarga(
-            @RequestParam(defaultValue = "1000") int quantidade) {
+            @RequestParam(defaultValue = "1000") int quantidade,
+            @RequestParam(defaultValue = "16") int janela) {
 
-        log.info("[CARGA] Iniciando teste de carga | quantidade={}", quantidade);
+        log.info("[CARGA] Iniciando teste de carga | quantidade={} janela={}", quantidade, janela);
 
         AtomicInteger sucesso = new AtomicInteger(0);
         AtomicInteger falha   = new AtomicInteger(0);
-        List<String> erros    = new ArrayList<>();
+        List<String> erros    = Collections.synchronizedList(new ArrayList<>());
+
+        // Janela de publicações em voo: mantém o pipeline cheio sem estourar o bulkhead do produtor
+        int janelaAjustada = Math.max(1, janela);
+        Semaphore emVoo = new Semaphore(janelaAjustada);
 
         long inicioTotal = System.currentTimeMillis();
 
@@ -107,18 +187,27 @@ public class PedidoController {
                     .valorTotal(BigDecimal.valueOf(100 + i))    // varia o valor
                     .build();
 
+            int indice = i;
+            emVoo.acquireUninterruptibly();
             try {
-                criarPedidoUseCase.executar(pedido);
-                sucesso.incrementAndGet();
+                criarPedidoUseCase.executarAsync(pedido).whenComplete((eventoId, e) -> {
+                    emVoo.release();
+                    if (e == null) {
+                        sucesso.incrementAndGet();
+                        return;
+                    }
+                    registrarFalhaCarga(indice, e, falha, erros);
+                });
             } catch (Exception e) {
-                falha.incrementAndGet();
-                if (erros.size() < 10) { 
-                    erros.add("Pedido #" + i + ": " + e.getMessage());
-                }
-                log.warn("[CARGA] Falha no pedido #{} | erro={}", i, e.getMessage());
+                emVoo.release();
+                registrarFalhaCarga(indice, e, falha, erros);
             }
         }
 
+        // Aguarda as últimas confirmações pendentes
+        emVoo.acquireUninterruptibly(janelaAjustada);
+        emVoo.release(janelaAjustada);
+
         long tempoTotalMs   = System.currentTimeMillis() - inicioTotal;
         double mediaPorPedidoMs = quantidade > 0 ? (double) tempoTotalMs / quantidade : 0;
         double throughput       = tempoTotalMs > 0 ? (sucesso.get() / (tempoTotalMs / 1000.0)) : 0;
@@ -126,18 +215,27 @@ public class PedidoController {
         log.info("[CARGA] Teste finalizado | total={} sucesso={} falha={} tempoTotal={}ms throughput={}/s",
                 quantidade, sucesso.get(), falha.get(), tempoTotalMs, String.format("%.2f", throughput));
 
-        Map<String, Object> resultado = new java.util.LinkedHashMap<>();
+        Map<String, Object> resultado = new LinkedHashMap<>();
         resultado.put("totalEnviados",      quantidade);
         resultado.put("sucesso",            sucesso.get());
         resultado.put("falha",              falha.get());
         resultado.put("tempoTotalMs",       tempoTotalMs);
         resultado.put("mediaPorPedidoMs",   String.format("%.2f", mediaPorPedidoMs));
         resultado.put("throughputPorSegundo", String.format("%.2f", throughput));
-        resultado.put("primeirosErros",     erros);
+        resultado.put("janela",             janelaAjustada);
+        resultado.put("primeirosErros",     List.copyOf(erros));
 
         return ResponseEntity.ok(resultado);
     }
 
+    private void registrarFalhaCarga(int indice, Throwable e, AtomicInteger falha, List<String> erros) {
+        falha.incrementAndGet();
+        if (erros.size() < 10) {
+            erros.add("Pedido #" + indice + ": " + e.getMessage());
+        }
+        log.warn("[CARGA] Falha no pedido #{} | erro={}", indice, e.getMessage());
+    }
+
     @GetMapping("/consumidos")
     @Operation(summary = "Listar pedidos consumidos", description = "Retorna os últimos pedidos processados pelo consumer")
     public ResponseEntity<List<Pedido>> listarPedidosConsumidos(@RequestParam(defaultValue = "50") int limite) {
@@ -146,11 +244,25 @@ public class PedidoController {
  
 
     @GetMapping("/h2/find-all")
-    @Operation(summary = "Buscar todos os pedidos", description = "Retorna todos os pedidos cadastrados no sistema (dados persistidos no H2)")
+    @Operation(summary = "Buscar todos os pedidos", description = "Retorna todos os pedidos cadastrados no sistema (dados persistidos no H2). Para tabelas grandes use /h2/pagina ou /h2/exportar")
     public ResponseEntity<List<PedidoEntity>> findAllPedido() {
         return ResponseEntity.ok(pedidoService.listarPedidos());
     }
 
+    @GetMapping("/h2/pagina")
+    @Operation(summary = "Buscar pedidos paginados", description = "Paginação por keyset: retorna até 'tamanho' pedidos com id maior que 'aposId'. Use 'proximoAposId' da resposta na próxima chamada; a página vazia indica o fim")
+    public ResponseEntity<Map<String, Object>> buscarPaginaPedidos(
+            @RequestParam(defaultValue = "0") long aposId,
+            @RequestParam(defaultValue = "100") int tamanho) {
+        return RespostaPaginada.de(pedidoService.listarPagina(aposId, tamanho), PedidoEntity::getId);
+    }
+
+    @GetMapping(value = "/h2/exportar", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar pedidos (NDJSON)", description = "Transmite todos os pedidos, um JSON por linha, lidos do banco por cursor com memória constante")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos() {
+        return RespostaNdjson.de(objectMapper, pedidoService::exportarPedidos);
+    }
+
     private void validarRequisicao(PedidoDtoRequest pedido) {
         if (pedido == null) {
             throw new IllegalArgumentException("Corpo da requisição é obrigatório");
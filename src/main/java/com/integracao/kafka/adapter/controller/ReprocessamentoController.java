@@ -1,8 +1,11 @@
 package com.integracao.kafka.adapter.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,7 +14,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.integracao.kafka.application.repository.FiltroFalhas;
 import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase.ProgressoJob;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase.TipoOperacao;
 import com.integracao.kafka.domain.model.FalhaProcessamento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
@@ -29,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ReprocessamentoController {
 
     private final GerenciarFalhasUseCase gerenciarFalhasUseCase;
+    private final OperacaoEmMassaFalhasUseCase operacaoEmMassaFalhasUseCase;
 
     @GetMapping("/falhas")
     @Operation(summary = "Listar falhas", description = "Lista falhas de validação de pedido/nota para análise e reprocessamento")
@@ -66,4 +74,54 @@ public class ReprocessamentoController {
             "tipo", falha.getTipo().name()
         ));
     }
+
+    @PostMapping("/falhas/lote/reprocessar")
+    @Operation(summary = "Reprocessar falhas em massa",
+        description = "Cria um job assíncrono que republica em lotes as falhas do filtro; acompanhe em /jobs/{id}")
+    public ResponseEntity<ProgressoJob> reprocessarEmMassa(
+        @RequestParam(required = false) TipoFalha tipo,
+        @RequestParam(defaultValue = "PENDENTE_REPROCESSAMENTO") StatusFalha status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoDe,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoAte,
+        @RequestParam(required = false) String motivo
+    ) {
+        FiltroFalhas filtro = new FiltroFalhas(tipo, status, criadoDe, criadoAte, motivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(operacaoEmMassaFalhasUseCase.iniciar(TipoOperacao.REPROCESSAR, filtro));
+    }
+
+    @PostMapping("/falhas/lote/descartar")
+    @Operation(summary = "Descartar falhas em massa",
+        description = "Cria um job assíncrono que descarta as falhas do filtro; acompanhe em /jobs/{id}")
+    public ResponseEntity<ProgressoJob> descartarEmMassa(
+        @RequestParam(required = false) TipoFalha tipo,
+        @RequestParam(defaultValue = "PENDENTE_REPROCESSAMENTO") StatusFalha status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoDe,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoAte,
+        @RequestParam(required = false) String motivo
+    ) {
+        FiltroFalhas filtro = new FiltroFalhas(tipo, status, criadoDe, criadoAte, motivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(operacaoEmMassaFalhasUseCase.iniciar(TipoOperacao.DESCARTAR, filtro));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Listar jobs", description = "Jobs de operação em massa, do mais recente ao mais antigo")
+    public ResponseEntity<List<ProgressoJob>> listarJobs() {
+        return ResponseEntity.ok(operacaoEmMassaFalhasUseCase.listar());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Progresso do job", description = "Total selecionado, processadas, ignoradas e falhas até agora")
+    public ResponseEntity<ProgressoJob> consultarJob(@PathVariable String id) {
+        ProgressoJob progresso = operacaoEmMassaFalhasUseCase.consultar(id);
+        return progresso == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progresso);
+    }
+
+    @PostMapping("/jobs/{id}/cancelar")
+    @Operation(summary = "Cancelar job", description = "Interrompe o job após o lote em andamento")
+    public ResponseEntity<ProgressoJob> cancelarJob(@PathVariable String id) {
+        ProgressoJob progresso = operacaoEmMassaFalhasUseCase.cancelar(id);
+        return progresso == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progresso);
+    }
 }
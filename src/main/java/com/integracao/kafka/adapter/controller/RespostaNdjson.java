@@ -0,0 +1,50 @@
+package com.integracao.kafka.adapter.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Resposta NDJSON (um objeto JSON por linha) escrita direto no corpo à medida que as linhas
+ * chegam do banco: nada é acumulado em lista, então a memória não cresce com a tabela.
+ */
+final class RespostaNdjson {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private RespostaNdjson() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> de(ObjectMapper objectMapper, Consumer<Consumer<T>> exportacao) {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody corpo = saida -> {
+            OutputStream buffer = new BufferedOutputStream(saida, BUFFER_BYTES);
+            exportacao.accept(linha -> escreverLinha(writer, buffer, linha));
+            buffer.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(corpo);
+    }
+
+    private static void escreverLinha(ObjectWriter writer, OutputStream saida, Object linha) {
+        try {
+            writer.writeValue(saida, linha);
+            saida.write('\n');
+        } catch (IOException ex) {
+            // Cliente desconectou: interrompe o cursor em vez de ler o resto da tabela
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.integracao.kafka.adapter.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Resposta das páginas por keyset (/h2/pagina): os itens, a quantidade e o id a passar
+ * como aposId na próxima chamada (null na página vazia, que indica o fim).
+ */
+final class RespostaPaginada {
+
+    private RespostaPaginada() {
+    }
+
+    static <T> ResponseEntity<Map<String, Object>> de(List<T> itens, Function<T, Long> id) {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("itens",         itens);
+        resposta.put("quantidade",    itens.size());
+        resposta.put("proximoAposId", itens.isEmpty() ? null : id.apply(itens.get(itens.size() - 1)));
+        return ResponseEntity.ok(resposta);
+    }
+}
@@ -0,0 +1,28 @@
+package com.integracao.kafka.adapter.repository.iRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.integracao.kafka.domain.entity.FalhaProcessamentoEntity;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+public interface IFalhaProcessamentoRepository extends JpaRepository<FalhaProcessamentoEntity, String> {
+
+    Optional<FalhaProcessamentoEntity> findByChaveEvento(String chaveEvento);
+
+    List<FalhaProcessamentoEntity> findByChaveEventoIn(Collection<String> chavesEvento);
+
+    // Um método por combinação de filtros: "(:tipo is null or ...)" impede o uso dos índices
+    List<FalhaProcessamentoEntity> findAllByOrderByCriadoEmDescIdDesc(Pageable pageable);
+
+    List<FalhaProcessamentoEntity> findByTipoOrderByCriadoEmDescIdDesc(TipoFalha tipo, Pageable pageable);
+
+    List<FalhaProcessamentoEntity> findByStatusOrderByCriadoEmDescIdDesc(StatusFalha status, Pageable pageable);
+
+    List<FalhaProcessamentoEntity> findByTipoAndStatusOrderByCriadoEmDescIdDesc(TipoFalha tipo, StatusFalha status, Pageable pageable);
+}
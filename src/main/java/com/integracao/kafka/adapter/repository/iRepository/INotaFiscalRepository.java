@@ -1,9 +1,29 @@
 package com.integracao.kafka.adapter.repository.iRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.integracao.kafka.domain.entity.NotaFiscalEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface INotaFiscalRepository extends JpaRepository<NotaFiscalEntity, Long> {
-    
+
+    /**
+     * Keyset: WHERE id > :id ORDER BY id, usando o índice da PK (custo constante por página).
+     */
+    List<NotaFiscalEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<NotaFiscalEntity> findByNumeroNotaIn(Collection<String> numerosNota);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e from NotaFiscalEntity e order by e.id")
+    Stream<NotaFiscalEntity> streamAllByOrderByIdAsc();
 }
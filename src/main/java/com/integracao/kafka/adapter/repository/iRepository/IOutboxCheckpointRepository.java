@@ -0,0 +1,8 @@
+package com.integracao.kafka.adapter.repository.iRepository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.integracao.kafka.domain.entity.OutboxCheckpointEntity;
+
+public interface IOutboxCheckpointRepository extends JpaRepository<OutboxCheckpointEntity, String> {
+}
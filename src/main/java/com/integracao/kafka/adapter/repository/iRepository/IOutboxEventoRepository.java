@@ -0,0 +1,15 @@
+package com.integracao.kafka.adapter.repository.iRepository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+
+public interface IOutboxEventoRepository extends JpaRepository<OutboxEventoEntity, Long> {
+
+    List<OutboxEventoEntity> findAllByStatusOrderByIdAsc(OutboxEventoEntity.Status status, Pageable pageable);
+
+    long countByStatus(OutboxEventoEntity.Status status);
+}
@@ -1,8 +1,29 @@
 package com.integracao.kafka.adapter.repository.iRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.integracao.kafka.domain.entity.PedidoEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface IPedidoRepository extends JpaRepository<PedidoEntity, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Keyset: WHERE id > :id ORDER BY id, usando o índice da PK (custo constante por página).
+     */
+    List<PedidoEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<PedidoEntity> findByNumeroPedidoIn(Collection<String> numerosPedido);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e from PedidoEntity e order by e.id")
+    Stream<PedidoEntity> streamAllByOrderByIdAsc();
+}
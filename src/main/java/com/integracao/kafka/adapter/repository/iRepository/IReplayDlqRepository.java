@@ -0,0 +1,15 @@
+package com.integracao.kafka.adapter.repository.iRepository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.integracao.kafka.domain.entity.ReplayDlqEntity;
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+public interface IReplayDlqRepository extends JpaRepository<ReplayDlqEntity, String> {
+
+    List<ReplayDlqEntity> findAllByOrderByCriadoEmDesc();
+
+    List<ReplayDlqEntity> findByStatusOrderByCriadoEmAsc(StatusReplay status);
+}
@@ -0,0 +1,243 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.adapter.repository.iRepository.IFalhaProcessamentoRepository;
+import com.integracao.kafka.application.repository.FalhaRepository;
+import com.integracao.kafka.application.repository.FiltroFalhas;
+import com.integracao.kafka.domain.entity.FalhaProcessamentoEntity;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Falhas na tabela falha_processamento (integrador.falhas.armazenamento=banco).
+ *
+ * O evento original vai como JSON; o payload volta como mapa, o que basta para republicar.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "integrador.falhas.armazenamento", havingValue = "banco")
+public class FalhaRepositoryImpl implements FalhaRepository {
+
+    private static final int TAMANHO_MOTIVO = 2000;
+    private static final int LIMITE_MAXIMO_LISTAGEM = 10_000;
+
+    private final IFalhaProcessamentoRepository falhaProcessamentoRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public void salvar(FalhaProcessamento falha) {
+        salvarTodas(List.of(falha));
+    }
+
+    /**
+     * Um SELECT ... IN para achar as existentes; novas entram com INSERT em batch
+     * e existentes são atualizadas pelo dirty checking no commit.
+     */
+    @Transactional
+    public void salvarTodas(List<FalhaProcessamento> falhas) {
+        if (falhas.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = falhas.stream().map(FalhaProcessamento::getId).toList();
+        Map<String, FalhaProcessamentoEntity> existentes = falhaProcessamentoRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(FalhaProcessamentoEntity::getId, Function.identity()));
+
+        List<FalhaProcessamentoEntity> novas = new ArrayList<>();
+        for (FalhaProcessamento falha : falhas) {
+            FalhaProcessamentoEntity entidade = existentes.get(falha.getId());
+            if (entidade == null) {
+                entidade = new FalhaProcessamentoEntity();
+                novas.add(entidade);
+            }
+            copiar(falha, entidade);
+        }
+        falhaProcessamentoRepository.saveAll(novas);
+    }
+
+    @Transactional(readOnly = true)
+    public FalhaProcessamento buscarPorId(String id) {
+        return falhaProcessamentoRepository.findById(id).map(this::paraDominio).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, FalhaProcessamento> buscarPorIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, FalhaProcessamento> encontradas = new HashMap<>();
+        for (FalhaProcessamentoEntity entidade : falhaProcessamentoRepository.findAllById(ids)) {
+            encontradas.put(entidade.getId(), paraDominio(entidade));
+        }
+        return encontradas;
+    }
+
+    @Transactional(readOnly = true)
+    public FalhaProcessamento buscarPorChaveEvento(String chaveEvento) {
+        if (chaveEvento == null) {
+            return null;
+        }
+        return falhaProcessamentoRepository.findByChaveEvento(chaveEvento).map(this::paraDominio).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, FalhaProcessamento> buscarPorChavesEvento(Collection<String> chavesEvento) {
+        if (chavesEvento.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, FalhaProcessamento> encontradas = new HashMap<>();
+        for (FalhaProcessamentoEntity entidade : falhaProcessamentoRepository.findByChaveEventoIn(chavesEvento)) {
+            encontradas.put(entidade.getChaveEvento(), paraDominio(entidade));
+        }
+        return encontradas;
+    }
+
+    @Transactional(readOnly = true)
+    public List<FalhaProcessamento> listar(TipoFalha tipo, StatusFalha status, int limite) {
+        Pageable pagina = PageRequest.of(0, limite <= 0 ? LIMITE_MAXIMO_LISTAGEM : Math.min(limite, LIMITE_MAXIMO_LISTAGEM));
+
+        List<FalhaProcessamentoEntity> entidades;
+        if (tipo != null && status != null) {
+            entidades = falhaProcessamentoRepository.findByTipoAndStatusOrderByCriadoEmDescIdDesc(tipo, status, pagina);
+        } else if (tipo != null) {
+            entidades = falhaProcessamentoRepository.findByTipoOrderByCriadoEmDescIdDesc(tipo, pagina);
+        } else if (status != null) {
+            entidades = falhaProcessamentoRepository.findByStatusOrderByCriadoEmDescIdDesc(status, pagina);
+        } else {
+            entidades = falhaProcessamentoRepository.findAllByOrderByCriadoEmDescIdDesc(pagina);
+        }
+
+        // O índice entrega as mais recentes primeiro; a API devolve em ordem de registro
+        List<FalhaProcessamento> falhas = new ArrayList<>(entidades.size());
+        for (FalhaProcessamentoEntity entidade : entidades) {
+            falhas.add(paraDominio(entidade));
+        }
+        Collections.reverse(falhas);
+        return falhas;
+    }
+
+    /**
+     * Só projeta o id, sem carregar evento/motivo: o job de operação em massa carrega as falhas por lote.
+     * A consulta só inclui os filtros informados, para usar o índice correspondente.
+     */
+    @Transactional(readOnly = true)
+    public List<String> listarIds(FiltroFalhas filtro) {
+        StringBuilder jpql = new StringBuilder("select f.id from FalhaProcessamentoEntity f where 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+        if (filtro.tipo() != null) {
+            jpql.append(" and f.tipo = :tipo");
+            parametros.put("tipo", filtro.tipo());
+        }
+        if (filtro.status() != null) {
+            jpql.append(" and f.status = :status");
+            parametros.put("status", filtro.status());
+        }
+        if (filtro.criadoDe() != null) {
+            jpql.append(" and f.criadoEm >= :criadoDe");
+            parametros.put("criadoDe", filtro.criadoDe());
+        }
+        if (filtro.criadoAte() != null) {
+            jpql.append(" and f.criadoEm < :criadoAte");
+            parametros.put("criadoAte", filtro.criadoAte());
+        }
+        if (filtro.motivo() != null && !filtro.motivo().isBlank()) {
+            jpql.append(" and lower(f.motivo) like :motivo");
+            parametros.put("motivo", "%" + filtro.motivo().toLowerCase(Locale.ROOT) + "%");
+        }
+        jpql.append(" order by f.criadoEm, f.id");
+
+        TypedQuery<String> consulta = entityManager.createQuery(jpql.toString(), String.class);
+        parametros.forEach(consulta::setParameter);
+        return consulta.getResultList();
+    }
+
+    private void copiar(FalhaProcessamento falha, FalhaProcessamentoEntity entidade) {
+        entidade.setId(falha.getId());
+        entidade.setChaveEvento(FalhaRepository.chaveEvento(falha.getTipo(), falha.getEventoOriginal()));
+        entidade.setTipo(falha.getTipo());
+        entidade.setStatus(falha.getStatus());
+        entidade.setMotivo(truncar(falha.getMotivo()));
+        entidade.setTopicoOrigem(falha.getTopicoOrigem());
+        entidade.setParticaoOrigem(falha.getParticaoOrigem());
+        entidade.setOffsetOrigem(falha.getOffsetOrigem());
+        entidade.setCriadoEm(falha.getCriadoEm());
+        entidade.setReprocessadoEm(falha.getReprocessadoEm());
+        entidade.setUltimaTentativaReprocessamentoEm(falha.getUltimaTentativaReprocessamentoEm());
+        entidade.setProximaTentativaPermitidaEm(falha.getProximaTentativaPermitidaEm());
+        entidade.setTentativasReprocessamento(falha.getTentativasReprocessamento());
+        entidade.setMaxTentativasReprocessamento(falha.getMaxTentativasReprocessamento());
+        entidade.setEvento(eventoParaJson(falha.getEventoOriginal()));
+    }
+
+    private FalhaProcessamento paraDominio(FalhaProcessamentoEntity entidade) {
+        return FalhaProcessamento.builder()
+            .id(entidade.getId())
+            .tipo(entidade.getTipo())
+            .status(entidade.getStatus())
+            .motivo(entidade.getMotivo())
+            .topicoOrigem(entidade.getTopicoOrigem())
+            .particaoOrigem(entidade.getParticaoOrigem())
+            .offsetOrigem(entidade.getOffsetOrigem())
+            .criadoEm(entidade.getCriadoEm())
+            .reprocessadoEm(entidade.getReprocessadoEm())
+            .ultimaTentativaReprocessamentoEm(entidade.getUltimaTentativaReprocessamentoEm())
+            .proximaTentativaPermitidaEm(entidade.getProximaTentativaPermitidaEm())
+            .tentativasReprocessamento(entidade.getTentativasReprocessamento())
+            .maxTentativasReprocessamento(entidade.getMaxTentativasReprocessamento())
+            .eventoOriginal(jsonParaEvento(entidade.getId(), entidade.getEvento()))
+            .build();
+    }
+
+    private String eventoParaJson(Evento<?> evento) {
+        if (evento == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Evento da falha não serializável: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private Evento<?> jsonParaEvento(String idFalha, String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Evento.class);
+        } catch (JsonProcessingException ex) {
+            log.error("[FALHAS] Evento gravado ilegível | id={} erro={}", idFalha, ex.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String truncar(String motivo) {
+        return motivo == null || motivo.length() <= TAMANHO_MOTIVO ? motivo : motivo.substring(0, TAMANHO_MOTIVO);
+    }
+}
@@ -0,0 +1,155 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estágio write-behind com group commit.
+ *
+ * As threads dos listeners enfileiram entidades e recebem um future; uma única thread
+ * gravadora junta o que chegou e grava com um saveAll (uma transação e um batch JDBC).
+ * O grupo é gravado quando atinge {@code tamanhoMaximo} ou quando o primeiro item espera
+ * {@code esperaMaximaMs}. O future só completa depois do commit, então o ACK continua
+ * vindo depois da persistência. Se o commit falha, todos os futures do grupo falham com a causa.
+ * Ao encerrar, o que a gravadora não chegou a gravar falha com IllegalStateException, então
+ * nenhum future fica pendente para sempre.
+ */
+@Slf4j
+class GravacaoEmGrupo<E> implements AutoCloseable {
+
+    private final String entidade;
+    private final Function<List<E>, List<E>> salvarTodos;
+    private final int tamanhoMaximo;
+    private final long esperaMaximaNanos;
+    private final IntegradorMetrics metrics;
+
+    private final BlockingQueue<Pendente<E>> fila;
+    private final Thread gravadora;
+    private volatile boolean ativo = true;
+
+    GravacaoEmGrupo(String entidade, Function<List<E>, List<E>> salvarTodos, int tamanhoMaximo, long esperaMaximaMs,
+                    IntegradorMetrics metrics) {
+        this.entidade = entidade;
+        this.salvarTodos = salvarTodos;
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+        this.metrics = metrics;
+        // Limita a memória: com a fila cheia, quem chama espera a gravadora abrir espaço
+        this.fila = new LinkedBlockingQueue<>(this.tamanhoMaximo * 10);
+
+        this.gravadora = new Thread(this::executar, "gravacao-grupo-" + entidade);
+        this.gravadora.setDaemon(true);
+        this.gravadora.start();
+    }
+
+    CompletableFuture<E> gravar(E entidadeNova) {
+        if (!ativo) {
+            return CompletableFuture.failedFuture(encerrada());
+        }
+        Pendente<E> pendente = new Pendente<>(entidadeNova, new CompletableFuture<>());
+        try {
+            fila.put(pendente);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+        // close() pode ter rodado entre a checagem e o put; se ninguém retirou o item, falha aqui
+        if (!ativo && fila.remove(pendente)) {
+            pendente.futuro().completeExceptionally(encerrada());
+        }
+        return pendente.futuro();
+    }
+
+    @Override
+    public void close() {
+        // Sem interrupt: a gravadora pode estar no meio de um commit; ela sai em até 100ms após drenar a fila
+        ativo = false;
+        try {
+            gravadora.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Pendente<E>> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            log.warn("[GRAVACAO-GRUPO] Encerrada com itens não gravados | entidade={} quantidade={}", entidade, restantes.size());
+        }
+        for (Pendente<E> pendente : restantes) {
+            pendente.futuro().completeExceptionally(encerrada());
+        }
+    }
+
+    private IllegalStateException encerrada() {
+        return new IllegalStateException("Gravação em grupo encerrada | entidade=" + entidade);
+    }
+
+    private void executar() {
+        List<Pendente<E>> grupo = new ArrayList<>(tamanhoMaximo);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pendente<E> primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                grupo.add(primeiro);
+
+                long prazo = System.nanoTime() + esperaMaximaNanos;
+                while (grupo.size() < tamanhoMaximo) {
+                    long restante = prazo - System.nanoTime();
+                    Pendente<E> proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : fila.poll();
+                    if (proximo == null) {
+                        break;
+                    }
+                    grupo.add(proximo);
+                }
+            } catch (InterruptedException ex) {
+                // Thread interrompida: grava o que já foi coletado junto com o restante da fila
+                fila.drainTo(grupo);
+            }
+
+            if (!grupo.isEmpty()) {
+                gravarGrupo(grupo);
+                grupo.clear();
+            }
+        }
+    }
+
+    private void gravarGrupo(List<Pendente<E>> grupo) {
+        List<E> entidades = new ArrayList<>(grupo.size());
+        for (Pendente<E> pendente : grupo) {
+            entidades.add(pendente.entidade());
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            List<E> salvas = salvarTodos.apply(entidades);
+            Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+            // Libera os listeners antes das métricas: falha ao registrar não pode prender o ACK
+            for (int i = 0; i < grupo.size(); i++) {
+                grupo.get(i).futuro().complete(salvas.get(i));
+            }
+            metrics.registrarGrupoPersistencia(entidade, grupo.size(), duracao);
+        } catch (Throwable ex) {
+            // Inclui Error (ex.: OutOfMemoryError num grupo grande): a gravadora segue viva para os próximos
+            log.error("[GRAVACAO-GRUPO] Falha ao gravar grupo | entidade={} tamanho={} erro={}",
+                entidade, grupo.size(), ex.getMessage());
+            for (Pendente<E> pendente : grupo) {
+                pendente.futuro().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private record Pendente<E>(E entidade, CompletableFuture<E> futuro) {
+    }
+}
@@ -1,13 +1,24 @@
 package com.integracao.kafka.adapter.repository.implementation;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.integracao.kafka.adapter.repository.iRepository.INotaFiscalRepository;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
 import com.integracao.kafka.application.repository.NotaFiscalRepository;
 import com.integracao.kafka.domain.entity.NotaFiscalEntity;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Repository
@@ -15,11 +26,49 @@ import lombok.RequiredArgsConstructor;
 public class NotaFiscalRepositoryImpl implements NotaFiscalRepository {
     
     private final INotaFiscalRepository notaFiscalRepository;
+    private final IntegradorMetrics metrics;
+    private final EntityManager entityManager;
+
+    @Value("${integrador.persistencia.agrupada.habilitado:false}")
+    private boolean gravacaoAgrupada;
+
+    @Value("${integrador.persistencia.agrupada.tamanho-maximo:200}")
+    private int tamanhoMaximoGrupo;
+
+    @Value("${integrador.persistencia.agrupada.espera-maxima-ms:5}")
+    private long esperaMaximaGrupoMs;
+
+    private GravacaoEmGrupo<NotaFiscalEntity> gravacaoEmGrupo;
+
+    @PostConstruct
+    void iniciar() {
+        if (gravacaoAgrupada) {
+            gravacaoEmGrupo = new GravacaoEmGrupo<>("nota_fiscal", notaFiscalRepository::saveAll, tamanhoMaximoGrupo, esperaMaximaGrupoMs, metrics);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (gravacaoEmGrupo != null) {
+            gravacaoEmGrupo.close();
+        }
+    }
 
     public NotaFiscalEntity save(NotaFiscalEntity notaFiscalEntity) {
         return notaFiscalRepository.save(notaFiscalEntity);
     }
 
+    public CompletableFuture<NotaFiscalEntity> saveAgrupado(NotaFiscalEntity notaFiscalEntity) {
+        if (gravacaoEmGrupo == null) {
+            return CompletableFuture.completedFuture(save(notaFiscalEntity));
+        }
+        return gravacaoEmGrupo.gravar(notaFiscalEntity);
+    }
+
+    public List<NotaFiscalEntity> saveAll(List<NotaFiscalEntity> notaFiscalEntities) {
+        return notaFiscalRepository.saveAll(notaFiscalEntities);
+    }
+
     public NotaFiscalEntity findById(Long id) {
         return notaFiscalRepository.findById(id).orElse(null);
     }
@@ -27,4 +76,30 @@ public class NotaFiscalRepositoryImpl implements NotaFiscalRepository {
     public List<NotaFiscalEntity> findAll() {
         return notaFiscalRepository.findAll();
     }
+
+    public List<NotaFiscalEntity> buscarPorNumeros(Collection<String> numerosNota) {
+        if (numerosNota.isEmpty()) {
+            return List.of();
+        }
+        return notaFiscalRepository.findByNumeroNotaIn(numerosNota);
+    }
+
+    public List<NotaFiscalEntity> buscarPagina(Long aposId, int tamanho) {
+        return notaFiscalRepository.findByIdGreaterThanOrderByIdAsc(aposId, PageRequest.of(0, tamanho));
+    }
+
+    /**
+     * Cursor com fetch size (ver {@code streamAllByOrderByIdAsc}); cada linha é desanexada
+     * do contexto de persistência depois de entregue, mantendo a memória constante.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<NotaFiscalEntity> consumidor) {
+        try (Stream<NotaFiscalEntity> linhas = notaFiscalRepository.streamAllByOrderByIdAsc()) {
+            linhas.forEach(linha -> {
+                consumidor.accept(linha);
+                entityManager.detach(linha);
+            });
+        }
+    }
+
 }
@@ -0,0 +1,62 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.integracao.kafka.adapter.repository.iRepository.IOutboxCheckpointRepository;
+import com.integracao.kafka.adapter.repository.iRepository.IOutboxEventoRepository;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxCheckpointEntity;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepository {
+
+    private final IOutboxEventoRepository outboxEventoRepository;
+    private final IOutboxCheckpointRepository outboxCheckpointRepository;
+
+    public OutboxEventoEntity save(OutboxEventoEntity outboxEventoEntity) {
+        return outboxEventoRepository.save(outboxEventoEntity);
+    }
+
+    @Transactional
+    public List<OutboxEventoEntity> saveAll(List<OutboxEventoEntity> outboxEventos) {
+        return outboxEventoRepository.saveAll(outboxEventos);
+    }
+
+    public List<OutboxEventoEntity> buscarPendentes(int limite) {
+        return outboxEventoRepository.findAllByStatusOrderByIdAsc(OutboxEventoEntity.Status.PENDENTE, PageRequest.of(0, limite));
+    }
+
+    public long contarPendentes() {
+        return outboxEventoRepository.countByStatus(OutboxEventoEntity.Status.PENDENTE);
+    }
+
+    @Transactional
+    public void confirmarPublicacao(String relay, List<Long> idsPublicados) {
+        if (idsPublicados.isEmpty()) {
+            return;
+        }
+
+        OutboxCheckpointEntity checkpoint = outboxCheckpointRepository.findById(relay).orElseGet(() -> {
+            OutboxCheckpointEntity novo = new OutboxCheckpointEntity();
+            novo.setRelay(relay);
+            novo.setTotalPublicado(0L);
+            return novo;
+        });
+        checkpoint.setUltimoIdPublicado(Collections.max(idsPublicados));
+        checkpoint.setTotalPublicado(checkpoint.getTotalPublicado() + idsPublicados.size());
+        checkpoint.setAtualizadoEm(LocalDateTime.now());
+        outboxCheckpointRepository.save(checkpoint);
+
+        outboxEventoRepository.deleteAllByIdInBatch(idsPublicados);
+    }
+}
@@ -1,13 +1,24 @@
 package com.integracao.kafka.adapter.repository.implementation;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.integracao.kafka.adapter.repository.iRepository.IPedidoRepository;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
 import com.integracao.kafka.application.repository.PedidoRepository;
 import com.integracao.kafka.domain.entity.PedidoEntity;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Repository
@@ -15,11 +26,49 @@ import lombok.RequiredArgsConstructor;
 public class PedidoRepositoryImpl implements PedidoRepository {
 
     private final IPedidoRepository pedidoRepository;
+    private final IntegradorMetrics metrics;
+    private final EntityManager entityManager;
+
+    @Value("${integrador.persistencia.agrupada.habilitado:false}")
+    private boolean gravacaoAgrupada;
+
+    @Value("${integrador.persistencia.agrupada.tamanho-maximo:200}")
+    private int tamanhoMaximoGrupo;
+
+    @Value("${integrador.persistencia.agrupada.espera-maxima-ms:5}")
+    private long esperaMaximaGrupoMs;
+
+    private GravacaoEmGrupo<PedidoEntity> gravacaoEmGrupo;
+
+    @PostConstruct
+    void iniciar() {
+        if (gravacaoAgrupada) {
+            gravacaoEmGrupo = new GravacaoEmGrupo<>("pedido", pedidoRepository::saveAll, tamanhoMaximoGrupo, esperaMaximaGrupoMs, metrics);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (gravacaoEmGrupo != null) {
+            gravacaoEmGrupo.close();
+        }
+    }
 
     public PedidoEntity save(PedidoEntity pedidoEntity) {
         return pedidoRepository.save(pedidoEntity);
     }
 
+    public CompletableFuture<PedidoEntity> saveAgrupado(PedidoEntity pedidoEntity) {
+        if (gravacaoEmGrupo == null) {
+            return CompletableFuture.completedFuture(save(pedidoEntity));
+        }
+        return gravacaoEmGrupo.gravar(pedidoEntity);
+    }
+
+    public List<PedidoEntity> saveAll(List<PedidoEntity> pedidoEntities) {
+        return pedidoRepository.saveAll(pedidoEntities);
+    }
+
     public PedidoEntity findById(Long id) {
         return pedidoRepository.findById(id).orElse(null);
     }
@@ -27,5 +76,30 @@ public class PedidoRepositoryImpl implements PedidoRepository {
     public List<PedidoEntity> findAll() {
         return pedidoRepository.findAll();
     }
-    
+
+    public List<PedidoEntity> buscarPorNumeros(Collection<String> numerosPedido) {
+        if (numerosPedido.isEmpty()) {
+            return List.of();
+        }
+        return pedidoRepository.findByNumeroPedidoIn(numerosPedido);
+    }
+
+    public List<PedidoEntity> buscarPagina(Long aposId, int tamanho) {
+        return pedidoRepository.findByIdGreaterThanOrderByIdAsc(aposId, PageRequest.of(0, tamanho));
+    }
+
+    /**
+     * Cursor com fetch size (ver {@code streamAllByOrderByIdAsc}); cada linha é desanexada
+     * do contexto de persistência depois de entregue, mantendo a memória constante.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<PedidoEntity> consumidor) {
+        try (Stream<PedidoEntity> linhas = pedidoRepository.streamAllByOrderByIdAsc()) {
+            linhas.forEach(linha -> {
+                consumidor.accept(linha);
+                entityManager.detach(linha);
+            });
+        }
+    }
+
 }
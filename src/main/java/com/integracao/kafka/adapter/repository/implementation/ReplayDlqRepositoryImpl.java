@@ -0,0 +1,85 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.integracao.kafka.adapter.repository.iRepository.IReplayDlqRepository;
+import com.integracao.kafka.application.repository.ReplayDlqRepository;
+import com.integracao.kafka.domain.entity.ReplayDlqEntity;
+import com.integracao.kafka.domain.model.ReplayDlq;
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ReplayDlqRepositoryImpl implements ReplayDlqRepository {
+
+    private static final int TAMANHO_ERRO = 2000;
+
+    private final IReplayDlqRepository replayDlqRepository;
+
+    @Transactional
+    public void salvar(ReplayDlq replay) {
+        ReplayDlqEntity entidade = replayDlqRepository.findById(replay.getId()).orElseGet(ReplayDlqEntity::new);
+        entidade.setId(replay.getId());
+        entidade.setTopicoOrigem(replay.getTopicoOrigem());
+        entidade.setTopicoDestino(replay.getTopicoDestino());
+        entidade.setFiltroTipo(replay.getFiltroTipo());
+        entidade.setFiltroMotivo(replay.getFiltroMotivo());
+        entidade.setFiltroChave(replay.getFiltroChave());
+        entidade.setMaxPorSegundo(replay.getMaxPorSegundo());
+        // putAll em vez de trocar a coleção: o Hibernate atualiza só as partições que andaram
+        entidade.getPosicoes().putAll(replay.getPosicoes());
+        entidade.getFins().putAll(replay.getFins());
+        entidade.setLidos(replay.getLidos());
+        entidade.setPublicados(replay.getPublicados());
+        entidade.setIgnorados(replay.getIgnorados());
+        entidade.setStatus(replay.getStatus());
+        entidade.setErro(replay.getErro() == null || replay.getErro().length() <= TAMANHO_ERRO
+            ? replay.getErro() : replay.getErro().substring(0, TAMANHO_ERRO));
+        entidade.setCriadoEm(replay.getCriadoEm());
+        entidade.setAtualizadoEm(LocalDateTime.now());
+        replayDlqRepository.save(entidade);
+    }
+
+    @Transactional(readOnly = true)
+    public ReplayDlq buscarPorId(String id) {
+        return replayDlqRepository.findById(id).map(this::paraDominio).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReplayDlq> listar() {
+        return replayDlqRepository.findAllByOrderByCriadoEmDesc().stream().map(this::paraDominio).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReplayDlq> listarPorStatus(StatusReplay status) {
+        return replayDlqRepository.findByStatusOrderByCriadoEmAsc(status).stream().map(this::paraDominio).toList();
+    }
+
+    private ReplayDlq paraDominio(ReplayDlqEntity entidade) {
+        return ReplayDlq.builder()
+            .id(entidade.getId())
+            .topicoOrigem(entidade.getTopicoOrigem())
+            .topicoDestino(entidade.getTopicoDestino())
+            .filtroTipo(entidade.getFiltroTipo())
+            .filtroMotivo(entidade.getFiltroMotivo())
+            .filtroChave(entidade.getFiltroChave())
+            .maxPorSegundo(entidade.getMaxPorSegundo())
+            .posicoes(new HashMap<>(entidade.getPosicoes()))
+            .fins(new HashMap<>(entidade.getFins()))
+            .lidos(entidade.getLidos())
+            .publicados(entidade.getPublicados())
+            .ignorados(entidade.getIgnorados())
+            .status(entidade.getStatus())
+            .erro(entidade.getErro())
+            .criadoEm(entidade.getCriadoEm())
+            .atualizadoEm(entidade.getAtualizadoEm())
+            .build();
+    }
+}
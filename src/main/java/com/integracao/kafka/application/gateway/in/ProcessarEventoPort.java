@@ -8,5 +8,5 @@ import com.integracao.kafka.domain.model.Evento;
  */
 public interface ProcessarEventoPort {
 
-    void executar(Evento evento);
+    void executar(Evento<?> evento);
 }
@@ -1,7 +1,11 @@
 package com.integracao.kafka.application.gateway.in;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.integracao.kafka.domain.model.NotaFiscal;
 
 public interface  PublicarNotaPort {
     String executar(NotaFiscal notaFiscal);
+
+    CompletableFuture<String> executarAsync(NotaFiscal notaFiscal);
 }
@@ -1,7 +1,15 @@
 package com.integracao.kafka.application.gateway.in;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
 import com.integracao.kafka.domain.model.Pedido;
 
 public interface PublicarPedidoPort {
     String executar(Pedido pedido);
+
+    CompletableFuture<String> executarAsync(Pedido pedido);
+
+    ResultadoLotePublicacao executarLote(List<Pedido> pedidos);
 }
@@ -0,0 +1,48 @@
+package com.integracao.kafka.application.gateway.out;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Port de saída para ler um tópico diretamente por offsets, sem consumer group
+ * (nada é commitado no broker; quem chama guarda a posição).
+ */
+public interface LerTopicoPort {
+
+    /**
+     * Intervalo [inicio, fim) de cada partição. Timestamp tem precedência sobre offset;
+     * sem limite inferior/superior, usa o início/fim atual do tópico. {@code ateOffset} é inclusivo.
+     */
+    IntervaloLeitura resolverIntervalo(String topico, Long deOffset, Long ateOffset, Instant deTimestamp, Instant ateTimestamp);
+
+    LeituraTopico abrir(String topico, Map<Integer, Long> posicoes);
+
+    record IntervaloLeitura(Map<Integer, Long> inicio, Map<Integer, Long> fim) {
+    }
+
+    /**
+     * Leitura aberta sobre as partições informadas; não é thread-safe.
+     */
+    interface LeituraTopico extends AutoCloseable {
+
+        /**
+         * Próximos registros. Registro que não pôde ser desserializado volta com evento nulo.
+         */
+        List<RegistroTopico> ler(Duration espera);
+
+        /**
+         * Próximo offset a ser lido na partição.
+         */
+        long posicao(int particao);
+
+        /**
+         * Para de buscar registros da partição (já chegou ao fim do intervalo).
+         */
+        void encerrarParticao(int particao);
+
+        @Override
+        void close();
+    }
+}
@@ -1,5 +1,9 @@
 package com.integracao.kafka.application.gateway.out;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import com.integracao.kafka.domain.model.Evento;
 
 /**
@@ -8,5 +12,36 @@ import com.integracao.kafka.domain.model.Evento;
  */
 public interface PublicarEventoPort {
 
-    void publicar(String topico, Evento evento);
+    void publicar(String topico, Evento<?> evento);
+
+    /**
+     * Publica sem bloquear a thread chamadora; o future completa com os metadados do broker.
+     * A implementação padrão delega para {@link #publicar(String, Evento)} de forma síncrona.
+     */
+    default CompletableFuture<ResultadoPublicacao> publicarAsync(String topico, Evento<?> evento) {
+        try {
+            publicar(topico, evento);
+            return CompletableFuture.completedFuture(ResultadoPublicacao.semConfirmacao(topico, evento.getId()));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Publica vários eventos de uma vez e aguarda as confirmações uma única vez ao final.
+     * Retorna sucesso/falha por evento, na ordem recebida.
+     * A implementação padrão publica um a um de forma síncrona.
+     */
+    default ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+        List<ResultadoLotePublicacao.Item> itens = new ArrayList<>(eventos.size());
+        for (Evento<?> evento : eventos) {
+            try {
+                publicar(topico, evento);
+                itens.add(ResultadoLotePublicacao.Item.sucesso(ResultadoPublicacao.semConfirmacao(topico, evento.getId())));
+            } catch (RuntimeException ex) {
+                itens.add(ResultadoLotePublicacao.Item.falha(evento.getId(), ex));
+            }
+        }
+        return new ResultadoLotePublicacao(topico, itens);
+    }
 }
@@ -0,0 +1,16 @@
+package com.integracao.kafka.application.gateway.out;
+
+import com.integracao.kafka.domain.model.Evento;
+
+/**
+ * Registro lido por {@link LerTopicoPort}. {@code motivo} vem do header de exceção da DLT, quando houver.
+ */
+public record RegistroTopico(
+    int particao,
+    long offset,
+    long timestamp,
+    String chave,
+    String motivo,
+    Evento<?> evento
+) {
+}
@@ -0,0 +1,58 @@
+package com.integracao.kafka.application.gateway.out;
+
+import java.util.List;
+
+/**
+ * Resultado de uma publicação em lote, na mesma ordem dos eventos enviados.
+ */
+public record ResultadoLotePublicacao(String topico, List<Item> itens) {
+
+    public long totalSucesso() {
+        return itens.stream().filter(Item::sucesso).count();
+    }
+
+    public long totalFalha() {
+        return itens.size() - totalSucesso();
+    }
+
+    /**
+     * Sucesso é ter a confirmação ({@code publicacao}); {@code erro} é só descritivo e nunca
+     * fica nulo numa falha, já que exceções como TimeoutException não têm mensagem.
+     * {@code brokerIndisponivel} marca falhas que se resolvem sozinhas quando o broker volta
+     * (timeout, circuito aberto), classificadas pelo adaptador.
+     */
+    public record Item(String eventoId, ResultadoPublicacao publicacao, String erro, boolean brokerIndisponivel) {
+
+        public static Item sucesso(ResultadoPublicacao publicacao) {
+            return new Item(publicacao.eventoId(), publicacao, null, false);
+        }
+
+        public static Item falha(String eventoId, String erro) {
+            return falha(eventoId, erro, false);
+        }
+
+        public static Item falha(String eventoId, String erro, boolean brokerIndisponivel) {
+            return new Item(eventoId, null, erro == null || erro.isBlank() ? "erro sem descrição" : erro, brokerIndisponivel);
+        }
+
+        public static Item falha(String eventoId, Throwable causa) {
+            return falha(eventoId, descrever(causa), false);
+        }
+
+        public static Item falha(String eventoId, Throwable causa, boolean brokerIndisponivel) {
+            return falha(eventoId, descrever(causa), brokerIndisponivel);
+        }
+
+        public boolean sucesso() {
+            return publicacao != null;
+        }
+
+        private static String descrever(Throwable causa) {
+            if (causa == null) {
+                return null;
+            }
+            String mensagem = causa.getMessage();
+            return mensagem == null || mensagem.isBlank() ? causa.getClass().getSimpleName() : mensagem;
+        }
+    }
+}
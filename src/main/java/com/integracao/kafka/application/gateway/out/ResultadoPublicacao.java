@@ -0,0 +1,18 @@
+package com.integracao.kafka.application.gateway.out;
+
+/**
+ * Metadados confirmados pelo broker para um evento publicado.
+ * Particao/offset iguais a -1 indicam que o adaptador não recebeu confirmação do broker.
+ */
+public record ResultadoPublicacao(
+    String eventoId,
+    String topico,
+    int particao,
+    long offset,
+    long timestamp
+) {
+
+    public static ResultadoPublicacao semConfirmacao(String topico, String eventoId) {
+        return new ResultadoPublicacao(eventoId, topico, -1, -1L, System.currentTimeMillis());
+    }
+}
@@ -1,9 +1,25 @@
 package com.integracao.kafka.application.metrics;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,47 +28,450 @@ import lombok.extern.slf4j.Slf4j;
  * Visualizadas no Grafana em tempo real.
  *
  * Métricas disponíveis:
- *   integrador_mensagens_total{status="sucesso|falha"}  — contador de mensagens
- *   integrador_processamento_segundos                   — histograma de latência
+ *   integrador_mensagens_total{operacao,topico,status="sucesso|falha"} — contador de mensagens por operação
+ *   integrador_processamento_segundos_seconds{operacao,topico} — latência por operação (histograma)
+ *   integrador_outbox_pendentes                         — eventos aguardando o relay do outbox
+ *   integrador_outbox_eventos_total{operacao="registrado|drenado|morto"} — vazão do outbox
+ *   integrador_spill_pendentes / integrador_spill_bytes  — profundidade do spill em disco do produtor
+ *   integrador_spill_eventos_total{operacao="desviado|reenviado"} — vazão do spill
+ *   integrador_virtual_threads_pinned_segundos          — virtual threads presas ao carrier (JFR)
+ *   integrador_persistencia_grupo_tamanho{entidade}     — linhas por group commit
+ *   integrador_persistencia_grupo_commit_segundos{entidade} — duração de cada group commit
+ *   integrador_reprocessamento_fila / integrador_reprocessamento_vencidas — falhas agendadas e já liberadas
+ *   integrador_reprocessamento_automatico_total{resultado="publicada|falha|esgotada"} — vazão do reprocessamento automático
+ *   integrador_consumer_etapa_seconds{listener,topico,etapa} — latência de cada etapa dos consumers (histograma)
+ *   integrador_evento_idade_seconds{trecho="api_broker|broker_consumer|total",tipo,topico} — idade do evento ao ser persistido (histograma)
+ *   integrador_consumer_lag{grupo,topico,particao} / integrador_consumer_offset{grupo,topico,particao,tipo="commitado|fim"} — lag amostrado dos grupos do integrador
+ *   integrador_log_linhas_total{resultado="amostrada|descartada"} — linhas de log suprimidas pela amostragem / perdidas com o buffer cheio
  */
 @Slf4j
 @Component
 public class IntegradorMetrics {
 
-    private final Counter mensagensSucesso;
-    private final Counter mensagensFalha;
-    private final Timer   tempoProcessamento;
+    private static final int MAX_TIPOS_POR_TOPICO = 50;
+
+    private final Counter outboxRegistrados;
+    private final Counter outboxDrenados;
+    private final Counter outboxMortos;
+    private final AtomicLong outboxPendentes = new AtomicLong();
+    private final Counter spillDesviados;
+    private final Counter spillReenviados;
+    private final AtomicLong spillPendentes = new AtomicLong();
+    private final AtomicLong spillBytes = new AtomicLong();
+    private final Timer   virtualThreadsPinned;
+    private final AtomicLong reprocessamentoFila = new AtomicLong();
+    private final AtomicLong reprocessamentoVencidas = new AtomicLong();
+    private final Counter reprocessamentoPublicadas;
+    private final Counter reprocessamentoFalhas;
+    private final Counter reprocessamentoEsgotadas;
+    private final MeterRegistry registry;
+    private final Map<String, Map<String, MedidorOperacao>> operacoes = new ConcurrentHashMap<>();
+    private final Map<String, MetricasGrupo> gruposPersistencia = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, EtapasConsumo>> etapasConsumo = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, IdadeEvento>> idadesEvento = new ConcurrentHashMap<>();
+    private final ZoneId zonaCriadoEm = ZoneId.systemDefault();
+    private final MultiGauge lagConsumer;
+    private final MultiGauge offsetsConsumer;
 
     public IntegradorMetrics(MeterRegistry registry) {
-        this.mensagensSucesso = Counter.builder("integrador_mensagens_total")
-            .description("Total de mensagens processadas pelo integrador")
-            .tag("status", "sucesso")
+        this.registry = registry;
+
+        this.outboxRegistrados = Counter.builder("integrador_outbox_eventos_total")
+            .description("Eventos que passaram pelo outbox")
+            .tag("operacao", "registrado")
+            .register(registry);
+
+        this.outboxDrenados = Counter.builder("integrador_outbox_eventos_total")
+            .description("Eventos que passaram pelo outbox")
+            .tag("operacao", "drenado")
+            .register(registry);
+
+        this.outboxMortos = Counter.builder("integrador_outbox_eventos_total")
+            .description("Eventos que passaram pelo outbox")
+            .tag("operacao", "morto")
+            .register(registry);
+
+        Gauge.builder("integrador_outbox_pendentes", outboxPendentes, AtomicLong::get)
+            .description("Eventos no outbox aguardando publicação no Kafka")
+            .register(registry);
+
+        this.spillDesviados = Counter.builder("integrador_spill_eventos_total")
+            .description("Eventos que passaram pelo spill em disco do produtor")
+            .tag("operacao", "desviado")
+            .register(registry);
+
+        this.spillReenviados = Counter.builder("integrador_spill_eventos_total")
+            .description("Eventos que passaram pelo spill em disco do produtor")
+            .tag("operacao", "reenviado")
+            .register(registry);
+
+        Gauge.builder("integrador_spill_pendentes", spillPendentes, AtomicLong::get)
+            .description("Eventos no spill em disco aguardando reenvio")
+            .register(registry);
+
+        Gauge.builder("integrador_spill_bytes", spillBytes, AtomicLong::get)
+            .description("Bytes ocupados no spill em disco aguardando reenvio")
+            .baseUnit("bytes")
+            .register(registry);
+
+        this.virtualThreadsPinned = Timer.builder("integrador_virtual_threads_pinned_segundos")
+            .description("Tempo em que virtual threads ficaram presas à thread carrier")
+            .register(registry);
+
+        Gauge.builder("integrador_reprocessamento_fila", reprocessamentoFila, AtomicLong::get)
+            .description("Falhas pendentes agendadas para reprocessamento")
             .register(registry);
 
-        this.mensagensFalha = Counter.builder("integrador_mensagens_total")
-            .description("Total de mensagens processadas pelo integrador")
-            .tag("status", "falha")
+        Gauge.builder("integrador_reprocessamento_vencidas", reprocessamentoVencidas, AtomicLong::get)
+            .description("Falhas agendadas cuja próxima tentativa já é permitida")
             .register(registry);
 
-        this.tempoProcessamento = Timer.builder("integrador_processamento_segundos")
-            .description("Tempo de processamento de cada mensagem")
-            .publishPercentiles(0.5, 0.95, 0.99)
+        this.reprocessamentoPublicadas = Counter.builder("integrador_reprocessamento_automatico_total")
+            .description("Falhas tratadas pelo reprocessamento automático")
+            .tag("resultado", "publicada")
             .register(registry);
+
+        this.reprocessamentoFalhas = Counter.builder("integrador_reprocessamento_automatico_total")
+            .description("Falhas tratadas pelo reprocessamento automático")
+            .tag("resultado", "falha")
+            .register(registry);
+
+        this.reprocessamentoEsgotadas = Counter.builder("integrador_reprocessamento_automatico_total")
+            .description("Falhas tratadas pelo reprocessamento automático")
+            .tag("resultado", "esgotada")
+            .register(registry);
+
+        this.lagConsumer = MultiGauge.builder("integrador_consumer_lag")
+            .description("Registros ainda não commitados pelo grupo na partição (fim - commitado)")
+            .register(registry);
+
+        this.offsetsConsumer = MultiGauge.builder("integrador_consumer_offset")
+            .description("Offset commitado pelo grupo e offset final da partição")
+            .register(registry);
+    }
+
+    /**
+     * Medidor (tempo + sucesso/falha) de uma operação num tópico. Os meters são registrados na
+     * primeira chamada; quem chama guarda o medidor e não paga busca no registry a cada uso.
+     */
+    public MedidorOperacao operacao(String operacao, String topico) {
+        return operacoes.computeIfAbsent(operacao, chave -> new ConcurrentHashMap<>())
+            .computeIfAbsent(topico, chave -> new MedidorOperacao(registry, operacao, topico));
+    }
+
+    public void registrarOutboxRegistrados(int quantidade) {
+        outboxRegistrados.increment(quantidade);
+        outboxPendentes.addAndGet(quantidade);
     }
 
-    public void registrarSucesso() {
-        mensagensSucesso.increment();
+    public void registrarOutboxDrenados(int quantidade) {
+        outboxDrenados.increment(quantidade);
     }
 
-    public void registrarFalha() {
-        mensagensFalha.increment();
+    public void registrarOutboxMortos(int quantidade) {
+        outboxMortos.increment(quantidade);
     }
 
     /**
-     * Executa a operação medindo o tempo automaticamente.
-     * Uso: metrics.registrarTempo(() -> { ... logica ... });
+     * Atualiza a profundidade do outbox com a contagem lida do banco pelo relay.
      */
-    public void registrarTempo(Runnable operacao) {
-        tempoProcessamento.record(operacao);
+    public void atualizarOutboxPendentes(long pendentes) {
+        outboxPendentes.set(pendentes);
+    }
+
+    public void registrarSpillDesviado() {
+        spillDesviados.increment();
+    }
+
+    public void registrarSpillReenviados(int quantidade) {
+        spillReenviados.increment(quantidade);
+    }
+
+    public void atualizarSpillPendentes(long eventos, long bytes) {
+        spillPendentes.set(eventos);
+        spillBytes.set(bytes);
+    }
+
+    /**
+     * O contador pertence ao componente de log (criado pelo logback, fora do Spring);
+     * o registry só lê o total a cada scrape.
+     */
+    public void registrarLinhasLog(String resultado, LongAdder total) {
+        FunctionCounter.builder("integrador_log_linhas_total", total, LongAdder::sum)
+            .description("Linhas de log que não foram escritas")
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+
+    public void registrarVirtualThreadPinned(Duration duracao) {
+        virtualThreadsPinned.record(duracao);
+    }
+
+    public void atualizarFilaReprocessamento(long agendadas, long vencidas) {
+        reprocessamentoFila.set(agendadas);
+        reprocessamentoVencidas.set(vencidas);
+    }
+
+    public void registrarReprocessamentoAutomatico(int publicadas, int falharam, int esgotadas) {
+        reprocessamentoPublicadas.increment(publicadas);
+        reprocessamentoFalhas.increment(falharam);
+        reprocessamentoEsgotadas.increment(esgotadas);
+    }
+
+    /**
+     * Substitui as séries de lag pela amostra mais recente; partições que saíram da amostra
+     * (grupo ou tópico removido) deixam de ser publicadas.
+     */
+    public void atualizarLagConsumer(List<LagParticao> amostra) {
+        List<MultiGauge.Row<?>> lags = new ArrayList<>(amostra.size());
+        List<MultiGauge.Row<?>> offsets = new ArrayList<>(amostra.size() * 2);
+        for (LagParticao particao : amostra) {
+            Tags tags = Tags.of("grupo", particao.grupo(), "topico", particao.topico(), "particao", String.valueOf(particao.particao()));
+            lags.add(MultiGauge.Row.of(tags, particao.lag()));
+            offsets.add(MultiGauge.Row.of(tags.and("tipo", "commitado"), particao.commitado()));
+            offsets.add(MultiGauge.Row.of(tags.and("tipo", "fim"), particao.fim()));
+        }
+        lagConsumer.register(lags, true);
+        offsetsConsumer.register(offsets, true);
+    }
+
+    /**
+     * Sem offset commitado, {@code commitado} é o início da partição (auto-offset-reset earliest).
+     */
+    public record LagParticao(String grupo, String topico, int particao, long commitado, long fim) {
+
+        public long lag() {
+            return Math.max(0, fim - commitado);
+        }
+    }
+
+    public void registrarGrupoPersistencia(String entidade, int tamanho, Duration commit) {
+        MetricasGrupo grupo = gruposPersistencia.computeIfAbsent(entidade, this::criarMetricasGrupo);
+        grupo.tamanho().record(tamanho);
+        grupo.commit().record(commit);
+    }
+
+    /**
+     * Timers das etapas de um listener/tópico. Resolver uma vez por registro (ou por lote)
+     * e reaproveitar: a busca não aloca e as etapas ficam em um array indexado pelo enum.
+     */
+    public EtapasConsumo etapasConsumo(String listener, String topico) {
+        return etapasConsumo.computeIfAbsent(listener, chave -> new ConcurrentHashMap<>())
+            .computeIfAbsent(topico, chave -> criarEtapasConsumo(listener, topico));
+    }
+
+    private EtapasConsumo criarEtapasConsumo(String listener, String topico) {
+        EtapaConsumo[] etapas = EtapaConsumo.values();
+        Timer[] timers = new Timer[etapas.length];
+        for (EtapaConsumo etapa : etapas) {
+            // Buckets (e não percentis calculados na instância) para o Grafana agregar o p99 entre pods
+            timers[etapa.ordinal()] = Timer.builder("integrador_consumer_etapa")
+                .description("Duração de cada etapa do processamento nos consumers")
+                .tag("listener", listener)
+                .tag("topico", topico)
+                .tag("etapa", etapa.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        }
+        return new EtapasConsumo(timers);
+    }
+
+    /**
+     * Idade do evento quando o consumer o persiste, em três trechos: criação na API até o
+     * timestamp do registro (CreateTime do producer), timestamp até agora, e criação até agora.
+     * criadoEm é hora local sem fuso, interpretada no fuso da JVM. Diferenças negativas
+     * (relógios de máquinas diferentes) contam como zero.
+     */
+    public void registrarIdadeEvento(String tipo, String topico, LocalDateTime criadoEm, long timestampRegistroMs) {
+        IdadeEvento idade = idadeEvento(tipo, topico);
+        long agora = System.currentTimeMillis();
+        boolean comTimestamp = timestampRegistroMs >= 0;
+
+        if (comTimestamp) {
+            idade.brokerConsumer().record(Math.max(0, agora - timestampRegistroMs), TimeUnit.MILLISECONDS);
+        }
+        if (criadoEm != null) {
+            long criadoEmMs = criadoEm.toEpochSecond(zonaCriadoEm.getRules().getOffset(criadoEm)) * 1000
+                + criadoEm.getNano() / 1_000_000;
+            if (comTimestamp) {
+                idade.apiBroker().record(Math.max(0, timestampRegistroMs - criadoEmMs), TimeUnit.MILLISECONDS);
+            }
+            idade.total().record(Math.max(0, agora - criadoEmMs), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private IdadeEvento idadeEvento(String tipo, String topico) {
+        Map<String, IdadeEvento> porTipo = idadesEvento.computeIfAbsent(topico, chave -> new ConcurrentHashMap<>());
+        String tipoTag = tipo == null ? "desconhecido" : tipo;
+        IdadeEvento idade = porTipo.get(tipoTag);
+        if (idade != null) {
+            return idade;
+        }
+        // tipo vem no payload: limita a cardinalidade caso chegue algo fora do catálogo
+        if (porTipo.size() >= MAX_TIPOS_POR_TOPICO) {
+            tipoTag = "outros";
+        }
+        String tag = tipoTag;
+        return porTipo.computeIfAbsent(tag, chave -> new IdadeEvento(
+            criarTimerIdade("api_broker", tag, topico),
+            criarTimerIdade("broker_consumer", tag, topico),
+            criarTimerIdade("total", tag, topico)));
+    }
+
+    private Timer criarTimerIdade(String trecho, String tipo, String topico) {
+        // Buckets fixos: somáveis entre instâncias e um incremento atômico por registro
+        return Timer.builder("integrador_evento_idade")
+            .description("Idade do evento quando persistido pelo consumer, por trecho")
+            .tag("trecho", trecho)
+            .tag("tipo", tipo)
+            .tag("topico", topico)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofHours(1))
+            .register(registry);
+    }
+
+    private record IdadeEvento(Timer apiBroker, Timer brokerConsumer, Timer total) {
+    }
+
+    /**
+     * Operação medida que pode devolver valor e lançar exceção checada.
+     */
+    @FunctionalInterface
+    public interface OperacaoMedida<T, E extends Exception> {
+        T executar() throws E;
+    }
+
+    public static final class MedidorOperacao {
+
+        private final MeterRegistry registry;
+        private final Timer tempo;
+        private final Counter sucesso;
+        private final Counter falha;
+
+        private MedidorOperacao(MeterRegistry registry, String operacao, String topico) {
+            this.registry = registry;
+            this.tempo = Timer.builder("integrador_processamento_segundos")
+                .description("Tempo de cada operação do integrador")
+                .tag("operacao", operacao)
+                .tag("topico", topico)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+            this.sucesso = Counter.builder("integrador_mensagens_total")
+                .description("Total de mensagens processadas pelo integrador")
+                .tag("operacao", operacao)
+                .tag("topico", topico)
+                .tag("status", "sucesso")
+                .register(registry);
+            this.falha = Counter.builder("integrador_mensagens_total")
+                .description("Total de mensagens processadas pelo integrador")
+                .tag("operacao", operacao)
+                .tag("topico", topico)
+                .tag("status", "falha")
+                .register(registry);
+        }
+
+        /**
+         * Início de uma medição que termina em {@link #parar}, inclusive em outra thread
+         * (ex.: no callback de confirmação do broker).
+         */
+        public Timer.Sample iniciar() {
+            return Timer.start(registry);
+        }
+
+        public void parar(Timer.Sample amostra) {
+            amostra.stop(tempo);
+        }
+
+        /**
+         * Executa medindo o tempo; conta sucesso ao retornar e falha ao lançar, repassando a exceção.
+         */
+        public <T, E extends Exception> T medir(OperacaoMedida<T, E> operacao) throws E {
+            Timer.Sample amostra = Timer.start(registry);
+            try {
+                T resultado = operacao.executar();
+                sucesso.increment();
+                return resultado;
+            } catch (Exception ex) {
+                falha.increment();
+                throw ex;
+            } finally {
+                amostra.stop(tempo);
+            }
+        }
+
+        public void sucesso() {
+            sucesso.increment();
+        }
+
+        public void sucesso(int quantidade) {
+            sucesso.increment(quantidade);
+        }
+
+        public void falha() {
+            falha.increment();
+        }
+    }
+
+    public enum EtapaConsumo {
+        CONVERSAO("conversao"),
+        VALIDACAO("validacao"),
+        PERSISTENCIA("persistencia"),
+        HISTORICO("historico"),
+        PUBLICACAO("publicacao"),
+        ACK("ack");
+
+        private final String tag;
+
+        EtapaConsumo(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public static final class EtapasConsumo {
+
+        private final Timer[] timers;
+
+        private EtapasConsumo(Timer[] timers) {
+            this.timers = timers;
+        }
+
+        /**
+         * Registra a etapa iniciada em {@code inicioNanos} (System.nanoTime) e devolve o instante
+         * atual, que serve de início para a etapa seguinte.
+         */
+        public long registrar(EtapaConsumo etapa, long inicioNanos) {
+            long agora = System.nanoTime();
+            timers[etapa.ordinal()].record(agora - inicioNanos, TimeUnit.NANOSECONDS);
+            return agora;
+        }
+
+        /**
+         * Duração já acumulada (ex.: conversão somada sobre os registros de um lote).
+         */
+        public void registrarDuracao(EtapaConsumo etapa, long nanos) {
+            timers[etapa.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MetricasGrupo criarMetricasGrupo(String entidade) {
+        return new MetricasGrupo(
+            DistributionSummary.builder("integrador_persistencia_grupo_tamanho")
+                .description("Linhas gravadas por group commit")
+                .tag("entidade", entidade)
+                .publishPercentiles(0.5, 0.95)
+                .register(registry),
+            Timer.builder("integrador_persistencia_grupo_commit_segundos")
+                .description("Duração de cada group commit (saveAll + commit)")
+                .tag("entidade", entidade)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry));
+    }
+
+    private record MetricasGrupo(DistributionSummary tamanho, Timer commit) {
     }
 }
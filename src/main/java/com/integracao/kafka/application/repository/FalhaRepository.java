@@ -0,0 +1,78 @@
+package com.integracao.kafka.application.repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+/**
+ * Armazenamento das falhas de processamento (integrador.falhas.armazenamento).
+ *
+ * As falhas são únicas por chave de evento ({@link #chaveEvento}): registrar de novo o
+ * mesmo evento atualiza a falha existente.
+ */
+public interface FalhaRepository {
+
+    /**
+     * Insere ou atualiza a falha pelo id.
+     */
+    void salvar(FalhaProcessamento falha);
+
+    default void salvarTodas(List<FalhaProcessamento> falhas) {
+        falhas.forEach(this::salvar);
+    }
+
+    FalhaProcessamento buscarPorId(String id);
+
+    default Map<String, FalhaProcessamento> buscarPorIds(Collection<String> ids) {
+        Map<String, FalhaProcessamento> encontradas = new HashMap<>();
+        for (String id : ids) {
+            FalhaProcessamento falha = buscarPorId(id);
+            if (falha != null) {
+                encontradas.put(id, falha);
+            }
+        }
+        return encontradas;
+    }
+
+    FalhaProcessamento buscarPorChaveEvento(String chaveEvento);
+
+    default Map<String, FalhaProcessamento> buscarPorChavesEvento(Collection<String> chavesEvento) {
+        Map<String, FalhaProcessamento> encontradas = new HashMap<>();
+        for (String chave : chavesEvento) {
+            FalhaProcessamento falha = buscarPorChaveEvento(chave);
+            if (falha != null) {
+                encontradas.put(chave, falha);
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * As {@code limite} falhas mais recentes que atendem aos filtros (nulos = qualquer valor),
+     * em ordem de registro.
+     */
+    List<FalhaProcessamento> listar(TipoFalha tipo, StatusFalha status, int limite);
+
+    /**
+     * Ids de todas as falhas que atendem ao filtro, da mais antiga para a mais nova.
+     */
+    default List<String> listarIds(FiltroFalhas filtro) {
+        return listar(filtro.tipo(), filtro.status(), 0).stream()
+            .filter(filtro::aceita)
+            .map(FalhaProcessamento::getId)
+            .toList();
+    }
+
+    static String chaveEvento(TipoFalha tipo, Evento<?> evento) {
+        if (tipo == null || evento == null || evento.getId() == null || evento.getId().isBlank()) {
+            return null;
+        }
+        return tipo.name() + "::" + evento.getId();
+    }
+}
@@ -0,0 +1,234 @@
+package com.integracao.kafka.application.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+/**
+ * Armazenamento padrão (integrador.falhas.armazenamento=memoria): mantém só as últimas
+ * {@code limite} falhas e perde tudo no restart.
+ *
+ * Cada falha nova recebe uma sequência e ocupa a posição {@code sequencia % limite} de um anel
+ * de tamanho fixo; ao dar a volta, a falha que estava na posição (a mais antiga) é despejada.
+ * Índices secundários por tipo, por status e por tipo+status (mapas ordenados pela sequência)
+ * acompanham as mudanças de status, então listar custa O(log n + resultado) e despejar
+ * O(log n), sem percorrer o histórico.
+ */
+public class FalhaRepositoryEmMemoria implements FalhaRepository {
+
+    private final int limite;
+    private final Entrada[] anel;
+    private long proximaSequencia;
+
+    private final Map<String, Entrada> porId = new HashMap<>();
+    private final Map<String, Entrada> porChaveEvento = new HashMap<>();
+    private final Map<TipoFalha, NavigableMap<Long, Entrada>> porTipo = new EnumMap<>(TipoFalha.class);
+    private final Map<StatusFalha, NavigableMap<Long, Entrada>> porStatus = new EnumMap<>(StatusFalha.class);
+    private final Map<TipoFalha, Map<StatusFalha, NavigableMap<Long, Entrada>>> porTipoEStatus = new EnumMap<>(TipoFalha.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FalhaRepositoryEmMemoria(int limite) {
+        this.limite = Math.max(1, limite);
+        this.anel = new Entrada[this.limite];
+
+        for (TipoFalha tipo : TipoFalha.values()) {
+            porTipo.put(tipo, new TreeMap<>());
+            Map<StatusFalha, NavigableMap<Long, Entrada>> porStatusDoTipo = new EnumMap<>(StatusFalha.class);
+            for (StatusFalha status : StatusFalha.values()) {
+                porStatusDoTipo.put(status, new TreeMap<>());
+            }
+            porTipoEStatus.put(tipo, porStatusDoTipo);
+        }
+        for (StatusFalha status : StatusFalha.values()) {
+            porStatus.put(status, new TreeMap<>());
+        }
+    }
+
+    @Override
+    public void salvar(FalhaProcessamento falha) {
+        lock.writeLock().lock();
+        try {
+            salvarSemLock(falha);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void salvarTodas(List<FalhaProcessamento> falhas) {
+        lock.writeLock().lock();
+        try {
+            for (FalhaProcessamento falha : falhas) {
+                salvarSemLock(falha);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public FalhaProcessamento buscarPorId(String id) {
+        lock.readLock().lock();
+        try {
+            Entrada entrada = porId.get(id);
+            return entrada == null ? null : entrada.falha;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public FalhaProcessamento buscarPorChaveEvento(String chaveEvento) {
+        if (chaveEvento == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Entrada entrada = porChaveEvento.get(chaveEvento);
+            return entrada == null ? null : entrada.falha;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FalhaProcessamento> listar(TipoFalha tipo, StatusFalha status, int limite) {
+        lock.readLock().lock();
+        try {
+            if (tipo == null && status == null) {
+                return ultimasDoAnel(limite);
+            }
+
+            NavigableMap<Long, Entrada> indice = tipo == null ? porStatus.get(status)
+                : status == null ? porTipo.get(tipo)
+                : porTipoEStatus.get(tipo).get(status);
+            return ultimas(indice.descendingMap().values().iterator(), indice.size(), limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void salvarSemLock(FalhaProcessamento falha) {
+        Entrada entrada = porId.get(falha.getId());
+        if (entrada == null) {
+            inserir(falha);
+            return;
+        }
+
+        // Falhas em memória são mutadas pelo use case antes do salvar: o índice guarda
+        // o tipo/status com que a entrada foi indexada para saber de onde removê-la
+        if (entrada.tipo != falha.getTipo() || entrada.status != falha.getStatus()) {
+            desindexar(entrada);
+            entrada.tipo = falha.getTipo();
+            entrada.status = falha.getStatus();
+            indexar(entrada);
+        }
+        atualizarChaveEvento(entrada, FalhaRepository.chaveEvento(falha.getTipo(), falha.getEventoOriginal()));
+        entrada.falha = falha;
+    }
+
+    private void inserir(FalhaProcessamento falha) {
+        long sequencia = proximaSequencia++;
+        int posicao = (int) (sequencia % limite);
+
+        Entrada despejada = anel[posicao];
+        if (despejada != null) {
+            porId.remove(despejada.falha.getId());
+            atualizarChaveEvento(despejada, null);
+            desindexar(despejada);
+        }
+
+        Entrada entrada = new Entrada(sequencia, falha);
+        anel[posicao] = entrada;
+        porId.put(falha.getId(), entrada);
+        atualizarChaveEvento(entrada, FalhaRepository.chaveEvento(falha.getTipo(), falha.getEventoOriginal()));
+        indexar(entrada);
+    }
+
+    private void atualizarChaveEvento(Entrada entrada, String chave) {
+        if (entrada.chaveEvento != null && !entrada.chaveEvento.equals(chave)) {
+            porChaveEvento.remove(entrada.chaveEvento, entrada);
+        }
+        if (chave != null) {
+            porChaveEvento.put(chave, entrada);
+        }
+        entrada.chaveEvento = chave;
+    }
+
+    private void indexar(Entrada entrada) {
+        if (entrada.tipo != null) {
+            porTipo.get(entrada.tipo).put(entrada.sequencia, entrada);
+        }
+        if (entrada.status != null) {
+            porStatus.get(entrada.status).put(entrada.sequencia, entrada);
+        }
+        if (entrada.tipo != null && entrada.status != null) {
+            porTipoEStatus.get(entrada.tipo).get(entrada.status).put(entrada.sequencia, entrada);
+        }
+    }
+
+    private void desindexar(Entrada entrada) {
+        if (entrada.tipo != null) {
+            porTipo.get(entrada.tipo).remove(entrada.sequencia);
+        }
+        if (entrada.status != null) {
+            porStatus.get(entrada.status).remove(entrada.sequencia);
+        }
+        if (entrada.tipo != null && entrada.status != null) {
+            porTipoEStatus.get(entrada.tipo).get(entrada.status).remove(entrada.sequencia);
+        }
+    }
+
+    private List<FalhaProcessamento> ultimasDoAnel(int limite) {
+        long ocupadas = Math.min(proximaSequencia, this.limite);
+        int quantidade = (int) (limite <= 0 ? ocupadas : Math.min(limite, ocupadas));
+
+        List<FalhaProcessamento> resultado = new ArrayList<>(quantidade);
+        for (long sequencia = proximaSequencia - quantidade; sequencia < proximaSequencia; sequencia++) {
+            resultado.add(anel[(int) (sequencia % this.limite)].falha);
+        }
+        return resultado;
+    }
+
+    private static List<FalhaProcessamento> ultimas(Iterator<Entrada> maisRecentesPrimeiro, int disponiveis, int limite) {
+        int quantidade = limite <= 0 ? disponiveis : Math.min(limite, disponiveis);
+        if (quantidade == 0) {
+            return List.of();
+        }
+
+        List<FalhaProcessamento> resultado = new ArrayList<>(quantidade);
+        while (resultado.size() < quantidade && maisRecentesPrimeiro.hasNext()) {
+            resultado.add(maisRecentesPrimeiro.next().falha);
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    private static final class Entrada {
+
+        private final long sequencia;
+        private FalhaProcessamento falha;
+        private TipoFalha tipo;
+        private StatusFalha status;
+        private String chaveEvento;
+
+        private Entrada(long sequencia, FalhaProcessamento falha) {
+            this.sequencia = sequencia;
+            this.falha = falha;
+            this.tipo = falha.getTipo();
+            this.status = falha.getStatus();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.integracao.kafka.application.repository;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+/**
+ * Seleção de falhas para operações em massa. Campos nulos não filtram; o período usa
+ * criadoEm com início inclusivo e fim exclusivo; motivo é um trecho, sem diferenciar maiúsculas.
+ */
+public record FiltroFalhas(
+    TipoFalha tipo,
+    StatusFalha status,
+    LocalDateTime criadoDe,
+    LocalDateTime criadoAte,
+    String motivo
+) {
+
+    public boolean aceita(FalhaProcessamento falha) {
+        return (tipo == null || falha.getTipo() == tipo)
+            && (status == null || falha.getStatus() == status)
+            && (criadoDe == null || !falha.getCriadoEm().isBefore(criadoDe))
+            && (criadoAte == null || falha.getCriadoEm().isBefore(criadoAte))
+            && (motivo == null || motivo.isBlank()
+                || (falha.getMotivo() != null && falha.getMotivo().toLowerCase(Locale.ROOT).contains(motivo.toLowerCase(Locale.ROOT))));
+    }
+}
@@ -1,11 +1,39 @@
 package com.integracao.kafka.application.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import com.integracao.kafka.domain.entity.NotaFiscalEntity;
 
 public interface NotaFiscalRepository {
     NotaFiscalEntity save(NotaFiscalEntity notaFiscalEntity);
+    List<NotaFiscalEntity> saveAll(List<NotaFiscalEntity> notaFiscalEntities);
+
+    /**
+     * Gravação que pode ser agrupada com a de outras threads em um único commit.
+     * O future completa quando a linha está gravada.
+     */
+    default CompletableFuture<NotaFiscalEntity> saveAgrupado(NotaFiscalEntity notaFiscalEntity) {
+        return CompletableFuture.completedFuture(save(notaFiscalEntity));
+    }
+
     NotaFiscalEntity findById(Long id);
+
+    /**
+     * Notas já gravadas com algum dos números informados.
+     */
+    List<NotaFiscalEntity> buscarPorNumeros(Collection<String> numerosNota);
     List<NotaFiscalEntity> findAll();
+
+    /**
+     * Próxima página por keyset: até {@code tamanho} notas com id maior que {@code aposId}, em ordem de id.
+     */
+    List<NotaFiscalEntity> buscarPagina(Long aposId, int tamanho);
+
+    /**
+     * Entrega todas as notas em ordem de id, uma a uma, sem manter a tabela em memória.
+     */
+    void percorrerTodos(Consumer<NotaFiscalEntity> consumidor);
 }
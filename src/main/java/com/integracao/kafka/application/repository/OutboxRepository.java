@@ -0,0 +1,24 @@
+package com.integracao.kafka.application.repository;
+
+import java.util.List;
+
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+
+public interface OutboxRepository {
+
+    OutboxEventoEntity save(OutboxEventoEntity outboxEventoEntity);
+
+    List<OutboxEventoEntity> saveAll(List<OutboxEventoEntity> outboxEventos);
+
+    /**
+     * Eventos com status PENDENTE em ordem de id; os MORTO ficam fora da drenagem.
+     */
+    List<OutboxEventoEntity> buscarPendentes(int limite);
+
+    long contarPendentes();
+
+    /**
+     * Remove os eventos confirmados pelo broker e avança o checkpoint do relay na mesma transação.
+     */
+    void confirmarPublicacao(String relay, List<Long> idsPublicados);
+}
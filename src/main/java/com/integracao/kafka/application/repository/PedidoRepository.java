@@ -1,14 +1,42 @@
 package com.integracao.kafka.application.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import com.integracao.kafka.domain.entity.PedidoEntity;
 
 public interface PedidoRepository {
     
     PedidoEntity save(PedidoEntity pedidoEntity) ;
+
+    List<PedidoEntity> saveAll(List<PedidoEntity> pedidoEntities);
+
+    /**
+     * Gravação que pode ser agrupada com a de outras threads em um único commit.
+     * O future completa quando a linha está gravada.
+     */
+    default CompletableFuture<PedidoEntity> saveAgrupado(PedidoEntity pedidoEntity) {
+        return CompletableFuture.completedFuture(save(pedidoEntity));
+    }
    
     PedidoEntity findById(Long id);
 
+    /**
+     * Pedidos já gravados com algum dos números informados.
+     */
+    List<PedidoEntity> buscarPorNumeros(Collection<String> numerosPedido);
+
     List<PedidoEntity> findAll();
+
+    /**
+     * Próxima página por keyset: até {@code tamanho} pedidos com id maior que {@code aposId}, em ordem de id.
+     */
+    List<PedidoEntity> buscarPagina(Long aposId, int tamanho);
+
+    /**
+     * Entrega todos os pedidos em ordem de id, um a um, sem manter a tabela em memória.
+     */
+    void percorrerTodos(Consumer<PedidoEntity> consumidor);
 }
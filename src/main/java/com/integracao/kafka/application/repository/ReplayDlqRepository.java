@@ -0,0 +1,20 @@
+package com.integracao.kafka.application.repository;
+
+import java.util.List;
+
+import com.integracao.kafka.domain.model.ReplayDlq;
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+public interface ReplayDlqRepository {
+
+    /**
+     * Grava o replay com posições e contadores na mesma transação (checkpoint).
+     */
+    void salvar(ReplayDlq replay);
+
+    ReplayDlq buscarPorId(String id);
+
+    List<ReplayDlq> listar();
+
+    List<ReplayDlq> listarPorStatus(StatusReplay status);
+}
@@ -1,10 +1,25 @@
 package com.integracao.kafka.application.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
 
 import com.integracao.kafka.application.repository.NotaFiscalRepository;
@@ -20,51 +35,50 @@ import lombok.extern.slf4j.Slf4j;
 public class NotaFiscalService {
     private final NotaFiscalRepository notaFiscalRepository;
 
-    @Value("${integrador.persistencia.retry-interval-ms:5000}")
-    private long retryIntervalMs;
+    @Value("${integrador.consulta.tamanho-maximo-pagina:500}")
+    private int tamanhoMaximoPagina = 500;
 
-    @Value("${integrador.persistencia.retry-max-interval-ms:30000}")
-    private long retryMaxIntervalMs;
+    @Value("${integrador.persistencia.agrupada.timeout-ms:30000}")
+    private long timeoutGravacaoMs = 30000;
 
      public NotaFiscalEntity criarNotaFiscalEntity(NotaFiscal notaFiscal) {
         log.info("[SERVICE-NOTA-FISCAL] Iniciando persistencia de nota fiscal | numeroNota={} cliente={} produto={} quantidade={} valorTotal={}",
             notaFiscal.getNumeroNota(), notaFiscal.getCliente(), notaFiscal.getProduto(), notaFiscal.getQuantidade(), notaFiscal.getValorTotal());
   
-        NotaFiscalEntity notaFiscalEntity = new NotaFiscalEntity();
-        notaFiscalEntity.setNumeroNota(notaFiscal.getNumeroNota());
-        notaFiscalEntity.setCliente(notaFiscal.getCliente());
-        notaFiscalEntity.setProduto(notaFiscal.getProduto());
-        notaFiscalEntity.setQuantidade(notaFiscal.getQuantidade());
-        notaFiscalEntity.setValorTotal(notaFiscal.getValorTotal());
+        NotaFiscalEntity notaFiscalEntity = mapearEntidade(notaFiscal);
 
         log.info("[SERVICE-NOTA-FISCAL] Nota fiscal mapeada para entidade | numeroNota={} cliente={} produto={} quantidade={} valorTotal={}",
             notaFiscalEntity.getNumeroNota(), notaFiscalEntity.getCliente(), notaFiscalEntity.getProduto(), notaFiscalEntity.getQuantidade(), notaFiscalEntity.getValorTotal());
 
-        int tentativa = 1;
-        while (true) {
-            try {
-                log.info("[SERVICE-NOTA-FISCAL] Enviando nota fiscal para banco de dados | numeroNota={} tentativa={}",
-                    notaFiscalEntity.getNumeroNota(), tentativa);
+        NotaFiscalEntity notaFiscalSalva = persistir(notaFiscalEntity.getNumeroNota(), () -> gravarSeNovo(notaFiscalEntity));
 
-                NotaFiscalEntity notaFiscalSalva = notaFiscalRepository.save(notaFiscalEntity);
+        log.info("[SERVICE-NOTA-FISCAL] Nota fiscal persistida com sucesso | id={} numeroNota={} cliente={} statusBanco=RECUPERADO",
+            notaFiscalSalva.getId(), notaFiscalSalva.getNumeroNota(), notaFiscalSalva.getCliente());
 
-                log.info("[SERVICE-NOTA-FISCAL] Nota fiscal persistida com sucesso | id={} numeroNota={} cliente={} tentativa={} statusBanco=RECUPERADO",
-                    notaFiscalSalva.getId(), notaFiscalSalva.getNumeroNota(), notaFiscalSalva.getCliente(), tentativa);
+        return notaFiscalSalva;
+    }
 
-                return notaFiscalSalva;
-            } catch (DataAccessException ex) {
-                long proximaTentativaMs = calcularBackoffComJitter(tentativa);
+    /**
+     * Persiste o lote em uma única transação (saveAll): um flush e um commit para todas as notas.
+     * Notas cujo numeroNota já está gravado (reentrega do lote) não são gravadas de novo:
+     * a posição delas no retorno traz a linha existente.
+     * Falhas de banco seguem a mesma política do {@link #criarNotaFiscalEntity(NotaFiscal)}, aplicada ao lote inteiro.
+     */
+    public List<NotaFiscalEntity> criarNotasFiscais(List<NotaFiscal> notasFiscais) {
+        if (notasFiscais.isEmpty()) {
+            return List.of();
+        }
 
-                log.error("[SERVICE-NOTA-FISCAL] Falha ao persistir nota fiscal no banco | numeroNota={} tentativa={} proximaTentativaEmMs={} erro={}",
-                    notaFiscalEntity.getNumeroNota(), tentativa, proximaTentativaMs, ex.getMessage());
+        List<NotaFiscalEntity> entidades = notasFiscais.stream().map(this::mapearEntidade).toList();
+        String identificacao = "lote[" + entidades.get(0).getNumeroNota() + "..+" + (entidades.size() - 1) + "]";
 
-                aguardarProximaTentativa(notaFiscalEntity.getNumeroNota(), tentativa, proximaTentativaMs);
+        log.info("[SERVICE-NOTA-FISCAL] Iniciando persistencia em lote | tamanho={} lote={}", entidades.size(), identificacao);
 
-                tentativa++;
-            }
-        }
-    }
+        List<NotaFiscalEntity> salvas = persistir(identificacao, () -> gravarNovos(entidades));
 
+        log.info("[SERVICE-NOTA-FISCAL] Lote persistido com sucesso | tamanho={} lote={}", salvas.size(), identificacao);
+        return salvas;
+    }
 
     public List<NotaFiscalEntity> listarNotasFiscais() {
         log.info("[SERVICE-NOTA-FISCAL] Consultando notas fiscais no banco de dados | operacao=listarNotasFiscais");
@@ -73,23 +87,121 @@ public class NotaFiscalService {
         return notasFiscais;
     }
 
-    private long calcularBackoffComJitter(int tentativaAtual) {
-        long exponencial = retryIntervalMs * (1L << Math.min(tentativaAtual - 1, 10));
-        long limitado = Math.min(exponencial, retryMaxIntervalMs);
-        long jitter = ThreadLocalRandom.current().nextLong(250, 1000);
-        return Math.min(limitado + jitter, retryMaxIntervalMs);
+    /**
+     * Página por keyset (id &gt; aposId), com o tamanho limitado a integrador.consulta.tamanho-maximo-pagina.
+     */
+    public List<NotaFiscalEntity> listarPagina(Long aposId, int tamanho) {
+        int tamanhoAjustado = Math.max(1, Math.min(tamanho, tamanhoMaximoPagina));
+        List<NotaFiscalEntity> pagina = notaFiscalRepository.buscarPagina(aposId == null ? 0L : aposId, tamanhoAjustado);
+        log.info("[SERVICE-NOTA-FISCAL] Página de notas fiscais consultada | aposId={} tamanho={} retornadas={}",
+            aposId, tamanhoAjustado, pagina.size());
+        return pagina;
+    }
+
+    public void exportarNotasFiscais(Consumer<NotaFiscalEntity> consumidor) {
+        log.info("[SERVICE-NOTA-FISCAL] Iniciando exportação de notas fiscais | operacao=exportarNotasFiscais");
+        notaFiscalRepository.percorrerTodos(consumidor);
     }
 
-    private void aguardarProximaTentativa(String numeroNota, int tentativaAtual, long esperaMs) {
+    private NotaFiscalEntity mapearEntidade(NotaFiscal notaFiscal) {
+        NotaFiscalEntity notaFiscalEntity = new NotaFiscalEntity();
+        notaFiscalEntity.setNumeroNota(notaFiscal.getNumeroNota());
+        notaFiscalEntity.setCliente(notaFiscal.getCliente());
+        notaFiscalEntity.setProduto(notaFiscal.getProduto());
+        notaFiscalEntity.setQuantidade(notaFiscal.getQuantidade());
+        notaFiscalEntity.setValorTotal(notaFiscal.getValorTotal());
+        return notaFiscalEntity;
+    }
+
+    /**
+     * Uma única tentativa: a falha de banco sobe para o listener, e o DefaultErrorHandler
+     * pausa a partição pelo backoff e reentrega o registro (ver KafkaConfig#errorHandler),
+     * sem prender a thread do consumer.
+     */
+    private <T> T persistir(String numeroNota, Supplier<T> operacao) {
+        try {
+            log.info("[SERVICE-NOTA-FISCAL] Enviando nota fiscal para banco de dados | numeroNota={}", numeroNota);
+            return operacao.get();
+        } catch (DataAccessException ex) {
+            log.error("[SERVICE-NOTA-FISCAL] Falha ao persistir nota fiscal no banco | numeroNota={} erro={}", numeroNota, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private NotaFiscalEntity gravarSeNovo(NotaFiscalEntity entidade) {
+        if (entidade.getNumeroNota() != null) {
+            List<NotaFiscalEntity> existentes = notaFiscalRepository.buscarPorNumeros(List.of(entidade.getNumeroNota()));
+            if (!existentes.isEmpty()) {
+                log.info("[SERVICE-NOTA-FISCAL] Nota fiscal já gravada, reaproveitando a linha existente | id={} numeroNota={}",
+                    existentes.get(0).getId(), entidade.getNumeroNota());
+                return existentes.get(0);
+            }
+        }
+        return aguardarGravacao(notaFiscalRepository.saveAgrupado(entidade));
+    }
+
+    /**
+     * Grava só as notas cujo numeroNota ainda não existe (nem repete dentro do lote) e devolve,
+     * na ordem da entrada, a linha gravada agora ou a já existente para cada uma.
+     */
+    private List<NotaFiscalEntity> gravarNovos(List<NotaFiscalEntity> entidades) {
+        Set<String> numeros = entidades.stream()
+            .map(NotaFiscalEntity::getNumeroNota)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, NotaFiscalEntity> porNumero = new HashMap<>();
+        notaFiscalRepository.buscarPorNumeros(numeros).forEach(existente -> porNumero.put(existente.getNumeroNota(), existente));
+
+        List<NotaFiscalEntity> novos = new ArrayList<>();
+        Set<String> numerosNovos = new HashSet<>();
+        for (NotaFiscalEntity entidade : entidades) {
+            String numero = entidade.getNumeroNota();
+            if (numero == null || (!porNumero.containsKey(numero) && numerosNovos.add(numero))) {
+                novos.add(entidade);
+            }
+        }
+        if (novos.size() < entidades.size()) {
+            log.info("[SERVICE-NOTA-FISCAL] Notas já gravadas ignoradas no lote | recebidas={} novas={}", entidades.size(), novos.size());
+        }
+
+        Map<NotaFiscalEntity, NotaFiscalEntity> salvos = new IdentityHashMap<>();
+        if (!novos.isEmpty()) {
+            List<NotaFiscalEntity> gravados = notaFiscalRepository.saveAll(novos);
+            for (int i = 0; i < novos.size(); i++) {
+                salvos.put(novos.get(i), gravados.get(i));
+                if (gravados.get(i).getNumeroNota() != null) {
+                    porNumero.put(gravados.get(i).getNumeroNota(), gravados.get(i));
+                }
+            }
+        }
+
+        List<NotaFiscalEntity> resultado = new ArrayList<>(entidades.size());
+        for (NotaFiscalEntity entidade : entidades) {
+            NotaFiscalEntity salvo = salvos.get(entidade);
+            resultado.add(salvo != null ? salvo : porNumero.get(entidade.getNumeroNota()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Aguarda o group commit da linha (ver integrador.persistencia.agrupada), devolvendo
+     * a falha original para que o error handler do listener reconheça a falha de banco.
+     * Sem confirmação em integrador.persistencia.agrupada.timeout-ms, falha como timeout de banco
+     * (a linha ainda pode ser gravada depois; a reentrega encontra o numeroNota já gravado e a reaproveita).
+     */
+    private <T> T aguardarGravacao(CompletableFuture<T> gravacao) {
         try {
-            Thread.sleep(esperaMs);
+            return gravacao.get(timeoutGravacaoMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("Gravação em grupo sem confirmação em " + timeoutGravacaoMs + "ms", ex);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException(
-                "[SERVICE-NOTA-FISCAL] Thread interrompida durante espera de recuperação do banco | numeroNota="
-                    + numeroNota + " tentativa=" + tentativaAtual + " esperaMs=" + esperaMs,
-                ex
-            );
+            throw new CompletionException(ex);
         }
     }
 
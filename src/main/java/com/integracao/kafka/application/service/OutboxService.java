@@ -0,0 +1,67 @@
+package com.integracao.kafka.application.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+import com.integracao.kafka.domain.model.Evento;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava eventos na tabela de outbox (mesmo datasource das entidades de negócio).
+ * A publicação no Kafka fica a cargo do relay, fora do caminho da requisição.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final IntegradorMetrics metrics;
+
+    public OutboxEventoEntity registrar(String topico, Evento<?> evento) {
+        OutboxEventoEntity salvo = outboxRepository.save(mapear(topico, evento));
+        metrics.registrarOutboxRegistrados(1);
+
+        log.info("[OUTBOX] Evento registrado no outbox | id={} topico={} eventoId={}",
+            salvo.getId(), topico, evento.getId());
+        return salvo;
+    }
+
+    public List<OutboxEventoEntity> registrarLote(String topico, List<Evento<?>> eventos) {
+        List<OutboxEventoEntity> entidades = new ArrayList<>(eventos.size());
+        for (Evento<?> evento : eventos) {
+            entidades.add(mapear(topico, evento));
+        }
+
+        List<OutboxEventoEntity> salvos = outboxRepository.saveAll(entidades);
+        metrics.registrarOutboxRegistrados(salvos.size());
+
+        log.info("[OUTBOX] Lote registrado no outbox | topico={} quantidade={}", topico, salvos.size());
+        return salvos;
+    }
+
+    private OutboxEventoEntity mapear(String topico, Evento<?> evento) {
+        OutboxEventoEntity entidade = new OutboxEventoEntity();
+        entidade.setTopico(topico);
+        entidade.setChave(evento.getId());
+        entidade.setTipo(evento.getTipo());
+        entidade.setCriadoEm(LocalDateTime.now());
+        try {
+            entidade.setPayload(objectMapper.writeValueAsString(evento));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Evento não serializável para o outbox | id=" + evento.getId(), ex);
+        }
+        return entidade;
+    }
+}
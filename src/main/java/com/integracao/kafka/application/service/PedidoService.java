@@ -1,10 +1,25 @@
 package com.integracao.kafka.application.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
 
 import com.integracao.kafka.application.repository.PedidoRepository;
@@ -21,51 +36,50 @@ public class PedidoService {
 
     private final PedidoRepository pedidoRepository;
 
-    @Value("${integrador.persistencia.retry-interval-ms:5000}")
-    private long retryIntervalMs;
+    @Value("${integrador.consulta.tamanho-maximo-pagina:500}")
+    private int tamanhoMaximoPagina = 500;
 
-    @Value("${integrador.persistencia.retry-max-interval-ms:30000}")
-    private long retryMaxIntervalMs;
+    @Value("${integrador.persistencia.agrupada.timeout-ms:30000}")
+    private long timeoutGravacaoMs = 30000;
 
     public PedidoEntity criarPedido(Pedido pedido) {
         log.info("[SERVICE-PEDIDO] Iniciando persistencia de pedido | numeroPedido={} cliente={} produto={} quantidade={} valorTotal={}",
             pedido.getNumeroPedido(), pedido.getCliente(), pedido.getProduto(), pedido.getQuantidade(), pedido.getValorTotal());
   
-        PedidoEntity pedidoEntity = new PedidoEntity();
-        pedidoEntity.setNumeroPedido(pedido.getNumeroPedido());
-        pedidoEntity.setCliente(pedido.getCliente());
-        pedidoEntity.setProduto(pedido.getProduto());
-        pedidoEntity.setQuantidade(pedido.getQuantidade());
-        pedidoEntity.setValorTotal(pedido.getValorTotal());
+        PedidoEntity pedidoEntity = PedidoEntity.de(pedido);
 
         log.info("[SERVICE-PEDIDO] Pedido mapeado para entidade | numeroPedido={} cliente={} produto={} quantidade={} valorTotal={}",
             pedidoEntity.getNumeroPedido(), pedidoEntity.getCliente(), pedidoEntity.getProduto(), pedidoEntity.getQuantidade(), pedidoEntity.getValorTotal());
 
-        int tentativa = 1;
-        while (true) {
-            try {
-                log.info("[SERVICE-PEDIDO] Enviando pedido para banco de dados | numeroPedido={} tentativa={}",
-                    pedidoEntity.getNumeroPedido(), tentativa);
+        PedidoEntity pedidoSalvo = persistir(pedidoEntity.getNumeroPedido(), () -> gravarSeNovo(pedidoEntity));
 
-                PedidoEntity pedidoSalvo = pedidoRepository.save(pedidoEntity);
+        log.info("[SERVICE-PEDIDO] Pedido persistido com sucesso | id={} numeroPedido={} cliente={} statusBanco=RECUPERADO",
+            pedidoSalvo.getId(), pedidoSalvo.getNumeroPedido(), pedidoSalvo.getCliente());
 
-                log.info("[SERVICE-PEDIDO] Pedido persistido com sucesso | id={} numeroPedido={} cliente={} tentativa={} statusBanco=RECUPERADO",
-                    pedidoSalvo.getId(), pedidoSalvo.getNumeroPedido(), pedidoSalvo.getCliente(), tentativa);
+        return pedidoSalvo;
+    }
 
-                return pedidoSalvo;
-            } catch (DataAccessException ex) {
-                long proximaTentativaMs = calcularBackoffComJitter(tentativa);
+    /**
+     * Persiste o lote em uma única transação (saveAll): um flush e um commit para todos os pedidos.
+     * Pedidos cujo numeroPedido já está gravado (reentrega do lote) não são gravados de novo:
+     * a posição delos no retorno traz a linha existente.
+     * Falhas de banco seguem a mesma política do {@link #criarPedido(Pedido)}, aplicada ao lote inteiro.
+     */
+    public List<PedidoEntity> criarPedidos(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return List.of();
+        }
 
-                log.error("[SERVICE-PEDIDO] Falha ao persistir pedido no banco | numeroPedido={} tentativa={} proximaTentativaEmMs={} erro={}",
-                    pedidoEntity.getNumeroPedido(), tentativa, proximaTentativaMs, ex.getMessage());
+        List<PedidoEntity> entidades = pedidos.stream().map(PedidoEntity::de).toList();
+        String identificacao = "lote[" + entidades.get(0).getNumeroPedido() + "..+" + (entidades.size() - 1) + "]";
 
-                aguardarProximaTentativa(pedidoEntity.getNumeroPedido(), tentativa, proximaTentativaMs);
+        log.info("[SERVICE-PEDIDO] Iniciando persistencia em lote | tamanho={} lote={}", entidades.size(), identificacao);
 
-                tentativa++;
-            }
-        }
-    }
+        List<PedidoEntity> salvos = persistir(identificacao, () -> gravarNovos(entidades));
 
+        log.info("[SERVICE-PEDIDO] Lote persistido com sucesso | tamanho={} lote={}", salvos.size(), identificacao);
+        return salvos;
+    }
 
     public List<PedidoEntity> listarPedidos() {
         log.info("[SERVICE-PEDIDO] Consultando pedidos no banco de dados | operacao=listarPedidos");
@@ -74,24 +88,112 @@ public class PedidoService {
         return pedidos;
     }
 
-    private long calcularBackoffComJitter(int tentativaAtual) {
-        long exponencial = retryIntervalMs * (1L << Math.min(tentativaAtual - 1, 10));
-        long limitado = Math.min(exponencial, retryMaxIntervalMs);
-        long jitter = ThreadLocalRandom.current().nextLong(250, 1000);
-        return Math.min(limitado + jitter, retryMaxIntervalMs);
+    /**
+     * Página por keyset (id &gt; aposId), com o tamanho limitado a integrador.consulta.tamanho-maximo-pagina.
+     */
+    public List<PedidoEntity> listarPagina(Long aposId, int tamanho) {
+        int tamanhoAjustado = Math.max(1, Math.min(tamanho, tamanhoMaximoPagina));
+        List<PedidoEntity> pagina = pedidoRepository.buscarPagina(aposId == null ? 0L : aposId, tamanhoAjustado);
+        log.info("[SERVICE-PEDIDO] Página de pedidos consultada | aposId={} tamanho={} retornados={}",
+            aposId, tamanhoAjustado, pagina.size());
+        return pagina;
+    }
+
+    public void exportarPedidos(Consumer<PedidoEntity> consumidor) {
+        log.info("[SERVICE-PEDIDO] Iniciando exportação de pedidos | operacao=exportarPedidos");
+        pedidoRepository.percorrerTodos(consumidor);
+    }
+
+    /**
+     * Uma única tentativa: a falha de banco sobe para o listener, e o DefaultErrorHandler
+     * pausa a partição pelo backoff e reentrega o registro (ver KafkaConfig#errorHandler),
+     * sem prender a thread do consumer.
+     */
+    private <T> T persistir(String numeroPedido, Supplier<T> operacao) {
+        try {
+            log.info("[SERVICE-PEDIDO] Enviando pedido para banco de dados | numeroPedido={}", numeroPedido);
+            return operacao.get();
+        } catch (DataAccessException ex) {
+            log.error("[SERVICE-PEDIDO] Falha ao persistir pedido no banco | numeroPedido={} erro={}", numeroPedido, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private PedidoEntity gravarSeNovo(PedidoEntity entidade) {
+        if (entidade.getNumeroPedido() != null) {
+            List<PedidoEntity> existentes = pedidoRepository.buscarPorNumeros(List.of(entidade.getNumeroPedido()));
+            if (!existentes.isEmpty()) {
+                log.info("[SERVICE-PEDIDO] Pedido já gravado, reaproveitando a linha existente | id={} numeroPedido={}",
+                    existentes.get(0).getId(), entidade.getNumeroPedido());
+                return existentes.get(0);
+            }
+        }
+        return aguardarGravacao(pedidoRepository.saveAgrupado(entidade));
+    }
+
+    /**
+     * Grava só os pedidos cujo numeroPedido ainda não existe (nem repete dentro do lote) e devolve,
+     * na ordem da entrada, a linha gravada agora ou a já existente para cada um.
+     */
+    private List<PedidoEntity> gravarNovos(List<PedidoEntity> entidades) {
+        Set<String> numeros = entidades.stream()
+            .map(PedidoEntity::getNumeroPedido)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, PedidoEntity> porNumero = new HashMap<>();
+        pedidoRepository.buscarPorNumeros(numeros).forEach(existente -> porNumero.put(existente.getNumeroPedido(), existente));
+
+        List<PedidoEntity> novos = new ArrayList<>();
+        Set<String> numerosNovos = new HashSet<>();
+        for (PedidoEntity entidade : entidades) {
+            String numero = entidade.getNumeroPedido();
+            if (numero == null || (!porNumero.containsKey(numero) && numerosNovos.add(numero))) {
+                novos.add(entidade);
+            }
+        }
+        if (novos.size() < entidades.size()) {
+            log.info("[SERVICE-PEDIDO] Pedidos já gravados ignorados no lote | recebidos={} novos={}", entidades.size(), novos.size());
+        }
+
+        Map<PedidoEntity, PedidoEntity> salvos = new IdentityHashMap<>();
+        if (!novos.isEmpty()) {
+            List<PedidoEntity> gravados = pedidoRepository.saveAll(novos);
+            for (int i = 0; i < novos.size(); i++) {
+                salvos.put(novos.get(i), gravados.get(i));
+                if (gravados.get(i).getNumeroPedido() != null) {
+                    porNumero.put(gravados.get(i).getNumeroPedido(), gravados.get(i));
+                }
+            }
+        }
+
+        List<PedidoEntity> resultado = new ArrayList<>(entidades.size());
+        for (PedidoEntity entidade : entidades) {
+            PedidoEntity salvo = salvos.get(entidade);
+            resultado.add(salvo != null ? salvo : porNumero.get(entidade.getNumeroPedido()));
+        }
+        return resultado;
     }
 
-    private void aguardarProximaTentativa(String numeroPedido, int tentativaAtual, long esperaMs) {
+    /**
+     * Aguarda o group commit da linha (ver integrador.persistencia.agrupada), devolvendo
+     * a falha original para que o error handler do listener reconheça a falha de banco.
+     * Sem confirmação em integrador.persistencia.agrupada.timeout-ms, falha como timeout de banco
+     * (a linha ainda pode ser gravada depois; a reentrega encontra o numeroPedido já gravado e a reaproveita).
+     */
+    private <T> T aguardarGravacao(CompletableFuture<T> gravacao) {
         try {
-            Thread.sleep(esperaMs);
+            return gravacao.get(timeoutGravacaoMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("Gravação em grupo sem confirmação em " + timeoutGravacaoMs + "ms", ex);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException(
-                "[SERVICE-PEDIDO] Thread interrompida durante espera de recuperação do banco | numeroPedido="
-                    + numeroPedido + " tentativa=" + tentativaAtual + " esperaMs=" + esperaMs,
-                ex
-            );
+            throw new CompletionException(ex);
         }
     }
-    
+
 }
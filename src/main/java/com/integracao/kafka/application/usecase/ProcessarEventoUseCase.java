@@ -6,9 +6,12 @@ import org.springframework.stereotype.Service;
 import com.integracao.kafka.application.gateway.in.ProcessarEventoPort;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
 import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.MedidorOperacao;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.Evento.StatusEvento;
 
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,38 +38,46 @@ public class ProcessarEventoUseCase implements ProcessarEventoPort {
     @Value("${integrador.topico.saida:integrador.evento.processado}")
     private String topicoSaida;
 
+    private MedidorOperacao medidor;
+
+    @PostConstruct
+    void registrarMedidor() {
+        medidor = metrics.operacao("processar-evento", topicoSaida);
+    }
+
     @Override
-    public void executar(Evento evento) {
+    public void executar(Evento<?> evento) {
         log.info("[ORQUESTRADOR] Iniciando processamento | id={} tipo={}", evento.getId(), evento.getTipo());
 
-        metrics.registrarTempo(() -> {
-            try {
-                // Passo 1: Valida
-                validar(evento);
+        Timer.Sample amostra = medidor.iniciar();
+        try {
+            // Passo 1: Valida
+            validar(evento);
 
-                // Passo 2: Atualiza status
-                evento.setStatus(StatusEvento.PROCESSANDO);
+            // Passo 2: Atualiza status
+            evento.setStatus(StatusEvento.PROCESSANDO);
 
-                // Passo 3: Transforma (adicione regras de negócio aqui)
-                Evento eventoTransformado = transformar(evento);
+            // Passo 3: Transforma (adicione regras de negócio aqui)
+            Evento<?> eventoTransformado = transformar(evento);
 
-                // Passo 4: Publica via port de saída
-                eventoTransformado.setStatus(StatusEvento.ENVIADO);
-                publicarEventoPort.publicar(topicoSaida, eventoTransformado);
+            // Passo 4: Publica via port de saída
+            eventoTransformado.setStatus(StatusEvento.ENVIADO);
+            publicarEventoPort.publicar(topicoSaida, eventoTransformado);
 
-                metrics.registrarSucesso();
-                log.info("[ORQUESTRADOR] Evento processado com sucesso | id={}", evento.getId());
+            medidor.sucesso();
+            log.info("[ORQUESTRADOR] Evento processado com sucesso | id={}", evento.getId());
 
-            } catch (Exception ex) {
-                evento.setStatus(StatusEvento.FALHA);
-                metrics.registrarFalha();
-                log.error("[ORQUESTRADOR] Falha ao processar evento | id={} erro={}", evento.getId(), ex.getMessage());
-                throw ex; // propaga para o adaptador lidar (DLQ, retry etc.)
-            }
-        });
+        } catch (Exception ex) {
+            evento.setStatus(StatusEvento.FALHA);
+            medidor.falha();
+            log.error("[ORQUESTRADOR] Falha ao processar evento | id={} erro={}", evento.getId(), ex.getMessage());
+            throw ex; // propaga para o adaptador lidar (DLQ, retry etc.)
+        } finally {
+            medidor.parar(amostra);
+        }
     }
 
-    private void validar(Evento evento) {
+    private void validar(Evento<?> evento) {
         if (evento.getPayload() == null) {
             throw new IllegalArgumentException("Payload do evento nao pode ser nulo | id=" + evento.getId());
         }
@@ -76,7 +87,7 @@ public class ProcessarEventoUseCase implements ProcessarEventoPort {
         log.debug("[ORQUESTRADOR] Evento validado | id={}", evento.getId());
     }
 
-    private Evento transformar(Evento evento) {
+    private Evento<?> transformar(Evento<?> evento) {
         // Ponto de extensão: adicione mapeamentos, enriquecimento de dados, etc.
         // Exemplo: buscar dados complementares de uma API, converter formatos, etc.
         log.debug("[ORQUESTRADOR] Evento transformado | id={}", evento.getId());
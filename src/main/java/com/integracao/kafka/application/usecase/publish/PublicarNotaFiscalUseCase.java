@@ -1,15 +1,22 @@
 package com.integracao.kafka.application.useCase.publish;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.integracao.kafka.application.gateway.in.PublicarNotaPort;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
 import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.MedidorOperacao;
+import com.integracao.kafka.application.service.OutboxService;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.NotaFiscal;
 
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,57 +26,126 @@ import lombok.extern.slf4j.Slf4j;
 public class PublicarNotaFiscalUseCase implements PublicarNotaPort {
   private final PublicarEventoPort publicarEventoPort;
     private final IntegradorMetrics metrics;
+    private final OutboxService outboxService;
+    private MedidorOperacao medidor;
+
+    // Quando ativo, a API grava no outbox e o relay publica: sem round trip ao broker na requisição
+    @Value("${integrador.outbox.api-habilitado:false}")
+    private boolean outboxHabilitado;
     
     private static final String TOPICO_ENTRADA_NOTA_FISCAL = "integrador.nota.recebido";
 
+    @PostConstruct
+    void registrarMedidor() {
+        medidor = metrics.operacao("publicar-nota", TOPICO_ENTRADA_NOTA_FISCAL);
+    }
+
     @Override
     public String executar(NotaFiscal notaFiscal) {
         log.info("[ORQUESTRADOR-NOTA-FISCAL] Iniciando criação de nota fiscal | cliente={} produto={}", 
             notaFiscal.getCliente(), notaFiscal.getProduto());
 
-        String eventoId;
+        Evento<?> evento;
+        try {
+            evento = prepararEvento(notaFiscal);
+        } catch (IllegalArgumentException ex) {
+            medidor.falha();
+            log.error("[ORQUESTRADOR-NOTA-FISCAL] Dados inválidos | erro={}", ex.getMessage());
+            throw ex;
+        }
+
         try {
-            // Passo 1: Valida
-            validar(notaFiscal);
-
-            // Passo 2: Gera número da nota fiscal se não fornecido
-            if (notaFiscal.getNumeroNota() == null || notaFiscal.getNumeroNota().isEmpty()) {
-                notaFiscal.setNumeroNota("NF-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            }
-       
-            // Passo 3: Encapsula em Evento
-            Evento evento = Evento.builder()
-                    .tipo("NOTA_FISCAL_CRIADA")
-                    .origem("API_REST")
-                    .destino("SISTEMA_NOTA_FISCAL")
-                    .payload(notaFiscal)
-                    .status(Evento.StatusEvento.RECEBIDO)
-                    .build();
-
-            // Passo 5: Publica via port de saída (com registro de tempo)
-            metrics.registrarTempo(() -> {
-                publicarEventoPort.publicar(TOPICO_ENTRADA_NOTA_FISCAL, evento);
+            // Passo 5: Publica via port de saída; o medidor registra tempo e sucesso/falha
+            String eventoId = medidor.medir(() -> {
+                publicar(evento);
+                return evento.getId();
             });
             
-            eventoId = evento.getId();
-            metrics.registrarSucesso();
-            
             log.info("[ORQUESTRADOR-NOTA-FISCAL] Nota fiscal criada com sucesso | numero={} eventoId={}", 
                 notaFiscal.getNumeroNota(), eventoId);
             
             return eventoId;
 
         } catch (IllegalArgumentException ex) {
-            metrics.registrarFalha();
             log.error("[ORQUESTRADOR-NOTA-FISCAL] Dados inválidos | erro={}", ex.getMessage());
             throw ex;
         } catch (Exception ex) {
-            metrics.registrarFalha();
             log.error("[ORQUESTRADOR-NOTA-FISCAL] Falha ao criar nota fiscal | erro={}", ex.getMessage());
             throw new RuntimeException("Falha ao criar nota fiscal: " + ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Variante não bloqueante: permite disparar várias notas em sequência e aguardar
+     * as confirmações do broker em conjunto. Erros de validação são lançados de imediato.
+     */
+    @Override
+    public CompletableFuture<String> executarAsync(NotaFiscal notaFiscal) {
+        Evento<?> evento;
+        try {
+            evento = prepararEvento(notaFiscal);
+        } catch (IllegalArgumentException ex) {
+            medidor.falha();
+            log.error("[ORQUESTRADOR-NOTA-FISCAL] Dados inválidos | erro={}", ex.getMessage());
+            throw ex;
+        }
+
+        // A amostra termina na thread que recebe a confirmação do broker
+        Timer.Sample amostra = medidor.iniciar();
+        return publicarAsync(evento)
+            .handle((resultado, ex) -> {
+                medidor.parar(amostra);
+                if (ex != null) {
+                    medidor.falha();
+                    log.error("[ORQUESTRADOR-NOTA-FISCAL] Falha ao criar nota fiscal | erro={}", ex.getMessage());
+                    throw new RuntimeException("Falha ao criar nota fiscal: " + ex.getMessage(), ex);
+                }
+                medidor.sucesso();
+                log.info("[ORQUESTRADOR-NOTA-FISCAL] Nota fiscal criada com sucesso | numero={} eventoId={} offset={}",
+                    notaFiscal.getNumeroNota(), evento.getId(), resultado.offset());
+                return evento.getId();
+            });
+    }
+
+    private void publicar(Evento<?> evento) {
+        if (outboxHabilitado) {
+            outboxService.registrar(TOPICO_ENTRADA_NOTA_FISCAL, evento);
+            return;
+        }
+        publicarEventoPort.publicar(TOPICO_ENTRADA_NOTA_FISCAL, evento);
+    }
+
+    private CompletableFuture<ResultadoPublicacao> publicarAsync(Evento<?> evento) {
+        if (!outboxHabilitado) {
+            return publicarEventoPort.publicarAsync(TOPICO_ENTRADA_NOTA_FISCAL, evento);
+        }
+        try {
+            outboxService.registrar(TOPICO_ENTRADA_NOTA_FISCAL, evento);
+            return CompletableFuture.completedFuture(ResultadoPublicacao.semConfirmacao(TOPICO_ENTRADA_NOTA_FISCAL, evento.getId()));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private Evento<?> prepararEvento(NotaFiscal notaFiscal) {
+        // Passo 1: Valida
+        validar(notaFiscal);
+
+        // Passo 2: Gera número da nota fiscal se não fornecido
+        if (notaFiscal.getNumeroNota() == null || notaFiscal.getNumeroNota().isEmpty()) {
+            notaFiscal.setNumeroNota("NF-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+
+        // Passo 3: Encapsula em Evento
+        return Evento.builder()
+                .tipo("NOTA_FISCAL_CRIADA")
+                .origem("API_REST")
+                .destino("SISTEMA_NOTA_FISCAL")
+                .payload(notaFiscal)
+                .status(Evento.StatusEvento.RECEBIDO)
+                .build();
+    }
+
     private void validar(NotaFiscal notaFiscal) {
         if (notaFiscal == null) {
             throw new IllegalArgumentException("Nota fiscal não pode ser nula");
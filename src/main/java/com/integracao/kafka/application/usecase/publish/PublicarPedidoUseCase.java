@@ -1,15 +1,25 @@
 package com.integracao.kafka.application.useCase.publish;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.integracao.kafka.application.gateway.in.PublicarPedidoPort;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
 import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.MedidorOperacao;
+import com.integracao.kafka.application.service.OutboxService;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.Pedido;
 
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,60 +30,183 @@ public class PublicarPedidoUseCase implements PublicarPedidoPort {
 
     private final PublicarEventoPort publicarEventoPort;
     private final IntegradorMetrics metrics;
+    private final OutboxService outboxService;
+    private MedidorOperacao medidor;
+
+    // Quando ativo, a API grava no outbox e o relay publica: sem round trip ao broker na requisição
+    @Value("${integrador.outbox.api-habilitado:false}")
+    private boolean outboxHabilitado;
     
     private static final String TOPICO_ENTRADA_PEDIDO = "integrador.pedido.recebido";
 
+    @PostConstruct
+    void registrarMedidor() {
+        medidor = metrics.operacao("publicar-pedido", TOPICO_ENTRADA_PEDIDO);
+    }
+
     @Override
     public String executar(Pedido pedido) {
         log.info("[ORQUESTRADOR-PEDIDO] Iniciando criação de pedido | cliente={} produto={}", 
             pedido.getCliente(), pedido.getProduto());
 
-        String eventoId;
+        Evento<?> evento;
         try {
-            // Passo 1: Valida
-            validar(pedido);
+            evento = prepararEvento(pedido);
+        } catch (IllegalArgumentException ex) {
+            medidor.falha();
+            log.error("[ORQUESTRADOR-PEDIDO] Dados inválidos | erro={}", ex.getMessage());
+            throw ex;
+        }
 
-            // Passo 2: Gera número do pedido se não fornecido
-            if (pedido.getNumeroPedido() == null || pedido.getNumeroPedido().isEmpty()) {
-                pedido.setNumeroPedido("PED-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            }
-            
-            // Passo 3: Preenche metadados mocados se necessário
-            pedido.preencherMetadadosMocadosSeNecessario();
-
-            // Passo 4: Encapsula em Evento
-            Evento evento = Evento.builder()
-                    .tipo("PEDIDO_CRIADO")
-                    .origem("API_REST")
-                    .destino("SISTEMA_PEDIDOS")
-                    .payload(pedido)
-                    .status(Evento.StatusEvento.RECEBIDO)
-                    .build();
-
-            // Passo 5: Publica via port de saída (com registro de tempo)
-            metrics.registrarTempo(() -> {
-                publicarEventoPort.publicar(TOPICO_ENTRADA_PEDIDO, evento);
+        try {
+            // Passo 5: Publica via port de saída; o medidor registra tempo e sucesso/falha
+            String eventoId = medidor.medir(() -> {
+                publicar(evento);
+                return evento.getId();
             });
             
-            eventoId = evento.getId();
-            metrics.registrarSucesso();
-            
             log.info("[ORQUESTRADOR-PEDIDO] Pedido criado com sucesso | numero={} eventoId={}", 
                 pedido.getNumeroPedido(), eventoId);
             
             return eventoId;
 
         } catch (IllegalArgumentException ex) {
-            metrics.registrarFalha();
             log.error("[ORQUESTRADOR-PEDIDO] Dados inválidos | erro={}", ex.getMessage());
             throw ex;
         } catch (Exception ex) {
-            metrics.registrarFalha();
             log.error("[ORQUESTRADOR-PEDIDO] Falha ao criar pedido | erro={}", ex.getMessage());
             throw new RuntimeException("Falha ao criar pedido: " + ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Variante não bloqueante: permite disparar vários pedidos em sequência e aguardar
+     * as confirmações do broker em conjunto. Erros de validação são lançados de imediato.
+     */
+    @Override
+    public CompletableFuture<String> executarAsync(Pedido pedido) {
+        Evento<?> evento;
+        try {
+            evento = prepararEvento(pedido);
+        } catch (IllegalArgumentException ex) {
+            medidor.falha();
+            log.error("[ORQUESTRADOR-PEDIDO] Dados inválidos | erro={}", ex.getMessage());
+            throw ex;
+        }
+
+        // A amostra termina na thread que recebe a confirmação do broker
+        Timer.Sample amostra = medidor.iniciar();
+        return publicarAsync(evento)
+            .handle((resultado, ex) -> {
+                medidor.parar(amostra);
+                if (ex != null) {
+                    medidor.falha();
+                    log.error("[ORQUESTRADOR-PEDIDO] Falha ao criar pedido | erro={}", ex.getMessage());
+                    throw new RuntimeException("Falha ao criar pedido: " + ex.getMessage(), ex);
+                }
+                medidor.sucesso();
+                log.info("[ORQUESTRADOR-PEDIDO] Pedido criado com sucesso | numero={} eventoId={} offset={}",
+                    pedido.getNumeroPedido(), evento.getId(), resultado.offset());
+                return evento.getId();
+            });
+    }
+
+    /**
+     * Publica uma rajada de pedidos com uma única espera pelas confirmações do broker.
+     * Pedidos inválidos são reportados como falha na mesma posição, sem ir ao Kafka.
+     */
+    @Override
+    public ResultadoLotePublicacao executarLote(List<Pedido> pedidos) {
+        log.info("[ORQUESTRADOR-PEDIDO] Iniciando criação de pedidos em lote | quantidade={}", pedidos.size());
+
+        ResultadoLotePublicacao.Item[] itens = new ResultadoLotePublicacao.Item[pedidos.size()];
+        List<Evento<?>> eventos = new ArrayList<>(pedidos.size());
+        List<Integer> posicoes = new ArrayList<>(pedidos.size());
+
+        for (int i = 0; i < pedidos.size(); i++) {
+            try {
+                eventos.add(prepararEvento(pedidos.get(i)));
+                posicoes.add(i);
+            } catch (IllegalArgumentException ex) {
+                medidor.falha();
+                itens[i] = ResultadoLotePublicacao.Item.falha(null, ex);
+            }
+        }
+
+        if (!eventos.isEmpty()) {
+            Timer.Sample amostra = medidor.iniciar();
+            ResultadoLotePublicacao publicado = publicarLote(eventos);
+            medidor.parar(amostra);
+
+            for (int i = 0; i < publicado.itens().size(); i++) {
+                ResultadoLotePublicacao.Item item = publicado.itens().get(i);
+                if (item.sucesso()) {
+                    medidor.sucesso();
+                } else {
+                    medidor.falha();
+                }
+                itens[posicoes.get(i)] = item;
+            }
+        }
+
+        ResultadoLotePublicacao resultado = new ResultadoLotePublicacao(TOPICO_ENTRADA_PEDIDO, List.of(itens));
+        log.info("[ORQUESTRADOR-PEDIDO] Lote de pedidos finalizado | quantidade={} sucesso={} falha={}",
+            pedidos.size(), resultado.totalSucesso(), resultado.totalFalha());
+        return resultado;
+    }
+
+    private void publicar(Evento<?> evento) {
+        if (outboxHabilitado) {
+            outboxService.registrar(TOPICO_ENTRADA_PEDIDO, evento);
+            return;
+        }
+        publicarEventoPort.publicar(TOPICO_ENTRADA_PEDIDO, evento);
+    }
+
+    private CompletableFuture<ResultadoPublicacao> publicarAsync(Evento<?> evento) {
+        if (!outboxHabilitado) {
+            return publicarEventoPort.publicarAsync(TOPICO_ENTRADA_PEDIDO, evento);
+        }
+        try {
+            outboxService.registrar(TOPICO_ENTRADA_PEDIDO, evento);
+            return CompletableFuture.completedFuture(ResultadoPublicacao.semConfirmacao(TOPICO_ENTRADA_PEDIDO, evento.getId()));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private ResultadoLotePublicacao publicarLote(List<Evento<?>> eventos) {
+        if (!outboxHabilitado) {
+            return publicarEventoPort.publicarLote(TOPICO_ENTRADA_PEDIDO, eventos);
+        }
+        outboxService.registrarLote(TOPICO_ENTRADA_PEDIDO, eventos);
+        return new ResultadoLotePublicacao(TOPICO_ENTRADA_PEDIDO, eventos.stream()
+            .map(evento -> ResultadoLotePublicacao.Item.sucesso(ResultadoPublicacao.semConfirmacao(TOPICO_ENTRADA_PEDIDO, evento.getId())))
+            .toList());
+    }
+
+    private Evento<?> prepararEvento(Pedido pedido) {
+        // Passo 1: Valida
+        validar(pedido);
+
+        // Passo 2: Gera número do pedido se não fornecido
+        if (pedido.getNumeroPedido() == null || pedido.getNumeroPedido().isEmpty()) {
+            pedido.setNumeroPedido("PED-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+
+        // Passo 3: Preenche metadados mocados se necessário
+        pedido.preencherMetadadosMocadosSeNecessario();
+
+        // Passo 4: Encapsula em Evento
+        return Evento.builder()
+                .tipo("PEDIDO_CRIADO")
+                .origem("API_REST")
+                .destino("SISTEMA_PEDIDOS")
+                .payload(pedido)
+                .status(Evento.StatusEvento.RECEBIDO)
+                .build();
+    }
+
     private void validar(Pedido pedido) {
         if (pedido == null) {
             throw new IllegalArgumentException("Pedido não pode ser nulo");
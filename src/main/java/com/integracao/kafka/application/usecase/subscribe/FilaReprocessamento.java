@@ -0,0 +1,93 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Falhas pendentes ordenadas pelo instante em que o reprocessamento passa a ser permitido.
+ *
+ * Cada falha aparece no máximo uma vez: reagendar remove a entrada anterior pelo índice por id.
+ * Retirar as vencidas e contá-las custa O(log n + vencidas), sem percorrer a fila inteira.
+ */
+class FilaReprocessamento {
+
+    private static final Comparator<Agendamento> POR_VENCIMENTO =
+        Comparator.comparing(Agendamento::devidaEm).thenComparing(Agendamento::idFalha);
+
+    private final TreeSet<Agendamento> fila = new TreeSet<>(POR_VENCIMENTO);
+    private final Map<String, Agendamento> porId = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    void agendar(String idFalha, LocalDateTime devidaEm) {
+        lock.lock();
+        try {
+            Agendamento novo = new Agendamento(devidaEm, idFalha);
+            Agendamento anterior = porId.put(idFalha, novo);
+            if (anterior != null) {
+                fila.remove(anterior);
+            }
+            fila.add(novo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remover(String idFalha) {
+        lock.lock();
+        try {
+            Agendamento anterior = porId.remove(idFalha);
+            if (anterior != null) {
+                fila.remove(anterior);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove da fila e devolve até {@code maximo} falhas vencidas em {@code agora}, das mais antigas
+     * para as mais novas.
+     */
+    List<String> retirarVencidas(LocalDateTime agora, int maximo) {
+        lock.lock();
+        try {
+            List<String> vencidas = new ArrayList<>(Math.min(maximo, 64));
+            while (vencidas.size() < maximo && !fila.isEmpty() && !fila.first().devidaEm().isAfter(agora)) {
+                Agendamento agendamento = fila.pollFirst();
+                porId.remove(agendamento.idFalha());
+                vencidas.add(agendamento.idFalha());
+            }
+            return vencidas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.lock();
+        try {
+            return fila.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int contarVencidas(LocalDateTime agora) {
+        lock.lock();
+        try {
+            // Tudo que vence até agora (inclusive): menor agendamento possível do nanossegundo seguinte
+            return fila.headSet(new Agendamento(agora.plusNanos(1), ""), false).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Agendamento(LocalDateTime devidaEm, String idFalha) {
+    }
+}
@@ -2,40 +2,53 @@ package com.integracao.kafka.application.useCase.subscribe;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.repository.FalhaRepository;
+import com.integracao.kafka.application.repository.FalhaRepositoryEmMemoria;
+import com.integracao.kafka.application.repository.FiltroFalhas;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.FalhaProcessamento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class GerenciarFalhasUseCase {
 
+    private static final int PAGINA_CARGA_FILA = 500;
+
     private final PublicarEventoPort publicarEventoPort;
     private final String topicoEntradaPedido;
     private final String topicoEntradaNota;
-    private final int limiteHistorico;
     private final int maxTentativasReprocessamento;
     private final int intervaloTentativaSegundos;
-
-    private final Map<String, FalhaProcessamento> falhas = new ConcurrentHashMap<>();
-    private final ConcurrentLinkedDeque<String> ordemFalhas = new ConcurrentLinkedDeque<>();
-    private final Map<String, String> indiceFalhaPorTipoEvento = new ConcurrentHashMap<>();
-
+    private final FalhaRepository falhaRepository;
+    private final FilaReprocessamento filaReprocessamento = new FilaReprocessamento();
+    private final TravasFalhas travas = new TravasFalhas();
+
+    /**
+     * Sem {@link FalhaRepository} no contexto (integrador.falhas.armazenamento=memoria),
+     * usa o armazenamento em memória limitado a integrador.historico.falhas.limite.
+     */
+    @Autowired
     public GerenciarFalhasUseCase(
         PublicarEventoPort publicarEventoPort,
+        Optional<FalhaRepository> falhaRepository,
         @Value("${integrador.topico.entrada-pedido:integrador.pedido.recebido}") String topicoEntradaPedido,
         @Value("${integrador.topico.nota:integrador.nota.recebido}") String topicoEntradaNota,
         @Value("${integrador.historico.falhas.limite:1000}") int limiteHistorico,
@@ -43,30 +56,145 @@ public class GerenciarFalhasUseCase {
         @Value("${integrador.reprocessamento.intervalo-segundos:60}") int intervaloTentativaSegundos
     ) {
         this.publicarEventoPort = publicarEventoPort;
+        this.falhaRepository = falhaRepository.orElseGet(() -> new FalhaRepositoryEmMemoria(limiteHistorico));
         this.topicoEntradaPedido = topicoEntradaPedido;
         this.topicoEntradaNota = topicoEntradaNota;
-        this.limiteHistorico = Math.max(1, limiteHistorico);
         this.maxTentativasReprocessamento = Math.max(1, maxTentativasReprocessamento);
         this.intervaloTentativaSegundos = Math.max(1, intervaloTentativaSegundos);
     }
 
+    public GerenciarFalhasUseCase(
+        PublicarEventoPort publicarEventoPort,
+        String topicoEntradaPedido,
+        String topicoEntradaNota,
+        int limiteHistorico,
+        int maxTentativasReprocessamento,
+        int intervaloTentativaSegundos
+    ) {
+        this(publicarEventoPort, Optional.empty(), topicoEntradaPedido, topicoEntradaNota,
+            limiteHistorico, maxTentativasReprocessamento, intervaloTentativaSegundos);
+    }
+
+    /**
+     * Falha a registrar em lote (ver {@link #registrarFalhas(List)}).
+     */
+    public record Ocorrencia(
+        TipoFalha tipo,
+        Evento<?> eventoOriginal,
+        String motivo,
+        String topicoOrigem,
+        int particaoOrigem,
+        long offsetOrigem
+    ) {
+    }
+
+    /**
+     * Resultado de um ciclo de {@link #reprocessarVencidas(int)}.
+     */
+    public record ResultadoReprocessamentoAutomatico(int retiradas, int publicadas, int falharam, int esgotadas) {
+    }
+
+    /**
+     * Resultado de uma operação sobre um lote de ids: processadas = republicadas ou descartadas.
+     */
+    public record ResultadoOperacaoLote(int processadas, int ignoradas, int falharam, int esgotadas) {
+    }
+
+    /**
+     * Com armazenamento em banco, as falhas pendentes de antes do restart voltam para a fila.
+     * Lê só os ids de todas as pendentes (listar é limitado) e carrega as falhas em páginas.
+     */
+    @PostConstruct
+    void carregarFilaReprocessamento() {
+        List<String> ids = falhaRepository.listarIds(
+            new FiltroFalhas(null, StatusFalha.PENDENTE_REPROCESSAMENTO, null, null, null));
+        for (int de = 0; de < ids.size(); de += PAGINA_CARGA_FILA) {
+            falhaRepository.buscarPorIds(ids.subList(de, Math.min(de + PAGINA_CARGA_FILA, ids.size())))
+                .values()
+                .forEach(this::agendar);
+        }
+        if (!ids.isEmpty()) {
+            log.info("[FALHAS] Fila de reprocessamento carregada | pendentes={}", ids.size());
+        }
+    }
+
     public FalhaProcessamento registrarFalha(
         TipoFalha tipo,
-        Evento eventoOriginal,
+        Evento<?> eventoOriginal,
         String motivo,
         String topicoOrigem,
         int particaoOrigem,
         long offsetOrigem
     ) {
-        String chaveEvento = gerarChaveEvento(tipo, eventoOriginal);
-        FalhaProcessamento falhaExistente = buscarFalhaExistente(chaveEvento);
+        Ocorrencia ocorrencia = new Ocorrencia(tipo, eventoOriginal, motivo, topicoOrigem, particaoOrigem, offsetOrigem);
+        FalhaProcessamento existente = falhaRepository.buscarPorChaveEvento(FalhaRepository.chaveEvento(tipo, eventoOriginal));
+        if (existente == null) {
+            FalhaProcessamento falha = aplicarOcorrencia(null, ocorrencia);
+            salvar(falha);
+            return falha;
+        }
+
+        try (TravasFalhas.Travadas travadas = travas.travar(List.of(existente.getId()))) {
+            // Relê sob a trava: um reprocessamento pode ter alterado a falha depois da busca
+            FalhaProcessamento atual = falhaRepository.buscarPorId(existente.getId());
+            FalhaProcessamento falha = aplicarOcorrencia(atual != null ? atual : existente, ocorrencia);
+            salvar(falha);
+            return falha;
+        }
+    }
+
+    /**
+     * Registra as falhas de um lote consumido com uma busca e uma gravação no armazenamento,
+     * em vez de uma ida ao banco por registro.
+     */
+    public List<FalhaProcessamento> registrarFalhas(List<Ocorrencia> ocorrencias) {
+        if (ocorrencias.isEmpty()) {
+            return List.of();
+        }
 
+        List<String> chaves = new ArrayList<>(ocorrencias.size());
+        for (Ocorrencia ocorrencia : ocorrencias) {
+            String chave = FalhaRepository.chaveEvento(ocorrencia.tipo(), ocorrencia.eventoOriginal());
+            if (chave != null) {
+                chaves.add(chave);
+            }
+        }
+        Map<String, FalhaProcessamento> encontradas = falhaRepository.buscarPorChavesEvento(chaves);
+        List<String> ids = encontradas.values().stream().map(FalhaProcessamento::getId).toList();
+
+        try (TravasFalhas.Travadas travadas = travas.travar(ids)) {
+            Map<String, FalhaProcessamento> atuais = falhaRepository.buscarPorIds(ids);
+            Map<String, FalhaProcessamento> existentes = new LinkedHashMap<>();
+            encontradas.forEach((chave, falha) -> existentes.put(chave, atuais.getOrDefault(falha.getId(), falha)));
+            return registrarFalhas(ocorrencias, existentes);
+        }
+    }
+
+    private List<FalhaProcessamento> registrarFalhas(List<Ocorrencia> ocorrencias, Map<String, FalhaProcessamento> existentes) {
+        // Mesmo evento repetido no lote: a segunda ocorrência atualiza a falha criada pela primeira
+        Map<String, FalhaProcessamento> alteradas = new LinkedHashMap<>();
+        List<FalhaProcessamento> registradas = new ArrayList<>(ocorrencias.size());
+        for (Ocorrencia ocorrencia : ocorrencias) {
+            String chave = FalhaRepository.chaveEvento(ocorrencia.tipo(), ocorrencia.eventoOriginal());
+            FalhaProcessamento falha = aplicarOcorrencia(chave == null ? null : existentes.get(chave), ocorrencia);
+            if (chave != null) {
+                existentes.put(chave, falha);
+            }
+            alteradas.put(falha.getId(), falha);
+            registradas.add(falha);
+        }
+
+        salvarTodas(List.copyOf(alteradas.values()));
+        return registradas;
+    }
+
+    private FalhaProcessamento aplicarOcorrencia(FalhaProcessamento falhaExistente, Ocorrencia ocorrencia) {
         if (falhaExistente != null) {
-            falhaExistente.setEventoOriginal(eventoOriginal);
-            falhaExistente.setMotivo(motivo);
-            falhaExistente.setTopicoOrigem(topicoOrigem);
-            falhaExistente.setParticaoOrigem(particaoOrigem);
-            falhaExistente.setOffsetOrigem(offsetOrigem);
+            falhaExistente.setEventoOriginal(ocorrencia.eventoOriginal());
+            falhaExistente.setMotivo(ocorrencia.motivo());
+            falhaExistente.setTopicoOrigem(ocorrencia.topicoOrigem());
+            falhaExistente.setParticaoOrigem(ocorrencia.particaoOrigem());
+            falhaExistente.setOffsetOrigem(ocorrencia.offsetOrigem());
 
             if (atingiuLimiteTentativas(falhaExistente)) {
                 falhaExistente.setStatus(StatusFalha.ESGOTADO);
@@ -80,61 +208,46 @@ public class GerenciarFalhasUseCase {
                 falhaExistente.getTentativasReprocessamento(),
                 falhaExistente.getMaxTentativasReprocessamento(),
                 falhaExistente.getStatus(),
-                motivo);
+                ocorrencia.motivo());
 
             return falhaExistente;
         }
 
         FalhaProcessamento falha = FalhaProcessamento.builder()
-            .tipo(tipo)
-            .eventoOriginal(eventoOriginal)
-            .motivo(motivo)
-            .topicoOrigem(topicoOrigem)
-            .particaoOrigem(particaoOrigem)
-            .offsetOrigem(offsetOrigem)
+            .tipo(ocorrencia.tipo())
+            .eventoOriginal(ocorrencia.eventoOriginal())
+            .motivo(ocorrencia.motivo())
+            .topicoOrigem(ocorrencia.topicoOrigem())
+            .particaoOrigem(ocorrencia.particaoOrigem())
+            .offsetOrigem(ocorrencia.offsetOrigem())
             .status(StatusFalha.PENDENTE_REPROCESSAMENTO)
             .tentativasReprocessamento(0)
             .maxTentativasReprocessamento(maxTentativasReprocessamento)
             .build();
 
-        falhas.put(falha.getId(), falha);
-        ordemFalhas.addLast(falha.getId());
-        if (chaveEvento != null) {
-            indiceFalhaPorTipoEvento.put(chaveEvento, falha.getId());
-        }
-        aplicarLimiteHistorico();
-
         log.warn("[FALHAS] Falha registrada | id={} tipo={} topico={} particao={} offset={} motivo={}",
-            falha.getId(), tipo, topicoOrigem, particaoOrigem, offsetOrigem, motivo);
+            falha.getId(), ocorrencia.tipo(), ocorrencia.topicoOrigem(), ocorrencia.particaoOrigem(),
+            ocorrencia.offsetOrigem(), ocorrencia.motivo());
 
         return falha;
     }
 
     public List<FalhaProcessamento> listarFalhas(TipoFalha tipo, StatusFalha status, int limite) {
-        List<FalhaProcessamento> ordenadas = new ArrayList<>();
-        for (String id : ordemFalhas) {
-            FalhaProcessamento falha = falhas.get(id);
-            if (falha != null) {
-                ordenadas.add(falha);
-            }
-        }
+        return falhaRepository.listar(tipo, status, limite);
+    }
 
-        List<FalhaProcessamento> filtradas = ordenadas.stream()
-            .filter(f -> tipo == null || f.getTipo() == tipo)
-            .filter(f -> status == null || f.getStatus() == status)
-            .toList();
+    public List<String> selecionarIds(FiltroFalhas filtro) {
+        return falhaRepository.listarIds(filtro);
+    }
 
-        if (filtradas.isEmpty()) {
-            return List.of();
+    public FalhaProcessamento reprocessar(String idFalha) {
+        try (TravasFalhas.Travadas travadas = travas.travar(List.of(idFalha))) {
+            return reprocessarTravada(idFalha);
         }
-
-        int limiteAjustado = limite <= 0 ? filtradas.size() : Math.min(limite, filtradas.size());
-        int inicio = Math.max(0, filtradas.size() - limiteAjustado);
-        return List.copyOf(filtradas.subList(inicio, filtradas.size()));
     }
 
-    public FalhaProcessamento reprocessar(String idFalha) {
-        FalhaProcessamento falha = falhas.get(idFalha);
+    private FalhaProcessamento reprocessarTravada(String idFalha) {
+        FalhaProcessamento falha = falhaRepository.buscarPorId(idFalha);
         if (falha == null) {
             throw new IllegalArgumentException("Falha não encontrada para o id=" + idFalha);
         }
@@ -149,6 +262,7 @@ public class GerenciarFalhasUseCase {
 
         if (atingiuLimiteTentativas(falha)) {
             falha.setStatus(StatusFalha.ESGOTADO);
+            salvar(falha);
             throw new IllegalArgumentException("Falha atingiu limite de tentativas de reprocessamento");
         }
 
@@ -161,22 +275,23 @@ public class GerenciarFalhasUseCase {
             throw new IllegalArgumentException("Falha sem evento/payload para reprocessar");
         }
 
-        String topicoEntrada = falha.getTipo() == TipoFalha.PEDIDO ? topicoEntradaPedido : topicoEntradaNota;
+        String topicoEntrada = topicoEntrada(falha);
 
-        falha.setTentativasReprocessamento(falha.getTentativasReprocessamento() + 1);
-        falha.setUltimaTentativaReprocessamentoEm(agora);
-        falha.setProximaTentativaPermitidaEm(agora.plusSeconds(intervaloTentativaSegundos));
+        iniciarTentativa(falha, agora);
 
-        if (atingiuLimiteTentativas(falha)) {
-            falha.setStatus(StatusFalha.ESGOTADO);
+        try {
+            publicarEventoPort.publicar(topicoEntrada, falha.getEventoOriginal());
+        } catch (RuntimeException ex) {
+            // A tentativa conta mesmo sem publicar: grava antes de repassar o erro, como no lote
+            salvar(falha);
+            log.warn("[FALHAS] Falha ao reprocessar | id={} tentativas={}/{} status={} erro={}",
+                falha.getId(), falha.getTentativasReprocessamento(), falha.getMaxTentativasReprocessamento(),
+                falha.getStatus(), ex.getMessage());
+            throw ex;
         }
 
-        publicarEventoPort.publicar(topicoEntrada, falha.getEventoOriginal());
-
-        if (falha.getStatus() != StatusFalha.ESGOTADO) {
-            falha.setStatus(StatusFalha.REPROCESSADO);
-        }
-        falha.setReprocessadoEm(LocalDateTime.now());
+        concluirTentativa(falha);
+        salvar(falha);
 
         log.info("[FALHAS] Falha reprocessada | id={} tipo={} topicoEntrada={} tentativas={}/{} status={}",
             falha.getId(),
@@ -190,45 +305,217 @@ public class GerenciarFalhasUseCase {
     }
 
     public FalhaProcessamento descartar(String idFalha) {
-        FalhaProcessamento falha = falhas.get(idFalha);
-        if (falha == null) {
-            throw new IllegalArgumentException("Falha não encontrada para o id=" + idFalha);
+        try (TravasFalhas.Travadas travadas = travas.travar(List.of(idFalha))) {
+            FalhaProcessamento falha = falhaRepository.buscarPorId(idFalha);
+            if (falha == null) {
+                throw new IllegalArgumentException("Falha não encontrada para o id=" + idFalha);
+            }
+
+            falha.setStatus(StatusFalha.DESCARTADO);
+            falha.setReprocessadoEm(LocalDateTime.now());
+            salvar(falha);
+            return falha;
         }
+    }
 
-        falha.setStatus(StatusFalha.DESCARTADO);
-        falha.setReprocessadoEm(LocalDateTime.now());
-        return falha;
+    /**
+     * Reprocessa as falhas cuja próxima tentativa já é permitida, das mais antigas para as mais novas,
+     * com um publicarLote por tópico de entrada. Falha de publicação conta como tentativa: a falha
+     * volta para a fila no próximo intervalo, até esgotar maxTentativasReprocessamento.
+     */
+    public ResultadoReprocessamentoAutomatico reprocessarVencidas(int maximo) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<String> ids = filaReprocessamento.retirarVencidas(agora, maximo);
+        if (ids.isEmpty()) {
+            return new ResultadoReprocessamentoAutomatico(0, 0, 0, 0);
+        }
+
+        ResultadoOperacaoLote resultado = reprocessarLote(ids, agora, true);
+
+        log.info("[FALHAS] Reprocessamento automático | retiradas={} publicadas={} falharam={} esgotadas={}",
+            ids.size(), resultado.processadas(), resultado.falharam(), resultado.esgotadas());
+        return new ResultadoReprocessamentoAutomatico(
+            ids.size(), resultado.processadas(), resultado.falharam(), resultado.esgotadas());
+    }
+
+    /**
+     * Reprocessa as falhas com as mesmas regras do reprocessamento manual, com um
+     * publicarLote por tópico de entrada e uma gravação para o lote inteiro.
+     * Falhas que o manual recusaria (não pendentes, sem payload, dentro do intervalo) são ignoradas.
+     */
+    public ResultadoOperacaoLote reprocessarLote(List<String> ids) {
+        return reprocessarLote(ids, LocalDateTime.now(), false);
     }
 
-    private void aplicarLimiteHistorico() {
-        while (ordemFalhas.size() > limiteHistorico) {
-            String removido = ordemFalhas.pollFirst();
-            if (removido != null) {
-                FalhaProcessamento falhaRemovida = falhas.remove(removido);
-                if (falhaRemovida != null) {
-                    String chave = gerarChaveEvento(falhaRemovida.getTipo(), falhaRemovida.getEventoOriginal());
-                    if (chave != null) {
-                        indiceFalhaPorTipoEvento.remove(chave);
+    /**
+     * Falhas em uso por outra operação (ex.: reprocessamento manual) são ignoradas.
+     */
+    public ResultadoOperacaoLote descartarLote(List<String> ids) {
+        try (TravasFalhas.Travadas travadas = travas.tentarTravar(ids)) {
+            Map<String, FalhaProcessamento> encontradas = falhaRepository.buscarPorIds(travadas.ids());
+            LocalDateTime agora = LocalDateTime.now();
+            List<FalhaProcessamento> alteradas = new ArrayList<>(encontradas.size());
+            for (String id : ids) {
+                FalhaProcessamento falha = encontradas.get(id);
+                if (falha == null || falha.getStatus() == StatusFalha.DESCARTADO) {
+                    continue;
+                }
+                falha.setStatus(StatusFalha.DESCARTADO);
+                falha.setReprocessadoEm(agora);
+                alteradas.add(falha);
+            }
+            salvarTodas(alteradas);
+            return new ResultadoOperacaoLote(alteradas.size(), ids.size() - alteradas.size(), 0, 0);
+        }
+    }
+
+    /**
+     * Falhas em uso por outra operação são ignoradas; vindas da fila, voltam para ela e são
+     * relidas no próximo ciclo.
+     */
+    private ResultadoOperacaoLote reprocessarLote(List<String> ids, LocalDateTime agora, boolean daFila) {
+        try (TravasFalhas.Travadas travadas = travas.tentarTravar(ids)) {
+            if (daFila) {
+                for (String id : ids) {
+                    if (!travadas.ids().contains(id)) {
+                        filaReprocessamento.agendar(id, agora);
                     }
                 }
             }
+            return reprocessarLoteTravado(ids, travadas.ids(), agora);
         }
     }
 
-    private FalhaProcessamento buscarFalhaExistente(String chaveEvento) {
-        if (chaveEvento == null) {
-            return null;
+    private ResultadoOperacaoLote reprocessarLoteTravado(List<String> ids, Set<String> travados, LocalDateTime agora) {
+        Map<String, FalhaProcessamento> encontradas = falhaRepository.buscarPorIds(travados);
+        Map<String, List<FalhaProcessamento>> porTopico = new LinkedHashMap<>();
+        List<FalhaProcessamento> alteradas = new ArrayList<>(ids.size());
+        int ignoradas = 0;
+        int esgotadas = 0;
+
+        for (String id : ids) {
+            FalhaProcessamento falha = encontradas.get(id);
+            // Reprocessada, descartada ou despejada depois de selecionada
+            if (falha == null || falha.getStatus() != StatusFalha.PENDENTE_REPROCESSAMENTO) {
+                ignoradas++;
+                continue;
+            }
+            if (falha.getEventoOriginal() == null || Objects.isNull(falha.getEventoOriginal().getPayload())) {
+                log.warn("[FALHAS] Falha sem evento/payload não pode ser reprocessada | id={}", id);
+                ignoradas++;
+                continue;
+            }
+            if (falha.getProximaTentativaPermitidaEm() != null && agora.isBefore(falha.getProximaTentativaPermitidaEm())) {
+                // Pode ter saído da fila antes da hora (ex.: reagendada por outra operação)
+                agendar(falha);
+                ignoradas++;
+                continue;
+            }
+            if (atingiuLimiteTentativas(falha)) {
+                falha.setStatus(StatusFalha.ESGOTADO);
+                alteradas.add(falha);
+                esgotadas++;
+                continue;
+            }
+
+            iniciarTentativa(falha, agora);
+            porTopico.computeIfAbsent(topicoEntrada(falha), topico -> new ArrayList<>()).add(falha);
+        }
+
+        int publicadas = 0;
+        int falharam = 0;
+        for (Map.Entry<String, List<FalhaProcessamento>> lote : porTopico.entrySet()) {
+            List<FalhaProcessamento> falhas = lote.getValue();
+            List<Evento<?>> eventos = new ArrayList<>(falhas.size());
+            for (FalhaProcessamento falha : falhas) {
+                eventos.add(falha.getEventoOriginal());
+            }
+
+            List<ResultadoLotePublicacao.Item> itens = publicarLote(lote.getKey(), eventos);
+            for (int i = 0; i < falhas.size(); i++) {
+                FalhaProcessamento falha = falhas.get(i);
+                if (itens != null && itens.get(i).sucesso()) {
+                    concluirTentativa(falha);
+                    publicadas++;
+                } else {
+                    // Continua pendente (ou esgotada, se foi a última tentativa) e volta para a fila
+                    falharam++;
+                }
+                if (falha.getStatus() == StatusFalha.ESGOTADO) {
+                    esgotadas++;
+                }
+                alteradas.add(falha);
+            }
         }
 
-        String idFalha = indiceFalhaPorTipoEvento.get(chaveEvento);
-        return idFalha == null ? null : falhas.get(idFalha);
+        salvarTodas(alteradas);
+        return new ResultadoOperacaoLote(publicadas, ignoradas, falharam, esgotadas);
     }
 
-    private String gerarChaveEvento(TipoFalha tipo, Evento evento) {
-        if (tipo == null || evento == null || evento.getId() == null || evento.getId().isBlank()) {
+    public int tamanhoFilaReprocessamento() {
+        return filaReprocessamento.tamanho();
+    }
+
+    public int contarFalhasVencidas() {
+        return filaReprocessamento.contarVencidas(LocalDateTime.now());
+    }
+
+    private List<ResultadoLotePublicacao.Item> publicarLote(String topico, List<Evento<?>> eventos) {
+        try {
+            return publicarEventoPort.publicarLote(topico, eventos).itens();
+        } catch (Exception ex) {
+            log.warn("[FALHAS] Falha ao republicar lote | topico={} tamanho={} erro={}", topico, eventos.size(), ex.getMessage());
             return null;
         }
-        return tipo.name() + "::" + evento.getId();
+    }
+
+    private String topicoEntrada(FalhaProcessamento falha) {
+        return falha.getTipo() == TipoFalha.PEDIDO ? topicoEntradaPedido : topicoEntradaNota;
+    }
+
+    private void iniciarTentativa(FalhaProcessamento falha, LocalDateTime agora) {
+        falha.setTentativasReprocessamento(falha.getTentativasReprocessamento() + 1);
+        falha.setUltimaTentativaReprocessamentoEm(agora);
+        falha.setProximaTentativaPermitidaEm(agora.plusSeconds(intervaloTentativaSegundos));
+
+        if (atingiuLimiteTentativas(falha)) {
+            falha.setStatus(StatusFalha.ESGOTADO);
+        }
+    }
+
+    private void concluirTentativa(FalhaProcessamento falha) {
+        if (falha.getStatus() != StatusFalha.ESGOTADO) {
+            falha.setStatus(StatusFalha.REPROCESSADO);
+        }
+        falha.setReprocessadoEm(LocalDateTime.now());
+    }
+
+    private void salvar(FalhaProcessamento falha) {
+        falhaRepository.salvar(falha);
+        agendar(falha);
+    }
+
+    private void salvarTodas(List<FalhaProcessamento> falhas) {
+        if (falhas.isEmpty()) {
+            return;
+        }
+        falhaRepository.salvarTodas(falhas);
+        falhas.forEach(this::agendar);
+    }
+
+    /**
+     * Só pendentes ficam na fila. Sem tentativa anterior, a primeira é permitida
+     * um intervalo depois do registro.
+     */
+    private void agendar(FalhaProcessamento falha) {
+        if (falha.getStatus() != StatusFalha.PENDENTE_REPROCESSAMENTO) {
+            filaReprocessamento.remover(falha.getId());
+            return;
+        }
+        LocalDateTime devidaEm = falha.getProximaTentativaPermitidaEm() != null
+            ? falha.getProximaTentativaPermitidaEm()
+            : falha.getCriadoEm().plusSeconds(intervaloTentativaSegundos);
+        filaReprocessamento.agendar(falha.getId(), devidaEm);
     }
 
     private boolean atingiuLimiteTentativas(FalhaProcessamento falha) {
@@ -0,0 +1,77 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histórico dos últimos {@code limite} itens consumidos, escrito sem lock pelas threads dos listeners.
+ *
+ * Cada registro pega uma sequência (getAndIncrement) e grava na posição {@code sequencia & mascara};
+ * nada é alocado além do próprio item. Ao lado de cada posição fica a sequência do item gravado:
+ * a leitura só aceita a posição se a sequência esperada estiver lá antes e depois de ler o item,
+ * então um registro em andamento ou já sobrescrito é pulado em vez de aparecer fora de ordem.
+ * É um histórico de diagnóstico: se um escritor ficar parado enquanto o anel dá uma volta inteira,
+ * aquele item pode se perder.
+ */
+class HistoricoCircular<T> {
+
+	private static final long GRAVANDO = -1L;
+
+	private final int limite;
+	private final int mascara;
+	private final AtomicReferenceArray<T> itens;
+	private final AtomicLongArray sequencias;
+	private final AtomicLong proximaSequencia = new AtomicLong();
+
+	HistoricoCircular(int limite) {
+		this.limite = Math.max(1, limite);
+		int capacidade = Integer.highestOneBit(this.limite - 1) << 1;
+		capacidade = Math.max(1, capacidade);
+		this.mascara = capacidade - 1;
+		this.itens = new AtomicReferenceArray<>(capacidade);
+		this.sequencias = new AtomicLongArray(capacidade);
+		for (int i = 0; i < capacidade; i++) {
+			sequencias.set(i, GRAVANDO);
+		}
+	}
+
+	void registrar(T item) {
+		long sequencia = proximaSequencia.getAndIncrement();
+		int posicao = (int) (sequencia & mascara);
+
+		sequencias.set(posicao, GRAVANDO);
+		itens.set(posicao, item);
+		sequencias.set(posicao, sequencia);
+	}
+
+	/**
+	 * Os últimos {@code limite} itens (todos quando {@code limite <= 0}), do mais antigo ao mais recente.
+	 * Copia só os itens devolvidos.
+	 */
+	List<T> ultimos(int limite) {
+		long fim = proximaSequencia.get();
+		int disponiveis = (int) Math.min(fim, this.limite);
+		int quantidade = limite <= 0 ? disponiveis : Math.min(limite, disponiveis);
+		if (quantidade == 0) {
+			return List.of();
+		}
+
+		List<T> resultado = new ArrayList<>(quantidade);
+		for (long sequencia = fim - 1; sequencia >= fim - quantidade; sequencia--) {
+			int posicao = (int) (sequencia & mascara);
+			if (sequencias.get(posicao) != sequencia) {
+				continue;
+			}
+			T item = itens.get(posicao);
+			if (sequencias.get(posicao) == sequencia) {
+				resultado.add(item);
+			}
+		}
+		Collections.reverse(resultado);
+		return Collections.unmodifiableList(resultado);
+	}
+}
@@ -0,0 +1,249 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.integracao.kafka.application.repository.FiltroFalhas;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.ResultadoOperacaoLote;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reprocessar/descartar em massa as falhas selecionadas por {@link FiltroFalhas}, como job assíncrono.
+ *
+ * Os ids são selecionados no início do job (o total fica fixo) e tratados em lotes de
+ * {@code tamanho-lote}: cada lote é um buscarPorIds, um publicarLote por tópico de entrada
+ * e um salvarTodas. Entre lotes o job espera o necessário para não passar de
+ * {@code max-por-segundo}. Jobs rodam um por vez, na ordem em que foram pedidos.
+ */
+@Slf4j
+@Service
+public class OperacaoEmMassaFalhasUseCase {
+
+    private static final int JOBS_MANTIDOS = 100;
+
+    public enum TipoOperacao {
+        REPROCESSAR,
+        DESCARTAR
+    }
+
+    public enum StatusJob {
+        AGUARDANDO,
+        EM_ANDAMENTO,
+        CONCLUIDO,
+        CANCELADO,
+        FALHOU
+    }
+
+    public record ProgressoJob(
+        String id,
+        TipoOperacao operacao,
+        FiltroFalhas filtro,
+        StatusJob status,
+        int total,
+        int processadas,
+        int ignoradas,
+        int falharam,
+        int esgotadas,
+        LocalDateTime criadoEm,
+        LocalDateTime iniciadoEm,
+        LocalDateTime concluidoEm,
+        String erro
+    ) {
+    }
+
+    private final GerenciarFalhasUseCase gerenciarFalhasUseCase;
+    private final int tamanhoLote;
+    private final int maxPorSegundo;
+    private final ExecutorService executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public OperacaoEmMassaFalhasUseCase(
+        GerenciarFalhasUseCase gerenciarFalhasUseCase,
+        @Value("${integrador.reprocessamento.massa.tamanho-lote:500}") int tamanhoLote,
+        @Value("${integrador.reprocessamento.massa.max-por-segundo:2000}") int maxPorSegundo
+    ) {
+        this.gerenciarFalhasUseCase = gerenciarFalhasUseCase;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.maxPorSegundo = Math.max(1, maxPorSegundo);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "falhas-operacao-em-massa");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ProgressoJob iniciar(TipoOperacao operacao, FiltroFalhas filtro) {
+        Job job = new Job(UUID.randomUUID().toString(), operacao, filtro);
+        jobs.put(job.id, job);
+        descartarJobsAntigos();
+
+        executor.execute(() -> executar(job));
+        log.info("[FALHAS-MASSA] Job criado | id={} operacao={} filtro={}", job.id, operacao, filtro);
+        return job.progresso();
+    }
+
+    public ProgressoJob consultar(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.progresso();
+    }
+
+    public List<ProgressoJob> listar() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing((Job job) -> job.criadoEm).reversed())
+            .map(Job::progresso)
+            .toList();
+    }
+
+    /**
+     * O job para depois do lote em andamento; o que já foi tratado permanece.
+     */
+    public ProgressoJob cancelar(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        job.cancelado = true;
+        return job.progresso();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        jobs.values().forEach(job -> job.cancelado = true);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar(Job job) {
+        if (job.cancelado) {
+            job.concluir(StatusJob.CANCELADO, null);
+            return;
+        }
+        job.iniciadoEm = LocalDateTime.now();
+        job.status = StatusJob.EM_ANDAMENTO;
+
+        try {
+            List<String> ids = gerenciarFalhasUseCase.selecionarIds(job.filtro);
+            job.total = ids.size();
+
+            long inicio = System.nanoTime();
+            int tratadas = 0;
+            for (int de = 0; de < ids.size(); de += tamanhoLote) {
+                if (job.cancelado) {
+                    job.concluir(StatusJob.CANCELADO, null);
+                    log.info("[FALHAS-MASSA] Job cancelado | id={} tratadas={}/{}", job.id, tratadas, job.total);
+                    return;
+                }
+
+                List<String> lote = ids.subList(de, Math.min(de + tamanhoLote, ids.size()));
+                ResultadoOperacaoLote resultado = job.operacao == TipoOperacao.REPROCESSAR
+                    ? gerenciarFalhasUseCase.reprocessarLote(lote)
+                    : gerenciarFalhasUseCase.descartarLote(lote);
+                job.acumular(resultado);
+                tratadas += lote.size();
+
+                aguardarTaxa(inicio, tratadas);
+            }
+
+            job.concluir(StatusJob.CONCLUIDO, null);
+            log.info("[FALHAS-MASSA] Job concluído | id={} operacao={} total={} processadas={} ignoradas={} falharam={} duracaoMs={}",
+                job.id, job.operacao, job.total, job.processadas, job.ignoradas, job.falharam,
+                Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.concluir(StatusJob.CANCELADO, "Interrompido");
+        } catch (Exception ex) {
+            job.concluir(StatusJob.FALHOU, ex.getMessage());
+            log.error("[FALHAS-MASSA] Job falhou | id={} erro={}", job.id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Dorme até que {@code tratadas} caiba em {@code maxPorSegundo} desde o início do job.
+     */
+    private void aguardarTaxa(long inicio, int tratadas) throws InterruptedException {
+        long minimoNanos = TimeUnit.SECONDS.toNanos(tratadas) / maxPorSegundo;
+        long esperaNanos = minimoNanos - (System.nanoTime() - inicio);
+        if (esperaNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(esperaNanos);
+        }
+    }
+
+    private void descartarJobsAntigos() {
+        if (jobs.size() <= JOBS_MANTIDOS) {
+            return;
+        }
+        List<Job> finalizados = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.concluidoEm != null) {
+                finalizados.add(job);
+            }
+        }
+        finalizados.sort(Comparator.comparing((Job job) -> job.criadoEm));
+        for (int i = 0; i < finalizados.size() && jobs.size() > JOBS_MANTIDOS; i++) {
+            jobs.remove(finalizados.get(i).id);
+        }
+    }
+
+    /**
+     * Escrito só pela thread do job; os campos são voláteis para o GET de progresso.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final TipoOperacao operacao;
+        private final FiltroFalhas filtro;
+        private final LocalDateTime criadoEm = LocalDateTime.now();
+        private volatile StatusJob status = StatusJob.AGUARDANDO;
+        private volatile boolean cancelado;
+        private volatile int total;
+        private volatile int processadas;
+        private volatile int ignoradas;
+        private volatile int falharam;
+        private volatile int esgotadas;
+        private volatile LocalDateTime iniciadoEm;
+        private volatile LocalDateTime concluidoEm;
+        private volatile String erro;
+
+        private Job(String id, TipoOperacao operacao, FiltroFalhas filtro) {
+            this.id = id;
+            this.operacao = operacao;
+            this.filtro = filtro;
+        }
+
+        private void acumular(ResultadoOperacaoLote resultado) {
+            processadas += resultado.processadas();
+            ignoradas += resultado.ignoradas();
+            falharam += resultado.falharam();
+            esgotadas += resultado.esgotadas();
+        }
+
+        private void concluir(StatusJob statusFinal, String mensagemErro) {
+            erro = mensagemErro;
+            concluidoEm = LocalDateTime.now();
+            status = statusFinal;
+        }
+
+        private ProgressoJob progresso() {
+            return new ProgressoJob(id, operacao, filtro, status, total, processadas, ignoradas, falharam, esgotadas,
+                criadoEm, iniciadoEm, concluidoEm, erro);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.integracao.kafka.application.gateway.out.LerTopicoPort;
+import com.integracao.kafka.application.gateway.out.LerTopicoPort.IntervaloLeitura;
+import com.integracao.kafka.application.gateway.out.LerTopicoPort.LeituraTopico;
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.RegistroTopico;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.repository.ReplayDlqRepository;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.ReplayDlq;
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replay direto de um tópico DLQ para o tópico de entrada correspondente.
+ *
+ * Lê o intervalo [inicio, fim) de cada partição (resolvido por offset ou timestamp na criação),
+ * filtra por tipo do evento, motivo (header da DLT) e chave, e republica cada poll com um
+ * publicarLote. Depois de cada lote confirmado pelo broker, as posições e os contadores são
+ * gravados juntos ({@link ReplayDlqRepository#salvar}); se a aplicação cair, o replay volta do
+ * último checkpoint no próximo start. Entrega é at-least-once: o lote em andamento na queda
+ * é publicado de novo.
+ */
+@Slf4j
+@Service
+public class ReplayDlqUseCase {
+
+    public record PedidoReplay(
+        String topicoOrigem,
+        Long deOffset,
+        Long ateOffset,
+        Instant deTimestamp,
+        Instant ateTimestamp,
+        String tipo,
+        String motivo,
+        String chave,
+        Integer maxPorSegundo
+    ) {
+    }
+
+    private final LerTopicoPort lerTopicoPort;
+    private final PublicarEventoPort publicarEventoPort;
+    private final ReplayDlqRepository replayDlqRepository;
+    private final Map<String, String> destinos = new LinkedHashMap<>();
+    private final int maxPorSegundoPadrao;
+    private final Duration esperaLeitura;
+
+    private final ExecutorService executor;
+    private final Set<String> ativos = ConcurrentHashMap.newKeySet();
+    private final Set<String> cancelados = ConcurrentHashMap.newKeySet();
+    private volatile boolean encerrando;
+
+    public ReplayDlqUseCase(
+        LerTopicoPort lerTopicoPort,
+        PublicarEventoPort publicarEventoPort,
+        ReplayDlqRepository replayDlqRepository,
+        @Value("${integrador.topico.dlq-evento:integrador.evento.dlq}") String topicoDlqEvento,
+        @Value("${integrador.topico.dlq-pedido:integrador.pedido.dlq}") String topicoDlqPedido,
+        @Value("${integrador.topico.dlq-nota:integrador.nota.dlq}") String topicoDlqNota,
+        @Value("${integrador.topico.entrada:integrador.evento.recebido}") String topicoEntrada,
+        @Value("${integrador.topico.entrada-pedido:integrador.pedido.recebido}") String topicoEntradaPedido,
+        @Value("${integrador.topico.nota:integrador.nota.recebido}") String topicoEntradaNota,
+        @Value("${integrador.dlq.replay.max-por-segundo:1000}") int maxPorSegundoPadrao,
+        @Value("${integrador.dlq.replay.espera-leitura-ms:500}") long esperaLeituraMs
+    ) {
+        this.lerTopicoPort = lerTopicoPort;
+        this.publicarEventoPort = publicarEventoPort;
+        this.replayDlqRepository = replayDlqRepository;
+        this.destinos.put(topicoDlqEvento, topicoEntrada);
+        this.destinos.put(topicoDlqPedido, topicoEntradaPedido);
+        this.destinos.put(topicoDlqNota, topicoEntradaNota);
+        this.maxPorSegundoPadrao = Math.max(1, maxPorSegundoPadrao);
+        this.esperaLeitura = Duration.ofMillis(Math.max(1, esperaLeituraMs));
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dlq-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ReplayDlq iniciar(PedidoReplay pedido) {
+        String destino = destinos.get(pedido.topicoOrigem());
+        if (destino == null) {
+            throw new IllegalArgumentException("Tópico de origem não é uma DLQ conhecida: " + pedido.topicoOrigem()
+                + " (esperado um de " + destinos.keySet() + ")");
+        }
+
+        IntervaloLeitura intervalo = lerTopicoPort.resolverIntervalo(pedido.topicoOrigem(),
+            pedido.deOffset(), pedido.ateOffset(), pedido.deTimestamp(), pedido.ateTimestamp());
+
+        ReplayDlq replay = ReplayDlq.builder()
+            .topicoOrigem(pedido.topicoOrigem())
+            .topicoDestino(destino)
+            .filtroTipo(pedido.tipo())
+            .filtroMotivo(pedido.motivo())
+            .filtroChave(pedido.chave())
+            .maxPorSegundo(pedido.maxPorSegundo())
+            .posicoes(new HashMap<>(intervalo.inicio()))
+            .fins(new HashMap<>(intervalo.fim()))
+            .build();
+        replayDlqRepository.salvar(replay);
+
+        submeter(replay);
+        log.info("[DLQ-REPLAY] Replay criado | id={} origem={} destino={} inicio={} fim={}",
+            replay.getId(), replay.getTopicoOrigem(), destino, replay.getPosicoes(), replay.getFins());
+        return replay;
+    }
+
+    public ReplayDlq consultar(String id) {
+        return replayDlqRepository.buscarPorId(id);
+    }
+
+    public List<ReplayDlq> listar() {
+        return replayDlqRepository.listar();
+    }
+
+    /**
+     * Em execução, para depois do lote em andamento (já com checkpoint); parado, só muda o status.
+     */
+    public ReplayDlq cancelar(String id) {
+        ReplayDlq replay = replayDlqRepository.buscarPorId(id);
+        if (replay == null) {
+            return null;
+        }
+        if (ativos.contains(id)) {
+            cancelados.add(id);
+        } else if (replay.getStatus() != StatusReplay.CONCLUIDO) {
+            replay.setStatus(StatusReplay.CANCELADO);
+            replayDlqRepository.salvar(replay);
+        }
+        return replay;
+    }
+
+    /**
+     * Continua um replay cancelado ou que falhou a partir do último checkpoint.
+     */
+    public ReplayDlq retomar(String id) {
+        ReplayDlq replay = replayDlqRepository.buscarPorId(id);
+        if (replay == null || replay.getStatus() == StatusReplay.CONCLUIDO || ativos.contains(id)) {
+            return replay;
+        }
+        replay.setStatus(StatusReplay.AGUARDANDO);
+        replay.setErro(null);
+        replayDlqRepository.salvar(replay);
+        submeter(replay);
+        return replay;
+    }
+
+    /**
+     * Replays que estavam rodando ou na fila quando a aplicação parou.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarInterrompidos() {
+        List<ReplayDlq> interrompidos = new ArrayList<>(replayDlqRepository.listarPorStatus(StatusReplay.EM_ANDAMENTO));
+        interrompidos.addAll(replayDlqRepository.listarPorStatus(StatusReplay.AGUARDANDO));
+        for (ReplayDlq replay : interrompidos) {
+            log.info("[DLQ-REPLAY] Retomando do checkpoint | id={} posicoes={}", replay.getId(), replay.getPosicoes());
+            submeter(replay);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        // O replay em execução grava o checkpoint e fica EM_ANDAMENTO para o próximo start
+        encerrando = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submeter(ReplayDlq replay) {
+        if (ativos.add(replay.getId())) {
+            executor.execute(() -> {
+                try {
+                    executar(replay);
+                } finally {
+                    ativos.remove(replay.getId());
+                    cancelados.remove(replay.getId());
+                }
+            });
+        }
+    }
+
+    void executar(ReplayDlq replay) {
+        if (cancelados.contains(replay.getId())) {
+            concluir(replay, StatusReplay.CANCELADO, null);
+            return;
+        }
+        replay.setStatus(StatusReplay.EM_ANDAMENTO);
+        replayDlqRepository.salvar(replay);
+
+        Map<Integer, Long> pendentes = new HashMap<>();
+        replay.getPosicoes().forEach((particao, posicao) -> {
+            if (posicao < replay.getFins().getOrDefault(particao, 0L)) {
+                pendentes.put(particao, posicao);
+            }
+        });
+
+        int maxPorSegundo = replay.getMaxPorSegundo() == null ? maxPorSegundoPadrao : Math.max(1, replay.getMaxPorSegundo());
+        long inicio = System.nanoTime();
+        long publicadosNestaExecucao = 0;
+
+        try (LeituraTopico leitura = pendentes.isEmpty() ? null : lerTopicoPort.abrir(replay.getTopicoOrigem(), pendentes)) {
+            while (!pendentes.isEmpty()) {
+                if (encerrando) {
+                    log.info("[DLQ-REPLAY] Interrompido no shutdown | id={} posicoes={}", replay.getId(), replay.getPosicoes());
+                    return;
+                }
+                if (cancelados.contains(replay.getId())) {
+                    concluir(replay, StatusReplay.CANCELADO, null);
+                    log.info("[DLQ-REPLAY] Replay cancelado | id={} publicados={}", replay.getId(), replay.getPublicados());
+                    return;
+                }
+
+                List<RegistroTopico> registros = leitura.ler(esperaLeitura);
+                List<Evento<?>> selecionados = new ArrayList<>(registros.size());
+                long lidos = 0;
+                long ignorados = 0;
+                for (RegistroTopico registro : registros) {
+                    if (registro.offset() >= replay.getFins().getOrDefault(registro.particao(), 0L)) {
+                        continue;
+                    }
+                    lidos++;
+                    if (aceita(replay, registro)) {
+                        selecionados.add(registro.evento());
+                    } else {
+                        ignorados++;
+                    }
+                }
+
+                if (!selecionados.isEmpty()) {
+                    ResultadoLotePublicacao resultado = publicarEventoPort.publicarLote(replay.getTopicoDestino(), selecionados);
+                    if (resultado.totalFalha() > 0) {
+                        // Sem checkpoint: o lote inteiro volta a ser lido ao retomar
+                        throw new IllegalStateException("Falha ao republicar em " + replay.getTopicoDestino() + ": "
+                            + resultado.itens().stream().filter(item -> !item.sucesso()).findFirst().get().erro());
+                    }
+                }
+
+                replay.setLidos(replay.getLidos() + lidos);
+                replay.setIgnorados(replay.getIgnorados() + ignorados);
+                replay.setPublicados(replay.getPublicados() + selecionados.size());
+                avancarPosicoes(replay, leitura, pendentes);
+                replayDlqRepository.salvar(replay);
+
+                publicadosNestaExecucao += selecionados.size();
+                aguardarTaxa(inicio, publicadosNestaExecucao, maxPorSegundo);
+            }
+
+            concluir(replay, StatusReplay.CONCLUIDO, null);
+            log.info("[DLQ-REPLAY] Replay concluído | id={} origem={} destino={} lidos={} publicados={} ignorados={} duracaoMs={}",
+                replay.getId(), replay.getTopicoOrigem(), replay.getTopicoDestino(), replay.getLidos(),
+                replay.getPublicados(), replay.getIgnorados(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            concluir(replay, StatusReplay.FALHOU, ex.getMessage());
+            log.error("[DLQ-REPLAY] Replay falhou | id={} posicoes={} erro={}", replay.getId(), replay.getPosicoes(), ex.getMessage());
+        }
+    }
+
+    private void avancarPosicoes(ReplayDlq replay, LeituraTopico leitura, Map<Integer, Long> pendentes) {
+        for (Integer particao : new ArrayList<>(pendentes.keySet())) {
+            long fim = replay.getFins().get(particao);
+            long posicao = Math.min(leitura.posicao(particao), fim);
+            replay.getPosicoes().put(particao, posicao);
+            if (posicao >= fim) {
+                leitura.encerrarParticao(particao);
+                pendentes.remove(particao);
+            }
+        }
+    }
+
+    private static boolean aceita(ReplayDlq replay, RegistroTopico registro) {
+        Evento<?> evento = registro.evento();
+        if (evento == null) {
+            return false;
+        }
+        if (replay.getFiltroTipo() != null && !replay.getFiltroTipo().equals(evento.getTipo())) {
+            return false;
+        }
+        if (replay.getFiltroChave() != null && !replay.getFiltroChave().equals(registro.chave())) {
+            return false;
+        }
+        return replay.getFiltroMotivo() == null || (registro.motivo() != null
+            && registro.motivo().toLowerCase().contains(replay.getFiltroMotivo().toLowerCase()));
+    }
+
+    private void concluir(ReplayDlq replay, StatusReplay status, String erro) {
+        replay.setStatus(status);
+        replay.setErro(erro);
+        replayDlqRepository.salvar(replay);
+    }
+
+    /**
+     * Dorme até que {@code publicados} caiba em {@code maxPorSegundo} desde o início da execução.
+     */
+    private static void aguardarTaxa(long inicio, long publicados, int maxPorSegundo) throws InterruptedException {
+        long minimoNanos = TimeUnit.SECONDS.toNanos(publicados) / maxPorSegundo;
+        long esperaNanos = minimoNanos - (System.nanoTime() - inicio);
+        if (esperaNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(esperaNanos);
+        }
+    }
+}
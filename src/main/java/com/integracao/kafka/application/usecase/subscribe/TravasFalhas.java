@@ -0,0 +1,94 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusão por id de falha entre as operações que leem, alteram e gravam uma falha
+ * (registro pelos consumers, reprocessamento manual, automático e em massa).
+ *
+ * Os ids são distribuídos em faixas fixas de locks reentrantes. Quem não pode deixar um id
+ * de fora (registro, operação manual) espera as faixas, sempre em ordem crescente; os lotes
+ * só tentam e pulam os ids ocupados, que ficam para a próxima rodada. Como quem espera
+ * segue uma ordem única e quem tenta nunca espera, não há deadlock.
+ */
+class TravasFalhas {
+
+    private static final int FAIXAS = 1024;
+
+    private final ReentrantLock[] faixas = new ReentrantLock[FAIXAS];
+
+    TravasFalhas() {
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Espera as faixas de todos os ids.
+     */
+    Travadas travar(Collection<String> ids) {
+        Travadas travadas = new Travadas();
+        for (int faixa : faixasOrdenadas(ids)) {
+            faixas[faixa].lock();
+            travadas.faixas.add(faixa);
+        }
+        travadas.ids.addAll(ids);
+        return travadas;
+    }
+
+    /**
+     * Trava o que estiver livre; os ids com faixa ocupada por outra thread ficam fora de {@link Travadas#ids()}.
+     */
+    Travadas tentarTravar(Collection<String> ids) {
+        Travadas travadas = new Travadas();
+        Set<Integer> ocupadas = new HashSet<>();
+        for (int faixa : faixasOrdenadas(ids)) {
+            if (faixas[faixa].tryLock()) {
+                travadas.faixas.add(faixa);
+            } else {
+                ocupadas.add(faixa);
+            }
+        }
+        for (String id : ids) {
+            if (!ocupadas.contains(faixa(id))) {
+                travadas.ids.add(id);
+            }
+        }
+        return travadas;
+    }
+
+    private static TreeSet<Integer> faixasOrdenadas(Collection<String> ids) {
+        TreeSet<Integer> ordenadas = new TreeSet<>();
+        for (String id : ids) {
+            ordenadas.add(faixa(id));
+        }
+        return ordenadas;
+    }
+
+    private static int faixa(String id) {
+        return Math.floorMod(id.hashCode(), FAIXAS);
+    }
+
+    final class Travadas implements AutoCloseable {
+
+        private final List<Integer> faixas = new ArrayList<>();
+        private final Set<String> ids = new HashSet<>();
+
+        Set<String> ids() {
+            return ids;
+        }
+
+        @Override
+        public void close() {
+            for (int i = faixas.size() - 1; i >= 0; i--) {
+                TravasFalhas.this.faixas[faixas.get(i)].unlock();
+            }
+        }
+    }
+}
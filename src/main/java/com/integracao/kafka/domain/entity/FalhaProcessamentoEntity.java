@@ -0,0 +1,85 @@
+package com.integracao.kafka.domain.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+
+/**
+ * Índices: (tipo, status, criado_em) atende /falhas com tipo e tipo+status;
+ * (status, criado_em) atende só status; chave_evento é a busca por evento no registro.
+ */
+@Entity
+@Data
+@Table(name = "falha_processamento", indexes = {
+    @Index(name = "idx_falha_tipo_status_criado", columnList = "tipo, status, criadoEm"),
+    @Index(name = "idx_falha_status_criado", columnList = "status, criadoEm"),
+    @Index(name = "idx_falha_criado", columnList = "criadoEm"),
+    @Index(name = "idx_falha_chave_evento", columnList = "chaveEvento", unique = true)
+})
+public class FalhaProcessamentoEntity implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(length = 120)
+    private String chaveEvento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoFalha tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StatusFalha status;
+
+    @Column(length = 2000)
+    private String motivo;
+
+    private String topicoOrigem;
+    private Integer particaoOrigem;
+    private Long offsetOrigem;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime reprocessadoEm;
+    private LocalDateTime ultimaTentativaReprocessamentoEm;
+    private LocalDateTime proximaTentativaPermitidaEm;
+    private Integer tentativasReprocessamento;
+    private Integer maxTentativasReprocessamento;
+
+    @Lob
+    private String evento;
+
+    // Id vem do domínio: sem isso o save faria um SELECT antes de cada INSERT
+    @Transient
+    private boolean novo = true;
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarExistente() {
+        novo = false;
+    }
+}
@@ -6,15 +6,25 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
+/**
+ * numeroNota é único: a reentrega de uma nota já gravada reaproveita a linha existente
+ * (ver NotaFiscalService) e a constraint barra a corrida entre duas gravações do mesmo número.
+ */
 @Entity
 @Data
-@Table(name = "nota_fiscal")
+@Table(name = "nota_fiscal", indexes = @Index(name = "idx_nota_fiscal_numero", columnList = "numeroNota", unique = true))
 public class NotaFiscalEntity {
+    /**
+     * Sequence pooled (50 ids por ida ao banco) no lugar de IDENTITY, que desliga o batch JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nota_fiscal_seq")
+    @SequenceGenerator(name = "nota_fiscal_seq", sequenceName = "nota_fiscal_seq", allocationSize = 50)
     private Long id;
 
     private String numeroNota;
@@ -0,0 +1,21 @@
+package com.integracao.kafka.domain.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "outbox_checkpoint")
+public class OutboxCheckpointEntity {
+
+    @Id
+    private String relay;
+
+    private Long ultimoIdPublicado;
+    private Long totalPublicado;
+    private LocalDateTime atualizadoEm;
+}
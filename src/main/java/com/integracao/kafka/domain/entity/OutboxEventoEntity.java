@@ -0,0 +1,54 @@
+package com.integracao.kafka.domain.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Evento aguardando o relay. Linhas que o broker recusa de forma permanente (ou que esgotam
+ * as tentativas) ficam como MORTO, fora da drenagem, para análise sem bloquear a fila.
+ */
+@Entity
+@Data
+@Table(name = "outbox_evento")
+public class OutboxEventoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topico;
+
+    private String chave;
+    private String tipo;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    private LocalDateTime criadoEm;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.PENDENTE;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(length = 1000)
+    private String ultimoErro;
+
+    public enum Status {
+        PENDENTE, MORTO
+    }
+}
@@ -2,16 +2,28 @@ package com.integracao.kafka.domain.entity;
 
 import java.math.BigDecimal;
 
+import com.integracao.kafka.domain.model.Pedido;
+
 import jakarta.persistence.*;
 import lombok.Data;
 
+/**
+ * numeroPedido é único: a reentrega de um pedido já gravado reaproveita a linha existente
+ * (ver PedidoService) e a constraint barra a corrida entre duas gravações do mesmo número.
+ */
 @Entity
 @Data
-@Table(name = "pedido")
+@Table(name = "pedido", indexes = @Index(name = "idx_pedido_numero", columnList = "numeroPedido", unique = true))
 public class PedidoEntity {
 
+    /**
+     * Sequence com allocationSize 50 (otimizador pooled): o Hibernate reserva 50 ids por ida
+     * ao banco e consegue agrupar os INSERTs em batch JDBC. Com IDENTITY cada INSERT precisa
+     * voltar o id gerado e o batching é desligado silenciosamente.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
 
     private String numeroPedido;
@@ -19,4 +31,17 @@ public class PedidoEntity {
     private String produto;
     private Integer quantidade;
     private BigDecimal valorTotal;
+
+    /**
+     * Entidade nova (sem id) com os dados do pedido recebido.
+     */
+    public static PedidoEntity de(Pedido pedido) {
+        PedidoEntity pedidoEntity = new PedidoEntity();
+        pedidoEntity.setNumeroPedido(pedido.getNumeroPedido());
+        pedidoEntity.setCliente(pedido.getCliente());
+        pedidoEntity.setProduto(pedido.getProduto());
+        pedidoEntity.setQuantidade(pedido.getQuantidade());
+        pedidoEntity.setValorTotal(pedido.getValorTotal());
+        return pedidoEntity;
+    }
 }
\ No newline at end of file
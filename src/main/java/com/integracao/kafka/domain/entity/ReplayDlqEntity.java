@@ -0,0 +1,63 @@
+package com.integracao.kafka.domain.entity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "replay_dlq")
+public class ReplayDlqEntity {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    private String topicoOrigem;
+    private String topicoDestino;
+    private String filtroTipo;
+    private String filtroMotivo;
+    private String filtroChave;
+    private Integer maxPorSegundo;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "replay_dlq_posicao", joinColumns = @JoinColumn(name = "replay_id"))
+    @MapKeyColumn(name = "particao")
+    @Column(name = "proximo_offset")
+    private Map<Integer, Long> posicoes = new HashMap<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "replay_dlq_fim", joinColumns = @JoinColumn(name = "replay_id"))
+    @MapKeyColumn(name = "particao")
+    @Column(name = "offset_fim")
+    private Map<Integer, Long> fins = new HashMap<>();
+
+    private Long lidos;
+    private Long publicados;
+    private Long ignorados;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private StatusReplay status;
+
+    @Column(length = 2000)
+    private String erro;
+
+    private LocalDateTime criadoEm;
+    private LocalDateTime atualizadoEm;
+}
@@ -12,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Evento {
+public class Evento<T> {
 
     @Builder.Default
     private String id = UUID.randomUUID().toString();
@@ -20,7 +20,7 @@ public class Evento {
     private String tipo;
     private String origem;
     private String destino;
-    private Object payload;
+    private T payload;
 
     @Builder.Default
     private LocalDateTime criadoEm = LocalDateTime.now();
@@ -18,7 +18,7 @@ public class FalhaProcessamento {
     private String id = UUID.randomUUID().toString();
 
     private TipoFalha tipo;
-    private Evento eventoOriginal;
+    private Evento<?> eventoOriginal;
     private String motivo;
     private String topicoOrigem;
     private Integer particaoOrigem;
@@ -0,0 +1,67 @@
+package com.integracao.kafka.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Replay de um tópico DLQ para o tópico de entrada correspondente.
+ * {@code posicoes} é o checkpoint: próximo offset a ler em cada partição; {@code fins} é exclusivo.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayDlq {
+
+    @Builder.Default
+    private String id = UUID.randomUUID().toString();
+
+    private String topicoOrigem;
+    private String topicoDestino;
+
+    private String filtroTipo;
+    private String filtroMotivo;
+    private String filtroChave;
+
+    private Integer maxPorSegundo;
+
+    @Builder.Default
+    private Map<Integer, Long> posicoes = new HashMap<>();
+
+    @Builder.Default
+    private Map<Integer, Long> fins = new HashMap<>();
+
+    @Builder.Default
+    private Long lidos = 0L;
+
+    @Builder.Default
+    private Long publicados = 0L;
+
+    @Builder.Default
+    private Long ignorados = 0L;
+
+    @Builder.Default
+    private StatusReplay status = StatusReplay.AGUARDANDO;
+
+    private String erro;
+
+    @Builder.Default
+    private LocalDateTime criadoEm = LocalDateTime.now();
+
+    private LocalDateTime atualizadoEm;
+
+    public enum StatusReplay {
+        AGUARDANDO,
+        EM_ANDAMENTO,
+        CONCLUIDO,
+        CANCELADO,
+        FALHOU
+    }
+}
@@ -4,14 +4,25 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.backoff.FixedBackOff;
 
+import com.integracao.kafka.frameworkDrivers.kafka.consumer.PausaParticaoBackOffHandler;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -54,6 +65,15 @@ public class KafkaConfig {
     @Value("${integrador.topico.dlq-nota:integrador.nota.dlq}")
     private String topicoDlqNota;
 
+    @Value("${integrador.persistencia.retry-interval-ms:5000}")
+    private long retryPersistenciaIntervaloMs;
+
+    @Value("${integrador.persistencia.retry-max-interval-ms:30000}")
+    private long retryPersistenciaMaxIntervaloMs;
+
+    @Value("${integrador.persistencia.retry-max-tentativas:8}")
+    private int retryPersistenciaMaxTentativas;
+
     @Value("${integrador.topico.retencao-ms:604800000}")
     private long retencaoTopicosMs;
 
@@ -143,12 +163,19 @@ public class KafkaConfig {
 
     /**
      * Estratégia de erro:
-     * 1. Tenta processar a mensagem com 3 tentativas, aguardando 1s entre cada
-        * 2. Após tentativas esgotadas, publica no tópico integrador.<recurso>.retry
-     * 3. O fluxo principal não é bloqueado
+     * 1. Tenta processar a mensagem com 3 tentativas, aguardando 500ms entre cada
+     * 2. Falhas de banco (DataAccessException) usam backoff exponencial limitado
+     *    (integrador.persistencia.*) até o banco voltar
+     * 3. Após tentativas esgotadas, publica no tópico integrador.<recurso>.retry
+     * 4. O fluxo principal não é bloqueado: a espera pausa só a partição do registro,
+     *    e o consumer continua em poll (ver {@link PausaParticaoBackOffHandler})
      */
     @Bean
-    public DefaultErrorHandler errorHandler(KafkaTemplate<Object, Object> kafkaTemplate) {
+    public DefaultErrorHandler errorHandler(
+        KafkaTemplate<Object, Object> kafkaTemplate,
+        KafkaListenerEndpointRegistry registry,
+        TaskScheduler taskScheduler
+    ) {
         // Recoverer: envia para o tópico de erro da mesma partição
         var recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
             (record, ex) -> {
@@ -161,7 +188,10 @@ public class KafkaConfig {
         // BackOff: 2 tentativas com 500ms para reduzir latência total de recuperação
         var backOff = new FixedBackOff(500L, 2L);
 
-        var handler = new DefaultErrorHandler(recoverer, backOff);
+        var backOffHandler = new PausaParticaoBackOffHandler(new ListenerContainerPauseService(registry, taskScheduler));
+        var handler = new DefaultErrorHandler(recoverer, backOff, backOffHandler);
+        handler.setRetryListeners(backOffHandler);
+        handler.setBackOffFunction((record, ex) -> falhaDeBanco(ex) ? backOffPersistencia() : null);
 
         // Erros de dados inválidos não devem ser retentados
         handler.addNotRetryableExceptions(IllegalArgumentException.class);
@@ -169,6 +199,57 @@ public class KafkaConfig {
         return handler;
     }
 
+    /**
+     * Factory dos listeners em lote (integrador.consumer.modo=lote).
+     * Herda a configuração do Spring Boot (ack-mode, concorrência e o errorHandler acima);
+     * com BatchListenerFailedException o handler confirma o prefixo e trata só o registro que falhou.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaBatchListenerContainerFactory(
+        ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+        ConsumerFactory<Object, Object> consumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    /**
+     * Factory dos listeners paralelos (integrador.consumer.modo=paralelo).
+     * Os registros são processados fora da thread do container, então os ACKs chegam fora de ordem:
+     * com asyncAcks o container só commita até o maior offset contíguo concluído e pausa a partição
+     * enquanto houver ACKs pendentes do poll anterior, limitando o volume em voo.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaParaleloListenerContainerFactory(
+        ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+        ConsumerFactory<Object, Object> consumerFactory
+    ) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    private ExponentialBackOffWithMaxRetries backOffPersistencia() {
+        var backOff = new ExponentialBackOffWithMaxRetries(retryPersistenciaMaxTentativas);
+        backOff.setInitialInterval(retryPersistenciaIntervaloMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(retryPersistenciaMaxIntervaloMs);
+        return backOff;
+    }
+
+    private boolean falhaDeBanco(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof DataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String topicoRetryProcessamento(String topicoOrigem) {
         if (topicoEntradaPedido.equals(topicoOrigem)) {
             return topicoRetryPedido;
@@ -0,0 +1,84 @@
+package com.integracao.kafka.frameworkDrivers.diagnostico;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diagnóstico de pinning com virtual threads (spring.threads.virtual.enabled=true).
+ *
+ * Escuta o evento JFR jdk.VirtualThreadPinned em processo: cada vez que uma virtual thread
+ * bloqueia presa à carrier (synchronized, código nativo) por mais que o limite, registra a
+ * duração em integrador_virtual_threads_pinned_segundos e loga os frames do topo da pilha.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MonitorPinningVirtualThreads {
+
+    private static final String EVENTO_PINNED = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_LOGADOS = 6;
+
+    private final IntegradorMetrics metrics;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${integrador.virtual-threads.pinning.limite-ms:20}")
+    private long limiteMs;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void iniciar() {
+        if (!virtualThreads) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(EVENTO_PINNED).withThreshold(Duration.ofMillis(limiteMs)).withStackTrace();
+        stream.onEvent(EVENTO_PINNED, this::registrar);
+        stream.startAsync();
+
+        log.info("[VIRTUAL-THREADS] Monitor de pinning ativo | limiteMs={}", limiteMs);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        metrics.registrarVirtualThreadPinned(evento.getDuration());
+        log.warn("[VIRTUAL-THREADS] Virtual thread presa à carrier | duracaoMs={} thread={} pilha={}",
+            evento.getDuration().toMillis(),
+            evento.getThread() == null ? "?" : evento.getThread().getJavaName(),
+            resumirPilha(evento));
+    }
+
+    private String resumirPilha(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "indisponivel";
+        }
+        List<RecordedFrame> frames = evento.getStackTrace().getFrames();
+        return frames.stream()
+            .limit(FRAMES_LOGADOS)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+            .collect(Collectors.joining(" <- "));
+    }
+}
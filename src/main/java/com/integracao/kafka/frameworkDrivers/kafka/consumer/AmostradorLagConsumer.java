@@ -0,0 +1,204 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.LagParticao;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Amostra o lag dos consumer groups do integrador sem exporter externo.
+ *
+ * Os grupos e tópicos vêm dos containers do {@link KafkaListenerEndpointRegistry} (inclusive os
+ * que não estão rodando no modo atual, já que o grupo continua existindo). A cada ciclo, uma
+ * thread própria faz três chamadas ao AdminClient: offsets commitados de todos os grupos e
+ * offsets inicial/final de todas as partições (read_committed, como os listeners). Nada roda
+ * nas threads dos listeners nem no scheduler compartilhado.
+ */
+@Slf4j
+@Component
+public class AmostradorLagConsumer {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final IntegradorMetrics metrics;
+    private final boolean habilitado;
+    private final long intervaloMs;
+
+    private ScheduledExecutorService executor;
+    private Admin admin;
+
+    public AmostradorLagConsumer(
+        KafkaListenerEndpointRegistry listenerRegistry,
+        KafkaAdmin kafkaAdmin,
+        IntegradorMetrics metrics,
+        @Value("${integrador.consumer.lag.habilitado:true}") boolean habilitado,
+        @Value("${integrador.consumer.lag.intervalo-ms:15000}") long intervaloMs
+    ) {
+        this.listenerRegistry = listenerRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.metrics = metrics;
+        this.habilitado = habilitado;
+        this.intervaloMs = Math.max(1000, intervaloMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consumer-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::amostrar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        log.info("[CONSUMER-LAG] Amostragem iniciada | intervaloMs={}", intervaloMs);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(2));
+        }
+    }
+
+    private void amostrar() {
+        try {
+            Map<String, Set<String>> topicosPorGrupo = topicosPorGrupo();
+            if (topicosPorGrupo.isEmpty()) {
+                return;
+            }
+            metrics.atualizarLagConsumer(calcularLag(topicosPorGrupo));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // Broker fora: mantém a última amostra e tenta de novo no próximo ciclo
+            log.warn("[CONSUMER-LAG] Falha ao amostrar lag | erro={}", ex.getMessage());
+        }
+    }
+
+    private Map<String, Set<String>> topicosPorGrupo() {
+        Map<String, Set<String>> topicosPorGrupo = new TreeMap<>();
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            String[] topicos = container.getContainerProperties().getTopics();
+            if (container.getGroupId() == null || topicos == null) {
+                continue;
+            }
+            topicosPorGrupo.computeIfAbsent(container.getGroupId(), grupo -> new LinkedHashSet<>()).addAll(List.of(topicos));
+        }
+        return topicosPorGrupo;
+    }
+
+    private List<LagParticao> calcularLag(Map<String, Set<String>> topicosPorGrupo)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        Admin cliente = admin();
+
+        Set<String> topicos = new LinkedHashSet<>();
+        topicosPorGrupo.values().forEach(topicos::addAll);
+        Map<String, List<TopicPartition>> particoesPorTopico = particoes(cliente, topicos);
+
+        Map<TopicPartition, OffsetSpec> inicio = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> fim = new HashMap<>();
+        particoesPorTopico.values().forEach(particoes -> particoes.forEach(particao -> {
+            inicio.put(particao, OffsetSpec.earliest());
+            fim.put(particao, OffsetSpec.latest());
+        }));
+        if (fim.isEmpty()) {
+            return List.of();
+        }
+        ListOffsetsOptions readCommitted = new ListOffsetsOptions(IsolationLevel.READ_COMMITTED);
+        Map<TopicPartition, ListOffsetsResultInfo> inicios = cliente.listOffsets(inicio, readCommitted).all()
+            .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Map<TopicPartition, ListOffsetsResultInfo> fins = cliente.listOffsets(fim, readCommitted).all()
+            .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        Map<String, ListConsumerGroupOffsetsSpec> grupos = new HashMap<>();
+        topicosPorGrupo.keySet().forEach(grupo -> grupos.put(grupo, new ListConsumerGroupOffsetsSpec()));
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> commitados = cliente.listConsumerGroupOffsets(grupos).all()
+            .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        List<LagParticao> amostra = new ArrayList<>();
+        topicosPorGrupo.forEach((grupo, topicosDoGrupo) -> {
+            Map<TopicPartition, OffsetAndMetadata> commitadosDoGrupo = commitados.getOrDefault(grupo, Map.of());
+            for (String topico : topicosDoGrupo) {
+                for (TopicPartition particao : particoesPorTopico.getOrDefault(topico, List.of())) {
+                    OffsetAndMetadata commitado = commitadosDoGrupo.get(particao);
+                    long offsetCommitado = commitado != null ? commitado.offset() : inicios.get(particao).offset();
+                    amostra.add(new LagParticao(grupo, topico, particao.partition(), offsetCommitado, fins.get(particao).offset()));
+                }
+            }
+        });
+        return amostra;
+    }
+
+    /**
+     * Tópico que ainda não existe (missing-topics-fatal=false) fica fora da amostra.
+     */
+    private Map<String, List<TopicPartition>> particoes(Admin cliente, Set<String> topicos) throws InterruptedException {
+        Map<String, List<TopicPartition>> particoesPorTopico = new HashMap<>();
+        for (Map.Entry<String, KafkaFuture<TopicDescription>> descricao
+            : cliente.describeTopics(topicos).topicNameValues().entrySet()) {
+            try {
+                List<TopicPartition> particoes = new ArrayList<>();
+                for (TopicPartitionInfo info : descricao.getValue().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).partitions()) {
+                    particoes.add(new TopicPartition(descricao.getKey(), info.partition()));
+                }
+                particoesPorTopico.put(descricao.getKey(), particoes);
+            } catch (ExecutionException | TimeoutException ex) {
+                log.debug("[CONSUMER-LAG] Tópico ignorado na amostra | topico={} erro={}", descricao.getKey(), ex.getMessage());
+            }
+        }
+        return particoesPorTopico;
+    }
+
+    private Admin admin() {
+        if (admin == null) {
+            admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return admin;
+    }
+}
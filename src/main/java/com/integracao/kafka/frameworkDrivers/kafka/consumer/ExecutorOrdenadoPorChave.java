@@ -0,0 +1,86 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool de workers do modo paralelo (integrador.consumer.modo=paralelo).
+ *
+ * Cada worker é uma fila de thread única; a chave define a fila, então registros da mesma
+ * chave executam em ordem e chaves diferentes executam em paralelo, independentemente da
+ * partição de origem. Fora do modo paralelo nenhuma thread é criada e a tarefa roda na
+ * thread chamadora.
+ */
+@Slf4j
+@Component
+public class ExecutorOrdenadoPorChave {
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 30;
+
+    @Value("${integrador.consumer.modo:registro}")
+    private String modo;
+
+    @Value("${integrador.consumer.paralelo.workers:12}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService[] filas;
+
+    @PostConstruct
+    void iniciar() {
+        if (!"paralelo".equals(modo)) {
+            return;
+        }
+
+        AtomicInteger sequencia = new AtomicInteger();
+        filas = new ExecutorService[Math.max(1, workers)];
+        for (int i = 0; i < filas.length; i++) {
+            filas[i] = Executors.newSingleThreadExecutor(runnable -> {
+                String nome = "consumer-paralelo-" + sequencia.incrementAndGet();
+                if (virtualThreads) {
+                    return Thread.ofVirtual().name(nome).unstarted(runnable);
+                }
+                Thread thread = new Thread(runnable, nome);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("[CONSUMER-PARALELO] Workers iniciados | workers={} virtualThreads={}", filas.length, virtualThreads);
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        if (filas == null) {
+            return;
+        }
+        for (ExecutorService fila : filas) {
+            fila.shutdown();
+        }
+        for (ExecutorService fila : filas) {
+            if (!fila.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                log.warn("[CONSUMER-PARALELO] Worker encerrado com tarefas pendentes; serão reentregues pelo Kafka");
+                fila.shutdownNow();
+            }
+        }
+    }
+
+    public void executar(String chave, Runnable tarefa) {
+        if (filas == null) {
+            tarefa.run();
+            return;
+        }
+        int indice = chave == null ? 0 : Math.floorMod(chave.hashCode(), filas.length);
+        filas[indice].execute(tarefa);
+    }
+}
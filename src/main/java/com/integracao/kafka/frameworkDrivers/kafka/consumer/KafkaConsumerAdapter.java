@@ -29,7 +29,7 @@ public class KafkaConsumerAdapter {
         topics  = "${integrador.topico.entrada:integrador.evento.recebido}",
         groupId = "${spring.kafka.consumer.group-id:integrador-group}"
     )
-    public void consumir(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
+    public void consumir(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
         processar(record, ack, false);
     }
 
@@ -37,11 +37,11 @@ public class KafkaConsumerAdapter {
         topics  = "${integrador.topico.retry-evento:integrador.evento.retry}",
         groupId = "${spring.kafka.consumer.group-id:integrador-group}-reprocessamento"
     )
-    public void reprocessar(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
+    public void reprocessar(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
         processar(record, ack, true);
     }
 
-    private void processar(ConsumerRecord<String, Evento> record, Acknowledgment ack, boolean origemRetry) {
+    private void processar(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack, boolean origemRetry) {
         String topico  = record.topic();
         long   offset  = record.offset();
         int    particao = record.partition();
@@ -50,7 +50,7 @@ public class KafkaConsumerAdapter {
             topico, particao, offset, origemRetry);
 
         try {
-            Evento evento = record.value();
+            Evento<?> evento = record.value();
             processarEventoPort.executar(evento);
 
             // Confirma offset apenas após sucesso — mensagem não será reentregue
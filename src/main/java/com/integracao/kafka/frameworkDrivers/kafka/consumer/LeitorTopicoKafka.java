@@ -0,0 +1,169 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import com.integracao.kafka.application.gateway.out.LerTopicoPort;
+import com.integracao.kafka.application.gateway.out.RegistroTopico;
+import com.integracao.kafka.domain.model.Evento;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link LerTopicoPort} com um consumer próprio em modo assign: sem group management e sem
+ * commit, então não interfere nos listeners nem no lag dos grupos do integrador.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeitorTopicoKafka implements LerTopicoPort {
+
+    private static final String CLIENT_ID = "integrador-leitor-topico";
+    private static final Duration TIMEOUT_METADADOS = Duration.ofSeconds(10);
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+
+    @Override
+    public IntervaloLeitura resolverIntervalo(String topico, Long deOffset, Long ateOffset,
+                                              Instant deTimestamp, Instant ateTimestamp) {
+        try (Consumer<Object, Object> consumer = criarConsumer()) {
+            List<TopicPartition> particoes = new ArrayList<>();
+            for (PartitionInfo info : consumer.partitionsFor(topico, TIMEOUT_METADADOS)) {
+                particoes.add(new TopicPartition(topico, info.partition()));
+            }
+            Map<TopicPartition, Long> primeiros = consumer.beginningOffsets(particoes, TIMEOUT_METADADOS);
+            Map<TopicPartition, Long> ultimos = consumer.endOffsets(particoes, TIMEOUT_METADADOS);
+            Map<TopicPartition, OffsetAndTimestamp> porTimestampDe = porTimestamp(consumer, particoes, deTimestamp);
+            Map<TopicPartition, OffsetAndTimestamp> porTimestampAte = porTimestamp(consumer, particoes, ateTimestamp);
+
+            Map<Integer, Long> inicio = new HashMap<>();
+            Map<Integer, Long> fim = new HashMap<>();
+            for (TopicPartition particao : particoes) {
+                long primeiro = primeiros.get(particao);
+                long ultimo = ultimos.get(particao);
+
+                long de = deTimestamp != null ? offsetOuFim(porTimestampDe.get(particao), ultimo)
+                    : deOffset != null ? deOffset
+                    : primeiro;
+                long ate = ateTimestamp != null ? offsetOuFim(porTimestampAte.get(particao), ultimo)
+                    : ateOffset != null && ateOffset < Long.MAX_VALUE ? ateOffset + 1
+                    : ultimo;
+
+                long inicioParticao = limitar(de, primeiro, ultimo);
+                inicio.put(particao.partition(), inicioParticao);
+                fim.put(particao.partition(), Math.max(inicioParticao, limitar(ate, primeiro, ultimo)));
+            }
+            return new IntervaloLeitura(inicio, fim);
+        }
+    }
+
+    @Override
+    public LeituraTopico abrir(String topico, Map<Integer, Long> posicoes) {
+        Consumer<Object, Object> consumer = criarConsumer();
+        List<TopicPartition> particoes = new ArrayList<>(posicoes.size());
+        posicoes.keySet().forEach(particao -> particoes.add(new TopicPartition(topico, particao)));
+        consumer.assign(particoes);
+        posicoes.forEach((particao, offset) -> consumer.seek(new TopicPartition(topico, particao), offset));
+        return new LeituraKafka(topico, consumer);
+    }
+
+    private Consumer<Object, Object> criarConsumer() {
+        Properties sobrescritas = new Properties();
+        sobrescritas.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        return consumerFactory.createConsumer(null, CLIENT_ID, null, sobrescritas);
+    }
+
+    private static Map<TopicPartition, OffsetAndTimestamp> porTimestamp(Consumer<Object, Object> consumer,
+                                                                        List<TopicPartition> particoes, Instant instante) {
+        if (instante == null) {
+            return Map.of();
+        }
+        Map<TopicPartition, Long> consulta = new HashMap<>();
+        particoes.forEach(particao -> consulta.put(particao, instante.toEpochMilli()));
+        return consumer.offsetsForTimes(consulta, TIMEOUT_METADADOS);
+    }
+
+    // offsetsForTimes devolve null quando não há registro a partir do timestamp
+    private static long offsetOuFim(OffsetAndTimestamp encontrado, long ultimo) {
+        return encontrado == null ? ultimo : encontrado.offset();
+    }
+
+    private static long limitar(long offset, long primeiro, long ultimo) {
+        return Math.min(Math.max(offset, primeiro), ultimo);
+    }
+
+    private static final class LeituraKafka implements LeituraTopico {
+
+        private final String topico;
+        private final Consumer<Object, Object> consumer;
+
+        private LeituraKafka(String topico, Consumer<Object, Object> consumer) {
+            this.topico = topico;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public List<RegistroTopico> ler(Duration espera) {
+            try {
+                var registros = consumer.poll(espera);
+                List<RegistroTopico> resultado = new ArrayList<>(registros.count());
+                for (ConsumerRecord<Object, Object> registro : registros) {
+                    resultado.add(new RegistroTopico(
+                        registro.partition(),
+                        registro.offset(),
+                        registro.timestamp(),
+                        registro.key() == null ? null : registro.key().toString(),
+                        motivo(registro),
+                        registro.value() instanceof Evento<?> evento ? evento : null));
+                }
+                return resultado;
+            } catch (RecordDeserializationException ex) {
+                // Registro ilegível: pula e devolve sem evento para quem chama contabilizar
+                log.warn("[LEITOR-TOPICO] Registro ignorado na desserialização | topico={} particao={} offset={} erro={}",
+                    topico, ex.topicPartition().partition(), ex.offset(), ex.getMessage());
+                consumer.seek(ex.topicPartition(), ex.offset() + 1);
+                return List.of(new RegistroTopico(ex.topicPartition().partition(), ex.offset(), -1L,
+                    null, null, null));
+            }
+        }
+
+        @Override
+        public long posicao(int particao) {
+            return consumer.position(new TopicPartition(topico, particao), TIMEOUT_METADADOS);
+        }
+
+        @Override
+        public void encerrarParticao(int particao) {
+            consumer.pause(List.of(new TopicPartition(topico, particao)));
+        }
+
+        @Override
+        public void close() {
+            consumer.close(Duration.ofSeconds(5));
+        }
+
+        private static String motivo(ConsumerRecord<Object, Object> registro) {
+            Header header = registro.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+            return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+        }
+    }
+}
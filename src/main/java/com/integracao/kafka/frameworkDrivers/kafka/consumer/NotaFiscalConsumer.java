@@ -1,19 +1,29 @@
 package com.integracao.kafka.frameworkDrivers.kafka.consumer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapaConsumo;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapasConsumo;
 import com.integracao.kafka.application.service.NotaFiscalService;
 import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.Ocorrencia;
 import com.integracao.kafka.application.useCase.subscribe.ReceberNotaUseCase;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
 import com.integracao.kafka.domain.model.NotaFiscal;
+import com.integracao.kafka.frameworkDrivers.logging.AmostragemLog;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +37,8 @@ public class NotaFiscalConsumer {
     private final ReceberNotaUseCase receberNotaUseCase;
     private final GerenciarFalhasUseCase gerenciarFalhasUseCase;
     private final NotaFiscalService notaFiscalService;
+    private final ExecutorOrdenadoPorChave executorOrdenadoPorChave;
+    private final IntegradorMetrics metrics;
 
     @Value("${integrador.topico.saida-nota:integrador.nota.processado}")
     private String topicoSaidaNota;
@@ -40,23 +52,185 @@ public class NotaFiscalConsumer {
     @Value("${integrador.reprocessamento.max-tentativas:5}")
     private int maxTentativasRetry;
 
+    @Value("${integrador.consumer.paralelo.tentativas-envio-retry:3}")
+    private int tentativasEnvioRetry;
+
+    @Value("${integrador.consumer.paralelo.backoff-envio-retry-ms:200}")
+    private long backoffEnvioRetryMs;
+
+    @KafkaListener(
+        topics = "${integrador.topico.nota:integrador.nota.recebido}",
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-notas",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'registro'}"
+    )
+    public void consumirNotaEntrada(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        processar(record, ack, false, "nota");
+    }
+
+    /**
+     * Modo lote (integrador.consumer.modo=lote): o poll inteiro é validado,
+     * persistido com um único saveAll, publicado com um único publicarLote e confirmado
+     * com um único ACK. Registros inválidos vão juntos para a DLQ e para um único registrarFalhas.
+     *
+     * Se algo falhar, lança {@link BatchListenerFailedException} no primeiro registro não
+     * concluído: o error handler confirma o prefixo e reentrega o restante (at-least-once).
+     * A reentrega não duplica notas no banco (o numeroNota já gravado é reaproveitado), mas
+     * os eventos de saída do trecho podem ser publicados de novo.
+     */
+    @KafkaListener(
+        topics = "${integrador.topico.nota:integrador.nota.recebido}",
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-notas",
+        containerFactory = "kafkaBatchListenerContainerFactory",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'lote'}"
+    )
+    public void consumirNotaEntradaEmLote(List<ConsumerRecord<String, Evento<?>>> records, Acknowledgment ack) {
+        log.info("[CONSUMER-NOTA] Lote recebido | tamanho={} primeiroOffset={} ultimoOffset={}",
+            records.size(), records.get(0).offset(), records.get(records.size() - 1).offset());
+
+        List<Integer> indicesValidos = new ArrayList<>(records.size());
+        List<NotaFiscal> notasFiscais = new ArrayList<>(records.size());
+        List<Integer> indicesInvalidos = new ArrayList<>();
+        List<Evento<?>> eventosInvalidos = new ArrayList<>();
+        List<Ocorrencia> ocorrenciasInvalidas = new ArrayList<>();
+
+        EtapasConsumo etapas = metrics.etapasConsumo("nota-lote", records.get(0).topic());
+        long conversaoNanos = 0;
+        long validacaoNanos = 0;
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Evento<?>> record = records.get(i);
+            try {
+                long inicio = System.nanoTime();
+                NotaFiscal notaFiscal = converterNotaFiscal(record.value());
+                long convertida = System.nanoTime();
+                conversaoNanos += convertida - inicio;
+                validarNotaFiscal(notaFiscal);
+                validacaoNanos += System.nanoTime() - convertida;
+
+                notasFiscais.add(notaFiscal);
+                indicesValidos.add(i);
+            } catch (IllegalArgumentException ex) {
+                ocorrenciasInvalidas.add(new Ocorrencia(
+                    TipoFalha.NOTA, record.value(), ex.getMessage(), record.topic(), record.partition(), record.offset()));
+                indicesInvalidos.add(i);
+                eventosInvalidos.add(record.value());
+
+                log.warn("[CONSUMER-NOTA] Nota fiscal inválida no lote, será enviada para DLQ | topicoOrigem={} topicoDlq={} offset={} erro={}",
+                    record.topic(), topicoDlqNota, record.offset(), ex.getMessage());
+            }
+        }
+
+        etapas.registrarDuracao(EtapaConsumo.CONVERSAO, conversaoNanos);
+        etapas.registrarDuracao(EtapaConsumo.VALIDACAO, validacaoNanos);
+
+        if (!ocorrenciasInvalidas.isEmpty()) {
+            gerenciarFalhasUseCase.registrarFalhas(ocorrenciasInvalidas);
+        }
+
+        int primeiraFalha = records.size();
+        Exception causaFalha = null;
+
+        if (!eventosInvalidos.isEmpty()) {
+            try {
+                ResultadoLotePublicacao dlq = publicarEventoPort.publicarLote(topicoDlqNota, eventosInvalidos);
+                int falhaDlq = primeiraFalhaDoLote(dlq, indicesInvalidos);
+                if (falhaDlq < primeiraFalha) {
+                    primeiraFalha = falhaDlq;
+                    causaFalha = new IllegalStateException("Falha ao publicar na DLQ: " + erroDoIndice(dlq, indicesInvalidos, falhaDlq));
+                }
+            } catch (Exception ex) {
+                primeiraFalha = indicesInvalidos.get(0);
+                causaFalha = ex;
+            }
+        }
+
+        List<Evento<?>> eventosSaida = new ArrayList<>(notasFiscais.size());
+        if (!notasFiscais.isEmpty()) {
+            try {
+                long inicio = System.nanoTime();
+                notaFiscalService.criarNotasFiscais(notasFiscais);
+                inicio = etapas.registrar(EtapaConsumo.PERSISTENCIA, inicio);
+                for (Integer indice : indicesValidos) {
+                    registrarIdade(records.get(indice));
+                }
+
+                for (int i = 0; i < notasFiscais.size(); i++) {
+                    enriquecer(notasFiscais.get(i), records.get(indicesValidos.get(i)));
+                    eventosSaida.add(criarEventoSaida(notasFiscais.get(i)));
+                }
+
+                ResultadoLotePublicacao saida = publicarEventoPort.publicarLote(topicoSaidaNota, eventosSaida);
+                etapas.registrar(EtapaConsumo.PUBLICACAO, inicio);
+                int falhaSaida = primeiraFalhaDoLote(saida, indicesValidos);
+                if (falhaSaida < primeiraFalha) {
+                    primeiraFalha = falhaSaida;
+                    causaFalha = new IllegalStateException("Falha ao publicar nota fiscal processada: " + erroDoIndice(saida, indicesValidos, falhaSaida));
+                }
+            } catch (Exception ex) {
+                // Ou a gravação falhou e a transação do lote foi desfeita, ou o publicarLote falhou
+                // depois do commit: em ambos os casos nenhuma nota válida conta como concluída e o trecho volta
+                // inteiro; na reentrega as linhas já gravadas são reaproveitadas pelo numeroNota.
+                if (indicesValidos.get(0) < primeiraFalha) {
+                    primeiraFalha = indicesValidos.get(0);
+                    causaFalha = ex;
+                }
+            }
+        }
+
+        long inicioHistorico = System.nanoTime();
+        for (int i = 0; i < eventosSaida.size() && indicesValidos.get(i) < primeiraFalha; i++) {
+            receberNotaUseCase.registrar(notasFiscais.get(i));
+        }
+        etapas.registrar(EtapaConsumo.HISTORICO, inicioHistorico);
+
+        if (primeiraFalha < records.size()) {
+            ConsumerRecord<String, Evento<?>> falha = records.get(primeiraFalha);
+            log.error("[CONSUMER-NOTA] Lote concluído parcialmente | concluidos={}/{} topico={} offsetFalha={} erro={}",
+                primeiraFalha, records.size(), falha.topic(), falha.offset(), causaFalha.getMessage());
+            throw new BatchListenerFailedException("Falha transitória no processamento do lote de notas", causaFalha, primeiraFalha);
+        }
+
+        long inicioAck = System.nanoTime();
+        ack.acknowledge();
+        etapas.registrar(EtapaConsumo.ACK, inicioAck);
+        log.info("[CONSUMER-NOTA] Lote processado | tamanho={} publicados={} dlq={} topicoSaida={}",
+            records.size(), eventosSaida.size(), eventosInvalidos.size(), topicoSaidaNota);
+    }
+
+    /**
+     * Modo paralelo (integrador.consumer.modo=paralelo): o registro é entregue a um worker
+     * escolhido por numeroNota, mantendo a ordem apenas por chave. O ACK é dado pelo worker;
+     * o container commita só até o maior offset contíguo concluído (asyncAcks).
+     */
     @KafkaListener(
         topics = "${integrador.topico.nota:integrador.nota.recebido}",
-        groupId = "${spring.kafka.consumer.group-id:integrador-group}-notas"
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-notas",
+        containerFactory = "kafkaParaleloListenerContainerFactory",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'paralelo'}"
     )
-    public void consumirNotaEntrada(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
-        processar(record, ack, false);
+    public void consumirNotaEntradaParalelo(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        executorOrdenadoPorChave.executar(chaveOrdenacao(record), () -> processarEmParalelo(record, ack));
     }
 
     @KafkaListener(
         topics = "${integrador.topico.retry-nota:integrador.nota.retry}",
         groupId = "${spring.kafka.consumer.group-id:integrador-group}-notas-reprocessamento"
     )
-    public void reprocessarNotaComErro(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
-        processar(record, ack, true);
+    public void reprocessarNotaComErro(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        processar(record, ack, true, "nota-reprocessamento");
     }
 
-    private void processar(ConsumerRecord<String, Evento> record, Acknowledgment ack, boolean origemErro) {
+    private void processar(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack, boolean origemErro, String listener) {
+        // Com o profile log-hot-path, as linhas INFO/DEBUG desta mensagem saem ou não em bloco
+        AmostragemLog.iniciarMensagem();
+        try {
+            processarMensagem(record, ack, origemErro, listener);
+        } finally {
+            AmostragemLog.encerrarMensagem();
+        }
+    }
+
+    private void processarMensagem(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack, boolean origemErro, String listener) {
         String topico = record.topic();
         long offset = record.offset();
         int partition = record.partition();
@@ -64,44 +238,42 @@ public class NotaFiscalConsumer {
         log.info("[CONSUMER-NOTA] Mensagem recebida | topico={} particao={} offset={} origemErro={}",
             topico, partition, offset, origemErro);
 
+        EtapasConsumo etapas = metrics.etapasConsumo(listener, topico);
         try {
-            Evento eventoEntrada = record.value();
-            NotaFiscal notaFiscal = objectMapper.convertValue(eventoEntrada.getPayload(), NotaFiscal.class);
-
-            if (notaFiscal.getNumeroNota() == null || notaFiscal.getNumeroNota().isBlank()) {
-                throw new IllegalArgumentException("Nota fiscal sem numeroNota no payload");
-            }
+            long inicio = System.nanoTime();
+            NotaFiscal notaFiscal = converterNotaFiscal(record.value());
+            inicio = etapas.registrar(EtapaConsumo.CONVERSAO, inicio);
+            validarNotaFiscal(notaFiscal);
+            inicio = etapas.registrar(EtapaConsumo.VALIDACAO, inicio);
 
             log.info("[CONSUMER-NOTA] Enviando nota fiscal para persistencia no banco | numero={} cliente={} produto={} topico={} particao={} offset={}",
                 notaFiscal.getNumeroNota(), notaFiscal.getCliente(), notaFiscal.getProduto(), topico, partition, offset);
                 
+            inicio = System.nanoTime();
             notaFiscalService.criarNotaFiscalEntity(notaFiscal);
+            etapas.registrar(EtapaConsumo.PERSISTENCIA, inicio);
+            registrarIdade(record);
             log.info("[CONSUMER-NOTA] Persistencia de nota fiscal concluida no banco | numero={} topico={} particao={} offset={}",
                 notaFiscal.getNumeroNota(), topico, partition, offset);
 
-            notaFiscal.setDataProcessamento(java.time.LocalDateTime.now());
-            notaFiscal.setStatusProcessamento("PROCESSADO");
-            notaFiscal.setKafkaOffset(offset);
-            notaFiscal.setKafkaPartition(partition);
-            notaFiscal.setKafkaTopic(topico);
-            notaFiscal.setKafkaTimestamp(java.time.Instant.ofEpochMilli(record.timestamp()));
-
-            receberNotaUseCase.registrar(notaFiscal);
+            enriquecer(notaFiscal, record);
 
             log.info("[CONSUMER-NOTA] Nota fiscal enriquecida | numero={} offset={} partition={}",
                     notaFiscal.getNumeroNota(), offset, partition);
 
             // Cria evento de saída e publica
-            Evento eventoSaida = Evento.builder()
-                    .tipo("NOTA_FISCAL_PROCESSADA")
-                    .origem("CONSUMER_KAFKA")
-                    .destino("SISTEMA_NOTAS")
-                    .payload(notaFiscal)
-                    .status(Evento.StatusEvento.ENVIADO)
-                    .build();
-
-            publicarEventoPort.publicar(topicoSaidaNota, eventoSaida);
+            Evento<?> eventoSaida = criarEventoSaida(notaFiscal);
+
+            // O timer de publicação vai do envio à confirmação; o histórico, gravado enquanto o broker confirma, tem timer próprio
+            long inicioPublicacao = System.nanoTime();
+            var publicacao = publicarEventoPort.publicarAsync(topicoSaidaNota, eventoSaida);
+            long inicioHistorico = System.nanoTime();
+            receberNotaUseCase.registrar(notaFiscal);
+            etapas.registrar(EtapaConsumo.HISTORICO, inicioHistorico);
+            publicacao.join();
+            inicio = etapas.registrar(EtapaConsumo.PUBLICACAO, inicioPublicacao);
             ack.acknowledge();
+            etapas.registrar(EtapaConsumo.ACK, inicio);
 
             log.info("[CONSUMER-NOTA] Nota fiscal publicada | topicoSaida={} numero={} eventoId={}",
                 topicoSaidaNota, notaFiscal.getNumeroNota(), eventoSaida.getId());
@@ -124,7 +296,7 @@ public class NotaFiscalConsumer {
 
         } catch (Exception ex) {
             if (origemErro) {
-                Evento eventoRetry = record.value();
+                Evento<?> eventoRetry = record.value();
                 int tentativaAtual = obterTentativaAtual(eventoRetry);
 
                 if (tentativaAtual < maxTentativasRetry) {
@@ -161,7 +333,137 @@ public class NotaFiscalConsumer {
         }
     }
 
-    private int obterTentativaAtual(Evento evento) {
+    private NotaFiscal converterNotaFiscal(Evento<?> eventoEntrada) {
+        return eventoEntrada.getPayload() instanceof NotaFiscal recebida
+            ? recebida
+            : objectMapper.convertValue(eventoEntrada.getPayload(), NotaFiscal.class);
+    }
+
+    private void validarNotaFiscal(NotaFiscal notaFiscal) {
+        if (notaFiscal.getNumeroNota() == null || notaFiscal.getNumeroNota().isBlank()) {
+            throw new IllegalArgumentException("Nota fiscal sem numeroNota no payload");
+        }
+    }
+
+    private void enriquecer(NotaFiscal notaFiscal, ConsumerRecord<String, Evento<?>> record) {
+        notaFiscal.setDataProcessamento(java.time.LocalDateTime.now());
+        notaFiscal.setStatusProcessamento("PROCESSADO");
+        notaFiscal.setKafkaOffset(record.offset());
+        notaFiscal.setKafkaPartition(record.partition());
+        notaFiscal.setKafkaTopic(record.topic());
+        notaFiscal.setKafkaTimestamp(java.time.Instant.ofEpochMilli(record.timestamp()));
+    }
+
+    private Evento<?> criarEventoSaida(NotaFiscal notaFiscal) {
+        return Evento.builder()
+            .tipo("NOTA_FISCAL_PROCESSADA")
+            .origem("CONSUMER_KAFKA")
+            .destino("SISTEMA_NOTAS")
+            .payload(notaFiscal)
+            .status(Evento.StatusEvento.ENVIADO)
+            .build();
+    }
+
+    private void registrarIdade(ConsumerRecord<String, Evento<?>> record) {
+        Evento<?> evento = record.value();
+        metrics.registrarIdadeEvento(evento.getTipo(), record.topic(), evento.getCriadoEm(), record.timestamp());
+    }
+
+    /**
+     * @return índice (no lote de records) do primeiro item que falhou, ou Integer.MAX_VALUE
+     */
+    private int primeiraFalhaDoLote(ResultadoLotePublicacao resultado, List<Integer> indices) {
+        for (int i = 0; i < resultado.itens().size(); i++) {
+            if (!resultado.itens().get(i).sucesso()) {
+                return indices.get(i);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private String erroDoIndice(ResultadoLotePublicacao resultado, List<Integer> indices, int indiceRecord) {
+        return resultado.itens().get(indices.indexOf(indiceRecord)).erro();
+    }
+
+    /**
+     * Fora da thread do container não há DefaultErrorHandler: falhas transitórias seguem
+     * direto para o tópico de retry, como o recoverer faria após esgotar o backoff.
+     * O envio ao retry é tentado com backoff exponencial; se ainda falhar, o evento fica no
+     * registro de falhas (reprocessável pela API) e o ACK sai mesmo assim, porque sem ACK
+     * o commit da partição não avança além deste offset. Só fica sem ACK se o registro de
+     * falhas também falhar, e então o registro volta após rebalance/restart.
+     */
+    private void processarEmParalelo(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        try {
+            processar(record, ack, false, "nota-paralelo");
+        } catch (Exception ex) {
+            Exception falhaRetry = enviarParaRetryComBackoff(record.value());
+            if (falhaRetry == null) {
+                ack.acknowledge();
+                log.warn("[CONSUMER-NOTA] Falha no worker paralelo, evento enviado para retry | topico={} particao={} offset={} topicoRetry={} erro={}",
+                    record.topic(), record.partition(), record.offset(), topicoRetryNota, ex.getMessage());
+                return;
+            }
+
+            try {
+                gerenciarFalhasUseCase.registrarFalha(
+                    TipoFalha.NOTA,
+                    record.value(),
+                    "Falha no worker paralelo e no envio ao tópico de retry: " + falhaRetry.getMessage(),
+                    record.topic(),
+                    record.partition(),
+                    record.offset()
+                );
+                ack.acknowledge();
+                log.error("[CONSUMER-NOTA] Envio para retry esgotado, evento mantido no registro de falhas | topico={} particao={} offset={} tentativas={} erro={}",
+                    record.topic(), record.partition(), record.offset(), tentativasEnvioRetry, falhaRetry.getMessage());
+            } catch (Exception falhaRegistro) {
+                log.error("[CONSUMER-NOTA] Falha ao registrar evento do worker paralelo; offset não confirmado | topico={} particao={} offset={} erro={}",
+                    record.topic(), record.partition(), record.offset(), falhaRegistro.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return null quando publicou; senão a última falha
+     */
+    private Exception enviarParaRetryComBackoff(Evento<?> evento) {
+        long espera = backoffEnvioRetryMs;
+        Exception ultimaFalha = null;
+        for (int tentativa = 1; tentativa <= Math.max(1, tentativasEnvioRetry); tentativa++) {
+            try {
+                publicarEventoPort.publicar(topicoRetryNota, evento);
+                return null;
+            } catch (Exception ex) {
+                ultimaFalha = ex;
+                log.warn("[CONSUMER-NOTA] Falha ao enviar para retry | tentativa={}/{} erro={}",
+                    tentativa, tentativasEnvioRetry, ex.getMessage());
+            }
+            if (tentativa < tentativasEnvioRetry) {
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                espera *= 2;
+            }
+        }
+        return ultimaFalha;
+    }
+
+    private String chaveOrdenacao(ConsumerRecord<String, Evento<?>> record) {
+        Object payload = record.value() == null ? null : record.value().getPayload();
+        Object chave = null;
+        if (payload instanceof NotaFiscal tipado) {
+            chave = tipado.getNumeroNota();
+        } else if (payload instanceof java.util.Map<?, ?> mapa) {
+            chave = mapa.get("numeroNota");
+        }
+        return chave != null ? chave.toString() : record.key();
+    }
+
+    private int obterTentativaAtual(Evento<?> evento) {
         if (evento == null || evento.getTentativasRetry() == null || evento.getTentativasRetry() <= 0) {
             return 1;
         }
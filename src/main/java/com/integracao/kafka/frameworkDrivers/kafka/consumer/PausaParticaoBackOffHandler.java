@@ -0,0 +1,88 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import java.time.Duration;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BackOffHandler;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.RetryListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backoff do DefaultErrorHandler sem dormir na thread do consumer.
+ *
+ * Em vez de Thread.sleep, pausa só a partição do registro que falhou e agenda a retomada
+ * no TaskScheduler; o consumer segue fazendo poll (sem estourar max.poll.interval.ms) e as
+ * demais partições da mesma thread continuam sendo consumidas. Como o error handler já fez
+ * seek para o registro, ele é reentregue assim que a partição é retomada.
+ *
+ * O FailedRecordTracker avisa o {@link RetryListener} antes de pedir o backoff, na mesma
+ * thread; é daí que vem a partição, já que o BackOffHandler recebe apenas a exceção.
+ */
+@Slf4j
+public class PausaParticaoBackOffHandler implements BackOffHandler, RetryListener {
+
+    private final ListenerContainerPauseService pauseService;
+    private final ThreadLocal<TopicPartition> ultimaFalha = new ThreadLocal<>();
+
+    public PausaParticaoBackOffHandler(ListenerContainerPauseService pauseService) {
+        this.pauseService = pauseService;
+    }
+
+    @Override
+    public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+        ultimaFalha.set(new TopicPartition(record.topic(), record.partition()));
+    }
+
+    /**
+     * Tentativas esgotadas: o tracker chama o recoverer sem pedir backoff, então a partição
+     * anotada em {@link #failedDelivery} não pode sobrar para a próxima falha da thread.
+     */
+    @Override
+    public void recovered(ConsumerRecord<?, ?> record, Exception ex) {
+        ultimaFalha.remove();
+    }
+
+    @Override
+    public void recoveryFailed(ConsumerRecord<?, ?> record, Exception original, Exception failure) {
+        ultimaFalha.remove();
+    }
+
+    @Override
+    public void onNextBackOff(MessageListenerContainer container, Exception exception, long nextBackOff) {
+        try {
+            TopicPartition particao = ultimaFalha.get();
+            if (container == null) {
+                dormir(nextBackOff);
+                return;
+            }
+            if (particao == null) {
+                // Sem registro identificado (ex.: lote inteiro): pausa o container da thread
+                pauseService.pause(container, Duration.ofMillis(nextBackOff));
+                return;
+            }
+
+            log.warn("[CONSUMER-BACKOFF] Partição pausada até a próxima tentativa | topico={} particao={} esperaMs={}",
+                particao.topic(), particao.partition(), nextBackOff);
+            pauseService.pausePartition(container, particao, Duration.ofMillis(nextBackOff));
+        } finally {
+            ultimaFalha.remove();
+        }
+    }
+
+    @Override
+    public void onNextBackOff(MessageListenerContainer container, TopicPartition partition, long nextBackOff) {
+        pauseService.pausePartition(container, partition, Duration.ofMillis(nextBackOff));
+    }
+
+    private void dormir(long esperaMs) {
+        try {
+            Thread.sleep(esperaMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.integracao.kafka.frameworkDrivers.kafka.consumer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapaConsumo;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.EtapasConsumo;
 import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.Ocorrencia;
 import com.integracao.kafka.application.useCase.subscribe.ReceberPedidoUseCase;
 import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
 import com.integracao.kafka.domain.model.Pedido;
+import com.integracao.kafka.frameworkDrivers.logging.AmostragemLog;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +37,8 @@ public class PedidoConsumer {
     private final ReceberPedidoUseCase receberPedidoUseCase;
     private final GerenciarFalhasUseCase gerenciarFalhasUseCase;
     private final com.integracao.kafka.application.service.PedidoService pedidoService;
+    private final ExecutorOrdenadoPorChave executorOrdenadoPorChave;
+    private final IntegradorMetrics metrics;
 
     @Value("${integrador.topico.saida-pedido:integrador.pedido.processado}")
     private String topicoSaidaPedido;
@@ -40,23 +52,185 @@ public class PedidoConsumer {
     @Value("${integrador.reprocessamento.max-tentativas:5}")
     private int maxTentativasRetry;
 
+    @Value("${integrador.consumer.paralelo.tentativas-envio-retry:3}")
+    private int tentativasEnvioRetry;
+
+    @Value("${integrador.consumer.paralelo.backoff-envio-retry-ms:200}")
+    private long backoffEnvioRetryMs;
+
+    @KafkaListener(
+        topics = "${integrador.topico.entrada-pedido:integrador.pedido.recebido}",
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-pedidos",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'registro'}"
+    )
+    public void consumirPedidoEntrada(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        processar(record, ack, false, "pedido");
+    }
+
+    /**
+     * Modo lote (integrador.consumer.modo=lote): o poll inteiro é validado,
+     * persistido com um único saveAll, publicado com um único publicarLote e confirmado
+     * com um único ACK. Registros inválidos vão juntos para a DLQ e para um único registrarFalhas.
+     *
+     * Se algo falhar, lança {@link BatchListenerFailedException} no primeiro registro não
+     * concluído: o error handler confirma o prefixo e reentrega o restante (at-least-once).
+     * A reentrega não duplica pedidos no banco (o numeroPedido já gravado é reaproveitado), mas
+     * os eventos de saída do trecho podem ser publicados de novo.
+     */
+    @KafkaListener(
+        topics = "${integrador.topico.entrada-pedido:integrador.pedido.recebido}",
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-pedidos",
+        containerFactory = "kafkaBatchListenerContainerFactory",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'lote'}"
+    )
+    public void consumirPedidoEntradaEmLote(List<ConsumerRecord<String, Evento<?>>> records, Acknowledgment ack) {
+        log.info("[CONSUMER-PEDIDO] Lote recebido | tamanho={} primeiroOffset={} ultimoOffset={}",
+            records.size(), records.get(0).offset(), records.get(records.size() - 1).offset());
+
+        List<Integer> indicesValidos = new ArrayList<>(records.size());
+        List<Pedido> pedidos = new ArrayList<>(records.size());
+        List<Integer> indicesInvalidos = new ArrayList<>();
+        List<Evento<?>> eventosInvalidos = new ArrayList<>();
+        List<Ocorrencia> ocorrenciasInvalidas = new ArrayList<>();
+
+        EtapasConsumo etapas = metrics.etapasConsumo("pedido-lote", records.get(0).topic());
+        long conversaoNanos = 0;
+        long validacaoNanos = 0;
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Evento<?>> record = records.get(i);
+            try {
+                long inicio = System.nanoTime();
+                Pedido pedido = converterPedido(record.value());
+                long convertido = System.nanoTime();
+                conversaoNanos += convertido - inicio;
+                validarPedido(pedido);
+                validacaoNanos += System.nanoTime() - convertido;
+
+                pedidos.add(pedido);
+                indicesValidos.add(i);
+            } catch (IllegalArgumentException ex) {
+                ocorrenciasInvalidas.add(new Ocorrencia(
+                    TipoFalha.PEDIDO, record.value(), ex.getMessage(), record.topic(), record.partition(), record.offset()));
+                indicesInvalidos.add(i);
+                eventosInvalidos.add(record.value());
+
+                log.warn("[CONSUMER-PEDIDO] Pedido inválido no lote, será enviado para DLQ | topicoOrigem={} topicoDlq={} offset={} erro={}",
+                    record.topic(), topicoDlqPedido, record.offset(), ex.getMessage());
+            }
+        }
+
+        etapas.registrarDuracao(EtapaConsumo.CONVERSAO, conversaoNanos);
+        etapas.registrarDuracao(EtapaConsumo.VALIDACAO, validacaoNanos);
+
+        if (!ocorrenciasInvalidas.isEmpty()) {
+            gerenciarFalhasUseCase.registrarFalhas(ocorrenciasInvalidas);
+        }
+
+        int primeiraFalha = records.size();
+        Exception causaFalha = null;
+
+        if (!eventosInvalidos.isEmpty()) {
+            try {
+                ResultadoLotePublicacao dlq = publicarEventoPort.publicarLote(topicoDlqPedido, eventosInvalidos);
+                int falhaDlq = primeiraFalhaDoLote(dlq, indicesInvalidos);
+                if (falhaDlq < primeiraFalha) {
+                    primeiraFalha = falhaDlq;
+                    causaFalha = new IllegalStateException("Falha ao publicar na DLQ: " + erroDoIndice(dlq, indicesInvalidos, falhaDlq));
+                }
+            } catch (Exception ex) {
+                primeiraFalha = indicesInvalidos.get(0);
+                causaFalha = ex;
+            }
+        }
+
+        List<Evento<?>> eventosSaida = new ArrayList<>(pedidos.size());
+        if (!pedidos.isEmpty()) {
+            try {
+                long inicio = System.nanoTime();
+                pedidoService.criarPedidos(pedidos);
+                inicio = etapas.registrar(EtapaConsumo.PERSISTENCIA, inicio);
+                for (Integer indice : indicesValidos) {
+                    registrarIdade(records.get(indice));
+                }
+
+                for (int i = 0; i < pedidos.size(); i++) {
+                    enriquecer(pedidos.get(i), records.get(indicesValidos.get(i)));
+                    eventosSaida.add(criarEventoSaida(pedidos.get(i)));
+                }
+
+                ResultadoLotePublicacao saida = publicarEventoPort.publicarLote(topicoSaidaPedido, eventosSaida);
+                etapas.registrar(EtapaConsumo.PUBLICACAO, inicio);
+                int falhaSaida = primeiraFalhaDoLote(saida, indicesValidos);
+                if (falhaSaida < primeiraFalha) {
+                    primeiraFalha = falhaSaida;
+                    causaFalha = new IllegalStateException("Falha ao publicar pedido processado: " + erroDoIndice(saida, indicesValidos, falhaSaida));
+                }
+            } catch (Exception ex) {
+                // Ou a gravação falhou e a transação do lote foi desfeita, ou o publicarLote falhou
+                // depois do commit: em ambos os casos nenhum pedido válido conta como concluído e o trecho volta
+                // inteiro; na reentrega as linhas já gravadas são reaproveitadas pelo numeroPedido.
+                if (indicesValidos.get(0) < primeiraFalha) {
+                    primeiraFalha = indicesValidos.get(0);
+                    causaFalha = ex;
+                }
+            }
+        }
+
+        long inicioHistorico = System.nanoTime();
+        for (int i = 0; i < eventosSaida.size() && indicesValidos.get(i) < primeiraFalha; i++) {
+            receberPedidoUseCase.registrar(pedidos.get(i));
+        }
+        etapas.registrar(EtapaConsumo.HISTORICO, inicioHistorico);
+
+        if (primeiraFalha < records.size()) {
+            ConsumerRecord<String, Evento<?>> falha = records.get(primeiraFalha);
+            log.error("[CONSUMER-PEDIDO] Lote concluído parcialmente | concluidos={}/{} topico={} offsetFalha={} erro={}",
+                primeiraFalha, records.size(), falha.topic(), falha.offset(), causaFalha.getMessage());
+            throw new BatchListenerFailedException("Falha transitória no processamento do lote de pedidos", causaFalha, primeiraFalha);
+        }
+
+        long inicioAck = System.nanoTime();
+        ack.acknowledge();
+        etapas.registrar(EtapaConsumo.ACK, inicioAck);
+        log.info("[CONSUMER-PEDIDO] Lote processado | tamanho={} publicados={} dlq={} topicoSaida={}",
+            records.size(), eventosSaida.size(), eventosInvalidos.size(), topicoSaidaPedido);
+    }
+
+    /**
+     * Modo paralelo (integrador.consumer.modo=paralelo): o registro é entregue a um worker
+     * escolhido por numeroPedido, mantendo a ordem apenas por chave. O ACK é dado pelo worker;
+     * o container commita só até o maior offset contíguo concluído (asyncAcks).
+     */
     @KafkaListener(
         topics = "${integrador.topico.entrada-pedido:integrador.pedido.recebido}",
-        groupId = "${spring.kafka.consumer.group-id:integrador-group}-pedidos"
+        groupId = "${spring.kafka.consumer.group-id:integrador-group}-pedidos",
+        containerFactory = "kafkaParaleloListenerContainerFactory",
+        autoStartup = "#{'${integrador.consumer.modo:registro}' == 'paralelo'}"
     )
-    public void consumirPedidoEntrada(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
-        processar(record, ack, false);
+    public void consumirPedidoEntradaParalelo(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        executorOrdenadoPorChave.executar(chaveOrdenacao(record), () -> processarEmParalelo(record, ack));
     }
 
     @KafkaListener(
         topics = "${integrador.topico.retry-pedido:integrador.pedido.retry}",
         groupId = "${spring.kafka.consumer.group-id:integrador-group}-pedidos-reprocessamento"
     )
-    public void reprocessarPedidoComErro(ConsumerRecord<String, Evento> record, Acknowledgment ack) {
-        processar(record, ack, true);
+    public void reprocessarPedidoComErro(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        processar(record, ack, true, "pedido-reprocessamento");
     }
 
-    private void processar(ConsumerRecord<String, Evento> record, Acknowledgment ack, boolean origemErro) {
+    private void processar(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack, boolean origemErro, String listener) {
+        // Com o profile log-hot-path, as linhas INFO/DEBUG desta mensagem saem ou não em bloco
+        AmostragemLog.iniciarMensagem();
+        try {
+            processarMensagem(record, ack, origemErro, listener);
+        } finally {
+            AmostragemLog.encerrarMensagem();
+        }
+    }
+
+    private void processarMensagem(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack, boolean origemErro, String listener) {
         String topico = record.topic();
         long offset = record.offset();
         int partition = record.partition();
@@ -64,44 +238,41 @@ public class PedidoConsumer {
         log.info("[CONSUMER-PEDIDO] Mensagem recebida | topico={} particao={} offset={} origemErro={}",
             topico, partition, offset, origemErro);
 
+        EtapasConsumo etapas = metrics.etapasConsumo(listener, topico);
         try {
-            Evento eventoEntrada = record.value();
-            Pedido pedido = objectMapper.convertValue(eventoEntrada.getPayload(), Pedido.class);
-
-            if (pedido.getNumeroPedido() == null || pedido.getNumeroPedido().isBlank()) {
-                throw new IllegalArgumentException("Pedido sem numeroPedido no payload");
-            }
+            long inicio = System.nanoTime();
+            Pedido pedido = converterPedido(record.value());
+            inicio = etapas.registrar(EtapaConsumo.CONVERSAO, inicio);
+            validarPedido(pedido);
+            inicio = etapas.registrar(EtapaConsumo.VALIDACAO, inicio);
 
             log.info("[CONSUMER-PEDIDO] Enviando pedido para persistencia no banco | numero={} cliente={} produto={} topico={} particao={} offset={}",
                 pedido.getNumeroPedido(), pedido.getCliente(), pedido.getProduto(), topico, partition, offset);
+            inicio = System.nanoTime();
             pedidoService.criarPedido(pedido);
+            etapas.registrar(EtapaConsumo.PERSISTENCIA, inicio);
+            registrarIdade(record);
             log.info("[CONSUMER-PEDIDO] Persistencia de pedido concluida no banco | numero={} topico={} particao={} offset={}",
                 pedido.getNumeroPedido(), topico, partition, offset);
 
-            // Enriquece pedido com metadados de processamento Kafka
-            pedido.setDataProcessamento(java.time.LocalDateTime.now());
-            pedido.setStatusProcessamento("PROCESSADO");
-            pedido.setKafkaOffset(offset);
-            pedido.setKafkaPartition(partition);
-            pedido.setKafkaTopic(topico);
-            pedido.setKafkaTimestamp(java.time.Instant.ofEpochMilli(record.timestamp()));
-
-            receberPedidoUseCase.registrar(pedido);
+            enriquecer(pedido, record);
 
             log.info("[CONSUMER-PEDIDO] Pedido enriquecido | numero={} offset={} partition={}",
                 pedido.getNumeroPedido(), offset, partition);
 
             // Cria evento de saída e publica
-            Evento eventoSaida = Evento.builder()
-                .tipo("PEDIDO_PROCESSADO")
-                .origem("CONSUMER_KAFKA")
-                .destino("SISTEMA_PEDIDOS")
-                .payload(pedido)
-                .status(Evento.StatusEvento.ENVIADO)
-                .build();
-
-            publicarEventoPort.publicar(topicoSaidaPedido, eventoSaida);
+            Evento<?> eventoSaida = criarEventoSaida(pedido);
+
+            // O timer de publicação vai do envio à confirmação; o histórico, gravado enquanto o broker confirma, tem timer próprio
+            long inicioPublicacao = System.nanoTime();
+            var publicacao = publicarEventoPort.publicarAsync(topicoSaidaPedido, eventoSaida);
+            long inicioHistorico = System.nanoTime();
+            receberPedidoUseCase.registrar(pedido);
+            etapas.registrar(EtapaConsumo.HISTORICO, inicioHistorico);
+            publicacao.join();
+            inicio = etapas.registrar(EtapaConsumo.PUBLICACAO, inicioPublicacao);
             ack.acknowledge();
+            etapas.registrar(EtapaConsumo.ACK, inicio);
 
             log.info("[CONSUMER-PEDIDO] Pedido publicado | topicoSaida={} numero={} eventoId={}",
                 topicoSaidaPedido, pedido.getNumeroPedido(), eventoSaida.getId());
@@ -124,7 +295,7 @@ public class PedidoConsumer {
 
         } catch (Exception ex) {
             if (origemErro) {
-                Evento eventoRetry = record.value();
+                Evento<?> eventoRetry = record.value();
                 int tentativaAtual = obterTentativaAtual(eventoRetry);
 
                 if (tentativaAtual < maxTentativasRetry) {
@@ -161,7 +332,138 @@ public class PedidoConsumer {
         }
     }
 
-    private int obterTentativaAtual(Evento evento) {
+    private Pedido converterPedido(Evento<?> eventoEntrada) {
+        return eventoEntrada.getPayload() instanceof Pedido recebido
+            ? recebido
+            : objectMapper.convertValue(eventoEntrada.getPayload(), Pedido.class);
+    }
+
+    private void validarPedido(Pedido pedido) {
+        if (pedido.getNumeroPedido() == null || pedido.getNumeroPedido().isBlank()) {
+            throw new IllegalArgumentException("Pedido sem numeroPedido no payload");
+        }
+    }
+
+    // Enriquece pedido com metadados de processamento Kafka
+    private void enriquecer(Pedido pedido, ConsumerRecord<String, Evento<?>> record) {
+        pedido.setDataProcessamento(java.time.LocalDateTime.now());
+        pedido.setStatusProcessamento("PROCESSADO");
+        pedido.setKafkaOffset(record.offset());
+        pedido.setKafkaPartition(record.partition());
+        pedido.setKafkaTopic(record.topic());
+        pedido.setKafkaTimestamp(java.time.Instant.ofEpochMilli(record.timestamp()));
+    }
+
+    private Evento<?> criarEventoSaida(Pedido pedido) {
+        return Evento.builder()
+            .tipo("PEDIDO_PROCESSADO")
+            .origem("CONSUMER_KAFKA")
+            .destino("SISTEMA_PEDIDOS")
+            .payload(pedido)
+            .status(Evento.StatusEvento.ENVIADO)
+            .build();
+    }
+
+    private void registrarIdade(ConsumerRecord<String, Evento<?>> record) {
+        Evento<?> evento = record.value();
+        metrics.registrarIdadeEvento(evento.getTipo(), record.topic(), evento.getCriadoEm(), record.timestamp());
+    }
+
+    /**
+     * @return índice (no lote de records) do primeiro item que falhou, ou Integer.MAX_VALUE
+     */
+    private int primeiraFalhaDoLote(ResultadoLotePublicacao resultado, List<Integer> indices) {
+        for (int i = 0; i < resultado.itens().size(); i++) {
+            if (!resultado.itens().get(i).sucesso()) {
+                return indices.get(i);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private String erroDoIndice(ResultadoLotePublicacao resultado, List<Integer> indices, int indiceRecord) {
+        return resultado.itens().get(indices.indexOf(indiceRecord)).erro();
+    }
+
+    /**
+     * Fora da thread do container não há DefaultErrorHandler: falhas transitórias seguem
+     * direto para o tópico de retry, como o recoverer faria após esgotar o backoff.
+     * O envio ao retry é tentado com backoff exponencial; se ainda falhar, o evento fica no
+     * registro de falhas (reprocessável pela API) e o ACK sai mesmo assim, porque sem ACK
+     * o commit da partição não avança além deste offset. Só fica sem ACK se o registro de
+     * falhas também falhar, e então o registro volta após rebalance/restart.
+     */
+    private void processarEmParalelo(ConsumerRecord<String, Evento<?>> record, Acknowledgment ack) {
+        try {
+            processar(record, ack, false, "pedido-paralelo");
+        } catch (Exception ex) {
+            Exception falhaRetry = enviarParaRetryComBackoff(record.value());
+            if (falhaRetry == null) {
+                ack.acknowledge();
+                log.warn("[CONSUMER-PEDIDO] Falha no worker paralelo, evento enviado para retry | topico={} particao={} offset={} topicoRetry={} erro={}",
+                    record.topic(), record.partition(), record.offset(), topicoRetryPedido, ex.getMessage());
+                return;
+            }
+
+            try {
+                gerenciarFalhasUseCase.registrarFalha(
+                    TipoFalha.PEDIDO,
+                    record.value(),
+                    "Falha no worker paralelo e no envio ao tópico de retry: " + falhaRetry.getMessage(),
+                    record.topic(),
+                    record.partition(),
+                    record.offset()
+                );
+                ack.acknowledge();
+                log.error("[CONSUMER-PEDIDO] Envio para retry esgotado, evento mantido no registro de falhas | topico={} particao={} offset={} tentativas={} erro={}",
+                    record.topic(), record.partition(), record.offset(), tentativasEnvioRetry, falhaRetry.getMessage());
+            } catch (Exception falhaRegistro) {
+                log.error("[CONSUMER-PEDIDO] Falha ao registrar evento do worker paralelo; offset não confirmado | topico={} particao={} offset={} erro={}",
+                    record.topic(), record.partition(), record.offset(), falhaRegistro.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return null quando publicou; senão a última falha
+     */
+    private Exception enviarParaRetryComBackoff(Evento<?> evento) {
+        long espera = backoffEnvioRetryMs;
+        Exception ultimaFalha = null;
+        for (int tentativa = 1; tentativa <= Math.max(1, tentativasEnvioRetry); tentativa++) {
+            try {
+                publicarEventoPort.publicar(topicoRetryPedido, evento);
+                return null;
+            } catch (Exception ex) {
+                ultimaFalha = ex;
+                log.warn("[CONSUMER-PEDIDO] Falha ao enviar para retry | tentativa={}/{} erro={}",
+                    tentativa, tentativasEnvioRetry, ex.getMessage());
+            }
+            if (tentativa < tentativasEnvioRetry) {
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                espera *= 2;
+            }
+        }
+        return ultimaFalha;
+    }
+
+    private String chaveOrdenacao(ConsumerRecord<String, Evento<?>> record) {
+        Object payload = record.value() == null ? null : record.value().getPayload();
+        Object chave = null;
+        if (payload instanceof Pedido tipado) {
+            chave = tipado.getNumeroPedido();
+        } else if (payload instanceof java.util.Map<?, ?> mapa) {
+            chave = mapa.get("numeroPedido");
+        }
+        return chave != null ? chave.toString() : record.key();
+    }
+
+    private int obterTentativaAtual(Evento<?> evento) {
         if (evento == null || evento.getTentativasRetry() == null || evento.getTentativasRetry() <= 0) {
             return 1;
         }
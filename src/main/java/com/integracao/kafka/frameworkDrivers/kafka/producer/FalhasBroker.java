@@ -0,0 +1,32 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer;
+
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.common.errors.RetriableException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+/**
+ * Separa falhas de envio que passam quando o broker volta (timeout, erro retentável do
+ * Kafka, circuito aberto, bulkhead cheio) das que se repetem a cada tentativa
+ * (RecordTooLarge, serialização, tópico inválido). Só as primeiras vão para o outbox;
+ * no reenvio do spill, as demais saem do spill como MORTO no outbox.
+ */
+public final class FalhasBroker {
+
+    private FalhasBroker() {
+    }
+
+    public static boolean indisponibilidade(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof RetriableException
+                || causa instanceof TimeoutException
+                || causa instanceof CallNotPermittedException
+                || causa instanceof BulkheadFullException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
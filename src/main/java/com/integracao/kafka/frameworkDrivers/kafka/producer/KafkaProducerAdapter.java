@@ -1,12 +1,20 @@
 package com.integracao.kafka.frameworkDrivers.kafka.producer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
+import com.integracao.kafka.application.service.OutboxService;
 import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.frameworkDrivers.kafka.producer.spill.SpillProdutor;
 
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -19,31 +27,190 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class KafkaProducerAdapter implements PublicarEventoPort {
 
+    private static final long TIMEOUT_ENVIO_SEGUNDOS = 10;
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final SpillProdutor spillProdutor;
 
     @Override
     @Bulkhead(name = "kafka-producer")
     @CircuitBreaker(name = "kafka-producer", fallbackMethod = "fallback")
     @Retry(name = "kafka-producer")
-    public void publicar(String topico, Evento evento) {
+    public void publicar(String topico, Evento<?> evento) {
         log.info("[PRODUCER] Publicando evento | topico={} id={}", topico, evento.getId());
 
         try {
-            var result = kafkaTemplate.send(topico, evento.getId(), evento).get(10, TimeUnit.SECONDS);
+            var result = enviar(topico, evento).get();
             log.info("[PRODUCER] Publicado com sucesso | topico={} id={} offset={}",
-                topico, evento.getId(),
-                result.getRecordMetadata().offset());
+                topico, evento.getId(), result.offset());
         } catch (Exception ex) {
-            log.error("[PRODUCER] Falha ao publicar | topico={} id={} erro={}", topico, evento.getId(), ex.getMessage());
-            throw new RuntimeException("Falha ao publicar no Kafka", ex);
+            Throwable causa = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+            log.error("[PRODUCER] Falha ao publicar | topico={} id={} erro={}", topico, evento.getId(), causa.getMessage());
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException("Falha ao publicar no Kafka", causa);
+        }
+    }
+
+    /**
+     * Versão não bloqueante: a permissão do bulkhead fica retida até o broker confirmar,
+     * e circuit breaker/retry avaliam o resultado do future em vez da thread chamadora.
+     */
+    @Override
+    @Bulkhead(name = "kafka-producer")
+    @CircuitBreaker(name = "kafka-producer", fallbackMethod = "fallbackAsync")
+    @Retry(name = "kafka-producer")
+    public CompletableFuture<ResultadoPublicacao> publicarAsync(String topico, Evento<?> evento) {
+        log.debug("[PRODUCER] Publicando evento (async) | topico={} id={}", topico, evento.getId());
+
+        return enviar(topico, evento).whenComplete((resultado, ex) -> {
+            if (ex != null) {
+                log.error("[PRODUCER] Falha ao publicar (async) | topico={} id={} erro={}", topico, evento.getId(), ex.getMessage());
+            } else {
+                log.debug("[PRODUCER] Publicado com sucesso (async) | topico={} id={} offset={}",
+                    topico, evento.getId(), resultado.offset());
+            }
+        });
+    }
+
+    /**
+     * Entrega o lote inteiro ao producer (aproveitando linger.ms/batch.size) e aguarda
+     * as confirmações uma única vez. Para bulkhead e circuit breaker o lote conta como
+     * uma chamada, que só é considerada falha quando nenhum evento foi confirmado.
+     * Sem @Retry: repetir o lote duplicaria os eventos já confirmados.
+     */
+    @Override
+    @Bulkhead(name = "kafka-producer")
+    @CircuitBreaker(name = "kafka-producer", fallbackMethod = "fallbackLote")
+    public ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+        log.info("[PRODUCER] Publicando lote | topico={} tamanho={}", topico, eventos.size());
+
+        List<CompletableFuture<ResultadoPublicacao>> envios = new ArrayList<>(eventos.size());
+        for (Evento<?> evento : eventos) {
+            envios.add(enviar(topico, evento));
+        }
+
+        CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new))
+            .exceptionally(ex -> null)
+            .join();
+
+        List<ResultadoLotePublicacao.Item> itens = new ArrayList<>(eventos.size());
+        for (int i = 0; i < eventos.size(); i++) {
+            CompletableFuture<ResultadoPublicacao> envio = envios.get(i);
+            if (envio.isCompletedExceptionally()) {
+                Throwable causa = envio.exceptionNow();
+                itens.add(ResultadoLotePublicacao.Item.falha(eventos.get(i).getId(), causa, FalhasBroker.indisponibilidade(causa)));
+            } else {
+                itens.add(ResultadoLotePublicacao.Item.sucesso(envio.resultNow()));
+            }
+        }
+
+        ResultadoLotePublicacao resultado = new ResultadoLotePublicacao(topico, itens);
+        log.info("[PRODUCER] Lote publicado | topico={} sucesso={} falha={}",
+            topico, resultado.totalSucesso(), resultado.totalFalha());
+
+        if (!itens.isEmpty() && resultado.totalSucesso() == 0) {
+            throw new LoteSemConfirmacao(resultado);
+        }
+        return resultado;
+    }
+
+    private CompletableFuture<ResultadoPublicacao> enviar(String topico, Evento<?> evento) {
+        // Buffer do producer quase cheio (ou spill ainda drenando): grava em disco em vez de bloquear
+        if (spillProdutor.deveDesviar()) {
+            return spillProdutor.desviar(topico, evento);
+        }
+
+        CompletableFuture<ResultadoPublicacao> envio;
+        try {
+            envio = kafkaTemplate.send(topico, evento.getId(), evento)
+                .thenApply(result -> new ResultadoPublicacao(
+                    evento.getId(),
+                    result.getRecordMetadata().topic(),
+                    result.getRecordMetadata().partition(),
+                    result.getRecordMetadata().offset(),
+                    result.getRecordMetadata().timestamp()))
+                .orTimeout(TIMEOUT_ENVIO_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (RuntimeException ex) {
+            // send() pode falhar antes de gerar o future (ex.: serialização, max.block.ms)
+            envio = CompletableFuture.failedFuture(ex);
         }
+
+        return envio.exceptionallyCompose(ex -> spillProdutor.podeDesviarFalha(ex)
+            ? spillProdutor.desviar(topico, evento)
+            : CompletableFuture.failedFuture(ex));
     }
 
+    /**
+     * Circuito aberto ou retries esgotados por indisponibilidade do broker: o evento vai para
+     * o outbox e o relay publica quando o broker voltar (at-least-once). Falhas que se repetiriam
+     * no relay (ex.: RecordTooLarge, serialização) sobem para o chamador em vez de entrar no outbox.
+     */
     @SuppressWarnings("unused")
-    public void fallback(String topico, Evento evento, Exception ex) {
+    public void fallback(String topico, Evento<?> evento, Exception ex) {
+        if (!FalhasBroker.indisponibilidade(ex)) {
+            throw ex instanceof RuntimeException runtime ? runtime : new RuntimeException(ex);
+        }
         log.error("[PRODUCER] FALLBACK ativado | topico={} id={} motivo={}", topico, evento.getId(), ex.getMessage());
-        // TODO: implementar Outbox Pattern aqui para garantir at-least-once
-        // outboxRepository.salvar(topico, evento);
-        throw new RuntimeException("Circuito aberto ou retries esgotados. Evento id=" + evento.getId() + " não publicado.", ex);
+        registrarNoOutbox(topico, evento, ex);
+    }
+
+    @SuppressWarnings("unused")
+    public CompletableFuture<ResultadoPublicacao> fallbackAsync(String topico, Evento<?> evento, Exception ex) {
+        if (!FalhasBroker.indisponibilidade(ex)) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        log.error("[PRODUCER] FALLBACK ativado (async) | topico={} id={} motivo={}", topico, evento.getId(), ex.getMessage());
+        try {
+            registrarNoOutbox(topico, evento, ex);
+            return CompletableFuture.completedFuture(ResultadoPublicacao.semConfirmacao(topico, evento.getId()));
+        } catch (RuntimeException falhaOutbox) {
+            return CompletableFuture.failedFuture(falhaOutbox);
+        }
+    }
+
+    private void registrarNoOutbox(String topico, Evento<?> evento, Exception causa) {
+        try {
+            outboxService.registrar(topico, evento);
+        } catch (RuntimeException falhaOutbox) {
+            log.error("[PRODUCER] Falha ao registrar no outbox | topico={} id={} erro={}", topico, evento.getId(), falhaOutbox.getMessage());
+            RuntimeException erro = new RuntimeException("Circuito aberto ou retries esgotados. Evento id=" + evento.getId() + " não publicado.", causa);
+            erro.addSuppressed(falhaOutbox);
+            throw erro;
+        }
+    }
+
+    /**
+     * Sem outbox aqui: o relay do outbox publica via publicarLote, e gravar de novo
+     * no outbox duplicaria os eventos. Os itens voltam como falha para o chamador decidir.
+     */
+    @SuppressWarnings("unused")
+    public ResultadoLotePublicacao fallbackLote(String topico, List<Evento<?>> eventos, Exception ex) {
+        log.error("[PRODUCER] FALLBACK ativado (lote) | topico={} tamanho={} motivo={}", topico, eventos.size(), ex.getMessage());
+        // Lote enviado e todo recusado: mantém o erro de cada item, inclusive a classificação
+        if (ex instanceof LoteSemConfirmacao semConfirmacao) {
+            return semConfirmacao.resultado;
+        }
+        List<ResultadoLotePublicacao.Item> itens = eventos.stream()
+            .map(evento -> ResultadoLotePublicacao.Item.falha(evento.getId(), ex, FalhasBroker.indisponibilidade(ex)))
+            .toList();
+        return new ResultadoLotePublicacao(topico, itens);
+    }
+
+    /**
+     * Lote em que nenhum evento foi confirmado: conta como falha para o circuit breaker e
+     * leva os itens até o fallback.
+     */
+    private static class LoteSemConfirmacao extends RuntimeException {
+
+        private final transient ResultadoLotePublicacao resultado;
+
+        LoteSemConfirmacao(ResultadoLotePublicacao resultado) {
+            super("Nenhum evento do lote foi confirmado pelo broker | topico=" + resultado.topico()
+                + " primeiroErro=" + resultado.itens().get(0).erro());
+            this.resultado = resultado;
+        }
     }
 }
@@ -0,0 +1,178 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+import com.integracao.kafka.domain.model.Evento;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relay do outbox: drena a tabela em ordem de id, em lotes por tópico.
+ *
+ * Cada trecho consecutivo de mesmo tópico vira um publicarLote; os eventos confirmados pelo
+ * broker são removidos e registrados no checkpoint. Broker indisponível interrompe o ciclo,
+ * preservando a ordem, e o restante é tentado no próximo (entrega at-least-once). Payload
+ * ilegível vira MORTO na hora; recusa do broker conta uma tentativa e, ao atingir
+ * {@code max-tentativas}, o evento vira MORTO e a drenagem segue, em vez de travar a fila.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final String RELAY = "kafka-outbox-relay";
+    private static final int MAX_ERRO = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final PublicarEventoPort publicarEventoPort;
+    private final ObjectMapper objectMapper;
+    private final IntegradorMetrics metrics;
+
+    @Value("${integrador.outbox.relay.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${integrador.outbox.relay.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${integrador.outbox.relay.max-tentativas:5}")
+    private int maxTentativas;
+
+    @Scheduled(fixedDelayString = "${integrador.outbox.relay.intervalo-ms:500}")
+    public void drenar() {
+        if (!habilitado) {
+            return;
+        }
+
+        try {
+            int drenados;
+            do {
+                drenados = drenarLote();
+            } while (drenados >= tamanhoLote);
+        } catch (Exception ex) {
+            log.error("[OUTBOX-RELAY] Falha ao drenar outbox | erro={}", ex.getMessage());
+        }
+    }
+
+    /**
+     * @return eventos resolvidos (publicados ou MORTO); menor que o lote quando a tabela esvaziou ou o ciclo parou
+     */
+    private int drenarLote() {
+        List<OutboxEventoEntity> pendentes = outboxRepository.buscarPendentes(tamanhoLote);
+        if (pendentes.isEmpty()) {
+            metrics.atualizarOutboxPendentes(0);
+            return 0;
+        }
+
+        List<Long> publicados = new ArrayList<>(pendentes.size());
+        int mortos = 0;
+        boolean interrompido = false;
+        int inicio = 0;
+        while (inicio < pendentes.size() && !interrompido) {
+            String topico = pendentes.get(inicio).getTopico();
+            int fim = inicio;
+            while (fim < pendentes.size() && topico.equals(pendentes.get(fim).getTopico())) {
+                fim++;
+            }
+
+            List<OutboxEventoEntity> trecho = new ArrayList<>(fim - inicio);
+            List<Evento<?>> eventos = new ArrayList<>(fim - inicio);
+            for (OutboxEventoEntity entidade : pendentes.subList(inicio, fim)) {
+                Evento<?> evento = desserializar(entidade);
+                if (evento == null) {
+                    mortos++;
+                    continue;
+                }
+                trecho.add(entidade);
+                eventos.add(evento);
+            }
+            inicio = fim;
+            if (eventos.isEmpty()) {
+                continue;
+            }
+
+            ResultadoLotePublicacao resultado = publicarEventoPort.publicarLote(topico, eventos);
+            for (int i = 0; i < trecho.size(); i++) {
+                ResultadoLotePublicacao.Item item = resultado.itens().get(i);
+                if (item.sucesso()) {
+                    publicados.add(trecho.get(i).getId());
+                    continue;
+                }
+                if (item.brokerIndisponivel()) {
+                    log.warn("[OUTBOX-RELAY] Broker indisponível, ciclo interrompido | topico={} id={} erro={}",
+                        topico, trecho.get(i).getId(), item.erro());
+                    interrompido = true;
+                    break;
+                }
+                if (registrarRecusa(trecho.get(i), item.erro())) {
+                    mortos++;
+                    continue;
+                }
+                // Mantém a ordem: os seguintes voltam no próximo ciclo, mesmo se já confirmados
+                interrompido = true;
+                break;
+            }
+        }
+
+        outboxRepository.confirmarPublicacao(RELAY, publicados);
+        metrics.registrarOutboxDrenados(publicados.size());
+        metrics.registrarOutboxMortos(mortos);
+        metrics.atualizarOutboxPendentes(outboxRepository.contarPendentes());
+
+        log.info("[OUTBOX-RELAY] Ciclo concluído | lidos={} publicados={} mortos={}", pendentes.size(), publicados.size(), mortos);
+
+        int resolvidos = publicados.size() + mortos;
+        return resolvidos == pendentes.size() ? resolvidos : 0;
+    }
+
+    /**
+     * @return true quando o evento esgotou as tentativas e virou MORTO
+     */
+    private boolean registrarRecusa(OutboxEventoEntity entidade, String erro) {
+        entidade.setTentativas(entidade.getTentativas() + 1);
+        entidade.setUltimoErro(truncar(erro));
+        boolean morto = entidade.getTentativas() >= maxTentativas;
+        if (morto) {
+            entidade.setStatus(OutboxEventoEntity.Status.MORTO);
+            log.error("[OUTBOX-RELAY] Evento recusado, marcado como MORTO | id={} topico={} tentativas={} erro={}",
+                entidade.getId(), entidade.getTopico(), entidade.getTentativas(), erro);
+        } else {
+            log.warn("[OUTBOX-RELAY] Evento recusado pelo broker | id={} topico={} tentativas={} erro={}",
+                entidade.getId(), entidade.getTopico(), entidade.getTentativas(), erro);
+        }
+        outboxRepository.save(entidade);
+        return morto;
+    }
+
+    /**
+     * @return o evento, ou null quando o payload não é legível e a linha foi marcada como MORTO
+     */
+    private Evento<?> desserializar(OutboxEventoEntity entidade) {
+        try {
+            return objectMapper.readValue(entidade.getPayload(), Evento.class);
+        } catch (JsonProcessingException ex) {
+            entidade.setStatus(OutboxEventoEntity.Status.MORTO);
+            entidade.setUltimoErro(truncar("Payload inválido: " + ex.getOriginalMessage()));
+            outboxRepository.save(entidade);
+            log.error("[OUTBOX-RELAY] Payload inválido, marcado como MORTO | id={} topico={} erro={}",
+                entidade.getId(), entidade.getTopico(), ex.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String truncar(String erro) {
+        return erro == null || erro.length() <= MAX_ERRO ? erro : erro.substring(0, MAX_ERRO);
+    }
+}
@@ -0,0 +1,73 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.ResultadoReprocessamentoAutomatico;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Republica automaticamente as falhas pendentes cuja próxima tentativa já é permitida.
+ *
+ * A cada ciclo retira lotes da fila de reprocessamento enquanto houver vencidas; cada lote
+ * consome {@code tamanho-lote} permissões do rate limiter reprocessamento-automatico, que
+ * limita quantas falhas por segundo voltam para os tópicos de entrada.
+ */
+@Slf4j
+@Component
+public class ReprocessamentoAutomatico {
+
+    private final GerenciarFalhasUseCase gerenciarFalhasUseCase;
+    private final IntegradorMetrics metrics;
+    private final RateLimiter rateLimiter;
+
+    @Value("${integrador.reprocessamento.automatico.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${integrador.reprocessamento.automatico.tamanho-lote:50}")
+    private int tamanhoLote;
+
+    public ReprocessamentoAutomatico(GerenciarFalhasUseCase gerenciarFalhasUseCase, IntegradorMetrics metrics,
+                                     RateLimiterRegistry rateLimiterRegistry) {
+        this.gerenciarFalhasUseCase = gerenciarFalhasUseCase;
+        this.metrics = metrics;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("reprocessamento-automatico");
+    }
+
+    @Scheduled(fixedDelayString = "${integrador.reprocessamento.automatico.intervalo-ms:1000}")
+    public void reprocessar() {
+        try {
+            if (habilitado) {
+                reprocessarVencidas();
+            }
+        } catch (Exception ex) {
+            log.error("[REPROCESSAMENTO-AUTO] Falha no ciclo | erro={}", ex.getMessage());
+        } finally {
+            metrics.atualizarFilaReprocessamento(
+                gerenciarFalhasUseCase.tamanhoFilaReprocessamento(), gerenciarFalhasUseCase.contarFalhasVencidas());
+        }
+    }
+
+    private void reprocessarVencidas() {
+        while (gerenciarFalhasUseCase.contarFalhasVencidas() > 0) {
+            if (!rateLimiter.acquirePermission(tamanhoLote)) {
+                log.debug("[REPROCESSAMENTO-AUTO] Limite de taxa atingido, restante fica para o próximo ciclo");
+                return;
+            }
+
+            ResultadoReprocessamentoAutomatico resultado = gerenciarFalhasUseCase.reprocessarVencidas(tamanhoLote);
+            metrics.registrarReprocessamentoAutomatico(resultado.publicadas(), resultado.falharam(), resultado.esgotadas());
+
+            // Broker recusando: não insiste no mesmo ciclo
+            if (resultado.retiradas() < tamanhoLote || resultado.falharam() > 0) {
+                return;
+            }
+        }
+    }
+}
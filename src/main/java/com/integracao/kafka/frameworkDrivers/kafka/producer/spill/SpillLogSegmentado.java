@@ -0,0 +1,312 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log local em disco, mapeado em memória e dividido em segmentos de tamanho fixo.
+ *
+ * Layout de cada segmento:
+ *   [long sequencia][int posicaoEscrita][int posicaoLeitura] + registros [int tamanho][bytes]
+ *
+ * As posições ficam no próprio cabeçalho, então o conteúdo pendente sobrevive a um restart.
+ * Segmentos totalmente lidos voltam para a lista de livres e são reaproveitados pelo escritor,
+ * limitando o disco a {@code maxSegmentos * tamanhoSegmento}.
+ * Thread-safe: todas as operações usam um ReentrantLock (e não synchronized, que prende
+ * virtual threads à carrier durante o I/O de criação de segmentos).
+ */
+public class SpillLogSegmentado implements Closeable {
+
+    private static final int POS_SEQUENCIA = 0;
+    private static final int POS_ESCRITA = 8;
+    private static final int POS_LEITURA = 12;
+    private static final int CABECALHO = 16;
+    private static final String PREFIXO = "spill-";
+    private static final String SUFIXO = ".seg";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int maxSegmentos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Segmento> ativos = new ArrayDeque<>();
+    private final ArrayDeque<Segmento> livres = new ArrayDeque<>();
+    private int totalSegmentos;
+    private long proximaSequencia = 1;
+    private long registrosPendentes;
+    private long bytesPendentes;
+
+    public SpillLogSegmentado(Path diretorio, int tamanhoSegmento, int maxSegmentos) throws IOException {
+        if (tamanhoSegmento <= CABECALHO + Integer.BYTES) {
+            throw new IllegalArgumentException("Tamanho de segmento muito pequeno: " + tamanhoSegmento);
+        }
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.maxSegmentos = Math.max(1, maxSegmentos);
+
+        Files.createDirectories(diretorio);
+        restaurar();
+    }
+
+    /**
+     * @return false quando todos os segmentos estão ocupados (spill cheio)
+     */
+    public boolean anexar(byte[] dados) throws IOException {
+        lock.lock();
+        try {
+            int necessario = Integer.BYTES + dados.length;
+            if (necessario > tamanhoSegmento - CABECALHO) {
+                throw new IllegalArgumentException("Registro de " + dados.length + " bytes não cabe em um segmento");
+            }
+
+            Segmento atual = ativos.peekLast();
+            if (atual == null || atual.livre() < necessario) {
+                atual = obterSegmentoLivre();
+                if (atual == null) {
+                    return false;
+                }
+                ativos.addLast(atual);
+            }
+
+            atual.escrever(dados);
+            registrosPendentes++;
+            bytesPendentes += necessario;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lê, sem consumir, até {@code maximo} registros na ordem em que foram anexados.
+     */
+    public List<byte[]> espiar(int maximo) {
+        lock.lock();
+        try {
+            Segmento primeiro = ativos.peekFirst();
+            if (primeiro == null) {
+                return List.of();
+            }
+
+            List<byte[]> registros = new ArrayList<>(Math.min(maximo, 64));
+            int posicao = primeiro.leitura();
+            while (registros.size() < maximo && posicao < primeiro.escrita()) {
+                byte[] registro = primeiro.ler(posicao);
+                registros.add(registro);
+                posicao += Integer.BYTES + registro.length;
+            }
+            return registros;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consome os {@code quantidade} primeiros registros, já reenviados com sucesso.
+     */
+    public void confirmar(int quantidade) {
+        lock.lock();
+        try {
+            int restantes = quantidade;
+            while (restantes > 0 && !ativos.isEmpty()) {
+                Segmento primeiro = ativos.peekFirst();
+                int posicao = primeiro.leitura();
+                while (restantes > 0 && posicao < primeiro.escrita()) {
+                    int tamanho = Integer.BYTES + primeiro.tamanhoRegistro(posicao);
+                    posicao += tamanho;
+                    bytesPendentes -= tamanho;
+                    registrosPendentes--;
+                    restantes--;
+                }
+                primeiro.avancarLeitura(posicao);
+
+                if (primeiro.leitura() >= primeiro.escrita()) {
+                    reciclar(ativos.pollFirst());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long registrosPendentes() {
+        lock.lock();
+        try {
+            return registrosPendentes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long bytesPendentes() {
+        lock.lock();
+        try {
+            return bytesPendentes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            for (Segmento segmento : ativos) {
+                segmento.fechar();
+            }
+            for (Segmento segmento : livres) {
+                segmento.fechar();
+            }
+            ativos.clear();
+            livres.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reciclar(Segmento segmento) {
+        if (ativos.isEmpty()) {
+            // Era o segmento do escritor: reinicia no lugar e continua escrevendo nele
+            segmento.reiniciar(proximaSequencia++);
+            ativos.addLast(segmento);
+            return;
+        }
+        segmento.reiniciar(0);
+        livres.addLast(segmento);
+    }
+
+    private Segmento obterSegmentoLivre() throws IOException {
+        Segmento livre = livres.pollFirst();
+        if (livre != null) {
+            livre.reiniciar(proximaSequencia++);
+            return livre;
+        }
+        if (totalSegmentos >= maxSegmentos) {
+            return null;
+        }
+
+        long sequencia = proximaSequencia++;
+        Path arquivo = diretorio.resolve(String.format("%s%019d%s", PREFIXO, sequencia, SUFIXO));
+        Segmento novo = Segmento.criar(arquivo, tamanhoSegmento);
+        novo.reiniciar(sequencia);
+        totalSegmentos++;
+        return novo;
+    }
+
+    private void restaurar() throws IOException {
+        List<Segmento> existentes = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + SUFIXO)) {
+            for (Path arquivo : arquivos) {
+                existentes.add(Segmento.abrir(arquivo));
+            }
+        }
+        existentes.sort(Comparator.comparingLong(Segmento::sequencia));
+
+        for (Segmento segmento : existentes) {
+            totalSegmentos++;
+            proximaSequencia = Math.max(proximaSequencia, segmento.sequencia() + 1);
+
+            if (segmento.sequencia() > 0 && segmento.valido() && segmento.leitura() < segmento.escrita()) {
+                int posicao = segmento.leitura();
+                while (posicao < segmento.escrita()) {
+                    int tamanho = Integer.BYTES + segmento.tamanhoRegistro(posicao);
+                    posicao += tamanho;
+                    bytesPendentes += tamanho;
+                    registrosPendentes++;
+                }
+                ativos.addLast(segmento);
+            } else {
+                segmento.reiniciar(0);
+                livres.addLast(segmento);
+            }
+        }
+    }
+
+    private static final class Segmento {
+
+        private final FileChannel canal;
+        private final MappedByteBuffer buffer;
+
+        private Segmento(FileChannel canal, MappedByteBuffer buffer) {
+            this.canal = canal;
+            this.buffer = buffer;
+        }
+
+        static Segmento criar(Path arquivo, int tamanho) throws IOException {
+            FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segmento(canal, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho));
+        }
+
+        static Segmento abrir(Path arquivo) throws IOException {
+            FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segmento(canal, canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size()));
+        }
+
+        long sequencia() {
+            return buffer.getLong(POS_SEQUENCIA);
+        }
+
+        int escrita() {
+            return buffer.getInt(POS_ESCRITA);
+        }
+
+        int leitura() {
+            return buffer.getInt(POS_LEITURA);
+        }
+
+        int livre() {
+            return buffer.capacity() - escrita();
+        }
+
+        boolean valido() {
+            int escrita = escrita();
+            int leitura = leitura();
+            return escrita >= CABECALHO && escrita <= buffer.capacity() && leitura >= CABECALHO && leitura <= escrita;
+        }
+
+        int tamanhoRegistro(int posicao) {
+            return buffer.getInt(posicao);
+        }
+
+        byte[] ler(int posicao) {
+            byte[] dados = new byte[buffer.getInt(posicao)];
+            buffer.get(posicao + Integer.BYTES, dados);
+            return dados;
+        }
+
+        void escrever(byte[] dados) {
+            int posicao = escrita();
+            buffer.putInt(posicao, dados.length);
+            buffer.put(posicao + Integer.BYTES, dados);
+            // A posição de escrita só avança depois do registro completo no buffer
+            buffer.putInt(POS_ESCRITA, posicao + Integer.BYTES + dados.length);
+        }
+
+        void avancarLeitura(int posicao) {
+            buffer.putInt(POS_LEITURA, posicao);
+        }
+
+        void reiniciar(long sequencia) {
+            buffer.putLong(POS_SEQUENCIA, sequencia);
+            buffer.putInt(POS_ESCRITA, CABECALHO);
+            buffer.putInt(POS_LEITURA, CABECALHO);
+        }
+
+        void fechar() throws IOException {
+            buffer.force();
+            canal.close();
+        }
+    }
+}
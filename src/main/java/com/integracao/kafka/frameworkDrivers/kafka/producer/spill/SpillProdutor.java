@@ -0,0 +1,373 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer.spill;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.frameworkDrivers.kafka.producer.FalhasBroker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo spill do produtor.
+ *
+ * Quando o buffer.memory do producer está quase cheio, o evento é anexado a um
+ * {@link SpillLogSegmentado} em vez de bloquear a thread por até max.block.ms.
+ * Enquanto houver eventos no spill, os novos também vão para o spill, preservando a ordem.
+ * Uma thread dedicada reenvia o spill em ordem assim que o buffer volta a ter folga.
+ *
+ * Um registro que nunca vai ser aceito (RecordTooLarge, serialização, payload ilegível) não pode
+ * ficar na cabeça do spill, senão todo envio novo segue desviado até o spill encher: ele sai do
+ * spill como MORTO no outbox, para análise. Falha retentável mantém o registro no spill; ela só
+ * conta como tentativa do registro quando outro envio do mesmo lote foi confirmado (o broker está
+ * no ar e a falha é do registro, ex.: tópico apagado), e em {@code max-tentativas} ele vira MORTO.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpillProdutor {
+
+    private static final long INTERVALO_AMOSTRA_BUFFER_MS = 100;
+
+    private static final int MAX_ERRO = 1000;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final IntegradorMetrics metrics;
+    private final OutboxRepository outboxRepository;
+
+    @Value("${integrador.spill.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${integrador.spill.diretorio:${java.io.tmpdir}/integrador-spill}")
+    private String diretorio;
+
+    @Value("${integrador.spill.tamanho-segmento-mb:64}")
+    private int tamanhoSegmentoMb;
+
+    @Value("${integrador.spill.max-segmentos:16}")
+    private int maxSegmentos;
+
+    @Value("${integrador.spill.buffer-minimo-bytes:1048576}")
+    private long bufferMinimoBytes;
+
+    @Value("${integrador.spill.replay.intervalo-ms:200}")
+    private long intervaloReplayMs;
+
+    @Value("${integrador.spill.replay.tamanho-lote:200}")
+    private int tamanhoLoteReplay;
+
+    @Value("${integrador.spill.replay.max-tentativas:5}")
+    private int maxTentativasReplay = 5;
+
+    private SpillLogSegmentado spillLog;
+    private ScheduledExecutorService replay;
+
+    private volatile long bufferDisponivelBytes = Long.MAX_VALUE;
+    private volatile long ultimaAmostraBufferMs;
+
+    /** Falhas seguidas do registro na cabeça do spill; só a thread de reenvio mexe. */
+    private int tentativasCabeca;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+
+        spillLog = new SpillLogSegmentado(Path.of(diretorio), bytesDoSegmento(tamanhoSegmentoMb), maxSegmentos);
+        atualizarMetricas();
+
+        replay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "spill-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replay.scheduleWithFixedDelay(this::reenviar, intervaloReplayMs, intervaloReplayMs, TimeUnit.MILLISECONDS);
+
+        log.info("[SPILL] Modo spill ativo | diretorio={} segmentoMb={} maxSegmentos={} pendentes={}",
+            diretorio, tamanhoSegmentoMb, maxSegmentos, spillLog.registrosPendentes());
+    }
+
+    /**
+     * O segmento é um único MappedByteBuffer, limitado a Integer.MAX_VALUE bytes:
+     * a conta é feita em long para que um tamanho-segmento-mb grande demais não estoure o int.
+     */
+    private static int bytesDoSegmento(int tamanhoSegmentoMb) {
+        long bytes = tamanhoSegmentoMb * 1024L * 1024L;
+        if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("integrador.spill.tamanho-segmento-mb fora do intervalo 1.."
+                + (Integer.MAX_VALUE / (1024 * 1024)) + ": " + tamanhoSegmentoMb);
+        }
+        return (int) bytes;
+    }
+
+    @PreDestroy
+    void encerrar() throws IOException {
+        if (replay != null) {
+            replay.shutdown();
+        }
+        if (spillLog != null) {
+            spillLog.close();
+        }
+    }
+
+    /**
+     * Indica se o evento deve ir para o spill em vez do producer.
+     */
+    public boolean deveDesviar() {
+        if (!habilitado) {
+            return false;
+        }
+        return spillLog.registrosPendentes() > 0 || bufferDisponivel() < bufferMinimoBytes;
+    }
+
+    /**
+     * Falhas por timeout (buffer esgotado ou broker lento) também podem ir para o spill.
+     */
+    public boolean podeDesviarFalha(Throwable erro) {
+        if (!habilitado) {
+            return false;
+        }
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CompletableFuture<ResultadoPublicacao> desviar(String topico, Evento<?> evento) {
+        try {
+            if (!spillLog.anexar(codificar(topico, evento))) {
+                return CompletableFuture.failedFuture(
+                    new IllegalStateException("Spill cheio: todos os segmentos estão ocupados | id=" + evento.getId()));
+            }
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Falha ao gravar no spill | id=" + evento.getId(), ex));
+        }
+
+        metrics.registrarSpillDesviado();
+        atualizarMetricas();
+        log.warn("[SPILL] Evento desviado para disco | topico={} id={} pendentes={}",
+            topico, evento.getId(), spillLog.registrosPendentes());
+        return CompletableFuture.completedFuture(ResultadoPublicacao.semConfirmacao(topico, evento.getId()));
+    }
+
+    private void reenviar() {
+        try {
+            while (spillLog.registrosPendentes() > 0 && bufferDisponivel() >= bufferMinimoBytes) {
+                List<byte[]> registros = spillLog.espiar(tamanhoLoteReplay);
+                if (registros.isEmpty()) {
+                    return;
+                }
+
+                // Envia o lote em ordem e aguarda; só o prefixo resolvido (enviado ou MORTO) sai do spill
+                List<CompletableFuture<?>> envios = new ArrayList<>(registros.size());
+                for (byte[] registro : registros) {
+                    envios.add(enviar(registro));
+                }
+                aguardar(envios);
+                boolean brokerNoAr = envios.stream().anyMatch(envio -> envio.isDone() && !envio.isCompletedExceptionally());
+
+                int resolvidos = 0;
+                int enviados = 0;
+                int mortos = 0;
+                for (int i = 0; i < envios.size(); i++) {
+                    CompletableFuture<?> envio = envios.get(i);
+                    if (!envio.isDone()) {
+                        break;
+                    }
+                    Throwable erro = erroDo(envio);
+                    if (erro == null) {
+                        // O registro saiu da cabeça: as falhas contadas eram dele
+                        tentativasCabeca = 0;
+                        resolvidos++;
+                        enviados++;
+                        continue;
+                    }
+                    if (!registroMorto(erro, brokerNoAr)) {
+                        log.warn("[SPILL] Reenvio interrompido | confirmados={}/{} tentativasCabeca={} erro={}",
+                            resolvidos, registros.size(), tentativasCabeca, erro.getMessage());
+                        break;
+                    }
+                    if (!moverParaOutbox(registros.get(i), erro)) {
+                        break;
+                    }
+                    tentativasCabeca = 0;
+                    resolvidos++;
+                    mortos++;
+                }
+                spillLog.confirmar(resolvidos);
+                metrics.registrarSpillReenviados(enviados);
+                if (mortos > 0) {
+                    metrics.registrarOutboxMortos(mortos);
+                }
+                atualizarMetricas();
+
+                if (resolvidos < registros.size()) {
+                    return;
+                }
+            }
+        } catch (Exception ex) {
+            log.error("[SPILL] Falha no ciclo de reenvio | erro={}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Falha permanente, ou retentável que esgotou as tentativas com o broker no ar.
+     */
+    private boolean registroMorto(Throwable erro, boolean brokerNoAr) {
+        if (!FalhasBroker.indisponibilidade(erro)) {
+            return true;
+        }
+        return brokerNoAr && ++tentativasCabeca >= maxTentativasReplay;
+    }
+
+    /**
+     * Espera o lote todo com um único prazo; o que não terminou até lá fica no spill.
+     */
+    private static void aguardar(List<CompletableFuture<?>> envios) {
+        try {
+            CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | java.util.concurrent.TimeoutException ex) {
+            // Cada envio é avaliado em seguida pelo próprio resultado
+        }
+    }
+
+    private static Throwable erroDo(CompletableFuture<?> envio) {
+        try {
+            envio.join();
+            return null;
+        } catch (CompletionException | CancellationException ex) {
+            return ex.getCause() != null ? ex.getCause() : ex;
+        }
+    }
+
+    /**
+     * Grava o registro como MORTO no outbox; se o banco falhar, ele fica no spill para o próximo ciclo.
+     */
+    private boolean moverParaOutbox(byte[] registro, Throwable erro) {
+        OutboxEventoEntity morto = new OutboxEventoEntity();
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro))) {
+            morto.setTopico(entrada.readUTF());
+            String chave = entrada.readUTF();
+            morto.setChave(chave.isEmpty() ? null : chave);
+            morto.setPayload(new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+            morto.setTipo(tipoDo(morto.getPayload()));
+        } catch (IOException ex) {
+            morto.setTopico("desconhecido");
+            morto.setPayload(Base64.getEncoder().encodeToString(registro));
+        }
+        morto.setCriadoEm(LocalDateTime.now());
+        morto.setStatus(OutboxEventoEntity.Status.MORTO);
+        morto.setTentativas(Math.max(1, tentativasCabeca));
+        String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        morto.setUltimoErro(mensagem.length() <= MAX_ERRO ? mensagem : mensagem.substring(0, MAX_ERRO));
+
+        try {
+            outboxRepository.save(morto);
+        } catch (RuntimeException ex) {
+            log.error("[SPILL] Falha ao mover registro recusado para o outbox | topico={} chave={} erro={}",
+                morto.getTopico(), morto.getChave(), ex.getMessage());
+            return false;
+        }
+        log.error("[SPILL] Registro recusado pelo broker, movido para o outbox como MORTO | topico={} chave={} erro={}",
+            morto.getTopico(), morto.getChave(), mensagem);
+        return true;
+    }
+
+    private String tipoDo(String payload) {
+        try {
+            return objectMapper.readTree(payload).path("tipo").textValue();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<?> enviar(byte[] registro) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro))) {
+            String topico = entrada.readUTF();
+            String chave = entrada.readUTF();
+            Evento<?> evento = objectMapper.readValue(entrada.readAllBytes(), Evento.class);
+            return kafkaTemplate.send(topico, chave.isEmpty() ? null : chave, evento);
+        } catch (Exception ex) {
+            // Registro ilegível ou recusado já no send (ex.: serialização): falha como o envio
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private byte[] codificar(String topico, Evento<?> evento) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeUTF(topico);
+            saida.writeUTF(evento.getId() == null ? "" : evento.getId());
+            saida.write(objectMapper.writeValueAsBytes(evento));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * buffer-available-bytes do producer, amostrado a cada 100ms para não varrer o mapa de métricas a cada envio.
+     */
+    private long bufferDisponivel() {
+        long agora = System.currentTimeMillis();
+        if (agora - ultimaAmostraBufferMs < INTERVALO_AMOSTRA_BUFFER_MS) {
+            return bufferDisponivelBytes;
+        }
+        ultimaAmostraBufferMs = agora;
+
+        try {
+            for (var entrada : kafkaTemplate.metrics().entrySet()) {
+                MetricName nome = entrada.getKey();
+                if ("buffer-available-bytes".equals(nome.name()) && "producer-metrics".equals(nome.group())) {
+                    Metric metrica = entrada.getValue();
+                    if (metrica.metricValue() instanceof Number valor) {
+                        bufferDisponivelBytes = valor.longValue();
+                    }
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            log.debug("[SPILL] Métrica de buffer indisponível | erro={}", ex.getMessage());
+        }
+        return bufferDisponivelBytes;
+    }
+
+    private void atualizarMetricas() {
+        metrics.atualizarSpillPendentes(spillLog.registrosPendentes(), spillLog.bytesPendentes());
+    }
+}
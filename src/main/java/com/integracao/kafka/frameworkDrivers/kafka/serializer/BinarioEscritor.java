@@ -0,0 +1,103 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Buffer de escrita do formato binário: varints (LEB128), zigzag para sinais,
+ * strings com tamanho em varint e encodings compactos para BigDecimal e datas.
+ */
+public final class BinarioEscritor {
+
+    private byte[] buffer;
+    private int posicao;
+
+    public BinarioEscritor(int capacidadeInicial) {
+        this.buffer = new byte[Math.max(16, capacidadeInicial)];
+    }
+
+    public void escreverByte(int valor) {
+        garantir(1);
+        buffer[posicao++] = (byte) valor;
+    }
+
+    public void escreverVarint(int valor) {
+        garantir(5);
+        while ((valor & ~0x7F) != 0) {
+            buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicao++] = (byte) valor;
+    }
+
+    public void escreverVarlong(long valor) {
+        garantir(10);
+        while ((valor & ~0x7FL) != 0) {
+            buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicao++] = (byte) valor;
+    }
+
+    public void escreverInt(int valor) {
+        escreverVarint((valor << 1) ^ (valor >> 31));
+    }
+
+    public void escreverLong(long valor) {
+        escreverVarlong((valor << 1) ^ (valor >> 63));
+    }
+
+    public void escreverString(String valor) {
+        escreverBytes(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void escreverBytes(byte[] valor) {
+        escreverVarint(valor.length);
+        garantir(valor.length);
+        System.arraycopy(valor, 0, buffer, posicao, valor.length);
+        posicao += valor.length;
+    }
+
+    /**
+     * scale em zigzag + unscaled: varint 0 seguido de zigzag varlong quando cabe em 63 bits,
+     * senão varint com o tamanho seguido dos bytes em complemento de dois.
+     */
+    public void escreverBigDecimal(BigDecimal valor) {
+        escreverInt(valor.scale());
+        BigInteger unscaled = valor.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            escreverVarint(0);
+            escreverLong(unscaled.longValue());
+        } else {
+            escreverBytes(unscaled.toByteArray());
+        }
+    }
+
+    /**
+     * Segundos desde a época (interpretados em UTC) em zigzag + nanos em varint.
+     */
+    public void escreverLocalDateTime(LocalDateTime valor) {
+        escreverLong(valor.toEpochSecond(ZoneOffset.UTC));
+        escreverVarint(valor.getNano());
+    }
+
+    public void escreverInstant(Instant valor) {
+        escreverLong(valor.getEpochSecond());
+        escreverVarint(valor.getNano());
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, posicao);
+    }
+
+    private void garantir(int adicionais) {
+        if (posicao + adicionais > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicao + adicionais));
+        }
+    }
+}
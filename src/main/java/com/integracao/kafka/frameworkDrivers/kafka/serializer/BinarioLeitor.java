@@ -0,0 +1,107 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Leitura do formato escrito por {@link BinarioEscritor}.
+ */
+public final class BinarioLeitor {
+
+    private final byte[] dados;
+    private int posicao;
+
+    public BinarioLeitor(byte[] dados) {
+        this.dados = dados;
+    }
+
+    public int lerByte() {
+        exigir(1);
+        return dados[posicao++] & 0xFF;
+    }
+
+    public int lerVarint() {
+        int resultado = 0;
+        for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+            int b = lerByte();
+            resultado |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return resultado;
+            }
+        }
+        throw new SerializationException("Varint malformado na posição " + posicao);
+    }
+
+    public long lerVarlong() {
+        long resultado = 0;
+        for (int deslocamento = 0; deslocamento < 70; deslocamento += 7) {
+            int b = lerByte();
+            resultado |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return resultado;
+            }
+        }
+        throw new SerializationException("Varlong malformado na posição " + posicao);
+    }
+
+    public int lerInt() {
+        int valor = lerVarint();
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    public long lerLong() {
+        long valor = lerVarlong();
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    public String lerString() {
+        int tamanho = lerVarint();
+        exigir(tamanho);
+        String valor = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+        posicao += tamanho;
+        return valor;
+    }
+
+    public byte[] lerBytes() {
+        int tamanho = lerVarint();
+        exigir(tamanho);
+        byte[] valor = Arrays.copyOfRange(dados, posicao, posicao + tamanho);
+        posicao += tamanho;
+        return valor;
+    }
+
+    public BigDecimal lerBigDecimal() {
+        int escala = lerInt();
+        int tamanho = lerVarint();
+        if (tamanho == 0) {
+            return BigDecimal.valueOf(lerLong(), escala);
+        }
+        exigir(tamanho);
+        BigInteger unscaled = new BigInteger(dados, posicao, tamanho);
+        posicao += tamanho;
+        return new BigDecimal(unscaled, escala);
+    }
+
+    public LocalDateTime lerLocalDateTime() {
+        long segundos = lerLong();
+        return LocalDateTime.ofEpochSecond(segundos, lerVarint(), ZoneOffset.UTC);
+    }
+
+    public Instant lerInstant() {
+        long segundos = lerLong();
+        return Instant.ofEpochSecond(segundos, lerVarint());
+    }
+
+    private void exigir(int quantidade) {
+        if (quantidade < 0 || posicao + quantidade > dados.length) {
+            throw new SerializationException("Registro binário truncado | posicao=" + posicao + " necessario=" + quantidade);
+        }
+    }
+}
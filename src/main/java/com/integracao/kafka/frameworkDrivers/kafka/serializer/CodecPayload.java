@@ -0,0 +1,18 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+/**
+ * Codec binário de um tipo de payload do {@link com.integracao.kafka.domain.model.Evento}.
+ *
+ * A {@code tag} identifica o tipo no fio e não pode ser reaproveitada; a ordem dos campos
+ * escritos é parte do schema — campos novos entram no fim, atrás de um bit novo na máscara.
+ */
+public interface CodecPayload<T> {
+
+    int tag();
+
+    Class<T> tipo();
+
+    void escrever(T payload, BinarioEscritor escritor);
+
+    T ler(BinarioLeitor leitor);
+}
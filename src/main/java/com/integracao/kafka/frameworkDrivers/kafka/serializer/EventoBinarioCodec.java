@@ -0,0 +1,153 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.kafka.support.JacksonUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.domain.model.Evento;
+
+/**
+ * Codec binário do {@link Evento}, versionado e com ordem de campos fixa.
+ *
+ * Layout v1:
+ *   [byte versao][varint mascara] + campos presentes na ordem:
+ *   id, tipo, origem, destino, payload, criadoEm, status, tentativasRetry
+ *
+ * O payload é gravado como [varint tag] + corpo do {@link CodecPayload} registrado para o tipo;
+ * tipos sem codec (ex.: Map) caem na tag 0 com o corpo em JSON.
+ * Status é gravado pelo ordinal: valores novos do enum entram sempre no fim.
+ */
+public class EventoBinarioCodec {
+
+    public static final int VERSAO = 1;
+
+    private static final int TAG_JSON = 0;
+
+    private static final int ID = 1;
+    private static final int TIPO = 1 << 1;
+    private static final int ORIGEM = 1 << 2;
+    private static final int DESTINO = 1 << 3;
+    private static final int PAYLOAD = 1 << 4;
+    private static final int CRIADO_EM = 1 << 5;
+    private static final int STATUS = 1 << 6;
+    private static final int TENTATIVAS_RETRY = 1 << 7;
+
+    private static final Evento.StatusEvento[] STATUS_EVENTO = Evento.StatusEvento.values();
+
+    private final Map<Class<?>, CodecPayload<?>> codecsPorTipo = new HashMap<>();
+    private final Map<Integer, CodecPayload<?>> codecsPorTag = new HashMap<>();
+    private final ObjectMapper objectMapper;
+
+    public EventoBinarioCodec() {
+        this(List.of(new PedidoCodecPayload(), new NotaFiscalCodecPayload()), JacksonUtils.enhancedObjectMapper());
+    }
+
+    public EventoBinarioCodec(List<CodecPayload<?>> codecs, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (CodecPayload<?> codec : codecs) {
+            if (codec.tag() == TAG_JSON || codecsPorTag.putIfAbsent(codec.tag(), codec) != null) {
+                throw new IllegalArgumentException("Tag de payload inválida ou repetida: " + codec.tag());
+            }
+            codecsPorTipo.put(codec.tipo(), codec);
+        }
+    }
+
+    public byte[] codificar(Evento<?> evento) {
+        BinarioEscritor escritor = new BinarioEscritor(256);
+        escritor.escreverByte(VERSAO);
+
+        int mascara = 0;
+        if (evento.getId() != null) mascara |= ID;
+        if (evento.getTipo() != null) mascara |= TIPO;
+        if (evento.getOrigem() != null) mascara |= ORIGEM;
+        if (evento.getDestino() != null) mascara |= DESTINO;
+        if (evento.getPayload() != null) mascara |= PAYLOAD;
+        if (evento.getCriadoEm() != null) mascara |= CRIADO_EM;
+        if (evento.getStatus() != null) mascara |= STATUS;
+        if (evento.getTentativasRetry() != null) mascara |= TENTATIVAS_RETRY;
+        escritor.escreverVarint(mascara);
+
+        if ((mascara & ID) != 0) escritor.escreverString(evento.getId());
+        if ((mascara & TIPO) != 0) escritor.escreverString(evento.getTipo());
+        if ((mascara & ORIGEM) != 0) escritor.escreverString(evento.getOrigem());
+        if ((mascara & DESTINO) != 0) escritor.escreverString(evento.getDestino());
+        if ((mascara & PAYLOAD) != 0) escreverPayload(evento.getPayload(), escritor);
+        if ((mascara & CRIADO_EM) != 0) escritor.escreverLocalDateTime(evento.getCriadoEm());
+        if ((mascara & STATUS) != 0) escritor.escreverVarint(evento.getStatus().ordinal());
+        if ((mascara & TENTATIVAS_RETRY) != 0) escritor.escreverInt(evento.getTentativasRetry());
+
+        return escritor.toByteArray();
+    }
+
+    public Evento<Object> decodificar(byte[] dados) {
+        BinarioLeitor leitor = new BinarioLeitor(dados);
+        int versao = leitor.lerByte();
+        if (versao != VERSAO) {
+            throw new SerializationException("Versão de schema binário não suportada: " + versao);
+        }
+
+        int mascara = leitor.lerVarint();
+
+        // Campos com @Builder.Default: ausentes no fio precisam voltar como null
+        Evento<Object> evento = new Evento<>();
+        evento.setId(null);
+        evento.setCriadoEm(null);
+        evento.setTentativasRetry(null);
+
+        if ((mascara & ID) != 0) evento.setId(leitor.lerString());
+        if ((mascara & TIPO) != 0) evento.setTipo(leitor.lerString());
+        if ((mascara & ORIGEM) != 0) evento.setOrigem(leitor.lerString());
+        if ((mascara & DESTINO) != 0) evento.setDestino(leitor.lerString());
+        if ((mascara & PAYLOAD) != 0) evento.setPayload(lerPayload(leitor));
+        if ((mascara & CRIADO_EM) != 0) evento.setCriadoEm(leitor.lerLocalDateTime());
+        if ((mascara & STATUS) != 0) evento.setStatus(lerStatus(leitor.lerVarint()));
+        if ((mascara & TENTATIVAS_RETRY) != 0) evento.setTentativasRetry(leitor.lerInt());
+        return evento;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void escreverPayload(Object payload, BinarioEscritor escritor) {
+        CodecPayload<Object> codec = (CodecPayload<Object>) codecsPorTipo.get(payload.getClass());
+        if (codec != null) {
+            escritor.escreverVarint(codec.tag());
+            codec.escrever(payload, escritor);
+            return;
+        }
+
+        try {
+            escritor.escreverVarint(TAG_JSON);
+            escritor.escreverBytes(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException ex) {
+            throw new SerializationException("Falha ao serializar payload em JSON: " + payload.getClass().getName(), ex);
+        }
+    }
+
+    private Object lerPayload(BinarioLeitor leitor) {
+        int tag = leitor.lerVarint();
+        if (tag == TAG_JSON) {
+            try {
+                return objectMapper.readValue(leitor.lerBytes(), Object.class);
+            } catch (IOException ex) {
+                throw new SerializationException("Payload JSON inválido no registro binário", ex);
+            }
+        }
+
+        CodecPayload<?> codec = codecsPorTag.get(tag);
+        if (codec == null) {
+            throw new SerializationException("Tag de payload desconhecida: " + tag);
+        }
+        return codec.ler(leitor);
+    }
+
+    private Evento.StatusEvento lerStatus(int ordinal) {
+        if (ordinal < 0 || ordinal >= STATUS_EVENTO.length) {
+            throw new SerializationException("Status de evento desconhecido: " + ordinal);
+        }
+        return STATUS_EVENTO[ordinal];
+    }
+}
@@ -0,0 +1,73 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.integracao.kafka.domain.model.Evento;
+
+/**
+ * Deserializer de valor dos consumers do integrador.
+ *
+ * Escolhe o decoder pelo header content-type de cada registro, então JSON e binário
+ * podem conviver no mesmo tópico durante a migração. Sem header, assume JSON.
+ *
+ * No JSON, quando o tipo do evento é conhecido ({@link TiposPayload}), o payload já sai
+ * tipado ({@code Evento<Pedido>}) em uma passada; os demais seguem no {@link JsonDeserializer}.
+ */
+public class EventoDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+    private final EventoBinarioCodec codec = new EventoBinarioCodec();
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    private final Map<Class<?>, ObjectReader> leitoresPorPayload = new ConcurrentHashMap<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (FormatoSerializacao.doRegistro(headers) == FormatoSerializacao.BINARIO) {
+            return codec.decodificar(data);
+        }
+
+        Class<?> payload = TiposPayload.payloadDoTipo(TiposPayload.tipoDoRegistro(headers, data));
+        if (payload == null) {
+            return json.deserialize(topic, headers, data);
+        }
+        try {
+            return leitorPara(payload).readValue(data);
+        } catch (IOException ex) {
+            throw new SerializationException("Falha ao desserializar evento | topico=" + topic
+                + " payload=" + payload.getSimpleName(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+
+    private ObjectReader leitorPara(Class<?> payload) {
+        return leitoresPorPayload.computeIfAbsent(payload, tipo -> objectMapper.readerFor(
+            objectMapper.getTypeFactory().constructParametricType(Evento.class, tipo)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.integracao.kafka.domain.model.Evento;
+
+/**
+ * Serializer de valor dos producers do integrador.
+ *
+ * Com {@code integrador.serializacao.formato=binario}, eventos são gravados pelo
+ * {@link EventoBinarioCodec}; qualquer outro valor (ou formato json) segue no
+ * {@link JsonSerializer}. O formato usado vai no header content-type do registro e o
+ * Evento.tipo no header evento-tipo, usado pelo consumer para tipar o payload.
+ */
+public class EventoSerializer implements Serializer<Object> {
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+    private final EventoBinarioCodec codec = new EventoBinarioCodec();
+    private FormatoSerializacao formato = FormatoSerializacao.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        formato = FormatoSerializacao.daConfiguracao(configs);
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof Evento<?> evento && evento.getTipo() != null) {
+            headers.remove(TiposPayload.HEADER_TIPO_EVENTO);
+            headers.add(TiposPayload.HEADER_TIPO_EVENTO, evento.getTipo().getBytes(StandardCharsets.UTF_8));
+        }
+        if (formato == FormatoSerializacao.BINARIO && data instanceof Evento<?> evento) {
+            FormatoSerializacao.BINARIO.aplicar(headers);
+            return codec.codificar(evento);
+        }
+        byte[] bytes = json.serialize(topic, headers, data);
+        FormatoSerializacao.JSON.aplicar(headers);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Formatos de valor suportados nos tópicos do integrador.
+ *
+ * O formato de cada registro vai no header {@code content-type}; registros sem o header
+ * (produzidos antes do codec binário) são tratados como JSON.
+ */
+public enum FormatoSerializacao {
+
+    JSON("application/json"),
+    BINARIO("application/vnd.integrador.evento+binary");
+
+    /** Propriedade do producer (spring.kafka.producer.properties) que escolhe o formato de escrita. */
+    public static final String CONFIG_FORMATO = "integrador.serializacao.formato";
+
+    public static final String HEADER_CONTENT_TYPE = "content-type";
+
+    private final String contentType;
+    private final byte[] contentTypeBytes;
+
+    FormatoSerializacao(String contentType) {
+        this.contentType = contentType;
+        this.contentTypeBytes = contentType.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public void aplicar(Headers headers) {
+        headers.remove(HEADER_CONTENT_TYPE);
+        headers.add(HEADER_CONTENT_TYPE, contentTypeBytes);
+    }
+
+    public static FormatoSerializacao daConfiguracao(Map<String, ?> configs) {
+        Object valor = configs.get(CONFIG_FORMATO);
+        if (valor == null || valor.toString().isBlank()) {
+            return JSON;
+        }
+        return switch (valor.toString().trim().toLowerCase()) {
+            case "json" -> JSON;
+            case "binario", "binary" -> BINARIO;
+            default -> throw new IllegalArgumentException("Formato de serialização inválido: " + valor);
+        };
+    }
+
+    public static FormatoSerializacao doRegistro(Headers headers) {
+        Header header = headers == null ? null : headers.lastHeader(HEADER_CONTENT_TYPE);
+        if (header != null && BINARIO.contentType.equals(new String(header.value(), StandardCharsets.UTF_8))) {
+            return BINARIO;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,90 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import com.integracao.kafka.domain.model.NotaFiscal;
+
+/**
+ * NotaFiscal: máscara de presença em varint seguida dos campos não nulos, na ordem abaixo.
+ */
+public class NotaFiscalCodecPayload implements CodecPayload<NotaFiscal> {
+
+    public static final int TAG = 2;
+
+    private static final int NUMERO_NOTA = 1;
+    private static final int NUMERO_PEDIDO = 1 << 1;
+    private static final int CLIENTE = 1 << 2;
+    private static final int PRODUTO = 1 << 3;
+    private static final int QUANTIDADE = 1 << 4;
+    private static final int VALOR_TOTAL = 1 << 5;
+    private static final int DATA_PEDIDO = 1 << 6;
+    private static final int DATA_PROCESSAMENTO = 1 << 7;
+    private static final int STATUS_PROCESSAMENTO = 1 << 8;
+    private static final int KAFKA_OFFSET = 1 << 9;
+    private static final int KAFKA_PARTITION = 1 << 10;
+    private static final int KAFKA_TOPIC = 1 << 11;
+    private static final int KAFKA_TIMESTAMP = 1 << 12;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<NotaFiscal> tipo() {
+        return NotaFiscal.class;
+    }
+
+    @Override
+    public void escrever(NotaFiscal nota, BinarioEscritor escritor) {
+        int mascara = 0;
+        if (nota.getNumeroNota() != null) mascara |= NUMERO_NOTA;
+        if (nota.getNumeroPedido() != null) mascara |= NUMERO_PEDIDO;
+        if (nota.getCliente() != null) mascara |= CLIENTE;
+        if (nota.getProduto() != null) mascara |= PRODUTO;
+        if (nota.getQuantidade() != null) mascara |= QUANTIDADE;
+        if (nota.getValorTotal() != null) mascara |= VALOR_TOTAL;
+        if (nota.getDataPedido() != null) mascara |= DATA_PEDIDO;
+        if (nota.getDataProcessamento() != null) mascara |= DATA_PROCESSAMENTO;
+        if (nota.getStatusProcessamento() != null) mascara |= STATUS_PROCESSAMENTO;
+        if (nota.getKafkaOffset() != null) mascara |= KAFKA_OFFSET;
+        if (nota.getKafkaPartition() != null) mascara |= KAFKA_PARTITION;
+        if (nota.getKafkaTopic() != null) mascara |= KAFKA_TOPIC;
+        if (nota.getKafkaTimestamp() != null) mascara |= KAFKA_TIMESTAMP;
+        escritor.escreverVarint(mascara);
+
+        if ((mascara & NUMERO_NOTA) != 0) escritor.escreverString(nota.getNumeroNota());
+        if ((mascara & NUMERO_PEDIDO) != 0) escritor.escreverString(nota.getNumeroPedido());
+        if ((mascara & CLIENTE) != 0) escritor.escreverString(nota.getCliente());
+        if ((mascara & PRODUTO) != 0) escritor.escreverString(nota.getProduto());
+        if ((mascara & QUANTIDADE) != 0) escritor.escreverInt(nota.getQuantidade());
+        if ((mascara & VALOR_TOTAL) != 0) escritor.escreverBigDecimal(nota.getValorTotal());
+        if ((mascara & DATA_PEDIDO) != 0) escritor.escreverLocalDateTime(nota.getDataPedido());
+        if ((mascara & DATA_PROCESSAMENTO) != 0) escritor.escreverLocalDateTime(nota.getDataProcessamento());
+        if ((mascara & STATUS_PROCESSAMENTO) != 0) escritor.escreverString(nota.getStatusProcessamento());
+        if ((mascara & KAFKA_OFFSET) != 0) escritor.escreverLong(nota.getKafkaOffset());
+        if ((mascara & KAFKA_PARTITION) != 0) escritor.escreverInt(nota.getKafkaPartition());
+        if ((mascara & KAFKA_TOPIC) != 0) escritor.escreverString(nota.getKafkaTopic());
+        if ((mascara & KAFKA_TIMESTAMP) != 0) escritor.escreverInstant(nota.getKafkaTimestamp());
+    }
+
+    @Override
+    public NotaFiscal ler(BinarioLeitor leitor) {
+        int mascara = leitor.lerVarint();
+
+        NotaFiscal nota = new NotaFiscal();
+        nota.setDataPedido(null);
+        if ((mascara & NUMERO_NOTA) != 0) nota.setNumeroNota(leitor.lerString());
+        if ((mascara & NUMERO_PEDIDO) != 0) nota.setNumeroPedido(leitor.lerString());
+        if ((mascara & CLIENTE) != 0) nota.setCliente(leitor.lerString());
+        if ((mascara & PRODUTO) != 0) nota.setProduto(leitor.lerString());
+        if ((mascara & QUANTIDADE) != 0) nota.setQuantidade(leitor.lerInt());
+        if ((mascara & VALOR_TOTAL) != 0) nota.setValorTotal(leitor.lerBigDecimal());
+        if ((mascara & DATA_PEDIDO) != 0) nota.setDataPedido(leitor.lerLocalDateTime());
+        if ((mascara & DATA_PROCESSAMENTO) != 0) nota.setDataProcessamento(leitor.lerLocalDateTime());
+        if ((mascara & STATUS_PROCESSAMENTO) != 0) nota.setStatusProcessamento(leitor.lerString());
+        if ((mascara & KAFKA_OFFSET) != 0) nota.setKafkaOffset(leitor.lerLong());
+        if ((mascara & KAFKA_PARTITION) != 0) nota.setKafkaPartition(leitor.lerInt());
+        if ((mascara & KAFKA_TOPIC) != 0) nota.setKafkaTopic(leitor.lerString());
+        if ((mascara & KAFKA_TIMESTAMP) != 0) nota.setKafkaTimestamp(leitor.lerInstant());
+        return nota;
+    }
+}
@@ -0,0 +1,87 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import com.integracao.kafka.domain.model.Pedido;
+
+/**
+ * Pedido: máscara de presença em varint seguida dos campos não nulos, na ordem abaixo.
+ */
+public class PedidoCodecPayload implements CodecPayload<Pedido> {
+
+    public static final int TAG = 1;
+
+    private static final int NUMERO_PEDIDO = 1;
+    private static final int CLIENTE = 1 << 1;
+    private static final int PRODUTO = 1 << 2;
+    private static final int QUANTIDADE = 1 << 3;
+    private static final int VALOR_TOTAL = 1 << 4;
+    private static final int DATA_PEDIDO = 1 << 5;
+    private static final int DATA_PROCESSAMENTO = 1 << 6;
+    private static final int STATUS_PROCESSAMENTO = 1 << 7;
+    private static final int KAFKA_OFFSET = 1 << 8;
+    private static final int KAFKA_PARTITION = 1 << 9;
+    private static final int KAFKA_TOPIC = 1 << 10;
+    private static final int KAFKA_TIMESTAMP = 1 << 11;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<Pedido> tipo() {
+        return Pedido.class;
+    }
+
+    @Override
+    public void escrever(Pedido pedido, BinarioEscritor escritor) {
+        int mascara = 0;
+        if (pedido.getNumeroPedido() != null) mascara |= NUMERO_PEDIDO;
+        if (pedido.getCliente() != null) mascara |= CLIENTE;
+        if (pedido.getProduto() != null) mascara |= PRODUTO;
+        if (pedido.getQuantidade() != null) mascara |= QUANTIDADE;
+        if (pedido.getValorTotal() != null) mascara |= VALOR_TOTAL;
+        if (pedido.getDataPedido() != null) mascara |= DATA_PEDIDO;
+        if (pedido.getDataProcessamento() != null) mascara |= DATA_PROCESSAMENTO;
+        if (pedido.getStatusProcessamento() != null) mascara |= STATUS_PROCESSAMENTO;
+        if (pedido.getKafkaOffset() != null) mascara |= KAFKA_OFFSET;
+        if (pedido.getKafkaPartition() != null) mascara |= KAFKA_PARTITION;
+        if (pedido.getKafkaTopic() != null) mascara |= KAFKA_TOPIC;
+        if (pedido.getKafkaTimestamp() != null) mascara |= KAFKA_TIMESTAMP;
+        escritor.escreverVarint(mascara);
+
+        if ((mascara & NUMERO_PEDIDO) != 0) escritor.escreverString(pedido.getNumeroPedido());
+        if ((mascara & CLIENTE) != 0) escritor.escreverString(pedido.getCliente());
+        if ((mascara & PRODUTO) != 0) escritor.escreverString(pedido.getProduto());
+        if ((mascara & QUANTIDADE) != 0) escritor.escreverInt(pedido.getQuantidade());
+        if ((mascara & VALOR_TOTAL) != 0) escritor.escreverBigDecimal(pedido.getValorTotal());
+        if ((mascara & DATA_PEDIDO) != 0) escritor.escreverLocalDateTime(pedido.getDataPedido());
+        if ((mascara & DATA_PROCESSAMENTO) != 0) escritor.escreverLocalDateTime(pedido.getDataProcessamento());
+        if ((mascara & STATUS_PROCESSAMENTO) != 0) escritor.escreverString(pedido.getStatusProcessamento());
+        if ((mascara & KAFKA_OFFSET) != 0) escritor.escreverLong(pedido.getKafkaOffset());
+        if ((mascara & KAFKA_PARTITION) != 0) escritor.escreverInt(pedido.getKafkaPartition());
+        if ((mascara & KAFKA_TOPIC) != 0) escritor.escreverString(pedido.getKafkaTopic());
+        if ((mascara & KAFKA_TIMESTAMP) != 0) escritor.escreverInstant(pedido.getKafkaTimestamp());
+    }
+
+    @Override
+    public Pedido ler(BinarioLeitor leitor) {
+        int mascara = leitor.lerVarint();
+
+        // dataPedido tem valor default no builder: ausente no fio precisa voltar como null
+        Pedido pedido = new Pedido();
+        pedido.setDataPedido(null);
+        if ((mascara & NUMERO_PEDIDO) != 0) pedido.setNumeroPedido(leitor.lerString());
+        if ((mascara & CLIENTE) != 0) pedido.setCliente(leitor.lerString());
+        if ((mascara & PRODUTO) != 0) pedido.setProduto(leitor.lerString());
+        if ((mascara & QUANTIDADE) != 0) pedido.setQuantidade(leitor.lerInt());
+        if ((mascara & VALOR_TOTAL) != 0) pedido.setValorTotal(leitor.lerBigDecimal());
+        if ((mascara & DATA_PEDIDO) != 0) pedido.setDataPedido(leitor.lerLocalDateTime());
+        if ((mascara & DATA_PROCESSAMENTO) != 0) pedido.setDataProcessamento(leitor.lerLocalDateTime());
+        if ((mascara & STATUS_PROCESSAMENTO) != 0) pedido.setStatusProcessamento(leitor.lerString());
+        if ((mascara & KAFKA_OFFSET) != 0) pedido.setKafkaOffset(leitor.lerLong());
+        if ((mascara & KAFKA_PARTITION) != 0) pedido.setKafkaPartition(leitor.lerInt());
+        if ((mascara & KAFKA_TOPIC) != 0) pedido.setKafkaTopic(leitor.lerString());
+        if ((mascara & KAFKA_TIMESTAMP) != 0) pedido.setKafkaTimestamp(leitor.lerInstant());
+        return pedido;
+    }
+}
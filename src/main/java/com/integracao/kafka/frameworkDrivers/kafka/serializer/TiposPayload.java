@@ -0,0 +1,73 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.integracao.kafka.domain.model.NotaFiscal;
+import com.integracao.kafka.domain.model.Pedido;
+
+/**
+ * Mapa fechado de {@code Evento.tipo} para a classe do payload.
+ *
+ * Permite decodificar {@code Evento<Pedido>} / {@code Evento<NotaFiscal>} em uma única passada,
+ * sem o LinkedHashMap intermediário. Tipos fora do mapa continuam com payload genérico.
+ */
+public final class TiposPayload {
+
+    /** Header com o Evento.tipo, escrito pelo {@link EventoSerializer}. */
+    public static final String HEADER_TIPO_EVENTO = "evento-tipo";
+
+    private static final Map<String, Class<?>> PAYLOAD_POR_TIPO = Map.of(
+        "PEDIDO_CRIADO", Pedido.class,
+        "PEDIDO_PROCESSADO", Pedido.class,
+        "NOTA_FISCAL_CRIADA", NotaFiscal.class,
+        "NOTA_FISCAL_PROCESSADA", NotaFiscal.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private TiposPayload() {
+    }
+
+    public static Class<?> payloadDoTipo(String tipo) {
+        return tipo == null ? null : PAYLOAD_POR_TIPO.get(tipo);
+    }
+
+    /**
+     * Tipo do evento pelo header; sem header (registros antigos), lê o campo "tipo" do JSON
+     * em streaming, parando assim que o encontra e pulando objetos aninhados sem materializá-los.
+     */
+    public static String tipoDoRegistro(Headers headers, byte[] json) {
+        Header header = headers == null ? null : headers.lastHeader(HEADER_TIPO_EVENTO);
+        if (header != null) {
+            return new String(header.value(), StandardCharsets.UTF_8);
+        }
+        return json == null ? null : tipoDoJson(json);
+    }
+
+    static String tipoDoJson(byte[] json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                if ("tipo".equals(campo)) {
+                    return valor == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException ex) {
+            // JSON inválido: o deserializer padrão reporta o erro com mais contexto
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+/**
+ * Delimita o processamento de uma mensagem na thread atual para a amostragem de log.
+ *
+ * Os consumers chamam {@link #iniciarMensagem()} ao receber o registro e
+ * {@link #encerrarMensagem()} ao terminar; o {@link FiltroAmostragemLog} sorteia uma vez por
+ * mensagem se as linhas INFO/DEBUG dela saem, então uma mensagem amostrada aparece inteira no
+ * log e as demais não aparecem. Fora de uma mensagem (API, jobs) nada é amostrado.
+ * Sem o profile log-hot-path o filtro não existe e as chamadas só marcam a thread.
+ */
+public final class AmostragemLog {
+
+    static final int FORA = 0;
+    static final int PENDENTE = 1;
+    static final int LOGAR = 2;
+    static final int SUPRIMIR = 3;
+
+    private static final ThreadLocal<Estado> ESTADO = ThreadLocal.withInitial(Estado::new);
+
+    private AmostragemLog() {
+    }
+
+    public static void iniciarMensagem() {
+        ESTADO.get().situacao = PENDENTE;
+    }
+
+    public static void encerrarMensagem() {
+        ESTADO.get().situacao = FORA;
+    }
+
+    static Estado estado() {
+        return ESTADO.get();
+    }
+
+    static final class Estado {
+        int situacao = FORA;
+    }
+}
@@ -0,0 +1,214 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Appender assíncrono do profile log-hot-path: a thread que loga só enfileira o evento num
+ * buffer circular de tamanho fixo e uma thread escritora repassa em lotes aos appenders filhos
+ * (console, Loki).
+ *
+ * Diferente do AsyncAppender do logback, que descarta INFO em silêncio acima de 80% da fila:
+ * com o buffer cheio, INFO/DEBUG são descartados na hora e contados em
+ * integrador_log_linhas_total{resultado="descartada"}; WARN/ERROR esperam até
+ * {@code esperaErroMs} por espaço antes de serem contados como descartados.
+ *
+ * A formatação da mensagem fica para a escritora; nome da thread e MDC são capturados na
+ * origem. Argumentos imutáveis (textos, números, enums, datas) seguem como estão; os demais
+ * (mapas, listas, entidades) são trocados pelo toString() na origem, numa cópia dos argumentos
+ * ({@link EventoCapturado}), para a linha mostrar o valor do momento do log e não o de quando
+ * a escritora chegar nela.
+ */
+public class AppenderAssincrono extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int TAMANHO_LOTE = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int capacidade = 8192;
+    private long esperaErroMs = 100;
+    private long esperaEncerramentoMs = 2000;
+
+    private ArrayBlockingQueue<ILoggingEvent> fila;
+    private Thread escritora;
+
+    public void setCapacidade(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    public void setEsperaErroMs(long esperaErroMs) {
+        this.esperaErroMs = esperaErroMs;
+    }
+
+    public void setEsperaEncerramentoMs(long esperaEncerramentoMs) {
+        this.esperaEncerramentoMs = esperaEncerramentoMs;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacidade < 1) {
+            addError("capacidade deve ser positiva: " + capacidade);
+            return;
+        }
+        fila = new ArrayBlockingQueue<>(capacidade);
+        escritora = new Thread(this::escrever, "log-assincrono");
+        escritora.setDaemon(true);
+        super.start();
+        escritora.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        // A escritora esvazia o buffer antes de sair; os filhos só param depois disso
+        super.stop();
+        try {
+            escritora.join(esperaEncerramentoMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!fila.isEmpty()) {
+            addWarn("Encerrado com " + fila.size() + " eventos não escritos");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent evento) {
+        if (!evento.getLevel().isGreaterOrEqual(Level.WARN)) {
+            if (fila.remainingCapacity() == 0 || !fila.offer(capturar(evento))) {
+                ContadoresLog.DESCARTADAS.increment();
+            }
+            return;
+        }
+
+        try {
+            if (!fila.offer(capturar(evento), esperaErroMs, TimeUnit.MILLISECONDS)) {
+                ContadoresLog.DESCARTADAS.increment();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            ContadoresLog.DESCARTADAS.increment();
+        }
+    }
+
+    int pendentes() {
+        return fila == null ? 0 : fila.size();
+    }
+
+    private static ILoggingEvent capturar(ILoggingEvent evento) {
+        // Ambos são resolvidos sob demanda a partir da thread corrente
+        evento.getThreadName();
+        evento.getMDCPropertyMap();
+
+        // O array do evento pode ser o Object[] da própria aplicação: as trocas vão para uma cópia
+        Object[] argumentos = evento.getArgumentArray();
+        Object[] capturados = null;
+        if (argumentos != null) {
+            for (int i = 0; i < argumentos.length; i++) {
+                if (!imutavel(argumentos[i])) {
+                    if (capturados == null) {
+                        capturados = argumentos.clone();
+                    }
+                    capturados[i] = argumentos[i] instanceof Object[] vetor ? Arrays.deepToString(vetor) : argumentos[i].toString();
+                }
+            }
+        }
+        return capturados == null ? evento : new EventoCapturado(evento, capturados);
+    }
+
+    private static boolean imutavel(Object valor) {
+        return valor == null
+            || valor instanceof String
+            || valor instanceof Integer || valor instanceof Long || valor instanceof Short || valor instanceof Byte
+            || valor instanceof Double || valor instanceof Float || valor instanceof Boolean || valor instanceof Character
+            || valor instanceof BigDecimal || valor instanceof BigInteger
+            || valor instanceof Enum<?>
+            || valor instanceof UUID
+            || valor instanceof TemporalAccessor || valor instanceof Duration
+            // Extraído para o ThrowableProxy; o encoder depende do tipo para não repetir
+            || valor instanceof Throwable;
+    }
+
+    private void escrever() {
+        List<ILoggingEvent> lote = new ArrayList<>(TAMANHO_LOTE);
+        while (isStarted() || !fila.isEmpty()) {
+            try {
+                ILoggingEvent primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, TAMANHO_LOTE - 1);
+            } catch (InterruptedException ex) {
+                fila.drainTo(lote);
+            }
+
+            for (ILoggingEvent evento : lote) {
+                try {
+                    appenders.appendLoopOnAppenders(evento);
+                } catch (RuntimeException ex) {
+                    addError("Falha ao escrever evento de log", ex);
+                }
+            }
+            lote.clear();
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String nome) {
+        return appenders.getAppender(nome);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String nome) {
+        return appenders.detachAppender(nome);
+    }
+}
@@ -0,0 +1,19 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores dos componentes de log. O logback sobe antes do Spring e não recebe beans, então
+ * os contadores são estáticos e o {@link MetricasLog} só os expõe no registry.
+ */
+final class ContadoresLog {
+
+    /** Linhas INFO/DEBUG suprimidas pela amostragem por mensagem. */
+    static final LongAdder AMOSTRADAS = new LongAdder();
+
+    /** Linhas perdidas porque o buffer do appender assíncrono estava cheio. */
+    static final LongAdder DESCARTADAS = new LongAdder();
+
+    private ContadoresLog() {
+    }
+}
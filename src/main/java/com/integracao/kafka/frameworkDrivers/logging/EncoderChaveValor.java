@@ -0,0 +1,255 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * Encoder logfmt (uma linha chave=valor por evento) do profile log-hot-path.
+ *
+ * Aproveita a convenção de log do integrador, {@code "[TAG] texto | chave={} chave={}"}: o
+ * texto vira {@code msg} e cada {@code chave={}} vira um par com o argumento correspondente,
+ * sem montar a mensagem formatada. Mensagens fora da convenção saem inteiras em {@code msg}.
+ * O modelo de cada mensagem é analisado uma vez e os buffers são reaproveitados entre eventos;
+ * a única alocação por linha é o byte[] devolvido ao appender.
+ */
+public class EncoderChaveValor extends EncoderBase<ILoggingEvent> {
+
+    private static final int MAX_MODELOS = 2000;
+    private static final DateTimeFormatter FORMATO_SEGUNDO =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final Map<String, Modelo> modelos = new ConcurrentHashMap<>();
+    private final StringBuilder linha = new StringBuilder(512);
+    private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer bytes = ByteBuffer.allocate(1024);
+    private long segundoEmCache = Long.MIN_VALUE;
+    private String segundoFormatado;
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public synchronized byte[] encode(ILoggingEvent evento) {
+        linha.setLength(0);
+        escreverCabecalho(evento);
+        escreverMensagem(evento);
+
+        List<KeyValuePair> pares = evento.getKeyValuePairs();
+        if (pares != null) {
+            for (KeyValuePair par : pares) {
+                linha.append(' ').append(par.key).append('=');
+                escreverValor(par.value);
+            }
+        }
+
+        IThrowableProxy erro = evento.getThrowableProxy();
+        if (erro != null) {
+            linha.append(" erro=");
+            escreverValor(erro.getClassName() + ": " + erro.getMessage());
+            linha.append('\n').append(ThrowableProxyUtil.asString(erro));
+        }
+        linha.append('\n');
+        return paraBytes();
+    }
+
+    private void escreverCabecalho(ILoggingEvent evento) {
+        long timestamp = evento.getTimeStamp();
+        long segundo = Math.floorDiv(timestamp, 1000);
+        if (segundo != segundoEmCache) {
+            segundoFormatado = FORMATO_SEGUNDO.format(Instant.ofEpochSecond(segundo));
+            segundoEmCache = segundo;
+        }
+        int milis = (int) Math.floorMod(timestamp, 1000);
+        linha.append("ts=").append(segundoFormatado).append('.');
+        if (milis < 100) {
+            linha.append('0');
+        }
+        if (milis < 10) {
+            linha.append('0');
+        }
+        linha.append(milis);
+
+        linha.append(" level=").append(evento.getLevel().levelStr);
+        linha.append(" thread=");
+        escreverValor(evento.getThreadName());
+        String logger = evento.getLoggerName();
+        linha.append(" logger=").append(logger, logger.lastIndexOf('.') + 1, logger.length());
+
+        String traceId = evento.getMDCPropertyMap().get("traceId");
+        if (traceId != null) {
+            linha.append(" traceId=").append(traceId);
+        }
+    }
+
+    private void escreverMensagem(ILoggingEvent evento) {
+        String mensagem = evento.getMessage();
+        Object[] argumentos = evento.getArgumentArray();
+        Modelo modelo = mensagem == null ? null : modelo(mensagem);
+
+        int quantidade = argumentos == null ? 0 : argumentos.length;
+        // Throwable no último argumento já foi extraído para getThrowableProxy
+        if (quantidade > 0 && argumentos[quantidade - 1] instanceof Throwable && evento.getThrowableProxy() != null) {
+            quantidade--;
+        }
+        if (modelo == null || modelo.chaves.length != quantidade) {
+            linha.append(" msg=");
+            escreverValor(evento.getFormattedMessage());
+            return;
+        }
+
+        linha.append(" msg=");
+        escreverValor(modelo.texto);
+        for (int i = 0; i < quantidade; i++) {
+            linha.append(' ').append(modelo.chaves[i]).append('=');
+            escreverValor(argumentos[i]);
+        }
+    }
+
+    private Modelo modelo(String mensagem) {
+        Modelo modelo = modelos.get(mensagem);
+        if (modelo != null) {
+            return modelo.valido() ? modelo : null;
+        }
+        modelo = Modelo.de(mensagem);
+        // Mensagens montadas por concatenação não devem crescer o cache sem limite
+        if (modelos.size() < MAX_MODELOS) {
+            modelos.put(mensagem, modelo);
+        }
+        return modelo.valido() ? modelo : null;
+    }
+
+    private void escreverValor(Object valor) {
+        if (valor instanceof Integer || valor instanceof Long) {
+            linha.append(((Number) valor).longValue());
+            return;
+        }
+        if (valor instanceof Boolean logico) {
+            linha.append(logico.booleanValue());
+            return;
+        }
+        if (valor instanceof Object[] vetor) {
+            valor = Arrays.deepToString(vetor);
+        }
+        String texto = String.valueOf(valor);
+        if (!precisaAspas(texto)) {
+            linha.append(texto);
+            return;
+        }
+        linha.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> linha.append("\\\"");
+                case '\\' -> linha.append("\\\\");
+                case '\n' -> linha.append("\\n");
+                case '\r' -> linha.append("\\r");
+                case '\t' -> linha.append("\\t");
+                default -> linha.append(c);
+            }
+        }
+        linha.append('"');
+    }
+
+    private static boolean precisaAspas(String texto) {
+        if (texto.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c <= ' ' || c == '"' || c == '=' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] paraBytes() {
+        CharBuffer caracteres = CharBuffer.wrap(linha);
+        bytes.clear();
+        utf8.reset();
+        while (true) {
+            CoderResult resultado = utf8.encode(caracteres, bytes, true);
+            if (resultado.isOverflow()) {
+                ByteBuffer maior = ByteBuffer.allocate(bytes.capacity() * 2);
+                bytes.flip();
+                maior.put(bytes);
+                bytes = maior;
+                continue;
+            }
+            break;
+        }
+        utf8.flush(bytes);
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * Texto antes de " | " e as chaves de cada "chave={}" depois dele; inválido quando há
+     * placeholder no texto ou placeholder sem chave.
+     */
+    record Modelo(String texto, String[] chaves) {
+
+        private static final Modelo INVALIDO = new Modelo(null, new String[0]);
+
+        boolean valido() {
+            return texto != null;
+        }
+
+        static Modelo de(String mensagem) {
+            int separador = mensagem.indexOf(" | ");
+            String texto = separador < 0 ? mensagem : mensagem.substring(0, separador);
+            if (texto.contains("{}")) {
+                return INVALIDO;
+            }
+            if (separador < 0) {
+                return new Modelo(texto, new String[0]);
+            }
+
+            List<String> chaves = new ArrayList<>();
+            String resto = mensagem.substring(separador + 3);
+            int inicio = 0;
+            int placeholder;
+            while ((placeholder = resto.indexOf("{}", inicio)) >= 0) {
+                // Placeholder sem chave (ex.: o segundo de "tentativa={}/{}")
+                int igual = placeholder - 1;
+                if (igual < inicio || resto.charAt(igual) != '=') {
+                    return INVALIDO;
+                }
+                int inicioChave = igual;
+                while (inicioChave > inicio && !Character.isWhitespace(resto.charAt(inicioChave - 1))) {
+                    inicioChave--;
+                }
+                if (inicioChave == igual) {
+                    return INVALIDO;
+                }
+                chaves.add(resto.substring(inicioChave, igual));
+                inicio = placeholder + 2;
+            }
+            return new Modelo(texto, chaves.toArray(String[]::new));
+        }
+    }
+}
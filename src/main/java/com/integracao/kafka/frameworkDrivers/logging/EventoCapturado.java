@@ -0,0 +1,132 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.helpers.MessageFormatter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+
+/**
+ * Evento de log com os argumentos já capturados pelo {@link AppenderAssincrono}.
+ *
+ * O array de argumentos do evento original pode ser o próprio Object[] que a aplicação passou
+ * ao logger, então a captura vai para uma cópia e o resto é lido do evento original.
+ */
+final class EventoCapturado implements ILoggingEvent {
+
+    private final ILoggingEvent original;
+    private final Object[] argumentos;
+    private String mensagemFormatada;
+
+    EventoCapturado(ILoggingEvent original, Object[] argumentos) {
+        this.original = original;
+        this.argumentos = argumentos;
+    }
+
+    @Override
+    public Object[] getArgumentArray() {
+        return argumentos;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+        if (mensagemFormatada == null) {
+            mensagemFormatada = MessageFormatter.arrayFormat(original.getMessage(), argumentos).getMessage();
+        }
+        return mensagemFormatada;
+    }
+
+    @Override
+    public String getThreadName() {
+        return original.getThreadName();
+    }
+
+    @Override
+    public Level getLevel() {
+        return original.getLevel();
+    }
+
+    @Override
+    public String getMessage() {
+        return original.getMessage();
+    }
+
+    @Override
+    public String getLoggerName() {
+        return original.getLoggerName();
+    }
+
+    @Override
+    public LoggerContextVO getLoggerContextVO() {
+        return original.getLoggerContextVO();
+    }
+
+    @Override
+    public IThrowableProxy getThrowableProxy() {
+        return original.getThrowableProxy();
+    }
+
+    @Override
+    public StackTraceElement[] getCallerData() {
+        return original.getCallerData();
+    }
+
+    @Override
+    public boolean hasCallerData() {
+        return original.hasCallerData();
+    }
+
+    @Override
+    public List<Marker> getMarkerList() {
+        return original.getMarkerList();
+    }
+
+    @Override
+    public Map<String, String> getMDCPropertyMap() {
+        return original.getMDCPropertyMap();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Map<String, String> getMdc() {
+        return original.getMdc();
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return original.getTimeStamp();
+    }
+
+    @Override
+    public int getNanoseconds() {
+        return original.getNanoseconds();
+    }
+
+    @Override
+    public Instant getInstant() {
+        return original.getInstant();
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return original.getSequenceNumber();
+    }
+
+    @Override
+    public List<KeyValuePair> getKeyValuePairs() {
+        return original.getKeyValuePairs();
+    }
+
+    @Override
+    public void prepareForDeferredProcessing() {
+        original.prepareForDeferredProcessing();
+        getFormattedMessage();
+    }
+}
@@ -0,0 +1,56 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import com.integracao.kafka.frameworkDrivers.logging.AmostragemLog.Estado;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Amostragem por mensagem (profile log-hot-path): dentro de uma mensagem delimitada por
+ * {@link AmostragemLog}, só uma fração {@code taxa} das mensagens loga INFO/DEBUG.
+ *
+ * WARN e ERROR sempre passam e, a partir deles, o restante da mensagem também é logado.
+ * Roda antes da formatação e da checagem de nível do logback, por isso a checagem de nível
+ * efetivo vem primeiro: linha que já não sairia não conta como amostrada.
+ */
+public class FiltroAmostragemLog extends TurboFilter {
+
+    private double taxa = 1.0;
+
+    public void setTaxa(double taxa) {
+        this.taxa = Math.max(0.0, Math.min(1.0, taxa));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || taxa >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        Estado estado = AmostragemLog.estado();
+        if (estado.situacao == AmostragemLog.FORA) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level.isGreaterOrEqual(Level.WARN)) {
+            estado.situacao = AmostragemLog.LOGAR;
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (estado.situacao == AmostragemLog.PENDENTE) {
+            estado.situacao = ThreadLocalRandom.current().nextDouble() < taxa ? AmostragemLog.LOGAR : AmostragemLog.SUPRIMIR;
+        }
+        if (estado.situacao == AmostragemLog.SUPRIMIR) {
+            ContadoresLog.AMOSTRADAS.increment();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
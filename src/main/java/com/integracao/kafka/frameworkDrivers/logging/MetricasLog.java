@@ -0,0 +1,25 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import org.springframework.stereotype.Component;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expõe no registry os contadores do appender assíncrono e da amostragem de log.
+ * Sem o profile log-hot-path os dois ficam em zero.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasLog {
+
+    private final IntegradorMetrics metrics;
+
+    @PostConstruct
+    void registrar() {
+        metrics.registrarLinhasLog("amostrada", ContadoresLog.AMOSTRADAS);
+        metrics.registrarLinhasLog("descartada", ContadoresLog.DESCARTADAS);
+    }
+}
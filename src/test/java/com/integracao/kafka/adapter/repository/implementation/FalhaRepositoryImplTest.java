@@ -0,0 +1,62 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.integracao.kafka.application.repository.FiltroFalhas;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.Ocorrencia;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+@DataJpaTest(properties = "integrador.falhas.armazenamento=banco")
+@Import({FalhaRepositoryImpl.class, JacksonAutoConfiguration.class})
+class FalhaRepositoryImplTest {
+
+    @Autowired
+    private FalhaRepositoryImpl falhaRepository;
+
+    @Test
+    void deveRegistrarLoteAtualizandoEventoRepetidoEListarEmOrdemDeRegistro() {
+        GerenciarFalhasUseCase useCase = new GerenciarFalhasUseCase(
+            null, Optional.of(falhaRepository), "pedido.recebido", "nota.recebido", 1, 3, 60);
+
+        Evento<?> pedido1 = Evento.builder().id("evt-1").tipo("PEDIDO").payload("{}").build();
+        Evento<?> pedido2 = Evento.builder().id("evt-2").tipo("PEDIDO").payload("{}").build();
+        Evento<?> nota1 = Evento.builder().id("evt-1").tipo("NOTA").payload("{}").build();
+
+        useCase.registrarFalhas(List.of(
+            new Ocorrencia(TipoFalha.PEDIDO, pedido1, "payload inválido", "pedido.recebido", 0, 10L),
+            new Ocorrencia(TipoFalha.PEDIDO, pedido2, "payload inválido", "pedido.recebido", 0, 11L),
+            new Ocorrencia(TipoFalha.NOTA, nota1, "payload inválido", "nota.recebido", 1, 5L),
+            new Ocorrencia(TipoFalha.PEDIDO, pedido1, "repetido no lote", "pedido.recebido", 0, 12L)
+        ));
+        useCase.registrarFalha(TipoFalha.PEDIDO, pedido2, "reentregue", "pedido.recebido", 0, 13L);
+
+        List<FalhaProcessamento> pedidos = useCase.listarFalhas(TipoFalha.PEDIDO, StatusFalha.PENDENTE_REPROCESSAMENTO, 0);
+        assertEquals(List.of("evt-1", "evt-2"), pedidos.stream().map(f -> f.getEventoOriginal().getId()).toList());
+        assertEquals(12L, pedidos.get(0).getOffsetOrigem());
+        assertEquals("reentregue", pedidos.get(1).getMotivo());
+
+        assertEquals(3, useCase.listarFalhas(null, null, 0).size());
+        assertEquals(1, useCase.listarFalhas(TipoFalha.NOTA, null, 10).size());
+        assertEquals(1, useCase.listarFalhas(null, StatusFalha.PENDENTE_REPROCESSAMENTO, 1).size());
+
+        assertEquals(List.of(pedidos.get(1).getId()),
+            falhaRepository.listarIds(new FiltroFalhas(TipoFalha.PEDIDO, null, null, null, "REENTREGUE")));
+        // A coluna guarda microssegundos: o limite em nanos pegaria linhas do mesmo microssegundo
+        assertEquals(List.of(), falhaRepository.listarIds(
+            new FiltroFalhas(null, null, null, pedidos.get(0).getCriadoEm().truncatedTo(ChronoUnit.MICROS), null)));
+    }
+}
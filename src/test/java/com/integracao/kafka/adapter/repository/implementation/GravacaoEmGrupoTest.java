@@ -0,0 +1,112 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GravacaoEmGrupoTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IntegradorMetrics metrics = new IntegradorMetrics(registry);
+
+    @Test
+    void deveJuntarGravacoesConcorrentesEmUmUnicoCommit() throws Exception {
+        List<List<String>> commits = new CopyOnWriteArrayList<>();
+        CountDownLatch liberarPrimeiroCommit = new CountDownLatch(1);
+
+        try (GravacaoEmGrupo<String> gravacao = new GravacaoEmGrupo<>("pedido", grupo -> {
+            aguardar(liberarPrimeiroCommit);
+            commits.add(List.copyOf(grupo));
+            return grupo.stream().map(valor -> valor + "-salvo").toList();
+        }, 10, 50, metrics)) {
+
+            // O primeiro commit fica preso; os 5 seguintes se acumulam na fila e viram um único grupo
+            CompletableFuture<String> primeiro = gravacao.gravar("p0");
+            Thread.sleep(100);
+            List<CompletableFuture<String>> seguintes = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                seguintes.add(gravacao.gravar("p" + i));
+            }
+            liberarPrimeiroCommit.countDown();
+
+            assertEquals("p0-salvo", primeiro.get(5, TimeUnit.SECONDS));
+            for (int i = 0; i < seguintes.size(); i++) {
+                assertEquals("p" + (i + 1) + "-salvo", seguintes.get(i).get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(List.of(List.of("p0"), List.of("p1", "p2", "p3", "p4", "p5")), commits);
+        assertEquals(2, registry.get("integrador_persistencia_grupo_tamanho").tag("entidade", "pedido").summary().count());
+        assertEquals(6.0, registry.get("integrador_persistencia_grupo_tamanho").tag("entidade", "pedido").summary().totalAmount());
+    }
+
+    @Test
+    void deveFalharTodosOsFuturesDoGrupoQuandoOCommitFalhar() {
+        var falhaBanco = new DataAccessResourceFailureException("banco indisponível");
+
+        try (GravacaoEmGrupo<String> gravacao = new GravacaoEmGrupo<>("nota_fiscal", grupo -> {
+            throw falhaBanco;
+        }, 10, 5, metrics)) {
+
+            CompletableFuture<String> gravada = gravacao.gravar("n1");
+
+            CompletionException erro = assertThrows(CompletionException.class, gravada::join);
+            assertSame(falhaBanco, erro.getCause());
+            assertTrue(registry.find("integrador_persistencia_grupo_tamanho").summaries().isEmpty());
+        }
+    }
+
+    @Test
+    void deveManterAGravadoraVivaQuandoOCommitLancarError() throws Exception {
+        List<String> commits = new CopyOnWriteArrayList<>();
+
+        try (GravacaoEmGrupo<String> gravacao = new GravacaoEmGrupo<>("pedido", grupo -> {
+            if (grupo.contains("grande")) {
+                throw new OutOfMemoryError("grupo grande demais");
+            }
+            commits.addAll(grupo);
+            return grupo;
+        }, 10, 5, metrics)) {
+
+            CompletionException erro = assertThrows(CompletionException.class, gravacao.gravar("grande")::join);
+            assertTrue(erro.getCause() instanceof OutOfMemoryError);
+
+            assertEquals("p1", gravacao.gravar("p1").get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of("p1"), commits);
+    }
+
+    @Test
+    void deveFalharGravacaoAposEncerrar() {
+        GravacaoEmGrupo<String> gravacao = new GravacaoEmGrupo<>("pedido", grupo -> grupo, 10, 5, metrics);
+        gravacao.close();
+
+        CompletionException erro = assertThrows(CompletionException.class, gravacao.gravar("p1")::join);
+        assertTrue(erro.getCause() instanceof IllegalStateException);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
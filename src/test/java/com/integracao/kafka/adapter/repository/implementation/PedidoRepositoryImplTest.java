@@ -0,0 +1,86 @@
+package com.integracao.kafka.adapter.repository.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.service.PedidoService;
+import com.integracao.kafka.domain.entity.PedidoEntity;
+import com.integracao.kafka.domain.model.Pedido;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import({PedidoRepositoryImpl.class, IntegradorMetrics.class, SimpleMeterRegistry.class})
+class PedidoRepositoryImplTest {
+
+    @Autowired
+    private PedidoRepositoryImpl pedidoRepository;
+
+    @Test
+    void devePaginarPorKeysetEPercorrerTodosEmOrdemDeId() {
+        List<PedidoEntity> salvos = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            salvos.add(pedido("PED-" + i));
+        }
+        salvos = pedidoRepository.saveAll(salvos);
+
+        List<String> paginados = new ArrayList<>();
+        long aposId = 0;
+        List<PedidoEntity> pagina;
+        while (!(pagina = pedidoRepository.buscarPagina(aposId, 3)).isEmpty()) {
+            pagina.forEach(pedido -> paginados.add(pedido.getNumeroPedido()));
+            aposId = pagina.get(pagina.size() - 1).getId();
+        }
+
+        List<String> percorridos = new ArrayList<>();
+        pedidoRepository.percorrerTodos(pedido -> percorridos.add(pedido.getNumeroPedido()));
+
+        List<String> esperado = salvos.stream().map(PedidoEntity::getNumeroPedido).toList();
+        assertEquals(esperado, paginados);
+        assertEquals(esperado, percorridos);
+    }
+
+    @Test
+    void reentregaDoLoteReaproveitaPedidosJaGravados() {
+        PedidoService pedidoService = new PedidoService(pedidoRepository);
+        List<Pedido> lote = List.of(pedidoModelo("PED-A"), pedidoModelo("PED-B"));
+
+        List<PedidoEntity> primeira = pedidoService.criarPedidos(lote);
+        List<PedidoEntity> reentrega = pedidoService.criarPedidos(
+            List.of(pedidoModelo("PED-B"), pedidoModelo("PED-C"), pedidoModelo("PED-C")));
+
+        assertEquals(3, pedidoRepository.findAll().size());
+        assertEquals(primeira.get(1).getId(), reentrega.get(0).getId());
+        assertEquals(reentrega.get(1).getId(), reentrega.get(2).getId());
+        assertEquals(List.of("PED-B", "PED-C", "PED-C"), reentrega.stream().map(PedidoEntity::getNumeroPedido).toList());
+    }
+
+    private Pedido pedidoModelo(String numero) {
+        return Pedido.builder()
+            .numeroPedido(numero)
+            .cliente("Cliente")
+            .produto("Produto")
+            .quantidade(1)
+            .valorTotal(BigDecimal.TEN)
+            .build();
+    }
+
+    private PedidoEntity pedido(String numero) {
+        PedidoEntity pedido = new PedidoEntity();
+        pedido.setNumeroPedido(numero);
+        pedido.setCliente("Cliente");
+        pedido.setProduto("Produto");
+        pedido.setQuantidade(1);
+        pedido.setValorTotal(BigDecimal.TEN);
+        return pedido;
+    }
+}
@@ -0,0 +1,104 @@
+package com.integracao.kafka.application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics.LagParticao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics.MedidorOperacao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IntegradorMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IntegradorMetrics metrics = new IntegradorMetrics(registry);
+
+    @Test
+    void medidorDeveContarSucessoEFalhaERepassarAExcecao() {
+        MedidorOperacao medidor = metrics.operacao("publicar-pedido", "integrador.pedido.recebido");
+        assertSame(medidor, metrics.operacao("publicar-pedido", "integrador.pedido.recebido"));
+
+        assertEquals("evt-1", medidor.medir(() -> "evt-1"));
+        IOException erro = new IOException("broker indisponível");
+        assertSame(erro, assertThrows(IOException.class, () -> medidor.medir(() -> {
+            throw erro;
+        })));
+
+        Timer.Sample amostra = medidor.iniciar();
+        medidor.falha();
+        medidor.parar(amostra);
+
+        assertEquals(1, mensagens("sucesso"));
+        assertEquals(2, mensagens("falha"));
+        assertEquals(3, registry.get("integrador_processamento_segundos")
+            .tags("operacao", "publicar-pedido", "topico", "integrador.pedido.recebido").timer().count());
+    }
+
+    @Test
+    void deveSepararAIdadeDoEventoPorTrecho() {
+        long agora = System.currentTimeMillis();
+        LocalDateTime criadoEm = LocalDateTime.now().minusSeconds(10);
+
+        metrics.registrarIdadeEvento("PEDIDO_CRIADO", "pedido.recebido", criadoEm, agora - 4_000);
+
+        double apiBroker = idade("api_broker", "PEDIDO_CRIADO").totalTime(TimeUnit.SECONDS);
+        double brokerConsumer = idade("broker_consumer", "PEDIDO_CRIADO").totalTime(TimeUnit.SECONDS);
+        double total = idade("total", "PEDIDO_CRIADO").totalTime(TimeUnit.SECONDS);
+        assertEquals(6, apiBroker, 0.5);
+        assertEquals(4, brokerConsumer, 0.5);
+        assertEquals(10, total, 0.5);
+    }
+
+    @Test
+    void relogioAdiantadoContaComoZeroETiposExcedentesViramOutros() {
+        metrics.registrarIdadeEvento("PEDIDO_CRIADO", "pedido.recebido", LocalDateTime.now().plusMinutes(1),
+            System.currentTimeMillis());
+        assertEquals(0, idade("api_broker", "PEDIDO_CRIADO").totalTime(TimeUnit.MILLISECONDS));
+
+        for (int i = 0; i < 60; i++) {
+            metrics.registrarIdadeEvento("TIPO_" + i, "pedido.recebido", LocalDateTime.now(), System.currentTimeMillis());
+        }
+        assertTrue(idade("total", "outros").count() > 0);
+        // 50 tipos próprios + "outros"
+        assertEquals(51, registry.find("integrador_evento_idade").tag("trecho", "total").timers().size());
+    }
+
+    @Test
+    void lagDeveRefletirSoAAmostraMaisRecente() {
+        metrics.atualizarLagConsumer(List.of(
+            new LagParticao("integrador-group-pedidos", "pedido.recebido", 0, 90, 100),
+            new LagParticao("integrador-group-pedidos", "pedido.recebido", 1, 50, 50)));
+        assertEquals(10, lag("0").value());
+        assertEquals(100, registry.get("integrador_consumer_offset").tags("particao", "0", "tipo", "fim").gauge().value());
+
+        metrics.atualizarLagConsumer(List.of(new LagParticao("integrador-group-pedidos", "pedido.recebido", 0, 100, 130)));
+        assertEquals(30, lag("0").value());
+        assertEquals(1, registry.find("integrador_consumer_lag").gauges().size());
+    }
+
+    private double mensagens(String status) {
+        return registry.get("integrador_mensagens_total").tags("operacao", "publicar-pedido", "status", status)
+            .counter().count();
+    }
+
+    private Gauge lag(String particao) {
+        return registry.get("integrador_consumer_lag").tags("grupo", "integrador-group-pedidos", "particao", particao).gauge();
+    }
+
+    private Timer idade(String trecho, String tipo) {
+        return registry.get("integrador_evento_idade")
+            .tags("trecho", trecho, "tipo", tipo, "topico", "pedido.recebido")
+            .timer();
+    }
+}
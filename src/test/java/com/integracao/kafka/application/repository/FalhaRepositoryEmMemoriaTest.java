@@ -0,0 +1,59 @@
+package com.integracao.kafka.application.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+class FalhaRepositoryEmMemoriaTest {
+
+    @Test
+    void deveDespejarAMaisAntigaAoDarAVoltaNoAnel() {
+        FalhaRepositoryEmMemoria repositorio = new FalhaRepositoryEmMemoria(3);
+        List<FalhaProcessamento> falhas = List.of(
+            falha("evt-1", TipoFalha.PEDIDO), falha("evt-2", TipoFalha.NOTA), falha("evt-3", TipoFalha.PEDIDO),
+            falha("evt-4", TipoFalha.PEDIDO), falha("evt-5", TipoFalha.NOTA));
+        falhas.forEach(repositorio::salvar);
+
+        assertNull(repositorio.buscarPorId(falhas.get(0).getId()));
+        assertNull(repositorio.buscarPorChaveEvento("PEDIDO::evt-1"));
+        assertEquals(falhas.subList(2, 5), repositorio.listar(null, null, 0));
+        assertEquals(falhas.subList(3, 5), repositorio.listar(null, null, 2));
+        assertEquals(List.of(falhas.get(2), falhas.get(3)), repositorio.listar(TipoFalha.PEDIDO, null, 0));
+        assertEquals(List.of(falhas.get(4)), repositorio.listar(TipoFalha.NOTA, StatusFalha.PENDENTE_REPROCESSAMENTO, 10));
+    }
+
+    @Test
+    void indicesDeStatusDevemAcompanharFalhaMutadaNoLugar() {
+        FalhaRepositoryEmMemoria repositorio = new FalhaRepositoryEmMemoria(10);
+        FalhaProcessamento primeira = falha("evt-1", TipoFalha.PEDIDO);
+        FalhaProcessamento segunda = falha("evt-2", TipoFalha.PEDIDO);
+        repositorio.salvar(primeira);
+        repositorio.salvar(segunda);
+
+        primeira.setStatus(StatusFalha.DESCARTADO);
+        repositorio.salvar(primeira);
+
+        assertEquals(List.of(segunda), repositorio.listar(TipoFalha.PEDIDO, StatusFalha.PENDENTE_REPROCESSAMENTO, 0));
+        assertEquals(List.of(primeira), repositorio.listar(null, StatusFalha.DESCARTADO, 0));
+        // Mudar de status não muda a posição na ordem de registro
+        assertEquals(List.of(primeira, segunda), repositorio.listar(TipoFalha.PEDIDO, null, 0));
+        assertSame(primeira, repositorio.buscarPorChaveEvento("PEDIDO::evt-1"));
+    }
+
+    private FalhaProcessamento falha(String idEvento, TipoFalha tipo) {
+        return FalhaProcessamento.builder()
+            .tipo(tipo)
+            .eventoOriginal(Evento.builder().id(idEvento).build())
+            .motivo("payload inválido")
+            .build();
+    }
+}
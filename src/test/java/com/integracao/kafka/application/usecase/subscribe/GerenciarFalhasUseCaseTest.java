@@ -0,0 +1,204 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.repository.FalhaRepositoryEmMemoria;
+import com.integracao.kafka.application.repository.FiltroFalhas;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.ResultadoOperacaoLote;
+import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase.ResultadoReprocessamentoAutomatico;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+class GerenciarFalhasUseCaseTest {
+
+    private final TestPublicarEventoPort publicarEventoPort = new TestPublicarEventoPort();
+
+    @Test
+    void deveRepublicarSoAsVencidasEmLotePorTopico() {
+        GerenciarFalhasUseCase useCase = new GerenciarFalhasUseCase(
+            publicarEventoPort, "pedido.recebido", "nota.recebido", 100, 3, 60);
+
+        FalhaProcessamento pedido = vencida(useCase, TipoFalha.PEDIDO, "evt-1");
+        FalhaProcessamento nota = vencida(useCase, TipoFalha.NOTA, "evt-2");
+        useCase.registrarFalha(TipoFalha.PEDIDO, evento("evt-3"), "ainda no intervalo", "pedido.recebido", 0, 3L);
+
+        assertEquals(3, useCase.tamanhoFilaReprocessamento());
+        assertEquals(2, useCase.contarFalhasVencidas());
+
+        ResultadoReprocessamentoAutomatico resultado = useCase.reprocessarVencidas(10);
+
+        assertEquals(new ResultadoReprocessamentoAutomatico(2, 2, 0, 0), resultado);
+        assertEquals(List.of("pedido.recebido", "nota.recebido"), publicarEventoPort.lotes);
+        assertEquals(StatusFalha.REPROCESSADO, pedido.getStatus());
+        assertEquals(1, nota.getTentativasReprocessamento());
+        assertEquals(1, useCase.tamanhoFilaReprocessamento());
+        assertEquals(0, useCase.contarFalhasVencidas());
+    }
+
+    @Test
+    void falhaDePublicacaoDeveReagendarAteEsgotarAsTentativas() {
+        publicarEventoPort.falhar = true;
+        GerenciarFalhasUseCase useCase = new GerenciarFalhasUseCase(
+            publicarEventoPort, "pedido.recebido", "nota.recebido", 100, 2, 60);
+
+        FalhaProcessamento falha = vencida(useCase, TipoFalha.PEDIDO, "evt-1");
+        assertEquals(new ResultadoReprocessamentoAutomatico(1, 0, 1, 0), useCase.reprocessarVencidas(10));
+        assertEquals(StatusFalha.PENDENTE_REPROCESSAMENTO, falha.getStatus());
+        assertEquals(1, useCase.tamanhoFilaReprocessamento());
+        assertEquals(0, useCase.contarFalhasVencidas());
+
+        falha.setProximaTentativaPermitidaEm(LocalDateTime.now().minusSeconds(1));
+        useCase.registrarFalha(TipoFalha.PEDIDO, falha.getEventoOriginal(), "falhou de novo", "pedido.recebido", 0, 1L);
+        assertEquals(new ResultadoReprocessamentoAutomatico(1, 0, 1, 1), useCase.reprocessarVencidas(10));
+        assertEquals(StatusFalha.ESGOTADO, falha.getStatus());
+        assertEquals(0, useCase.tamanhoFilaReprocessamento());
+    }
+
+    @Test
+    void cargaDaFilaNaoDependeDoLimiteDaListagem() {
+        FalhaRepositoryListagemLimitada repository = new FalhaRepositoryListagemLimitada();
+        GerenciarFalhasUseCase antesDoRestart = new GerenciarFalhasUseCase(publicarEventoPort, Optional.of(repository),
+            "pedido.recebido", "nota.recebido", 100, 3, 60);
+        for (int i = 1; i <= 3; i++) {
+            antesDoRestart.registrarFalha(TipoFalha.PEDIDO, evento("evt-" + i), "erro", "entrada", 0, i);
+        }
+
+        GerenciarFalhasUseCase aposRestart = new GerenciarFalhasUseCase(publicarEventoPort, Optional.of(repository),
+            "pedido.recebido", "nota.recebido", 100, 3, 60);
+        aposRestart.carregarFilaReprocessamento();
+
+        assertEquals(3, aposRestart.tamanhoFilaReprocessamento());
+    }
+
+    @Test
+    void loteIgnoraFalhaEmReprocessamentoManual() throws Exception {
+        CountDownLatch publicando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        PublicarEventoPort portLento = (topico, evento) -> {
+            publicando.countDown();
+            aguardar(liberar);
+        };
+        GerenciarFalhasUseCase useCase = new GerenciarFalhasUseCase(
+            portLento, "pedido.recebido", "nota.recebido", 100, 3, 60);
+        FalhaProcessamento falha = vencida(useCase, TipoFalha.PEDIDO, "evt-1");
+
+        CompletableFuture<FalhaProcessamento> manual = CompletableFuture.supplyAsync(() -> useCase.reprocessar(falha.getId()));
+        assertTrue(publicando.await(5, TimeUnit.SECONDS));
+
+        ResultadoOperacaoLote lote = useCase.reprocessarLote(List.of(falha.getId()));
+        liberar.countDown();
+        manual.get(5, TimeUnit.SECONDS);
+
+        assertEquals(new ResultadoOperacaoLote(0, 1, 0, 0), lote);
+        assertEquals(1, falha.getTentativasReprocessamento());
+        assertEquals(StatusFalha.REPROCESSADO, falha.getStatus());
+    }
+
+    @Test
+    void reprocessamentoManualComFalhaDePublicacaoGravaATentativa() {
+        publicarEventoPort.falhar = true;
+        RepositorioComCopias repository = new RepositorioComCopias();
+        GerenciarFalhasUseCase useCase = new GerenciarFalhasUseCase(publicarEventoPort, Optional.of(repository),
+            "pedido.recebido", "nota.recebido", 100, 3, 60);
+        FalhaProcessamento falha = vencida(useCase, TipoFalha.PEDIDO, "evt-1");
+
+        assertThrows(IllegalStateException.class, () -> useCase.reprocessar(falha.getId()));
+
+        assertEquals(1, repository.tentativasGravadas.get(falha.getId()));
+        assertEquals(1, useCase.tamanhoFilaReprocessamento());
+    }
+
+    private FalhaProcessamento vencida(GerenciarFalhasUseCase useCase, TipoFalha tipo, String idEvento) {
+        FalhaProcessamento falha = useCase.registrarFalha(tipo, evento(idEvento), "erro", "entrada", 0, 1L);
+        // Registrar de novo o mesmo evento reagenda com a próxima tentativa já liberada
+        falha.setProximaTentativaPermitidaEm(LocalDateTime.now().minusSeconds(1));
+        return useCase.registrarFalha(tipo, falha.getEventoOriginal(), "erro", "entrada", 0, 1L);
+    }
+
+    private Evento<?> evento(String id) {
+        return Evento.builder().id(id).payload("{}").build();
+    }
+
+    private static class TestPublicarEventoPort implements PublicarEventoPort {
+        private final List<String> lotes = new ArrayList<>();
+        private boolean falhar;
+
+        @Override
+        public void publicar(String topico, Evento<?> evento) {
+            if (falhar) {
+                throw new IllegalStateException("broker indisponível");
+            }
+        }
+
+        @Override
+        public ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+            lotes.add(topico);
+            return PublicarEventoPort.super.publicarLote(topico, eventos);
+        }
+    }
+
+    /**
+     * Como o FalhaRepositoryImpl: listar tem teto (aqui 1) e listarIds devolve todos os ids.
+     */
+    private static class FalhaRepositoryListagemLimitada extends FalhaRepositoryEmMemoria {
+
+        FalhaRepositoryListagemLimitada() {
+            super(100);
+        }
+
+        @Override
+        public List<FalhaProcessamento> listar(TipoFalha tipo, StatusFalha status, int limite) {
+            List<FalhaProcessamento> todas = super.listar(tipo, status, 0);
+            return todas.subList(Math.max(0, todas.size() - 1), todas.size());
+        }
+
+        @Override
+        public List<String> listarIds(FiltroFalhas filtro) {
+            return super.listar(filtro.tipo(), filtro.status(), 0).stream().map(FalhaProcessamento::getId).toList();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Como o banco: só o que passou por salvar conta como gravado.
+     */
+    private static class RepositorioComCopias extends FalhaRepositoryEmMemoria {
+
+        private final Map<String, Integer> tentativasGravadas = new HashMap<>();
+
+        RepositorioComCopias() {
+            super(100);
+        }
+
+        @Override
+        public void salvar(FalhaProcessamento falha) {
+            tentativasGravadas.put(falha.getId(), falha.getTentativasReprocessamento());
+            super.salvar(falha);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class HistoricoCircularTest {
+
+	@Test
+	void deveManterSoOsUltimosNoLimiteMesmoComCapacidadeArredondada() {
+		HistoricoCircular<Integer> historico = new HistoricoCircular<>(5);
+		IntStream.range(0, 12).forEach(historico::registrar);
+
+		assertEquals(List.of(7, 8, 9, 10, 11), historico.ultimos(0));
+		assertEquals(List.of(10, 11), historico.ultimos(2));
+		assertEquals(List.of(), new HistoricoCircular<Integer>(5).ultimos(10));
+	}
+
+	@Test
+	void escritoresConcorrentesDevemManterOrdemPorThread() throws InterruptedException {
+		int threads = 6;
+		int porThread = 20_000;
+		HistoricoCircular<long[]> historico = new HistoricoCircular<>(500);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch inicio = new CountDownLatch(1);
+		for (int t = 0; t < threads; t++) {
+			long thread = t;
+			executor.execute(() -> {
+				try {
+					inicio.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (long i = 0; i < porThread; i++) {
+					historico.registrar(new long[] {thread, i});
+				}
+			});
+		}
+		inicio.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+		List<long[]> ultimos = historico.ultimos(0);
+		assertEquals(500, ultimos.size());
+
+		Map<Long, Long> ultimoPorThread = new HashMap<>();
+		for (long[] item : ultimos) {
+			Long anterior = ultimoPorThread.put(item[0], item[1]);
+			assertTrue(anterior == null || anterior < item[1]);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.repository.FiltroFalhas;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase.ProgressoJob;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase.StatusJob;
+import com.integracao.kafka.application.useCase.subscribe.OperacaoEmMassaFalhasUseCase.TipoOperacao;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.FalhaProcessamento.StatusFalha;
+import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
+
+class OperacaoEmMassaFalhasUseCaseTest {
+
+    private final TestPublicarEventoPort publicarEventoPort = new TestPublicarEventoPort();
+    private final GerenciarFalhasUseCase gerenciarFalhasUseCase = new GerenciarFalhasUseCase(
+        publicarEventoPort, "pedido.recebido", "nota.recebido", 100, 3, 60);
+
+    @Test
+    void deveReprocessarEmLotesSoAsFalhasDoFiltro() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            registrar(TipoFalha.PEDIDO, "ped-" + i, i == 4 ? "timeout no banco" : "payload inválido");
+        }
+        registrar(TipoFalha.NOTA, "nota-1", "payload inválido");
+
+        OperacaoEmMassaFalhasUseCase operacao = new OperacaoEmMassaFalhasUseCase(gerenciarFalhasUseCase, 2, 10_000);
+        ProgressoJob progresso = aguardar(operacao, operacao.iniciar(TipoOperacao.REPROCESSAR,
+            new FiltroFalhas(TipoFalha.PEDIDO, StatusFalha.PENDENTE_REPROCESSAMENTO, null, null, "INVÁLIDO")));
+
+        assertEquals(StatusJob.CONCLUIDO, progresso.status());
+        assertEquals(4, progresso.total());
+        assertEquals(4, progresso.processadas());
+        // 4 falhas em lotes de 2: dois publicarLote no tópico de pedidos
+        assertEquals(List.of(2, 2), publicarEventoPort.tamanhosLote);
+        assertEquals(2, gerenciarFalhasUseCase.listarFalhas(null, StatusFalha.PENDENTE_REPROCESSAMENTO, 0).size());
+        operacao.encerrar();
+    }
+
+    @Test
+    void deveDescartarTodasAsFalhasDoFiltro() throws InterruptedException {
+        registrar(TipoFalha.PEDIDO, "ped-1", "payload inválido");
+        registrar(TipoFalha.NOTA, "nota-1", "payload inválido");
+
+        OperacaoEmMassaFalhasUseCase operacao = new OperacaoEmMassaFalhasUseCase(gerenciarFalhasUseCase, 500, 10_000);
+        ProgressoJob progresso = aguardar(operacao, operacao.iniciar(TipoOperacao.DESCARTAR,
+            new FiltroFalhas(null, StatusFalha.PENDENTE_REPROCESSAMENTO, null, null, null)));
+
+        assertEquals(2, progresso.processadas());
+        assertEquals(2, gerenciarFalhasUseCase.listarFalhas(null, StatusFalha.DESCARTADO, 0).size());
+        assertEquals(List.of(), publicarEventoPort.tamanhosLote);
+        operacao.encerrar();
+    }
+
+    private void registrar(TipoFalha tipo, String idEvento, String motivo) {
+        Evento<?> evento = Evento.builder().id(idEvento).payload("{}").build();
+        gerenciarFalhasUseCase.registrarFalha(tipo, evento, motivo, "entrada", 0, 1L);
+    }
+
+    private ProgressoJob aguardar(OperacaoEmMassaFalhasUseCase operacao, ProgressoJob criado) throws InterruptedException {
+        ProgressoJob progresso = criado;
+        for (int i = 0; i < 500 && progresso.concluidoEm() == null; i++) {
+            Thread.sleep(10);
+            progresso = operacao.consultar(criado.id());
+        }
+        return progresso;
+    }
+
+    private static class TestPublicarEventoPort implements PublicarEventoPort {
+        private final List<Integer> tamanhosLote = new ArrayList<>();
+
+        @Override
+        public void publicar(String topico, Evento<?> evento) {
+        }
+
+        @Override
+        public ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+            tamanhosLote.add(eventos.size());
+            return PublicarEventoPort.super.publicarLote(topico, eventos);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.integracao.kafka.application.useCase.subscribe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.integracao.kafka.application.gateway.out.LerTopicoPort;
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.RegistroTopico;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.repository.ReplayDlqRepository;
+import com.integracao.kafka.application.useCase.subscribe.ReplayDlqUseCase.PedidoReplay;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.ReplayDlq;
+import com.integracao.kafka.domain.model.ReplayDlq.StatusReplay;
+
+class ReplayDlqUseCaseTest {
+
+    private final TestLerTopicoPort lerTopicoPort = new TestLerTopicoPort();
+    private final TestPublicarEventoPort publicarEventoPort = new TestPublicarEventoPort();
+    private final TestReplayDlqRepository repository = new TestReplayDlqRepository();
+    private final ReplayDlqUseCase useCase = new ReplayDlqUseCase(lerTopicoPort, publicarEventoPort, repository,
+        "evento.dlq", "pedido.dlq", "nota.dlq", "evento.recebido", "pedido.recebido", "nota.recebido", 100_000, 10);
+
+    @Test
+    void deveRepublicarSoOsRegistrosDoFiltroAteOFimDoIntervalo() {
+        lerTopicoPort.registro(0, "PED-1", "PEDIDO_CRIADO", "numeroPedido ausente");
+        lerTopicoPort.registro(0, "PED-2", "PEDIDO_CANCELADO", "numeroPedido ausente");
+        lerTopicoPort.registro(0, "PED-3", "PEDIDO_CRIADO", "timeout");
+        lerTopicoPort.registro(1, "PED-4", "PEDIDO_CRIADO", "numeroPedido ausente");
+        lerTopicoPort.registro(1, null, null, null);
+        lerTopicoPort.registro(1, "PED-5", "PEDIDO_CRIADO", "numeroPedido ausente");
+        // Fim do intervalo: chegou depois do pedido de replay
+        lerTopicoPort.fins.put(1, 2L);
+
+        ReplayDlq replay = criar(new PedidoReplay("pedido.dlq", null, null, null, null, "PEDIDO_CRIADO", "AUSENTE", null, null));
+        useCase.executar(replay);
+
+        ReplayDlq salvo = repository.buscarPorId(replay.getId());
+        assertEquals(StatusReplay.CONCLUIDO, salvo.getStatus());
+        assertEquals(List.of("PED-1", "PED-4"), publicarEventoPort.publicados);
+        assertEquals(List.of("pedido.recebido"), publicarEventoPort.topicos.stream().distinct().toList());
+        assertEquals(Map.of(0, 3L, 1, 2L), salvo.getPosicoes());
+        assertEquals(5L, salvo.getLidos());
+        assertEquals(2L, salvo.getPublicados());
+        assertEquals(3L, salvo.getIgnorados());
+    }
+
+    @Test
+    void falhaDePublicacaoDeveManterOCheckpointDoUltimoLoteConfirmado() {
+        for (int i = 0; i < 5; i++) {
+            lerTopicoPort.registro(0, "PED-" + i, "PEDIDO_CRIADO", null);
+        }
+        publicarEventoPort.falharNaChamada = 2;
+
+        ReplayDlq replay = criar(new PedidoReplay("pedido.dlq", null, null, null, null, null, null, null, null));
+        useCase.executar(replay);
+
+        ReplayDlq falhou = repository.buscarPorId(replay.getId());
+        assertEquals(StatusReplay.FALHOU, falhou.getStatus());
+        assertEquals(Map.of(0, 2L), falhou.getPosicoes());
+        assertEquals(2L, falhou.getPublicados());
+
+        // Retomada (após restart ou /retomar) continua do checkpoint, sem repetir o primeiro lote
+        publicarEventoPort.publicados.clear();
+        useCase.executar(falhou);
+
+        ReplayDlq concluido = repository.buscarPorId(replay.getId());
+        assertEquals(StatusReplay.CONCLUIDO, concluido.getStatus());
+        assertEquals(List.of("PED-2", "PED-3", "PED-4"), publicarEventoPort.publicados);
+        assertEquals(5L, concluido.getPublicados());
+    }
+
+    @Test
+    void deveRecusarTopicoQueNaoEhDlq() {
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.iniciar(new PedidoReplay("pedido.recebido", null, null, null, null, null, null, null, null)));
+    }
+
+    private ReplayDlq criar(PedidoReplay pedido) {
+        // Mesmo caminho de iniciar, mas executado na thread do teste
+        var intervalo = lerTopicoPort.resolverIntervalo(pedido.topicoOrigem(), null, null, null, null);
+        ReplayDlq replay = ReplayDlq.builder()
+            .topicoOrigem(pedido.topicoOrigem())
+            .topicoDestino("pedido.recebido")
+            .filtroTipo(pedido.tipo())
+            .filtroMotivo(pedido.motivo())
+            .filtroChave(pedido.chave())
+            .posicoes(new HashMap<>(intervalo.inicio()))
+            .fins(new HashMap<>(intervalo.fim()))
+            .build();
+        repository.salvar(replay);
+        return replay;
+    }
+
+    /**
+     * Tópico em memória; cada leitura devolve até dois registros, como polls pequenos.
+     */
+    private static class TestLerTopicoPort implements LerTopicoPort {
+        private final Map<Integer, List<RegistroTopico>> particoes = new HashMap<>();
+        private final Map<Integer, Long> fins = new HashMap<>();
+
+        private void registro(int particao, String chave, String tipo, String motivo) {
+            List<RegistroTopico> registros = particoes.computeIfAbsent(particao, p -> new ArrayList<>());
+            Evento<?> evento = chave == null ? null : Evento.builder().id(chave).tipo(tipo).payload("{}").build();
+            registros.add(new RegistroTopico(particao, registros.size(), 0L, chave, motivo, evento));
+        }
+
+        @Override
+        public IntervaloLeitura resolverIntervalo(String topico, Long deOffset, Long ateOffset,
+                                                  Instant deTimestamp, Instant ateTimestamp) {
+            Map<Integer, Long> inicio = new HashMap<>();
+            Map<Integer, Long> fim = new HashMap<>();
+            particoes.forEach((particao, registros) -> {
+                inicio.put(particao, 0L);
+                fim.put(particao, fins.getOrDefault(particao, (long) registros.size()));
+            });
+            return new IntervaloLeitura(inicio, fim);
+        }
+
+        @Override
+        public LeituraTopico abrir(String topico, Map<Integer, Long> posicoes) {
+            Map<Integer, Long> atuais = new HashMap<>(posicoes);
+            return new LeituraTopico() {
+                @Override
+                public List<RegistroTopico> ler(Duration espera) {
+                    List<RegistroTopico> lidos = new ArrayList<>();
+                    for (Map.Entry<Integer, Long> atual : atuais.entrySet()) {
+                        List<RegistroTopico> registros = particoes.get(atual.getKey());
+                        while (lidos.size() < 2 && atual.getValue() < registros.size()) {
+                            lidos.add(registros.get(atual.getValue().intValue()));
+                            atual.setValue(atual.getValue() + 1);
+                        }
+                    }
+                    return lidos;
+                }
+
+                @Override
+                public long posicao(int particao) {
+                    return atuais.get(particao);
+                }
+
+                @Override
+                public void encerrarParticao(int particao) {
+                    atuais.remove(particao);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+
+    private static class TestPublicarEventoPort implements PublicarEventoPort {
+        private final List<String> publicados = new ArrayList<>();
+        private final List<String> topicos = new ArrayList<>();
+        private int chamadas;
+        private int falharNaChamada = -1;
+
+        @Override
+        public void publicar(String topico, Evento<?> evento) {
+            publicados.add(evento.getId());
+        }
+
+        @Override
+        public ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+            topicos.add(topico);
+            if (++chamadas == falharNaChamada) {
+                return new ResultadoLotePublicacao(topico, eventos.stream()
+                    .map(evento -> ResultadoLotePublicacao.Item.falha(evento.getId(), "broker indisponível"))
+                    .toList());
+            }
+            return PublicarEventoPort.super.publicarLote(topico, eventos);
+        }
+    }
+
+    private static class TestReplayDlqRepository implements ReplayDlqRepository {
+        private final Map<String, ReplayDlq> replays = new HashMap<>();
+
+        @Override
+        public void salvar(ReplayDlq replay) {
+            // Cópia, como a persistência: o teste vê só o que foi gravado
+            replays.put(replay.getId(), replay.toBuilder()
+                .posicoes(new HashMap<>(replay.getPosicoes()))
+                .fins(new HashMap<>(replay.getFins()))
+                .build());
+        }
+
+        @Override
+        public ReplayDlq buscarPorId(String id) {
+            ReplayDlq replay = replays.get(id);
+            return replay == null ? null : replay.toBuilder().posicoes(new HashMap<>(replay.getPosicoes())).build();
+        }
+
+        @Override
+        public List<ReplayDlq> listar() {
+            return new ArrayList<>(replays.values());
+        }
+
+        @Override
+        public List<ReplayDlq> listarPorStatus(StatusReplay status) {
+            return replays.values().stream().filter(replay -> replay.getStatus() == status).toList();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.integracao.kafka.frameworkDrivers.diagnostico;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MonitorPinningVirtualThreadsTest {
+
+    private static final String METRICA = "integrador_virtual_threads_pinned_segundos";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void registraVirtualThreadPresaAoCarrierPorSynchronized() throws InterruptedException {
+        MonitorPinningVirtualThreads monitor = monitor(true);
+        monitor.iniciar();
+        try {
+            // O stream do JFR sobe em segundo plano: repete o pinning até o primeiro evento chegar
+            long limite = System.currentTimeMillis() + 15_000;
+            while (pinados().count() == 0 && System.currentTimeMillis() < limite) {
+                Thread.ofVirtual().start(MonitorPinningVirtualThreadsTest::dormirDentroDeSynchronized).join();
+                Thread.sleep(100);
+            }
+        } finally {
+            monitor.encerrar();
+        }
+
+        assertTrue(pinados().count() > 0);
+        assertTrue(pinados().max(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    void semVirtualThreadsNaoIniciaOStream() {
+        MonitorPinningVirtualThreads monitor = monitor(false);
+        monitor.iniciar();
+
+        assertNull(ReflectionTestUtils.getField(monitor, "stream"));
+        monitor.encerrar();
+    }
+
+    private MonitorPinningVirtualThreads monitor(boolean virtualThreads) {
+        MonitorPinningVirtualThreads monitor = new MonitorPinningVirtualThreads(new IntegradorMetrics(registry));
+        ReflectionTestUtils.setField(monitor, "virtualThreads", virtualThreads);
+        ReflectionTestUtils.setField(monitor, "limiteMs", 10L);
+        return monitor;
+    }
+
+    private Timer pinados() {
+        return registry.get(METRICA).timer();
+    }
+
+    private static void dormirDentroDeSynchronized() {
+        Object monitor = new Object();
+        synchronized (monitor) {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
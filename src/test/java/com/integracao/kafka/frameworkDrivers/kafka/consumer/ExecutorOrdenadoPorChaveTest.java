@@ -0,0 +1,214 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.integracao.kafka.frameworkDrivers.config.KafkaConfig;
+
+class ExecutorOrdenadoPorChaveTest {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+    private static final int WORKERS = 4;
+
+    private final TopicPartition particao = new TopicPartition(TOPICO, 0);
+
+    private ExecutorOrdenadoPorChave executor;
+    private ConcurrentMessageListenerContainer<Object, Object> container;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ExecutorOrdenadoPorChave();
+        ReflectionTestUtils.setField(executor, "modo", "paralelo");
+        ReflectionTestUtils.setField(executor, "workers", WORKERS);
+        executor.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (container != null) {
+            container.stop();
+        }
+        executor.encerrar();
+    }
+
+    @Test
+    void mesmaChaveExecutaNaOrdemDeChegada() throws InterruptedException {
+        List<Integer> pedido1 = new CopyOnWriteArrayList<>();
+        List<Integer> pedido2 = new CopyOnWriteArrayList<>();
+        CountDownLatch concluidas = new CountDownLatch(400);
+
+        for (int i = 0; i < 200; i++) {
+            int sequencia = i;
+            executor.executar("PED-1", () -> {
+                pedido1.add(sequencia);
+                concluidas.countDown();
+            });
+            executor.executar("PED-2", () -> {
+                pedido2.add(sequencia);
+                concluidas.countDown();
+            });
+        }
+
+        assertTrue(concluidas.await(10, TimeUnit.SECONDS));
+        List<Integer> esperado = IntStream.range(0, 200).boxed().toList();
+        assertEquals(esperado, pedido1);
+        assertEquals(esperado, pedido2);
+    }
+
+    @Test
+    void chavesDeFilasDiferentesExecutamEmParalelo() throws InterruptedException {
+        assertNotEquals(fila("PED-A"), fila("PED-B"));
+        CountDownLatch liberaA = new CountDownLatch(1);
+        CountDownLatch concluidaB = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        executor.executar("PED-A", () -> {
+            threads.add(Thread.currentThread().getName());
+            aguardar(liberaA);
+        });
+        // PED-A segura a própria fila; PED-B só termina se tiver outra thread
+        executor.executar("PED-B", () -> {
+            threads.add(Thread.currentThread().getName());
+            concluidaB.countDown();
+        });
+
+        assertTrue(concluidaB.await(5, TimeUnit.SECONDS));
+        liberaA.countDown();
+        assertEquals(2, threads.stream().distinct().count());
+        assertTrue(threads.stream().allMatch(nome -> nome.startsWith("consumer-paralelo-")));
+    }
+
+    @Test
+    void foraDoModoParaleloExecutaNaThreadChamadora() throws InterruptedException {
+        ExecutorOrdenadoPorChave sincrono = new ExecutorOrdenadoPorChave();
+        ReflectionTestUtils.setField(sincrono, "modo", "registro");
+        sincrono.iniciar();
+        Thread[] executora = new Thread[1];
+
+        sincrono.executar("PED-1", () -> executora[0] = Thread.currentThread());
+
+        assertSame(Thread.currentThread(), executora[0]);
+        sincrono.encerrar();
+    }
+
+    @Test
+    void factoryParalelaSoCommitaAteOMaiorOffsetContiguoConcluido() throws InterruptedException {
+        MockConsumer<Object, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updateBeginningOffsets(Map.of(particao, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(TOPICO, 0, 0L, "PED-A", "{}"));
+            consumer.addRecord(new ConsumerRecord<>(TOPICO, 0, 1L, "PED-B", "{}"));
+            consumer.addRecord(new ConsumerRecord<>(TOPICO, 0, 2L, "PED-B", "{}"));
+        });
+
+        CountDownLatch liberaA = new CountDownLatch(1);
+        CountDownLatch concluidasB = new CountDownLatch(2);
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = factoryParalela(consumer);
+        assertEquals(ContainerProperties.AckMode.MANUAL, factory.getContainerProperties().getAckMode());
+        assertTrue(factory.getContainerProperties().isAsyncAcks());
+
+        container = factory.createContainer(new TopicPartitionOffset(TOPICO, 0));
+        container.getContainerProperties().setGroupId("integrador-teste");
+        container.setupMessageListener((AcknowledgingMessageListener<Object, Object>) (record, ack) ->
+            executor.executar((String) record.key(), () -> {
+                if ("PED-A".equals(record.key())) {
+                    aguardar(liberaA);
+                } else {
+                    concluidasB.countDown();
+                }
+                ack.acknowledge();
+            }));
+        container.start();
+
+        // Offsets 1 e 2 confirmados fora de ordem enquanto o 0 segue no worker: nada é commitado
+        assertTrue(concluidasB.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertNull(commitado(consumer));
+
+        liberaA.countDown();
+        long limite = System.currentTimeMillis() + 5_000;
+        while (commitado(consumer) == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(3L, commitado(consumer).offset());
+    }
+
+    /**
+     * A factory do modo paralelo como o Spring a monta: configurer do Boot com o ack-mode do
+     * application.yaml, sobrescrito pelo {@link KafkaConfig}.
+     */
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> factoryParalela(MockConsumer<Object, Object> consumer) {
+        KafkaProperties properties = new KafkaProperties();
+        properties.getListener().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        properties.getListener().setPollTimeout(Duration.ofMillis(50));
+        ConcurrentKafkaListenerContainerFactoryConfigurer configurer = new ConcurrentKafkaListenerContainerFactoryConfigurer();
+        ReflectionTestUtils.setField(configurer, "properties", properties);
+
+        ConsumerFactory<Object, Object> consumerFactory = new ConsumerFactory<>() {
+            @Override
+            public Consumer<Object, Object> createConsumer(String groupId, String clientIdPrefix, String clientIdSuffix,
+                Properties properties) {
+                return consumer;
+            }
+
+            @Override
+            public boolean isAutoCommit() {
+                return false;
+            }
+
+            @Override
+            public Map<String, Object> getConfigurationProperties() {
+                return Map.of();
+            }
+        };
+        return new KafkaConfig().kafkaParaleloListenerContainerFactory(configurer, consumerFactory);
+    }
+
+    private OffsetAndMetadata commitado(MockConsumer<Object, Object> consumer) {
+        return consumer.committed(Set.of(particao)).get(particao);
+    }
+
+    private static int fila(String chave) {
+        return Math.floorMod(chave.hashCode(), WORKERS);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
 import com.integracao.kafka.application.repository.NotaFiscalRepository;
 import com.integracao.kafka.application.service.NotaFiscalService;
 import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
@@ -24,6 +27,8 @@ import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
 import com.integracao.kafka.domain.model.NotaFiscal;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class NotaFiscalConsumerTest {
 
     private TestPublicarEventoPort publicarEventoPort;
@@ -54,21 +59,25 @@ class NotaFiscalConsumerTest {
             new ObjectMapper().findAndRegisterModules(),
             receberNotaUseCase,
             gerenciarFalhasUseCase,
-            notaFiscalService
+            notaFiscalService,
+            new ExecutorOrdenadoPorChave(),
+            new IntegradorMetrics(new SimpleMeterRegistry())
         );
 
         ReflectionTestUtils.setField(consumer, "topicoSaidaNota", "integrador.nota.processado");
         ReflectionTestUtils.setField(consumer, "topicoDlqNota", "integrador.nota.dlq");
         ReflectionTestUtils.setField(consumer, "topicoRetryNota", "integrador.nota.retry");
         ReflectionTestUtils.setField(consumer, "maxTentativasRetry", 3);
+        ReflectionTestUtils.setField(consumer, "tentativasEnvioRetry", 3);
+        ReflectionTestUtils.setField(consumer, "backoffEnvioRetryMs", 1L);
     }
 
     @Test
     void deveReenviarParaRetryQuandoFalharNoReprocessamentoEAindaNaoEsgotouTentativas() {
-        Evento evento = criarEventoNotaValido();
+        Evento<?> evento = criarEventoNotaValido();
         evento.setTentativasRetry(1);
 
-        ConsumerRecord<String, Evento> record = new ConsumerRecord<>(
+        ConsumerRecord<String, Evento<?>> record = new ConsumerRecord<>(
             "integrador.nota.retry", 1, 21L, "key-1", evento
         );
 
@@ -76,7 +85,7 @@ class NotaFiscalConsumerTest {
 
         assertEquals(1, publicarEventoPort.publicacoes.size());
         assertEquals("integrador.nota.retry", publicarEventoPort.publicacoes.get(0).topico());
-        Evento reenviado = publicarEventoPort.publicacoes.get(0).evento();
+        Evento<?> reenviado = publicarEventoPort.publicacoes.get(0).evento();
         assertEquals(2, reenviado.getTentativasRetry());
         assertEquals(Evento.StatusEvento.FALHA, reenviado.getStatus());
         assertTrue(acknowledgment.acknowledged);
@@ -85,10 +94,10 @@ class NotaFiscalConsumerTest {
 
     @Test
     void deveEnviarParaDlqQuandoFalharNoReprocessamentoEAtingirLimite() {
-        Evento evento = criarEventoNotaValido();
+        Evento<?> evento = criarEventoNotaValido();
         evento.setTentativasRetry(3);
 
-        ConsumerRecord<String, Evento> record = new ConsumerRecord<>(
+        ConsumerRecord<String, Evento<?>> record = new ConsumerRecord<>(
             "integrador.nota.retry", 1, 22L, "key-2", evento
         );
 
@@ -101,7 +110,32 @@ class NotaFiscalConsumerTest {
         assertEquals(1, gerenciarFalhasUseCase.listarFalhas(TipoFalha.NOTA, null, 100).size());
     }
 
-    private Evento criarEventoNotaValido() {
+    @Test
+    void deveRepetirEnvioParaRetryComBackoffQuandoWorkerParaleloFalhar() {
+        Evento<?> evento = criarEventoNotaValido();
+        publicarEventoPort.falhasNoRetry = 2;
+
+        consumer.consumirNotaEntradaParalelo(new ConsumerRecord<>("integrador.nota.recebido", 1, 31L, "key-6", evento), acknowledgment);
+
+        assertEquals(1, publicarEventoPort.publicacoes.size());
+        assertEquals("integrador.nota.retry", publicarEventoPort.publicacoes.get(0).topico());
+        assertTrue(acknowledgment.acknowledged);
+        assertTrue(gerenciarFalhasUseCase.listarFalhas(TipoFalha.NOTA, null, 100).isEmpty());
+    }
+
+    @Test
+    void deveRegistrarFalhaEConfirmarQuandoEnvioParaRetryEsgotar() {
+        Evento<?> evento = criarEventoNotaValido();
+        publicarEventoPort.falhasNoRetry = 3;
+
+        consumer.consumirNotaEntradaParalelo(new ConsumerRecord<>("integrador.nota.recebido", 1, 32L, "key-6", evento), acknowledgment);
+
+        assertTrue(publicarEventoPort.publicacoes.isEmpty());
+        assertTrue(acknowledgment.acknowledged);
+        assertEquals(1, gerenciarFalhasUseCase.listarFalhas(TipoFalha.NOTA, null, 100).size());
+    }
+
+    private Evento<?> criarEventoNotaValido() {
         NotaFiscal nota = NotaFiscal.builder()
             .numeroNota("NF-100")
             .cliente("Cliente Teste")
@@ -120,14 +154,20 @@ class NotaFiscalConsumerTest {
             .build();
     }
 
-    private record Publicacao(String topico, Evento evento) {
+    private record Publicacao(String topico, Evento<?> evento) {
     }
 
     private static class TestPublicarEventoPort implements PublicarEventoPort {
         private final List<Publicacao> publicacoes = new ArrayList<>();
 
+        private int falhasNoRetry;
+
         @Override
-        public void publicar(String topico, Evento evento) {
+        public void publicar(String topico, Evento<?> evento) {
+            if (topico.endsWith(".retry") && falhasNoRetry > 0) {
+                falhasNoRetry--;
+                throw new RuntimeException("broker indisponível");
+            }
             publicacoes.add(new Publicacao(topico, evento));
         }
     }
@@ -149,6 +189,11 @@ class NotaFiscalConsumerTest {
                     return notaFiscalEntity;
                 }
 
+                @Override
+                public List<NotaFiscalEntity> saveAll(List<NotaFiscalEntity> notaFiscalEntities) {
+                    return notaFiscalEntities;
+                }
+
                 @Override
                 public NotaFiscalEntity findById(Long id) {
                     return null;
@@ -158,6 +203,20 @@ class NotaFiscalConsumerTest {
                 public List<NotaFiscalEntity> findAll() {
                     return List.of();
                 }
+
+                @Override
+                public List<NotaFiscalEntity> buscarPorNumeros(Collection<String> numerosNota) {
+                    return List.of();
+                }
+
+                @Override
+                public List<NotaFiscalEntity> buscarPagina(Long aposId, int tamanho) {
+                    return List.of();
+                }
+
+                @Override
+                public void percorrerTodos(Consumer<NotaFiscalEntity> consumidor) {
+                }
             });
         }
 
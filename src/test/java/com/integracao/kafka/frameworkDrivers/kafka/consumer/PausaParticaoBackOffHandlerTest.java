@@ -0,0 +1,157 @@
+package com.integracao.kafka.frameworkDrivers.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.backoff.FixedBackOff;
+
+class PausaParticaoBackOffHandlerTest {
+
+    private static final String TOPICO = "integrador.pedido.recebido";
+
+    private final TopicPartition particao0 = new TopicPartition(TOPICO, 0);
+    private final TopicPartition particao1 = new TopicPartition(TOPICO, 1);
+
+    private ThreadPoolTaskScheduler scheduler;
+    private ContainerStub container;
+    private MockConsumer<String, String> consumer;
+    private List<ConsumerRecord<?, ?>> recuperados;
+    private PausaParticaoBackOffHandler backOffHandler;
+    private DefaultErrorHandler errorHandler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        container = new ContainerStub();
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(particao0, particao1));
+        recuperados = new ArrayList<>();
+
+        backOffHandler = new PausaParticaoBackOffHandler(
+            new ListenerContainerPauseService(new KafkaListenerEndpointRegistry(), scheduler));
+        errorHandler = new DefaultErrorHandler((record, ex) -> recuperados.add(record), new FixedBackOff(50L, 1L), backOffHandler);
+        errorHandler.setRetryListeners(backOffHandler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void falhaPausaSoAParticaoDoRegistroERetomaDepoisDoBackoff() throws InterruptedException {
+        falhar(new ConsumerRecord<>(TOPICO, 1, 10L, "PED-1", "{}"));
+
+        assertEquals(List.of(particao1), container.pausadas);
+        assertTrue(container.retomadas.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(particao1), container.retomadasParticoes);
+        assertTrue(recuperados.isEmpty());
+        assertEquals(10L, consumer.position(particao1));
+    }
+
+    @Test
+    void tentativasEsgotadasVaoParaORecovererSemDeixarParticaoParaAProximaFalha() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(TOPICO, 1, 10L, "PED-1", "{}");
+        falhar(record);
+        errorHandler.handleRemaining(new IllegalStateException("falha"), List.of(record), consumer, container);
+
+        assertEquals(List.of(record), recuperados);
+        assertEquals(List.of(particao1), container.pausadas);
+
+        // Backoff sem registro identificado depois da recuperação: pausa o container, não a partição anterior
+        backOffHandler.onNextBackOff(container, new IllegalStateException("lote"), 50L);
+
+        assertEquals(1, container.pausasDoContainer);
+        assertEquals(List.of(particao1), container.pausadas);
+    }
+
+    private void falhar(ConsumerRecord<String, String> record) {
+        try {
+            errorHandler.handleRemaining(new IllegalStateException("falha"), List.of(record), consumer, container);
+        } catch (RuntimeException ex) {
+            // O error handler relança depois do seek para o registro ser reentregue
+        }
+    }
+
+    private static class ContainerStub implements MessageListenerContainer {
+
+        private final List<TopicPartition> pausadas = new CopyOnWriteArrayList<>();
+        private final List<TopicPartition> retomadasParticoes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch retomadas = new CountDownLatch(1);
+        private volatile int pausasDoContainer;
+
+        @Override
+        public void pausePartition(TopicPartition topicPartition) {
+            pausadas.add(topicPartition);
+        }
+
+        @Override
+        public boolean isPartitionPauseRequested(TopicPartition topicPartition) {
+            return pausadas.contains(topicPartition) && !retomadasParticoes.contains(topicPartition);
+        }
+
+        @Override
+        public void resumePartition(TopicPartition topicPartition) {
+            retomadasParticoes.add(topicPartition);
+            retomadas.countDown();
+        }
+
+        @Override
+        public void pause() {
+            pausasDoContainer++;
+        }
+
+        @Override
+        public boolean isPauseRequested() {
+            return false;
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public void setupMessageListener(Object messageListener) {
+        }
+
+        @Override
+        public Map<String, Map<MetricName, ? extends Metric>> metrics() {
+            return Map.of();
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isRunning() {
+            return true;
+        }
+    }
+}
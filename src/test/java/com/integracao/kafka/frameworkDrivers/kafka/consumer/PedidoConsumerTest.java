@@ -1,20 +1,26 @@
 package com.integracao.kafka.frameworkDrivers.kafka.consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
 import com.integracao.kafka.application.repository.PedidoRepository;
 import com.integracao.kafka.application.service.PedidoService;
 import com.integracao.kafka.application.useCase.subscribe.GerenciarFalhasUseCase;
@@ -24,6 +30,8 @@ import com.integracao.kafka.domain.model.Evento;
 import com.integracao.kafka.domain.model.FalhaProcessamento.TipoFalha;
 import com.integracao.kafka.domain.model.Pedido;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class PedidoConsumerTest {
 
     private TestPublicarEventoPort publicarEventoPort;
@@ -54,21 +62,25 @@ class PedidoConsumerTest {
             new ObjectMapper().findAndRegisterModules(),
             receberPedidoUseCase,
             gerenciarFalhasUseCase,
-            pedidoService
+            pedidoService,
+            new ExecutorOrdenadoPorChave(),
+            new IntegradorMetrics(new SimpleMeterRegistry())
         );
 
         ReflectionTestUtils.setField(consumer, "topicoSaidaPedido", "integrador.pedido.processado");
         ReflectionTestUtils.setField(consumer, "topicoDlqPedido", "integrador.pedido.dlq");
         ReflectionTestUtils.setField(consumer, "topicoRetryPedido", "integrador.pedido.retry");
         ReflectionTestUtils.setField(consumer, "maxTentativasRetry", 3);
+        ReflectionTestUtils.setField(consumer, "tentativasEnvioRetry", 3);
+        ReflectionTestUtils.setField(consumer, "backoffEnvioRetryMs", 1L);
     }
 
     @Test
     void deveReenviarParaRetryQuandoFalharNoReprocessamentoEAindaNaoEsgotouTentativas() {
-        Evento evento = criarEventoPedidoValido();
+        Evento<?> evento = criarEventoPedidoValido();
         evento.setTentativasRetry(1);
 
-        ConsumerRecord<String, Evento> record = new ConsumerRecord<>(
+        ConsumerRecord<String, Evento<?>> record = new ConsumerRecord<>(
             "integrador.pedido.retry", 0, 15L, "key-1", evento
         );
 
@@ -76,7 +88,7 @@ class PedidoConsumerTest {
 
         assertEquals(1, publicarEventoPort.publicacoes.size());
         assertEquals("integrador.pedido.retry", publicarEventoPort.publicacoes.get(0).topico());
-        Evento reenviado = publicarEventoPort.publicacoes.get(0).evento();
+        Evento<?> reenviado = publicarEventoPort.publicacoes.get(0).evento();
         assertEquals(2, reenviado.getTentativasRetry());
         assertEquals(Evento.StatusEvento.FALHA, reenviado.getStatus());
         assertTrue(acknowledgment.acknowledged);
@@ -85,10 +97,10 @@ class PedidoConsumerTest {
 
     @Test
     void deveEnviarParaDlqQuandoFalharNoReprocessamentoEAtingirLimite() {
-        Evento evento = criarEventoPedidoValido();
+        Evento<?> evento = criarEventoPedidoValido();
         evento.setTentativasRetry(3);
 
-        ConsumerRecord<String, Evento> record = new ConsumerRecord<>(
+        ConsumerRecord<String, Evento<?>> record = new ConsumerRecord<>(
             "integrador.pedido.retry", 0, 16L, "key-2", evento
         );
 
@@ -101,7 +113,69 @@ class PedidoConsumerTest {
         assertEquals(1, gerenciarFalhasUseCase.listarFalhas(TipoFalha.PEDIDO, null, 100).size());
     }
 
-    private Evento criarEventoPedidoValido() {
+    @Test
+    void deveEnviarInvalidosDoLoteParaDlqEFalharNoPrimeiroValidoQuandoPersistenciaFalhar() {
+        Evento<?> invalido = criarEventoPedidoValido();
+        ((Pedido) invalido.getPayload()).setNumeroPedido(" ");
+
+        List<ConsumerRecord<String, Evento<?>>> records = List.of(
+            new ConsumerRecord<>("integrador.pedido.recebido", 0, 20L, "key-3", invalido),
+            new ConsumerRecord<>("integrador.pedido.recebido", 0, 21L, "key-4", criarEventoPedidoValido())
+        );
+
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+            () -> consumer.consumirPedidoEntradaEmLote(records, acknowledgment));
+
+        assertEquals(1, ex.getIndex());
+        assertEquals(1, publicarEventoPort.publicacoes.size());
+        assertEquals("integrador.pedido.dlq", publicarEventoPort.publicacoes.get(0).topico());
+        assertEquals(invalido, publicarEventoPort.publicacoes.get(0).evento());
+        assertFalse(acknowledgment.acknowledged);
+        assertEquals(1, gerenciarFalhasUseCase.listarFalhas(TipoFalha.PEDIDO, null, 100).size());
+    }
+
+    @Test
+    void deveEnviarParaRetryEConfirmarQuandoWorkerParaleloFalhar() {
+        Evento<?> evento = criarEventoPedidoValido();
+
+        ConsumerRecord<String, Evento<?>> record = new ConsumerRecord<>(
+            "integrador.pedido.recebido", 1, 30L, "key-5", evento
+        );
+
+        consumer.consumirPedidoEntradaParalelo(record, acknowledgment);
+
+        assertEquals(1, publicarEventoPort.publicacoes.size());
+        assertEquals("integrador.pedido.retry", publicarEventoPort.publicacoes.get(0).topico());
+        assertEquals(evento, publicarEventoPort.publicacoes.get(0).evento());
+        assertTrue(acknowledgment.acknowledged);
+    }
+
+    @Test
+    void deveRepetirEnvioParaRetryComBackoffQuandoWorkerParaleloFalhar() {
+        Evento<?> evento = criarEventoPedidoValido();
+        publicarEventoPort.falhasNoRetry = 2;
+
+        consumer.consumirPedidoEntradaParalelo(new ConsumerRecord<>("integrador.pedido.recebido", 1, 31L, "key-6", evento), acknowledgment);
+
+        assertEquals(1, publicarEventoPort.publicacoes.size());
+        assertEquals("integrador.pedido.retry", publicarEventoPort.publicacoes.get(0).topico());
+        assertTrue(acknowledgment.acknowledged);
+        assertTrue(gerenciarFalhasUseCase.listarFalhas(TipoFalha.PEDIDO, null, 100).isEmpty());
+    }
+
+    @Test
+    void deveRegistrarFalhaEConfirmarQuandoEnvioParaRetryEsgotar() {
+        Evento<?> evento = criarEventoPedidoValido();
+        publicarEventoPort.falhasNoRetry = 3;
+
+        consumer.consumirPedidoEntradaParalelo(new ConsumerRecord<>("integrador.pedido.recebido", 1, 32L, "key-6", evento), acknowledgment);
+
+        assertTrue(publicarEventoPort.publicacoes.isEmpty());
+        assertTrue(acknowledgment.acknowledged);
+        assertEquals(1, gerenciarFalhasUseCase.listarFalhas(TipoFalha.PEDIDO, null, 100).size());
+    }
+
+    private Evento<?> criarEventoPedidoValido() {
         Pedido pedido = Pedido.builder()
             .numeroPedido("PED-100")
             .cliente("Cliente Teste")
@@ -120,14 +194,20 @@ class PedidoConsumerTest {
             .build();
     }
 
-    private record Publicacao(String topico, Evento evento) {
+    private record Publicacao(String topico, Evento<?> evento) {
     }
 
     private static class TestPublicarEventoPort implements PublicarEventoPort {
         private final List<Publicacao> publicacoes = new ArrayList<>();
 
+        private int falhasNoRetry;
+
         @Override
-        public void publicar(String topico, Evento evento) {
+        public void publicar(String topico, Evento<?> evento) {
+            if (topico.endsWith(".retry") && falhasNoRetry > 0) {
+                falhasNoRetry--;
+                throw new RuntimeException("broker indisponível");
+            }
             publicacoes.add(new Publicacao(topico, evento));
         }
     }
@@ -149,6 +229,11 @@ class PedidoConsumerTest {
                     return pedidoEntity;
                 }
 
+                @Override
+                public List<PedidoEntity> saveAll(List<PedidoEntity> pedidoEntities) {
+                    return pedidoEntities;
+                }
+
                 @Override
                 public PedidoEntity findById(Long id) {
                     return null;
@@ -158,6 +243,20 @@ class PedidoConsumerTest {
                 public List<PedidoEntity> findAll() {
                     return List.of();
                 }
+
+                @Override
+                public List<PedidoEntity> buscarPorNumeros(Collection<String> numerosPedido) {
+                    return List.of();
+                }
+
+                @Override
+                public List<PedidoEntity> buscarPagina(Long aposId, int tamanho) {
+                    return List.of();
+                }
+
+                @Override
+                public void percorrerTodos(Consumer<PedidoEntity> consumidor) {
+                }
             });
         }
 
@@ -165,5 +264,10 @@ class PedidoConsumerTest {
         public PedidoEntity criarPedido(Pedido pedido) {
             throw new RuntimeException("falha persistencia");
         }
+
+        @Override
+        public List<PedidoEntity> criarPedidos(List<Pedido> pedidos) {
+            throw new RuntimeException("falha persistencia");
+        }
     }
 }
@@ -0,0 +1,117 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.frameworkDrivers.kafka.producer.spill.SpillProdutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class KafkaProducerAdapterTest {
+
+    private static final String TOPICO = "integrador.pedido.processado";
+
+    @Test
+    void envioComTimeoutNaoContaComoPublicado() {
+        KafkaTemplateTimeoutNoSegundo template = new KafkaTemplateTimeoutNoSegundo();
+        KafkaProducerAdapter adapter = new KafkaProducerAdapter(template, null,
+            new SpillProdutor(template, new ObjectMapper(), new IntegradorMetrics(new SimpleMeterRegistry()), null));
+
+        ResultadoLotePublicacao resultado = adapter.publicarLote(TOPICO, List.of(
+            Evento.builder().id("evt-1").build(),
+            Evento.builder().id("evt-2").build()));
+
+        assertTrue(resultado.itens().get(0).sucesso());
+        ResultadoLotePublicacao.Item timeout = resultado.itens().get(1);
+        assertFalse(timeout.sucesso());
+        assertEquals("evt-2", timeout.eventoId());
+        assertEquals("TimeoutException", timeout.erro());
+        assertTrue(timeout.brokerIndisponivel());
+        assertEquals(1, resultado.totalFalha());
+    }
+
+    @Test
+    void publicarAsyncCompletaComOffsetDoBroker() {
+        KafkaTemplateTimeoutNoSegundo template = new KafkaTemplateTimeoutNoSegundo();
+        KafkaProducerAdapter adapter = new KafkaProducerAdapter(template, null,
+            new SpillProdutor(template, new ObjectMapper(), new IntegradorMetrics(new SimpleMeterRegistry()), null));
+
+        ResultadoPublicacao resultado = adapter.publicarAsync(TOPICO, Evento.builder().id("evt-1").build()).join();
+
+        assertEquals("evt-1", resultado.eventoId());
+        assertEquals(10L, resultado.offset());
+    }
+
+    @Test
+    void fallbackNaoGravaNoOutboxFalhaPermanente() {
+        // outboxService nulo: qualquer tentativa de gravar no outbox estouraria NPE
+        KafkaProducerAdapter adapter = new KafkaProducerAdapter(null, null, null);
+        RecordTooLargeException recusa = new RecordTooLargeException("registro grande demais");
+
+        RuntimeException erro = assertThrows(RuntimeException.class,
+            () -> adapter.fallback(TOPICO, Evento.builder().id("evt-1").build(), new RuntimeException("Falha ao publicar no Kafka", recusa)));
+        assertEquals(recusa, erro.getCause());
+
+        CompletableFuture<ResultadoPublicacao> async = adapter.fallbackAsync(TOPICO, Evento.builder().id("evt-2").build(), recusa);
+        assertTrue(async.isCompletedExceptionally());
+    }
+
+    @Test
+    void classificaIndisponibilidadeDoBrokerPelaCadeiaDeCausas() {
+        assertTrue(FalhasBroker.indisponibilidade(new RuntimeException(new org.apache.kafka.common.errors.TimeoutException("expirou"))));
+        assertTrue(FalhasBroker.indisponibilidade(new TimeoutException()));
+        assertFalse(FalhasBroker.indisponibilidade(new RuntimeException(new RecordTooLargeException())));
+        assertFalse(FalhasBroker.indisponibilidade(new IllegalArgumentException("payload")));
+    }
+
+    @Test
+    void falhaSemMensagemNuncaFicaSemErro() {
+        ResultadoLotePublicacao.Item item = ResultadoLotePublicacao.Item.falha("evt-1", (String) null);
+
+        assertFalse(item.sucesso());
+        assertEquals("erro sem descrição", item.erro());
+    }
+
+    /**
+     * Confirma o primeiro envio e falha os seguintes como o orTimeout do adapter:
+     * TimeoutException sem mensagem.
+     */
+    private static class KafkaTemplateTimeoutNoSegundo extends KafkaTemplate<String, Object> {
+
+        private int envios;
+
+        KafkaTemplateTimeoutNoSegundo() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            if (envios++ > 0) {
+                return CompletableFuture.failedFuture(new TimeoutException());
+            }
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(topic, 0), 10L, 0, System.currentTimeMillis(), 0, 0);
+            return CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>(topic, key, data), metadata));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.gateway.out.PublicarEventoPort;
+import com.integracao.kafka.application.gateway.out.ResultadoLotePublicacao;
+import com.integracao.kafka.application.gateway.out.ResultadoPublicacao;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+import com.integracao.kafka.domain.model.Evento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private static final String TOPICO_PEDIDO = "integrador.pedido.processado";
+    private static final String TOPICO_NOTA = "integrador.nota.processada";
+
+    private OutboxRepositoryEmMemoria repository;
+    private PublicarEventoPortStub port;
+    private SimpleMeterRegistry registry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OutboxRepositoryEmMemoria();
+        port = new PublicarEventoPortStub();
+        registry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(repository, port, new ObjectMapper().findAndRegisterModules(), new IntegradorMetrics(registry));
+        ReflectionTestUtils.setField(relay, "habilitado", true);
+        ReflectionTestUtils.setField(relay, "tamanhoLote", 500);
+        ReflectionTestUtils.setField(relay, "maxTentativas", 2);
+    }
+
+    @Test
+    void brokerIndisponivelRemoveSoOPrefixoConfirmado() {
+        repository.adicionar(1L, TOPICO_PEDIDO, "evt-1");
+        repository.adicionar(2L, TOPICO_PEDIDO, "evt-2");
+        repository.adicionar(3L, TOPICO_PEDIDO, "evt-3");
+        port.indisponivel.add("evt-2");
+
+        relay.drenar();
+
+        assertEquals(List.of(2L, 3L), repository.idsPendentes());
+        assertEquals(0, repository.linhas.get(2L).getTentativas());
+        assertEquals(1L, repository.ultimoIdConfirmado);
+    }
+
+    @Test
+    void trechosDeTopicosAlternadosSaoPublicadosEmOrdem() {
+        repository.adicionar(1L, TOPICO_PEDIDO, "evt-1");
+        repository.adicionar(2L, TOPICO_PEDIDO, "evt-2");
+        repository.adicionar(3L, TOPICO_NOTA, "evt-3");
+        repository.adicionar(4L, TOPICO_PEDIDO, "evt-4");
+
+        relay.drenar();
+
+        assertEquals(List.of(
+            TOPICO_PEDIDO + "=[evt-1, evt-2]",
+            TOPICO_NOTA + "=[evt-3]",
+            TOPICO_PEDIDO + "=[evt-4]"), port.chamadas);
+        assertTrue(repository.idsPendentes().isEmpty());
+        assertEquals(4.0, contador("drenado"));
+    }
+
+    @Test
+    void payloadIlegivelViraMortoSemTravarOsSeguintes() {
+        repository.adicionar(1L, TOPICO_PEDIDO, "evt-1").setPayload("{nao-json");
+        repository.adicionar(2L, TOPICO_PEDIDO, "evt-2");
+
+        relay.drenar();
+
+        assertEquals(OutboxEventoEntity.Status.MORTO, repository.linhas.get(1L).getStatus());
+        assertEquals(List.of(TOPICO_PEDIDO + "=[evt-2]"), port.chamadas);
+        assertTrue(repository.idsPendentes().isEmpty());
+        assertEquals(1.0, contador("morto"));
+    }
+
+    @Test
+    void recusaDoBrokerViraMortoAoEsgotarTentativas() {
+        repository.adicionar(1L, TOPICO_PEDIDO, "evt-1");
+        repository.adicionar(2L, TOPICO_PEDIDO, "evt-2");
+        port.recusados.add("evt-1");
+
+        relay.drenar();
+
+        OutboxEventoEntity recusado = repository.linhas.get(1L);
+        assertEquals(1, recusado.getTentativas());
+        assertEquals(OutboxEventoEntity.Status.PENDENTE, recusado.getStatus());
+        assertEquals(List.of(1L, 2L), repository.idsPendentes());
+
+        relay.drenar();
+
+        assertEquals(2, recusado.getTentativas());
+        assertEquals(OutboxEventoEntity.Status.MORTO, recusado.getStatus());
+        assertEquals("RecordTooLargeException", recusado.getUltimoErro());
+        assertTrue(repository.idsPendentes().isEmpty());
+        assertEquals(1.0, contador("morto"));
+    }
+
+    private double contador(String operacao) {
+        return registry.get("integrador_outbox_eventos_total").tag("operacao", operacao).counter().count();
+    }
+
+    private static class PublicarEventoPortStub implements PublicarEventoPort {
+
+        private final List<String> chamadas = new ArrayList<>();
+        private final Set<String> indisponivel = new HashSet<>();
+        private final Set<String> recusados = new HashSet<>();
+
+        @Override
+        public void publicar(String topico, Evento<?> evento) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResultadoLotePublicacao publicarLote(String topico, List<Evento<?>> eventos) {
+            chamadas.add(topico + "=" + eventos.stream().map(Evento::getId).toList());
+            List<ResultadoLotePublicacao.Item> itens = new ArrayList<>();
+            for (Evento<?> evento : eventos) {
+                if (indisponivel.contains(evento.getId())) {
+                    itens.add(ResultadoLotePublicacao.Item.falha(evento.getId(), "TimeoutException", true));
+                } else if (recusados.contains(evento.getId())) {
+                    itens.add(ResultadoLotePublicacao.Item.falha(evento.getId(), "RecordTooLargeException"));
+                } else {
+                    itens.add(ResultadoLotePublicacao.Item.sucesso(ResultadoPublicacao.semConfirmacao(topico, evento.getId())));
+                }
+            }
+            return new ResultadoLotePublicacao(topico, itens);
+        }
+    }
+
+    private static class OutboxRepositoryEmMemoria implements OutboxRepository {
+
+        private final Map<Long, OutboxEventoEntity> linhas = new TreeMap<>();
+        private Long ultimoIdConfirmado;
+
+        OutboxEventoEntity adicionar(Long id, String topico, String eventoId) {
+            OutboxEventoEntity entidade = new OutboxEventoEntity();
+            entidade.setId(id);
+            entidade.setTopico(topico);
+            entidade.setChave(eventoId);
+            entidade.setPayload("{\"id\":\"" + eventoId + "\"}");
+            linhas.put(id, entidade);
+            return entidade;
+        }
+
+        List<Long> idsPendentes() {
+            return buscarPendentes(Integer.MAX_VALUE).stream().map(OutboxEventoEntity::getId).toList();
+        }
+
+        @Override
+        public OutboxEventoEntity save(OutboxEventoEntity outboxEventoEntity) {
+            linhas.put(outboxEventoEntity.getId(), outboxEventoEntity);
+            return outboxEventoEntity;
+        }
+
+        @Override
+        public List<OutboxEventoEntity> saveAll(List<OutboxEventoEntity> outboxEventos) {
+            outboxEventos.forEach(this::save);
+            return outboxEventos;
+        }
+
+        @Override
+        public List<OutboxEventoEntity> buscarPendentes(int limite) {
+            return linhas.values().stream()
+                .filter(linha -> linha.getStatus() == OutboxEventoEntity.Status.PENDENTE)
+                .limit(limite)
+                .toList();
+        }
+
+        @Override
+        public long contarPendentes() {
+            return buscarPendentes(Integer.MAX_VALUE).size();
+        }
+
+        @Override
+        public void confirmarPublicacao(String relay, List<Long> idsPublicados) {
+            idsPublicados.forEach(linhas::remove);
+            if (!idsPublicados.isEmpty()) {
+                ultimoIdConfirmado = Collections.max(idsPublicados);
+            }
+        }
+    }
+}
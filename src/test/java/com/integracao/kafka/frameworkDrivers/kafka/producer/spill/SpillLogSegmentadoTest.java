@@ -0,0 +1,67 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer.spill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillLogSegmentadoTest {
+
+    private static final int TAMANHO_SEGMENTO = 64;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveEntregarRegistrosNaOrdemEntreSegmentosEReciclarOsLidos() throws Exception {
+        try (SpillLogSegmentado spill = new SpillLogSegmentado(diretorio, TAMANHO_SEGMENTO, 2)) {
+            // 16 bytes de cabeçalho + registros de 4 + 12 bytes: 3 registros por segmento
+            for (int i = 0; i < 6; i++) {
+                assertTrue(spill.anexar(registro(i)));
+            }
+            assertFalse(spill.anexar(registro(6)));
+            assertEquals(6, spill.registrosPendentes());
+
+            assertEquals(List.of("evento-00000", "evento-00001", "evento-00002"), texto(spill.espiar(10)));
+            spill.confirmar(3);
+
+            assertTrue(spill.anexar(registro(6)));
+            assertEquals(List.of("evento-00003", "evento-00004"), texto(spill.espiar(2)));
+            spill.confirmar(3);
+
+            assertEquals(List.of("evento-00006"), texto(spill.espiar(10)));
+            assertEquals(1, spill.registrosPendentes());
+        }
+    }
+
+    @Test
+    void deveRestaurarRegistrosPendentesAposReabrir() throws Exception {
+        try (SpillLogSegmentado spill = new SpillLogSegmentado(diretorio, TAMANHO_SEGMENTO, 4)) {
+            for (int i = 0; i < 5; i++) {
+                spill.anexar(registro(i));
+            }
+            spill.confirmar(2);
+        }
+
+        try (SpillLogSegmentado reaberto = new SpillLogSegmentado(diretorio, TAMANHO_SEGMENTO, 4)) {
+            assertEquals(3, reaberto.registrosPendentes());
+            assertEquals(List.of("evento-00002"), texto(reaberto.espiar(10)));
+            reaberto.confirmar(1);
+            assertEquals(List.of("evento-00003", "evento-00004"), texto(reaberto.espiar(10)));
+        }
+    }
+
+    private byte[] registro(int indice) {
+        return String.format("evento-%05d", indice).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> texto(List<byte[]> registros) {
+        return registros.stream().map(bytes -> new String(bytes, StandardCharsets.UTF_8)).toList();
+    }
+}
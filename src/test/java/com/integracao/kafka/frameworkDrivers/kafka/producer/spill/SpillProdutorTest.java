@@ -0,0 +1,238 @@
+package com.integracao.kafka.frameworkDrivers.kafka.producer.spill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.NotEnoughReplicasException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integracao.kafka.application.metrics.IntegradorMetrics;
+import com.integracao.kafka.application.repository.OutboxRepository;
+import com.integracao.kafka.domain.entity.OutboxEventoEntity;
+import com.integracao.kafka.domain.model.Evento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SpillProdutorTest {
+
+    private static final String TOPICO = "integrador.pedido.processado";
+    private static final long BUFFER_MINIMO = 1024;
+
+    @TempDir
+    Path diretorio;
+
+    private KafkaTemplateStub template;
+    private OutboxRepositoryStub outbox;
+    private SpillProdutor produtor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        template = new KafkaTemplateStub();
+        outbox = new OutboxRepositoryStub();
+        produtor = new SpillProdutor(template, new ObjectMapper().findAndRegisterModules(),
+            new IntegradorMetrics(new SimpleMeterRegistry()), outbox);
+        ReflectionTestUtils.setField(produtor, "habilitado", true);
+        ReflectionTestUtils.setField(produtor, "diretorio", diretorio.toString());
+        ReflectionTestUtils.setField(produtor, "tamanhoSegmentoMb", 1);
+        ReflectionTestUtils.setField(produtor, "maxSegmentos", 2);
+        ReflectionTestUtils.setField(produtor, "bufferMinimoBytes", BUFFER_MINIMO);
+        // O reenvio é disparado pelo teste; o agendado não chega a rodar
+        ReflectionTestUtils.setField(produtor, "intervaloReplayMs", 3_600_000L);
+        ReflectionTestUtils.setField(produtor, "tamanhoLoteReplay", 10);
+        ReflectionTestUtils.setField(produtor, "maxTentativasReplay", 2);
+        produtor.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        produtor.encerrar();
+    }
+
+    @Test
+    void desviaEnquantoHaPendentesEReenviaNaOrdemQuandoOBufferVolta() {
+        buffer(BUFFER_MINIMO - 1);
+        assertTrue(produtor.deveDesviar());
+        desviar("evt-1", "evt-2", "evt-3");
+
+        reenviar();
+        assertTrue(template.enviados.isEmpty());
+
+        // Com folga no buffer, o evento novo ainda vai para o spill para não passar à frente dos pendentes
+        buffer(BUFFER_MINIMO);
+        assertTrue(produtor.deveDesviar());
+
+        reenviar();
+
+        assertEquals(List.of("evt-1", "evt-2", "evt-3"), template.enviados);
+        assertFalse(produtor.deveDesviar());
+        assertTrue(outbox.salvos.isEmpty());
+    }
+
+    @Test
+    void registroRecusadoPeloBrokerVaiParaOOutboxComoMortoSemTravarOsSeguintes() {
+        buffer(BUFFER_MINIMO - 1);
+        desviar("evt-1", "evt-2", "evt-3");
+        template.falhas.put("evt-2", new RecordTooLargeException("registro grande demais"));
+
+        buffer(BUFFER_MINIMO);
+        reenviar();
+
+        assertEquals(List.of("evt-1", "evt-2", "evt-3"), template.enviados);
+        assertFalse(produtor.deveDesviar());
+        assertEquals(1, outbox.salvos.size());
+        OutboxEventoEntity morto = outbox.salvos.get(0);
+        assertEquals(OutboxEventoEntity.Status.MORTO, morto.getStatus());
+        assertEquals(TOPICO, morto.getTopico());
+        assertEquals("evt-2", morto.getChave());
+        assertEquals("PEDIDO_PROCESSADO", morto.getTipo());
+        assertTrue(morto.getPayload().contains("\"evt-2\""));
+        assertTrue(morto.getUltimoErro().startsWith("RecordTooLargeException"));
+    }
+
+    @Test
+    void falhaRetentavelMantemORegistroNoSpillAteEsgotarAsTentativasComOBrokerNoAr() {
+        buffer(BUFFER_MINIMO - 1);
+        desviar("evt-1", "evt-2", "evt-3");
+        buffer(BUFFER_MINIMO);
+
+        // Broker fora: nada é confirmado e nenhuma falha conta como tentativa do registro
+        template.falhaTudo = new TimeoutException("expirou");
+        for (int i = 0; i < 3; i++) {
+            reenviar();
+        }
+        assertTrue(produtor.deveDesviar());
+        assertTrue(outbox.salvos.isEmpty());
+
+        // Broker no ar recusando só o evt-2: evt-1 sai, evt-2 segura o evt-3 na primeira tentativa
+        template.falhaTudo = null;
+        template.falhas.put("evt-2", new NotEnoughReplicasException("réplicas insuficientes"));
+        template.enviados.clear();
+        reenviar();
+        assertEquals(List.of("evt-1", "evt-2", "evt-3"), template.enviados);
+        assertTrue(outbox.salvos.isEmpty());
+        assertTrue(produtor.deveDesviar());
+
+        // Segunda tentativa esgota max-tentativas: evt-2 vira MORTO e o evt-3 é confirmado
+        template.enviados.clear();
+        reenviar();
+        assertEquals(List.of("evt-2", "evt-3"), template.enviados);
+        assertEquals(1, outbox.salvos.size());
+        assertEquals("evt-2", outbox.salvos.get(0).getChave());
+        assertEquals(2, outbox.salvos.get(0).getTentativas());
+        assertFalse(produtor.deveDesviar());
+    }
+
+    private void desviar(String... ids) {
+        for (String id : ids) {
+            Evento<String> evento = Evento.<String>builder().id(id).tipo("PEDIDO_PROCESSADO").payload("{}").build();
+            assertFalse(produtor.desviar(TOPICO, evento).isCompletedExceptionally());
+        }
+    }
+
+    private void buffer(long bytes) {
+        template.bufferDisponivel = bytes;
+        // Descarta a amostra em cache para a próxima leitura pegar o valor novo
+        ReflectionTestUtils.setField(produtor, "ultimaAmostraBufferMs", 0L);
+    }
+
+    private void reenviar() {
+        ReflectionTestUtils.invokeMethod(produtor, "reenviar");
+    }
+
+    /**
+     * Registra a chave (id do evento) de cada envio, falha os ids configurados e expõe
+     * buffer-available-bytes com o valor que o teste quiser.
+     */
+    private static class KafkaTemplateStub extends KafkaTemplate<String, Object> {
+
+        private final List<String> enviados = new ArrayList<>();
+        private final Map<String, RuntimeException> falhas = new HashMap<>();
+        private RuntimeException falhaTudo;
+        private volatile long bufferDisponivel = Long.MAX_VALUE;
+
+        KafkaTemplateStub() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+            enviados.add(key);
+            RuntimeException falha = falhaTudo != null ? falhaTudo : falhas.get(key);
+            if (falha != null) {
+                return CompletableFuture.failedFuture(falha);
+            }
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(topic, 0), enviados.size(), 0, System.currentTimeMillis(), 0, 0);
+            return CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>(topic, key, data), metadata));
+        }
+
+        @Override
+        public Map<MetricName, ? extends Metric> metrics() {
+            MetricName nome = new MetricName("buffer-available-bytes", "producer-metrics", "", Map.of());
+            return Map.of(nome, new Metric() {
+                @Override
+                public MetricName metricName() {
+                    return nome;
+                }
+
+                @Override
+                public Object metricValue() {
+                    return (double) bufferDisponivel;
+                }
+            });
+        }
+    }
+
+    private static class OutboxRepositoryStub implements OutboxRepository {
+
+        private final List<OutboxEventoEntity> salvos = new ArrayList<>();
+
+        @Override
+        public OutboxEventoEntity save(OutboxEventoEntity outboxEventoEntity) {
+            salvos.add(outboxEventoEntity);
+            return outboxEventoEntity;
+        }
+
+        @Override
+        public List<OutboxEventoEntity> saveAll(List<OutboxEventoEntity> outboxEventos) {
+            salvos.addAll(outboxEventos);
+            return outboxEventos;
+        }
+
+        @Override
+        public List<OutboxEventoEntity> buscarPendentes(int limite) {
+            return List.of();
+        }
+
+        @Override
+        public long contarPendentes() {
+            return 0;
+        }
+
+        @Override
+        public void confirmarPublicacao(String relay, List<Long> idsPublicados) {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.integracao.kafka.frameworkDrivers.kafka.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.integracao.kafka.domain.model.Evento;
+import com.integracao.kafka.domain.model.NotaFiscal;
+import com.integracao.kafka.domain.model.Pedido;
+
+class EventoBinarioCodecTest {
+
+    private final EventoBinarioCodec codec = new EventoBinarioCodec();
+
+    @Test
+    void deveManterTodosOsCamposDoPedidoNoRoundTrip() {
+        Pedido pedido = Pedido.builder()
+            .numeroPedido("PED-1")
+            .cliente("Cliente Ação")
+            .produto("Produto")
+            .quantidade(-3)
+            .valorTotal(new BigDecimal("1234.50"))
+            .dataPedido(LocalDateTime.of(2024, 5, 10, 13, 45, 1, 123_456_789))
+            .dataProcessamento(LocalDateTime.of(1969, 12, 31, 23, 59, 59))
+            .statusProcessamento("OK")
+            .kafkaOffset(Long.MAX_VALUE)
+            .kafkaPartition(7)
+            .kafkaTopic("integrador.pedido.recebido")
+            .kafkaTimestamp(Instant.ofEpochSecond(1_700_000_000L, 42))
+            .build();
+        Evento<?> evento = evento(pedido);
+
+        Evento<?> decodificado = codec.decodificar(codec.codificar(evento));
+
+        assertEquals(evento, decodificado);
+        assertInstanceOf(Pedido.class, decodificado.getPayload());
+    }
+
+    @Test
+    void deveManterNotaFiscalCamposNulosEValoresGrandes() {
+        NotaFiscal nota = NotaFiscal.builder()
+            .numeroNota("NF-1")
+            .valorTotal(new BigDecimal("123456789012345678901234567890.123456789"))
+            .dataPedido(null)
+            .build();
+        Evento<?> evento = evento(nota);
+        evento.setOrigem(null);
+        evento.setStatus(null);
+
+        Evento<?> decodificado = codec.decodificar(codec.codificar(evento));
+
+        assertEquals(evento, decodificado);
+        assertNull(((NotaFiscal) decodificado.getPayload()).getDataPedido());
+    }
+
+    @Test
+    void deveUsarJsonParaPayloadSemCodec() {
+        Evento<?> evento = evento(Map.of("chave", "valor", "numero", 10));
+
+        Evento<?> decodificado = codec.decodificar(codec.codificar(evento));
+
+        assertEquals(Map.of("chave", "valor", "numero", 10), decodificado.getPayload());
+    }
+
+    @Test
+    void deveSerMenorQueJson() {
+        Evento<?> evento = evento(Pedido.builder()
+            .numeroPedido("PED-1").cliente("Cliente").produto("Produto")
+            .quantidade(2).valorTotal(new BigDecimal("99.90")).build());
+
+        byte[] binario = codec.codificar(evento);
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            assertTrue(binario.length * 2 < json.serialize("t", evento).length);
+        }
+    }
+
+    @Test
+    void deveRejeitarVersaoDesconhecida() {
+        byte[] dados = codec.codificar(evento(null));
+        dados[0] = 99;
+
+        assertThrows(SerializationException.class, () -> codec.decodificar(dados));
+    }
+
+    @Test
+    void deveRejeitarStatusComOrdinalNegativo() {
+        // Só o bit de status na máscara, seguido de um varint de 5 bytes que decodifica para -1
+        byte[] dados = {1, 0x40, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        assertThrows(SerializationException.class, () -> codec.decodificar(dados));
+    }
+
+    @Test
+    void deserializerDeveEscolherDecoderPeloHeader() {
+        Evento<?> evento = evento(Pedido.builder().numeroPedido("PED-2").build());
+
+        try (EventoSerializer serializer = new EventoSerializer();
+             EventoDeserializer deserializer = new EventoDeserializer()) {
+            deserializer.configure(Map.of("spring.json.trusted.packages", "*"), false);
+
+            serializer.configure(Map.of(FormatoSerializacao.CONFIG_FORMATO, "binario"), false);
+            RecordHeaders headersBinario = new RecordHeaders();
+            byte[] binario = serializer.serialize("t", headersBinario, evento);
+            assertEquals(FormatoSerializacao.BINARIO, FormatoSerializacao.doRegistro(headersBinario));
+            assertEquals(evento, deserializer.deserialize("t", headersBinario, binario));
+
+            // Registros JSON antigos, sem content-type, continuam legíveis
+            serializer.configure(Map.of(), false);
+            RecordHeaders headersJson = new RecordHeaders();
+            byte[] json = serializer.serialize("t", headersJson, evento);
+            headersJson.remove(FormatoSerializacao.HEADER_CONTENT_TYPE);
+            Evento<?> lido = (Evento<?>) deserializer.deserialize("t", headersJson, json);
+            assertEquals(evento.getId(), lido.getId());
+        }
+    }
+
+    @Test
+    void deserializerDeveTiparPayloadJsonPeloTipoDoEvento() {
+        Evento<?> evento = evento(Pedido.builder().numeroPedido("PED-3").valorTotal(new BigDecimal("10.00")).build());
+
+        try (EventoSerializer serializer = new EventoSerializer();
+             EventoDeserializer deserializer = new EventoDeserializer()) {
+            serializer.configure(Map.of(), false);
+            deserializer.configure(Map.of("spring.json.trusted.packages", "*"), false);
+
+            RecordHeaders headers = new RecordHeaders();
+            byte[] json = serializer.serialize("t", headers, evento);
+            Evento<?> comHeader = (Evento<?>) deserializer.deserialize("t", headers, json);
+            assertInstanceOf(Pedido.class, comHeader.getPayload());
+
+            // Sem o header evento-tipo, o tipo é lido do próprio JSON
+            Evento<?> semHeader = (Evento<?>) deserializer.deserialize("t", new RecordHeaders(), json);
+            assertEquals("PED-3", ((Pedido) semHeader.getPayload()).getNumeroPedido());
+        }
+    }
+
+    private Evento<?> evento(Object payload) {
+        return Evento.builder()
+            .tipo("PEDIDO_CRIADO")
+            .origem("API")
+            .destino("integrador.pedido.recebido")
+            .payload(payload)
+            .criadoEm(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6))
+            .status(Evento.StatusEvento.RECEBIDO)
+            .tentativasRetry(2)
+            .build();
+    }
+}
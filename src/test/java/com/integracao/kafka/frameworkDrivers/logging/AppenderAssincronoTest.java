@@ -0,0 +1,104 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+class AppenderAssincronoTest {
+
+    @Test
+    void bufferCheioDescartaInfoEContaEEscreveTudoNoStop() throws InterruptedException {
+        LoggerContext contexto = new LoggerContext();
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+        Logger logger = contexto.getLogger("com.integracao.kafka.teste");
+
+        // Filho que segura a escritora no primeiro evento até o buffer encher
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch escrevendo = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> escritos = new ListAppender<>();
+        AppenderBase<ILoggingEvent> lento = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent evento) {
+                escrevendo.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                escritos.doAppend(evento);
+            }
+        };
+        escritos.setContext(contexto);
+        escritos.start();
+        lento.setContext(contexto);
+        lento.start();
+
+        AppenderAssincrono assincrono = new AppenderAssincrono();
+        assincrono.setContext(contexto);
+        assincrono.setCapacidade(2);
+        assincrono.setEsperaErroMs(1);
+        assincrono.addAppender(lento);
+        assincrono.start();
+        logger.addAppender(assincrono);
+        logger.setLevel(Level.INFO);
+
+        long descartadasAntes = ContadoresLog.DESCARTADAS.sum();
+        logger.info("preso na escritora");
+        assertTrue(escrevendo.await(5, TimeUnit.SECONDS));
+        logger.info("um");
+        logger.info("dois");
+        logger.info("descartado");
+        logger.error("erro também descartado após esperar");
+
+        assertEquals(2, ContadoresLog.DESCARTADAS.sum() - descartadasAntes);
+
+        liberar.countDown();
+        assincrono.stop();
+        assertEquals(3, escritos.list.size());
+        assertEquals("dois", escritos.list.get(2).getFormattedMessage());
+    }
+
+    @Test
+    void argumentoMutavelSaiComOValorDoMomentoDoLog() throws InterruptedException {
+        LoggerContext contexto = new LoggerContext();
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+        Logger logger = contexto.getLogger("com.integracao.kafka.teste");
+
+        ListAppender<ILoggingEvent> escritos = new ListAppender<>();
+        escritos.setContext(contexto);
+        escritos.start();
+
+        AppenderAssincrono assincrono = new AppenderAssincrono();
+        assincrono.setContext(contexto);
+        assincrono.addAppender(escritos);
+        assincrono.start();
+        logger.addAppender(assincrono);
+        logger.setLevel(Level.INFO);
+
+        Map<Integer, Long> posicoes = new HashMap<>(Map.of(0, 10L));
+        Object[] argumentos = {posicoes, 1};
+        logger.info("Replay | posicoes={} total={}", argumentos);
+        posicoes.put(0, 99L);
+
+        assincrono.stop();
+        assertSame(posicoes, argumentos[0]);
+        assertEquals("Replay | posicoes={0=10} total=1", escritos.list.get(0).getFormattedMessage());
+        assertEquals("{0=10}", escritos.list.get(0).getArgumentArray()[0]);
+        assertEquals(1, escritos.list.get(0).getArgumentArray()[1]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+
+class EncoderChaveValorTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Logger logger = contexto.getLogger("com.integracao.kafka.frameworkDrivers.kafka.consumer.PedidoConsumer");
+    private final EncoderChaveValor encoder = new EncoderChaveValor();
+
+    @BeforeEach
+    void preparar() {
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void chavesVemDaConvencaoDoLog() {
+        String linha = codificar("[CONSUMER-PEDIDO] Mensagem recebida | topico={} particao={} offset={} origemErro={}",
+            "integrador.pedido.recebido", 0, 42L, false);
+
+        assertTrue(linha.contains(" level=INFO thread=main logger=PedidoConsumer "), linha);
+        assertTrue(linha.endsWith(" msg=\"[CONSUMER-PEDIDO] Mensagem recebida\" topico=integrador.pedido.recebido"
+            + " particao=0 offset=42 origemErro=false\n"), linha);
+    }
+
+    @Test
+    void mensagemForaDaConvencaoSaiFormatadaEEscapada() {
+        String linha = codificar("[RETRY] tentativa={}/{} erro={}", 2, 3, "timeout \"broker\"");
+
+        assertTrue(linha.endsWith(" msg=\"[RETRY] tentativa=2/3 erro=timeout \\\"broker\\\"\"\n"), linha);
+    }
+
+    @Test
+    void valorComEspacoVaiEntreAspas() {
+        String linha = codificar("[API] Pedido criado | cliente={}", "Maria Silva");
+
+        assertEquals(" cliente=\"Maria Silva\"\n", linha.substring(linha.indexOf(" cliente=")));
+    }
+
+    private String codificar(String mensagem, Object... argumentos) {
+        LoggingEvent evento = new LoggingEvent(Logger.FQCN, logger, Level.INFO, mensagem, null, argumentos);
+        evento.setThreadName("main");
+        return new String(encoder.encode(evento), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.integracao.kafka.frameworkDrivers.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+
+class FiltroAmostragemLogTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Logger logger = contexto.getLogger("com.integracao.kafka.teste");
+    private final ListAppender<ILoggingEvent> saida = new ListAppender<>();
+    private final FiltroAmostragemLog filtro = new FiltroAmostragemLog();
+
+    @BeforeEach
+    void preparar() {
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+        saida.setContext(contexto);
+        saida.start();
+        logger.addAppender(saida);
+        logger.setLevel(Level.INFO);
+        filtro.setContext(contexto);
+        filtro.setTaxa(0.0);
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+    }
+
+    @AfterEach
+    void limpar() {
+        AmostragemLog.encerrarMensagem();
+        contexto.stop();
+    }
+
+    @Test
+    void mensagemNaoAmostradaSoLogaApartirDoPrimeiroWarn() {
+        long amostradasAntes = ContadoresLog.AMOSTRADAS.sum();
+
+        AmostragemLog.iniciarMensagem();
+        logger.info("[CONSUMER-PEDIDO] Mensagem recebida | offset={}", 1);
+        logger.debug("[CONSUMER-PEDIDO] abaixo do nível | offset={}", 1);
+        logger.warn("[CONSUMER-PEDIDO] Pedido inválido enviado para DLQ | offset={}", 1);
+        logger.info("[CONSUMER-PEDIDO] depois do erro | offset={}", 1);
+        AmostragemLog.encerrarMensagem();
+
+        logger.info("[API] fora de mensagem");
+
+        List<String> mensagens = saida.list.stream().map(ILoggingEvent::getMessage).toList();
+        assertEquals(List.of(
+            "[CONSUMER-PEDIDO] Pedido inválido enviado para DLQ | offset={}",
+            "[CONSUMER-PEDIDO] depois do erro | offset={}",
+            "[API] fora de mensagem"), mensagens);
+        // DEBUG já estava desligado pelo nível: não conta como amostrada
+        assertEquals(1, ContadoresLog.AMOSTRADAS.sum() - amostradasAntes);
+    }
+
+    @Test
+    void mensagemAmostradaLogaInteira() {
+        filtro.setTaxa(1.0);
+
+        AmostragemLog.iniciarMensagem();
+        logger.info("primeira");
+        logger.info("segunda");
+
+        assertEquals(2, saida.list.size());
+    }
+}